@@ -1,9 +1,12 @@
 package com.epam.gym_crm.config;
 
 import com.epam.gym_crm.filter.JwtAuthenticationFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -14,6 +17,9 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
 @Configuration
@@ -25,6 +31,16 @@ public class SecurityFilterChainConfig {
     private final AuthenticationProvider authenticationProvider;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${application.security.service-token}")
+    private String serviceToken;
+
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    // Called by other services of the platform, which authenticate with the shared service token instead of a JWT
+    private static final String[] SERVICE_URLS = {
+            "/api/v1/trainings/workload/monthly"
+    };
+
     private static final String[] WHITE_LIST_URLS = {
             "/actuator/prometheus",
             "/v2/api-docs",
@@ -49,6 +65,9 @@ public class SecurityFilterChainConfig {
                 .authorizeHttpRequests(request ->
                         request.requestMatchers(WHITE_LIST_URLS)
                                 .permitAll()
+                                .requestMatchers(SERVICE_URLS)
+                                .access((authentication, context) ->
+                                        new AuthorizationDecision(isServiceRequest(context.getRequest())))
                                 .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
                 .authenticationProvider(authenticationProvider)
@@ -60,4 +79,10 @@ public class SecurityFilterChainConfig {
                 );
         return http.build();
     }
+
+    private boolean isServiceRequest(HttpServletRequest request) {
+        String token = request.getHeader(SERVICE_TOKEN_HEADER);
+        return token != null && !serviceToken.isEmpty() && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), serviceToken.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -4,6 +4,7 @@ import com.epam.gym_crm.dto.request.AddTrainingRequestDTO;
 import com.epam.gym_crm.dto.request.GetTraineeTrainingsRequestDTO;
 import com.epam.gym_crm.dto.request.GetTrainerTrainingsRequestDTO;
 import com.epam.gym_crm.dto.response.TraineeTrainingResponseDTO;
+import com.epam.gym_crm.dto.response.TrainerMonthlyWorkloadResponse;
 import com.epam.gym_crm.dto.response.TrainerTrainingResponseDTO;
 import com.epam.gym_crm.dto.response.TrainingResponseDTO;
 import com.epam.gym_crm.dto.response.TrainingTypeResponseDTO;
@@ -11,6 +12,9 @@ import com.epam.gym_crm.service.TraineeService;
 import com.epam.gym_crm.service.TrainerService;
 import com.epam.gym_crm.service.TrainingService;
 import com.epam.gym_crm.service.TrainingTypeService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -29,8 +33,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -43,6 +52,7 @@ public class TrainingController {
     private final TrainerService trainerService;
     private final TrainingService trainingService;
     private final TrainingTypeService trainingTypeService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Add a new training", description = "Creates a new training session with the provided details.")
     @ApiResponses(value = {
@@ -121,4 +131,47 @@ public class TrainingController {
         return ResponseEntity.ok().build();
     }
 
-}
\ No newline at end of file
+    @Operation(summary = "Stream monthly trainer workloads", description = "Streams the total training duration of every trainer per month as newline-delimited JSON, ordered by trainer, year and month. Months are taken in the given time zone (default: this service's), and inactive trainers have negative totals, as the workload service records them. Requires the service token.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Monthly workloads streamed", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = TrainerMonthlyWorkloadResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Missing or invalid service token", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    @GetMapping(value = "/workload/monthly", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTrainerMonthlyWorkloads(
+            @Parameter(description = "Time zone the months are taken in", example = "Europe/Warsaw")
+            @RequestParam(required = false) ZoneId zone) {
+        ZoneId monthZone = zone != null ? zone : ZoneId.systemDefault();
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+                // the servlet container owns the response stream; rows are separated by newlines, not spaces
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                trainingService.streamTrainerMonthlyWorkloads(monthZone, workload -> {
+                    try {
+                        writeMonthlyWorkload(generator, workload);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static void writeMonthlyWorkload(JsonGenerator generator, TrainerMonthlyWorkloadResponse workload)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("trainerUsername", workload.getTrainerUsername());
+        generator.writeStringField("trainerFirstName", workload.getTrainerFirstName());
+        generator.writeStringField("trainerLastName", workload.getTrainerLastName());
+        generator.writeBooleanField("isActive", Boolean.TRUE.equals(workload.getIsActive()));
+        generator.writeNumberField("year", workload.getYear());
+        generator.writeNumberField("month", workload.getMonth());
+        generator.writeNumberField("trainingDuration", workload.getTrainingDuration());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
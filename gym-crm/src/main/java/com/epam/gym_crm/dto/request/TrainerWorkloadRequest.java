@@ -24,6 +24,7 @@ public class TrainerWorkloadRequest {
     private Date trainingDate;
     private Integer trainingDuration;
     private ActionType actionType;
+    private String eventId;
 
     public enum ActionType {
         ADD, DELETE
@@ -0,0 +1,27 @@
+package com.epam.gym_crm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Total training duration of one trainer in one month, as streamed to the trainer session management service.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainerMonthlyWorkloadResponse {
+    private String trainerUsername;
+    private String trainerFirstName;
+    private String trainerLastName;
+    private Boolean isActive;
+    private Integer year;
+    private Integer month;
+    private Long trainingDuration;
+}
@@ -0,0 +1,28 @@
+package com.epam.gym_crm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Date;
+
+/**
+ * Total training duration of one trainer at one training date, before it is bucketed into a month.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainerTrainingDurationResponse {
+    private String trainerUsername;
+    private String trainerFirstName;
+    private String trainerLastName;
+    private Boolean isActive;
+    private Date trainingDate;
+    private Long trainingDuration;
+}
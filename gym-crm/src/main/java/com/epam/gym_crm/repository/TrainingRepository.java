@@ -1,12 +1,17 @@
 package com.epam.gym_crm.repository;
 
+import com.epam.gym_crm.dto.response.TrainerTrainingDurationResponse;
 import com.epam.gym_crm.entity.Training;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TrainingRepository extends JpaRepository<Training, Long> {
 
@@ -33,4 +38,20 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
             @Param("traineeUsername") String traineeUsername,
             @Param("from") Date from,
             @Param("to") Date to);
-}
\ No newline at end of file
+
+    /**
+     * Streams per-trainer duration totals of every training date, ordered by trainer and date. They are left for the
+     * caller to bucket into months in its own time zone. The rows are aggregated by the database and fetched through
+     * a cursor, so the caller must hold a transaction and close the stream.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.epam.gym_crm.dto.response.TrainerTrainingDurationResponse(" +
+            "u.username, u.firstName, u.lastName, u.isActive, t.trainingDate, SUM(t.trainingDuration)) " +
+            "FROM Training t JOIN t.trainer tr JOIN tr.user u " +
+            "GROUP BY u.username, u.firstName, u.lastName, u.isActive, t.trainingDate " +
+            "ORDER BY u.username, t.trainingDate")
+    Stream<TrainerTrainingDurationResponse> streamTrainerTrainingDurations();
+}
@@ -4,10 +4,13 @@ import com.epam.gym_crm.dto.request.AddTrainingRequestDTO;
 import com.epam.gym_crm.dto.request.GetTraineeTrainingsRequestDTO;
 import com.epam.gym_crm.dto.request.GetTrainerTrainingsRequestDTO;
 import com.epam.gym_crm.dto.response.TraineeTrainingResponseDTO;
+import com.epam.gym_crm.dto.response.TrainerMonthlyWorkloadResponse;
 import com.epam.gym_crm.dto.response.TrainerTrainingResponseDTO;
 import com.epam.gym_crm.dto.response.TrainingResponseDTO;
 
+import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TrainingService {
     List<TraineeTrainingResponseDTO> getTraineeTrainings(GetTraineeTrainingsRequestDTO request);
@@ -15,4 +18,11 @@ public interface TrainingService {
     TrainingResponseDTO addTraining(AddTrainingRequestDTO request);
 
     void deleteTraining(Long trainingId);
+
+    /**
+     * Hands every per-trainer, per-month duration total to {@code consumer} while the database cursor is open.
+     * Months are taken in {@code zone}, and the totals of inactive trainers are negative, the way the workload
+     * service records the messages it is sent.
+     */
+    void streamTrainerMonthlyWorkloads(ZoneId zone, Consumer<TrainerMonthlyWorkloadResponse> consumer);
 }
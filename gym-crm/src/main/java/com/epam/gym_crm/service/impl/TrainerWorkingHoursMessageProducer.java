@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -16,12 +18,26 @@ public class TrainerWorkingHoursMessageProducer {
     @Value("${application.active_mq.broker.destination}")
     private String destination;
 
+    // 0 publishes everything to the destination itself; otherwise to one queue per partition of trainers
+    @Value("${application.active_mq.broker.partitions:0}")
+    private int partitions;
+
     private final JmsTemplate jmsTemplate;
 
     public void sendMessage(TrainerWorkloadRequest message) {
+        if (message.getEventId() == null) {
+            message.setEventId(UUID.randomUUID().toString());
+        }
         log.info("Sending computeTrainerHours for {} to Service B", message.getTrainerUsername());
-        jmsTemplate.convertAndSend(destination, message, message1 -> {
+        String target = partitions > 0 && message.getTrainerUsername() != null
+                ? WorkloadPartitioner.destinationOf(destination,
+                        WorkloadPartitioner.partitionOf(message.getTrainerUsername(), partitions))
+                : destination;
+        jmsTemplate.convertAndSend(target, message, message1 -> {
             message1.setStringProperty("transactionId", MDC.get("transactionId"));
+            message1.setStringProperty("eventId", message.getEventId());
+            // Message groups pin a trainer to one consumer, so its events stay ordered when the listener scales out
+            message1.setStringProperty("JMSXGroupID", message.getTrainerUsername());
             return message1;
         });
         log.info("Message : {} sent to Service B.", message);
@@ -5,6 +5,8 @@ import com.epam.gym_crm.dto.request.GetTraineeTrainingsRequestDTO;
 import com.epam.gym_crm.dto.request.GetTrainerTrainingsRequestDTO;
 import com.epam.gym_crm.dto.request.TrainerWorkloadRequest;
 import com.epam.gym_crm.dto.response.TraineeTrainingResponseDTO;
+import com.epam.gym_crm.dto.response.TrainerMonthlyWorkloadResponse;
+import com.epam.gym_crm.dto.response.TrainerTrainingDurationResponse;
 import com.epam.gym_crm.dto.response.TrainerTrainingResponseDTO;
 import com.epam.gym_crm.dto.response.TrainingResponseDTO;
 import com.epam.gym_crm.entity.Training;
@@ -20,8 +22,14 @@ import com.epam.gym_crm.service.TrainingTypeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -151,6 +159,43 @@ public class TrainingServiceImpl implements TrainingService {
         trainingRepository.deleteById(trainingId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTrainerMonthlyWorkloads(ZoneId zone, Consumer<TrainerMonthlyWorkloadResponse> consumer) {
+        log.info("Streaming monthly trainer workloads in {}...", zone);
+
+        long rows = 0;
+        try (Stream<TrainerTrainingDurationResponse> durations = trainingRepository.streamTrainerTrainingDurations()) {
+            var iterator = durations.iterator();
+            TrainerMonthlyWorkloadResponse month = null;
+            while (iterator.hasNext()) {
+                TrainerTrainingDurationResponse duration = iterator.next();
+                LocalDate date = Instant.ofEpochMilli(duration.getTrainingDate().getTime()).atZone(zone).toLocalDate();
+                // the workload service subtracts every session it is sent for an inactive trainer
+                long minutes = Boolean.TRUE.equals(duration.getIsActive())
+                        ? duration.getTrainingDuration() : -duration.getTrainingDuration();
+                if (month != null && month.getTrainerUsername().equals(duration.getTrainerUsername())
+                        && month.getYear() == date.getYear() && month.getMonth() == date.getMonthValue()) {
+                    month.setTrainingDuration(month.getTrainingDuration() + minutes);
+                    continue;
+                }
+                if (month != null) {
+                    consumer.accept(month);
+                    rows++;
+                }
+                month = new TrainerMonthlyWorkloadResponse(duration.getTrainerUsername(),
+                        duration.getTrainerFirstName(), duration.getTrainerLastName(), duration.getIsActive(),
+                        date.getYear(), date.getMonthValue(), minutes);
+            }
+            if (month != null) {
+                consumer.accept(month);
+                rows++;
+            }
+        }
+
+        log.info("Streamed {} monthly trainer workloads", rows);
+    }
+
     private static TrainerWorkloadRequest addWorkingHours(Training training) {
         return TrainerWorkloadRequest.builder()
                 .trainerUsername(training.getTrainer().getUser().getUsername())
@@ -0,0 +1,36 @@
+package com.epam.gym_crm.service.impl;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Maps a trainer username to the trainer-session-management partition queue its events go to. Must stay identical
+ * to {@code WorkloadPartitioner} in trainer-session-management, which consumes the partitions.
+ */
+public final class WorkloadPartitioner {
+
+    private static final int FNV_OFFSET_BASIS = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private WorkloadPartitioner() {
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes with the murmur3 finalizer on top, so the low bits spread evenly.
+     */
+    public static int partitionOf(String trainerUsername, int partitions) {
+        int hash = FNV_OFFSET_BASIS;
+        for (byte b : trainerUsername.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * FNV_PRIME;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return Integer.remainderUnsigned(hash, partitions);
+    }
+
+    public static String destinationOf(String destination, int partition) {
+        return destination + ".p" + partition;
+    }
+}
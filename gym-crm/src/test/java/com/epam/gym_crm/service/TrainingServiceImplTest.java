@@ -7,8 +7,10 @@ import com.epam.gym_crm.dto.request.TrainerWorkloadRequest;
 import com.epam.gym_crm.dto.response.TraineeProfileResponseDTO;
 import com.epam.gym_crm.dto.response.TraineeResponseDTO;
 import com.epam.gym_crm.dto.response.TraineeTrainingResponseDTO;
+import com.epam.gym_crm.dto.response.TrainerMonthlyWorkloadResponse;
 import com.epam.gym_crm.dto.response.TrainerProfileResponseDTO;
 import com.epam.gym_crm.dto.response.TrainerResponseDTO;
+import com.epam.gym_crm.dto.response.TrainerTrainingDurationResponse;
 import com.epam.gym_crm.dto.response.TrainerTrainingResponseDTO;
 import com.epam.gym_crm.dto.response.TrainingResponseDTO;
 import com.epam.gym_crm.entity.Trainee;
@@ -27,10 +29,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -429,4 +435,37 @@ class TrainingServiceImplTest {
         assertTrue(exception.getMessage().contains("Invalid training type:"));
         verify(trainingRepository, never()).save(any(Training.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamTrainerMonthlyWorkloads_BucketsDatesIntoMonthsAndClosesTheCursor() {
+        // Arrange
+        ZoneId zone = ZoneId.of("Europe/Warsaw");
+        TrainerTrainingDurationResponse january = new TrainerTrainingDurationResponse(
+                "trainer1", "John", "Doe", true, date("2024-01-10T10:00:00Z"), 60L);
+        // still January in UTC, already February in Warsaw
+        TrainerTrainingDurationResponse midnight = new TrainerTrainingDurationResponse(
+                "trainer1", "John", "Doe", true, date("2024-01-31T23:30:00Z"), 45L);
+        TrainerTrainingDurationResponse february = new TrainerTrainingDurationResponse(
+                "trainer1", "John", "Doe", true, date("2024-02-05T10:00:00Z"), 30L);
+        TrainerTrainingDurationResponse inactive = new TrainerTrainingDurationResponse(
+                "trainer2", "Jane", "Roe", false, date("2024-02-05T10:00:00Z"), 20L);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(trainingRepository.streamTrainerTrainingDurations())
+                .thenReturn(Stream.of(january, midnight, february, inactive).onClose(() -> closed.set(true)));
+
+        // Act
+        List<TrainerMonthlyWorkloadResponse> received = new ArrayList<>();
+        trainingService.streamTrainerMonthlyWorkloads(zone, received::add);
+
+        // Assert
+        assertEquals(List.of("trainer1 2024-1 60", "trainer1 2024-2 75", "trainer2 2024-2 -20"), received.stream()
+                .map(month -> month.getTrainerUsername() + " " + month.getYear() + "-" + month.getMonth() + " "
+                        + month.getTrainingDuration())
+                .toList());
+        assertTrue(closed.get());
+    }
+
+    private static Date date(String instant) {
+        return Date.from(Instant.parse(instant));
+    }
+}
@@ -0,0 +1,30 @@
+package com.epam.gym_crm.service;
+
+import com.epam.gym_crm.service.impl.WorkloadPartitioner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadPartitionerTest {
+
+    @Test
+    @DisplayName("Should keep the partitions trainer-session-management consumes")
+    void shouldMatchWorkloadServicePartitions() {
+        // The same values are pinned in trainer-session-management's WorkloadPartitionerTest
+        assertEquals(45, WorkloadPartitioner.partitionOf("john.doe", 64));
+        assertEquals(54, WorkloadPartitioner.partitionOf("jane.smith", 64));
+        assertEquals(8, WorkloadPartitioner.partitionOf("\u017Eofia.nov\u00E1kov\u00E1", 64));
+    }
+
+    @Test
+    @DisplayName("Should stay within the partition count")
+    void shouldStayWithinPartitions() {
+        for (int i = 0; i < 10_000; i++) {
+            int partition = WorkloadPartitioner.partitionOf("trainer." + i, 7);
+            assertTrue(partition >= 0 && partition < 7);
+        }
+        assertEquals("trainer.workload.queue.p5", WorkloadPartitioner.destinationOf("trainer.workload.queue", 5));
+    }
+}
@@ -0,0 +1,89 @@
+package com.epam.trainer_session_management.benchmark;
+
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.dto.TrainerWorkloadResponse;
+import com.epam.trainer_session_management.enums.ActionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@code calculateAndSave}, the listener's per-message path. {@code contention=hot} sends every thread
+ * to the same trainer, {@code spread} picks trainers uniformly; run with {@code -PjmhThreads=N} to vary the threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CalculateAndSaveBenchmark {
+
+    private static final int REQUESTS_PER_THREAD = 4_096;
+
+    @Param({"memory", "mapped"})
+    public String store;
+
+    @Param({"1000", "20000"})
+    public int trainers;
+
+    @Param({"1", "5"})
+    public int years;
+
+    @Param({"hot", "spread"})
+    public String contention;
+
+    @Param({"0", "30"})
+    public int deletePercent;
+
+    private WorkloadFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new WorkloadFixture(store, trainers, years);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        private TrainerWorkloadRequest[] requests;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(CalculateAndSaveBenchmark benchmark, ThreadParams threadParams) {
+            SplittableRandom random = new SplittableRandom(threadParams.getThreadIndex());
+            requests = new TrainerWorkloadRequest[REQUESTS_PER_THREAD];
+            for (int i = 0; i < requests.length; i++) {
+                int trainer = "hot".equals(benchmark.contention) ? 0 : random.nextInt(benchmark.trainers);
+                int year = WorkloadFixture.FIRST_YEAR + random.nextInt(benchmark.years);
+                ActionType actionType = random.nextInt(100) < benchmark.deletePercent
+                        ? ActionType.DELETE : ActionType.ADD;
+                requests[i] = WorkloadFixture.request(trainer, year, 1 + random.nextInt(12), 30 + random.nextInt(90),
+                        actionType);
+            }
+        }
+
+        private TrainerWorkloadRequest next() {
+            TrainerWorkloadRequest request = requests[next];
+            next = (next + 1) & (REQUESTS_PER_THREAD - 1);
+            return request;
+        }
+    }
+
+    @Benchmark
+    public TrainerWorkloadResponse calculateAndSave(Requests requests) {
+        return fixture.service.calculateAndSave(requests.next());
+    }
+}
@@ -0,0 +1,82 @@
+package com.epam.trainer_session_management.benchmark;
+
+import com.epam.trainer_session_management.dto.TrainerWorkloadResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@code getTrainerWorkingHours} over preloaded months, hot on one trainer or spread over all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GetTrainerWorkingHoursBenchmark {
+
+    private static final int QUERIES_PER_THREAD = 4_096;
+
+    @Param({"memory", "mapped"})
+    public String store;
+
+    @Param({"1000", "20000"})
+    public int trainers;
+
+    @Param({"1", "5"})
+    public int years;
+
+    @Param({"hot", "spread"})
+    public String contention;
+
+    private WorkloadFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new WorkloadFixture(store, trainers, years);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Queries {
+        private String[] usernames;
+        private String[] years;
+        private String[] months;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(GetTrainerWorkingHoursBenchmark benchmark, ThreadParams threadParams) {
+            SplittableRandom random = new SplittableRandom(threadParams.getThreadIndex());
+            usernames = new String[QUERIES_PER_THREAD];
+            years = new String[QUERIES_PER_THREAD];
+            months = new String[QUERIES_PER_THREAD];
+            for (int i = 0; i < QUERIES_PER_THREAD; i++) {
+                int trainer = "hot".equals(benchmark.contention) ? 0 : random.nextInt(benchmark.trainers);
+                usernames[i] = WorkloadFixture.username(trainer);
+                years[i] = String.valueOf(WorkloadFixture.FIRST_YEAR + random.nextInt(benchmark.years));
+                months[i] = String.valueOf(1 + random.nextInt(12));
+            }
+        }
+    }
+
+    @Benchmark
+    public TrainerWorkloadResponse getTrainerWorkingHours(Queries queries) {
+        int index = queries.next;
+        queries.next = (index + 1) & (QUERIES_PER_THREAD - 1);
+        return fixture.service.getTrainerWorkingHours(queries.usernames[index], queries.years[index],
+                queries.months[index]);
+    }
+}
@@ -0,0 +1,124 @@
+package com.epam.trainer_session_management.benchmark;
+
+import com.epam.trainer_session_management.config.WorkloadDedupProperties;
+import com.epam.trainer_session_management.config.WorkloadStoreProperties;
+import com.epam.trainer_session_management.dedup.WorkloadDeduplicator;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.enums.ActionType;
+import com.epam.trainer_session_management.executor.StripedExecutor;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.index.MonthlyLeaderboard;
+import com.epam.trainer_session_management.persistence.impl.NoOpWorkloadJournal;
+import com.epam.trainer_session_management.service.impl.TrainerWorkingHoursServiceImpl;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import com.epam.trainer_session_management.store.impl.MappedTrainerWorkloadStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The workload service wired as in production minus the journal, so results measure the aggregation engine and
+ * the chosen store rather than disk flushes. Every trainer is preloaded with {@code years} of monthly history.
+ */
+final class WorkloadFixture {
+
+    static final int FIRST_YEAR = 2015;
+    private static final int PRELOAD_BATCH = 10_000;
+
+    final TrainerWorkingHoursServiceImpl service;
+    final int trainers;
+    final int years;
+
+    private final TrainerWorkloadStore store;
+    private final StripedExecutor executor;
+    private final Path directory;
+
+    WorkloadFixture(String storeType, int trainers, int years) {
+        this.trainers = trainers;
+        this.years = years;
+        TrainerDictionary dictionary = new TrainerDictionary();
+        if ("mapped".equals(storeType)) {
+            try {
+                directory = Files.createTempDirectory("workload-bench");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            WorkloadStoreProperties properties = new WorkloadStoreProperties();
+            properties.setDirectory(directory.toString());
+            store = new MappedTrainerWorkloadStore(properties, dictionary);
+        } else {
+            directory = null;
+            store = new InMemoryTrainerWorkloadStore(dictionary);
+        }
+        executor = new StripedExecutor("bench-stripe", Runtime.getRuntime().availableProcessors());
+        DailyWorkloadIndex dailyWorkloadIndex = new DailyWorkloadIndex(dictionary);
+        MonthlyLeaderboard monthlyLeaderboard = new MonthlyLeaderboard(dictionary);
+        WorkloadHistory workloadHistory = new WorkloadHistory(dictionary);
+        DurationSketches durationSketches = new DurationSketches(dictionary);
+        service = new TrainerWorkingHoursServiceImpl(dictionary, store, new NoOpWorkloadJournal(), executor,
+                new WorkloadDeduplicator(new WorkloadDedupProperties()), dailyWorkloadIndex, monthlyLeaderboard,
+                workloadHistory, durationSketches,
+                List.of(dailyWorkloadIndex, monthlyLeaderboard, workloadHistory, durationSketches));
+        preload();
+    }
+
+    static String username(int trainer) {
+        return "trainer." + trainer;
+    }
+
+    static TrainerWorkloadRequest request(int trainer, int year, int month, int minutes, ActionType actionType) {
+        LocalDate date = LocalDate.of(year, month, 1 + (trainer + month) % 28);
+        return TrainerWorkloadRequest.builder()
+                .trainerUsername(username(trainer))
+                .trainerFirstName("First")
+                .trainerLastName("Last")
+                .isActive(true)
+                .trainingDate(Date.from(date.atStartOfDay(ZoneOffset.UTC).toInstant()))
+                .trainingDuration(minutes)
+                .actionType(actionType)
+                .build();
+    }
+
+    void close() {
+        executor.shutdown();
+        if (store instanceof MappedTrainerWorkloadStore mapped) {
+            mapped.close();
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void preload() {
+        List<TrainerWorkloadRequest> batch = new ArrayList<>(PRELOAD_BATCH);
+        for (int trainer = 0; trainer < trainers; trainer++) {
+            for (int year = FIRST_YEAR; year < FIRST_YEAR + years; year++) {
+                for (int month = 1; month <= 12; month++) {
+                    batch.add(request(trainer, year, month, 60 + (trainer + month) % 120, ActionType.ADD));
+                    if (batch.size() == PRELOAD_BATCH) {
+                        service.calculateAndSaveAll(batch);
+                        batch = new ArrayList<>(PRELOAD_BATCH);
+                    }
+                }
+            }
+        }
+        service.calculateAndSaveAll(batch);
+    }
+}
@@ -0,0 +1,107 @@
+package com.epam.trainer_session_management.load;
+
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps the workload service bean so every event the listener applies is matched, by event ID, against the time the
+ * harness intended to publish it. Only the first application of an event counts; redeliveries of an already applied
+ * event are dropped by the deduplicator and never reach the store again.
+ */
+final class AppliedEventTracker implements BeanPostProcessor {
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final long[] latencies;
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong lastAppliedNanos = new AtomicLong();
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+
+    AppliedEventTracker(int capacity) {
+        this.latencies = new long[capacity];
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof TrainerWorkingHoursService service)) {
+            return bean;
+        }
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{TrainerWorkingHoursService.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(service, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if ("calculateAndSave".equals(method.getName())) {
+                        applied(((TrainerWorkloadRequest) args[0]).getEventId());
+                    } else if ("calculateAndSaveAll".equals(method.getName())) {
+                        for (Object request : (List<?>) args[0]) {
+                            applied(((TrainerWorkloadRequest) request).getEventId());
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Events published from now on count towards throughput and latency; earlier ones are warm-up.
+     */
+    void startMeasuring(long nanos) {
+        measureFromNanos = nanos;
+    }
+
+    void published(String eventId, long intendedNanos) {
+        pending.put(eventId, intendedNanos);
+    }
+
+    int pending() {
+        return pending.size();
+    }
+
+    long applied() {
+        return applied.get();
+    }
+
+    long measureFromNanos() {
+        return measureFromNanos;
+    }
+
+    long lastAppliedNanos() {
+        return lastAppliedNanos.get();
+    }
+
+    /**
+     * Returns the recorded publish → applied latencies in nanoseconds, sorted ascending.
+     */
+    long[] sortedLatencies() {
+        long[] sorted = Arrays.copyOf(latencies, Math.min(recorded.get(), latencies.length));
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private void applied(String eventId) {
+        Long intendedNanos = eventId == null ? null : pending.remove(eventId);
+        if (intendedNanos == null || intendedNanos < measureFromNanos) {
+            return;
+        }
+        long now = System.nanoTime();
+        applied.incrementAndGet();
+        lastAppliedNanos.accumulateAndGet(now, Math::max);
+        int slot = recorded.getAndIncrement();
+        if (slot < latencies.length) {
+            latencies[slot] = now - intendedNanos;
+        }
+    }
+}
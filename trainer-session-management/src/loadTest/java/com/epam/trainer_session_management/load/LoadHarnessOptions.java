@@ -0,0 +1,64 @@
+package com.epam.trainer_session_management.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of {@link WorkloadLoadHarness}, given as {@code --name=value}.
+ */
+final class LoadHarnessOptions {
+
+    final int rate;
+    final int durationSeconds;
+    final int warmupSeconds;
+    final int producers;
+    final int trainers;
+    final int deletePercent;
+    final double poisonPercent;
+    final int drainTimeoutSeconds;
+    final String store;
+    final boolean batch;
+
+    private LoadHarnessOptions(Map<String, String> values) {
+        rate = Integer.parseInt(values.getOrDefault("rate", "1000"));
+        durationSeconds = Integer.parseInt(values.getOrDefault("duration", "30"));
+        warmupSeconds = Integer.parseInt(values.getOrDefault("warmup", "5"));
+        producers = Integer.parseInt(values.getOrDefault("producers", "4"));
+        trainers = Integer.parseInt(values.getOrDefault("trainers", "1000"));
+        deletePercent = Integer.parseInt(values.getOrDefault("delete-percent", "0"));
+        poisonPercent = Double.parseDouble(values.getOrDefault("poison-percent", "0"));
+        drainTimeoutSeconds = Integer.parseInt(values.getOrDefault("drain-timeout", "60"));
+        store = values.getOrDefault("store", "memory");
+        batch = Boolean.parseBoolean(values.getOrDefault("batch", "true"));
+        if (rate <= 0 || producers <= 0 || trainers <= 0 || durationSeconds <= warmupSeconds) {
+            throw new IllegalArgumentException("rate, producers and trainers must be positive and duration must "
+                    + "exceed warmup");
+        }
+    }
+
+    static LoadHarnessOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadHarnessOptions(values);
+    }
+
+    /**
+     * Events the harness publishes over the whole run, warm-up included.
+     */
+    long totalEvents() {
+        return (long) rate * durationSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, duration=" + durationSeconds + "s, warmup=" + warmupSeconds + "s, producers="
+                + producers + ", trainers=" + trainers + ", deletePercent=" + deletePercent + ", poisonPercent="
+                + poisonPercent + ", store=" + store + ", batch=" + batch;
+    }
+}
@@ -0,0 +1,268 @@
+package com.epam.trainer_session_management.load;
+
+import com.epam.gym_crm.config.JmsConfig;
+import com.epam.gym_crm.dto.request.TrainerWorkloadRequest;
+import com.epam.gym_crm.service.impl.TrainerWorkingHoursMessageProducer;
+import com.epam.trainer_session_management.TrainingSessionManagementApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.slf4j.MDC;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the gym-crm → ActiveMQ → trainer-session-management path inside one JVM: an embedded, non-persistent broker,
+ * gym-crm's {@link TrainerWorkingHoursMessageProducer} on its own connection, and this service booted as in
+ * production (without web server and Eureka), so the real {@code TrainerHoursMessageListener}, container factory,
+ * deduplicator, store and journal are exercised.
+ * <p>
+ * Producers publish at a fixed rate. Latency is taken from the time an event was <em>due</em> to be published, so a
+ * stalled producer does not hide the backlog it causes. Run it with {@code ./gradlew loadTest -PloadArgs="..."}.
+ */
+public final class WorkloadLoadHarness {
+
+    private static final String BROKER_NAME = "workload-load";
+    private static final String BROKER_URL = "vm://" + BROKER_NAME + "?create=false";
+    private static final String DEAD_LETTER_QUEUE = "ActiveMQ.DLQ";
+    private static final String PARKING_QUEUE = "trainer.workload.parking";
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private WorkloadLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadHarnessOptions options = LoadHarnessOptions.parse(args);
+        Path dataDirectory = Files.createTempDirectory("workload-load");
+        BrokerService broker = startBroker();
+        AppliedEventTracker tracker = new AppliedEventTracker((int) Math.min(options.totalEvents(), 1 << 28));
+        ConfigurableApplicationContext workloadService = new SpringApplicationBuilder(
+                TrainingSessionManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(serviceProperties(options, dataDirectory))
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(tracker))
+                .run();
+        String destination = workloadService.getEnvironment().getRequiredProperty("application.broker.destination");
+        CachingConnectionFactory producerConnections = new CachingConnectionFactory(
+                new ActiveMQConnectionFactory(BROKER_URL));
+        producerConnections.setSessionCacheSize(options.producers);
+        AnnotationConfigApplicationContext gymCrm = gymCrmContext(producerConnections, destination);
+        try {
+            System.out.println("Load run: " + options);
+            LoadResult result = run(gymCrm.getBean(TrainerWorkingHoursMessageProducer.class), tracker, broker,
+                    options);
+            report(result, tracker, workloadService.getBean(MeterRegistry.class), messagesOn(broker, PARKING_QUEUE),
+                    messagesOn(broker, DEAD_LETTER_QUEUE), options);
+        } finally {
+            gymCrm.close();
+            producerConnections.destroy();
+            workloadService.close();
+            broker.stop();
+            broker.waitUntilStopped();
+            FileSystemUtils.deleteRecursively(dataDirectory);
+        }
+    }
+
+    private static BrokerService startBroker() throws Exception {
+        BrokerService broker = new BrokerService();
+        broker.setBrokerName(BROKER_NAME);
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.setAdvisorySupport(false);
+        broker.start();
+        broker.waitUntilStarted();
+        return broker;
+    }
+
+    private static Map<String, Object> serviceProperties(LoadHarnessOptions options, Path dataDirectory) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.activemq.broker-url", BROKER_URL);
+        properties.put("eureka.client.enabled", false);
+        properties.put("application.broker.batch.enabled", options.batch);
+        properties.put("application.workload.store.type", options.store);
+        properties.put("application.workload.store.directory", dataDirectory.resolve("store").toString());
+        properties.put("application.workload.store.dictionary-file",
+                dataDirectory.resolve("store/usernames.dict").toString());
+        properties.put("application.workload.persistence.directory", dataDirectory.toString());
+        properties.put("application.workload.rebuild.on-startup", false);
+        // The listener and the logging aspect log every message at INFO, which would dominate the measurement
+        properties.put("logging.level.com.epam", "WARN");
+        properties.put("logging.level.org.apache.activemq", "WARN");
+        return properties;
+    }
+
+    /**
+     * The producer side wired as gym-crm wires it: its own message converter and a {@link JmsTemplate} on a separate
+     * connection to the broker.
+     */
+    private static AnnotationConfigApplicationContext gymCrmContext(CachingConnectionFactory connectionFactory,
+                                                                    String destination) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("gym-crm",
+                Map.of("application.active_mq.broker.destination", destination)));
+        context.register(JmsConfig.class, TrainerWorkingHoursMessageProducer.class);
+        context.registerBean(JmsTemplate.class, () -> {
+            JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+            jmsTemplate.setMessageConverter(context.getBean(MessageConverter.class));
+            return jmsTemplate;
+        });
+        context.refresh();
+        return context;
+    }
+
+    private static LoadResult run(TrainerWorkingHoursMessageProducer producer, AppliedEventTracker tracker,
+                                  BrokerService broker, LoadHarnessOptions options) throws Exception {
+        AtomicLong published = new AtomicLong();
+        AtomicLong poisoned = new AtomicLong();
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        tracker.startMeasuring(startNanos + TimeUnit.SECONDS.toNanos(options.warmupSeconds));
+
+        ExecutorService producers = Executors.newFixedThreadPool(options.producers);
+        for (int index = 0; index < options.producers; index++) {
+            int producerIndex = index;
+            producers.execute(() -> publish(producer, tracker, options, producerIndex, startNanos, endNanos,
+                    published, poisoned));
+        }
+        producers.shutdown();
+        while (!producers.awaitTermination(1, TimeUnit.SECONDS)) {
+            progress(startNanos, published.get(), tracker);
+        }
+        long publishNanos = System.nanoTime() - startNanos;
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.drainTimeoutSeconds);
+        while ((tracker.pending() > 0 || setAside(broker) < poisoned.get()) && System.nanoTime() < drainDeadline) {
+            progress(startNanos, published.get(), tracker);
+            TimeUnit.SECONDS.sleep(1);
+        }
+        return new LoadResult(published.get(), poisoned.get(), publishNanos);
+    }
+
+    private static void publish(TrainerWorkingHoursMessageProducer producer, AppliedEventTracker tracker,
+                                LoadHarnessOptions options, int producerIndex, long startNanos, long endNanos,
+                                AtomicLong published, AtomicLong poisoned) {
+        SplittableRandom random = new SplittableRandom(producerIndex);
+        long interval = TimeUnit.SECONDS.toNanos(options.producers) / options.rate;
+        long due = startNanos + interval * producerIndex / options.producers;
+        // gym-crm's request filter sets it; the listener requires the header
+        MDC.put("transactionId", "load-" + producerIndex);
+        try {
+            while (due < endNanos) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                TrainerWorkloadRequest request = request(random, options);
+                if (request.getTrainerUsername() == null) {
+                    poisoned.incrementAndGet();
+                } else {
+                    tracker.published(request.getEventId(), due);
+                }
+                producer.sendMessage(request);
+                published.incrementAndGet();
+                due += interval;
+            }
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private static TrainerWorkloadRequest request(SplittableRandom random, LoadHarnessOptions options) {
+        int trainer = random.nextInt(options.trainers);
+        boolean poison = random.nextDouble() * 100 < options.poisonPercent;
+        LocalDate trainingDate = FIRST_DAY.plusDays(random.nextInt(366));
+        return TrainerWorkloadRequest.builder()
+                // a missing username is the listener's simulated failure; it is parked on its first delivery
+                .trainerUsername(poison ? null : "load.trainer" + trainer)
+                .trainerFirstName("Load")
+                .trainerLastName("Trainer" + trainer)
+                .isActive(true)
+                .trainingDate(Date.from(trainingDate.atStartOfDay(ZoneOffset.UTC).toInstant()))
+                .trainingDuration(30 + random.nextInt(91))
+                .actionType(random.nextInt(100) < options.deletePercent
+                        ? TrainerWorkloadRequest.ActionType.DELETE : TrainerWorkloadRequest.ActionType.ADD)
+                .eventId(UUID.randomUUID().toString())
+                .build();
+    }
+
+    private static long setAside(BrokerService broker) throws Exception {
+        return messagesOn(broker, PARKING_QUEUE) + messagesOn(broker, DEAD_LETTER_QUEUE);
+    }
+
+    private static long messagesOn(BrokerService broker, String queue) throws Exception {
+        return broker.getDestination(new ActiveMQQueue(queue)).getDestinationStatistics().getMessages().getCount();
+    }
+
+    private static void progress(long startNanos, long published, AppliedEventTracker tracker) {
+        System.out.printf("t=%3ds published=%d applied=%d pending=%d%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos), published, tracker.applied(),
+                tracker.pending());
+    }
+
+    private static void report(LoadResult result, AppliedEventTracker tracker, MeterRegistry registry,
+                               long parked, long deadLetters, LoadHarnessOptions options) {
+        long[] latencies = tracker.sortedLatencies();
+        double measuredSeconds = Math.max(1, tracker.lastAppliedNanos() - tracker.measureFromNanos()) / 1e9;
+        Counter redelivered = registry.find("workload.message.redelivered").counter();
+        double failures = registry.find("workload.message.failures").counters().stream()
+                .mapToDouble(Counter::count).sum();
+
+        System.out.println();
+        System.out.printf("Published   %d events (%d poison) in %.1fs, %.0f events/s offered%n",
+                result.published, result.poisoned, result.publishNanos / 1e9,
+                result.published / (result.publishNanos / 1e9));
+        System.out.printf("Applied     %d events after %ds warm-up, %.0f events/s sustained%n",
+                tracker.applied(), options.warmupSeconds, tracker.applied() / measuredSeconds);
+        if (latencies.length > 0) {
+            System.out.printf("Latency     p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms%n",
+                    percentile(latencies, 0.5), percentile(latencies, 0.9), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e6);
+        }
+        System.out.printf("Redelivery  %.0f redelivered, %.0f failed deliveries, %d parked, %d dead-lettered%n",
+                redelivered == null ? 0 : redelivered.count(), failures, parked, deadLetters);
+        System.out.printf("Unapplied   %d events still pending after drain%n", tracker.pending());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class LoadResult {
+
+        private final long published;
+        private final long poisoned;
+        private final long publishNanos;
+
+        private LoadResult(long published, long poisoned, long publishNanos) {
+            this.published = published;
+            this.poisoned = poisoned;
+            this.publishNanos = publishNanos;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.epam.trainer_session_management.compaction;
+
+import com.epam.trainer_session_management.config.WorkloadCompactionProperties;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Periodically compacts every trainer's years older than the retention window out of the hot month counters, the
+ * daily index, the history checkpoints and the duration sketches, so their memory and scan cost follow the window
+ * rather than the trainer's whole history. Compacted years remain readable and come back on their own when a late
+ * change arrives for them. Snapshots still hold every year, so after a restart the first run compacts them again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.workload.compaction", name = "enabled", havingValue = "true")
+public class WorkloadCompactor implements MeterBinder {
+
+    private final TrainerDictionary trainerDictionary;
+    private final TrainerWorkloadStore trainerWorkloadStore;
+    private final DailyWorkloadIndex dailyWorkloadIndex;
+    private final WorkloadHistory workloadHistory;
+    private final DurationSketches durationSketches;
+    private final int retentionYears;
+    private final IntSupplier currentYear;
+
+    private volatile long compactedYears;
+
+    @Autowired
+    public WorkloadCompactor(WorkloadCompactionProperties properties, TrainerDictionary trainerDictionary,
+                             TrainerWorkloadStore trainerWorkloadStore, DailyWorkloadIndex dailyWorkloadIndex,
+                             WorkloadHistory workloadHistory, DurationSketches durationSketches) {
+        this(properties, trainerDictionary, trainerWorkloadStore, dailyWorkloadIndex, workloadHistory,
+                durationSketches, () -> Year.now().getValue());
+    }
+
+    WorkloadCompactor(WorkloadCompactionProperties properties, TrainerDictionary trainerDictionary,
+                      TrainerWorkloadStore trainerWorkloadStore, DailyWorkloadIndex dailyWorkloadIndex,
+                      WorkloadHistory workloadHistory, DurationSketches durationSketches, IntSupplier currentYear) {
+        if (properties.getRetentionYears() < 1) {
+            throw new IllegalArgumentException("Retention must keep at least one year: "
+                    + properties.getRetentionYears());
+        }
+        this.trainerDictionary = trainerDictionary;
+        this.trainerWorkloadStore = trainerWorkloadStore;
+        this.dailyWorkloadIndex = dailyWorkloadIndex;
+        this.workloadHistory = workloadHistory;
+        this.durationSketches = durationSketches;
+        this.retentionYears = properties.getRetentionYears();
+        this.currentYear = currentYear;
+    }
+
+    /**
+     * Compacts every known trainer and returns how many trainer years were moved to the cold tier.
+     */
+    @Scheduled(initialDelayString = "${application.workload.compaction.initial-delay:PT1M}",
+            fixedDelayString = "${application.workload.compaction.interval:PT6H}")
+    public synchronized int compact() {
+        long started = System.nanoTime();
+        int beforeYear = currentYear.getAsInt() - retentionYears + 1;
+        int moved = 0;
+        int dailyYears = 0;
+        int historyMonths = 0;
+        int sketchMonths = 0;
+        // every stored trainer has a dictionary ID; trainers registered during the walk have nothing old yet
+        for (int trainerId = 0; trainerId < trainerDictionary.size(); trainerId++) {
+            moved += trainerWorkloadStore.compact(trainerId, beforeYear);
+            dailyYears += dailyWorkloadIndex.compact(trainerId, beforeYear);
+            historyMonths += workloadHistory.compact(trainerId, beforeYear);
+            sketchMonths += durationSketches.compact(trainerId, beforeYear);
+        }
+        compactedYears += moved;
+        log.info("Compacted {} trainer years, {} daily index years, {} history months and {} sketch months before {}"
+                        + " in {} ms", moved, dailyYears, historyMonths, sketchMonths, beforeYear,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return moved;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("workload.compaction.years", this, compactor -> compactor.compactedYears)
+                .description("Trainer years moved from the hot month counters to the compacted cold tier")
+                .register(registry);
+    }
+}
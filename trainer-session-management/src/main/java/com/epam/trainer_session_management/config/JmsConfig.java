@@ -1,9 +1,16 @@
 package com.epam.trainer_session_management.config;
 
 import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.listener.BatchJmsListenerContainerFactory;
+import com.epam.trainer_session_management.listener.TrainerHoursMessageListener;
 import jakarta.jms.ConnectionFactory;
+import org.apache.activemq.RedeliveryPolicy;
+import org.springframework.boot.autoconfigure.jms.activemq.ActiveMQConnectionFactoryCustomizer;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
 import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
 
@@ -25,16 +32,55 @@ public class JmsConfig {
         return converter;
     }
 
+    /**
+     * A rolled-back delivery comes back after an exponentially growing delay instead of at once; the consumer holds
+     * off dispatching meanwhile rather than spinning on the same message.
+     */
+    @Bean
+    public ActiveMQConnectionFactoryCustomizer redeliveryPolicyCustomizer(ListenerRedeliveryProperties properties) {
+        return connectionFactory -> {
+            RedeliveryPolicy redeliveryPolicy = connectionFactory.getRedeliveryPolicy();
+            // One attempt beyond the listener's last, so the broker's DLQ only takes what could not be parked
+            redeliveryPolicy.setMaximumRedeliveries(properties.getMaxRedeliveries() + 1);
+            redeliveryPolicy.setInitialRedeliveryDelay(properties.getInitialDelay().toMillis());
+            redeliveryPolicy.setRedeliveryDelay(properties.getInitialDelay().toMillis());
+            redeliveryPolicy.setUseExponentialBackOff(properties.getMultiplier() > 1.0);
+            redeliveryPolicy.setBackOffMultiplier(properties.getMultiplier());
+            redeliveryPolicy.setMaximumRedeliveryDelay(properties.getMaxDelay().toMillis());
+        };
+    }
+
     @Bean
     public DefaultJmsListenerContainerFactory jmsListenerContainerFactory(
             ConnectionFactory connectionFactory,
-            MappingJackson2MessageConverter messageConverter
+            MappingJackson2MessageConverter messageConverter,
+            ListenerBatchProperties batchProperties,
+            ListenerScalingProperties scalingProperties,
+            WorkloadShardingProperties shardingProperties,
+            TrainerHoursMessageListener trainerHoursMessageListener,
+            Environment environment
     ) {
-        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        // Batch mode drains several messages per transaction; failed batches fall back to one message per commit
+        DefaultJmsListenerContainerFactory factory = batchProperties.isEnabled()
+                ? new BatchJmsListenerContainerFactory(trainerHoursMessageListener,
+                        batchProperties.getSize(), batchProperties.getTimeout())
+                : new DefaultJmsListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setSessionTransacted(true); //  Critical for DLQ to work
         factory.setMessageConverter(messageConverter);
+        // Starts at the floor; ListenerConcurrencyScaler grows it with the backlog. Per-trainer order is kept by the
+        // broker through JMSXGroupID, and batches still fan out on the striped workload executor.
+        factory.setConcurrency(scalingProperties.isEnabled()
+                ? String.valueOf(scalingProperties.getMinConcurrency()) : "1");
+        // A sharded listener waits for WorkloadShardCoordinator to assign it its partition queues
+        factory.setAutoStartup(!shardingProperties.isEnabled());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Invokers block in receive() most of the time; MDC is thread-local, so it stays per invocation
+            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("jms-listener-");
+            taskExecutor.setVirtualThreads(true);
+            factory.setTaskExecutor(taskExecutor);
+        }
         return factory;
     }
 
-}
\ No newline at end of file
+}
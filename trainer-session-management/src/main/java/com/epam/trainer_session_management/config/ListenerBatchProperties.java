@@ -0,0 +1,19 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.broker.batch")
+public class ListenerBatchProperties {
+
+    private boolean enabled;
+    private int size = 100;
+    private Duration timeout = Duration.ofMillis(200);
+}
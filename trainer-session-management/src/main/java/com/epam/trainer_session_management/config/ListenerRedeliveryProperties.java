@@ -0,0 +1,23 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.broker.redelivery")
+public class ListenerRedeliveryProperties {
+
+    /**
+     * Redeliveries after the first delivery; the last attempt parks the message instead of failing it again.
+     */
+    private int maxRedeliveries = 6;
+    private Duration initialDelay = Duration.ofSeconds(1);
+    private double multiplier = 2.0;
+    private Duration maxDelay = Duration.ofMinutes(5);
+}
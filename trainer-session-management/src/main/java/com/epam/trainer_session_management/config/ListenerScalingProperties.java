@@ -0,0 +1,36 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.broker.scaling")
+public class ListenerScalingProperties {
+
+    private boolean enabled;
+    private int minConcurrency = 1;
+    private int maxConcurrency = 8;
+    /**
+     * Backlog one consumer is expected to keep up with; the target concurrency is the backlog divided by this.
+     */
+    private int messagesPerConsumer = 500;
+    /**
+     * Age of the oldest waiting message above which one more consumer is requested whatever the backlog.
+     */
+    private Duration maxLag = Duration.ofSeconds(30);
+    /**
+     * Consecutive samples that must ask for more consumers before scaling up.
+     */
+    private int scaleUpSamples = 2;
+    /**
+     * Consecutive samples that must ask for fewer consumers before scaling down by one.
+     */
+    private int scaleDownSamples = 6;
+    private Duration interval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,21 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.broker.parking")
+public class ParkingLotProperties {
+
+    private String destination = "trainer.workload.parking";
+    private String deadLetterDestination = "ActiveMQ.DLQ";
+    private int replayBatchSize = 100;
+    /**
+     * Upper bound on replayed messages per second, so a replay does not crowd out live traffic.
+     */
+    private int replayRate = 500;
+}
@@ -0,0 +1,28 @@
+package com.epam.trainer_session_management.config;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class RestClientConfig {
+
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder loadBalancedRestClientBuilder() {
+        return RestClient.builder();
+    }
+
+    @Bean
+    public RestClient gymCrmRestClient(RestClient.Builder loadBalancedRestClientBuilder) {
+        // Service names such as http://gym-crm/ are resolved through Eureka
+        return loadBalancedRestClientBuilder.build();
+    }
+
+    @Bean
+    public RestClient shardRestClient() {
+        // Shard and replica peers are addressed by instance URI, so this one bypasses the load balancer
+        return RestClient.create();
+    }
+}
@@ -0,0 +1,18 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.security")
+public class ServiceTokenProperties {
+
+    /**
+     * Token shared with gym-crm and the other workload instances; while unset, every service endpoint answers 403.
+     */
+    private String serviceToken;
+}
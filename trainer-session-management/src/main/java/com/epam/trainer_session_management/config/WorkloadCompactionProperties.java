@@ -0,0 +1,23 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.workload.compaction")
+public class WorkloadCompactionProperties {
+
+    private boolean enabled;
+    /**
+     * Calendar years kept in the hot month counters, the current one included; older years are compacted.
+     */
+    private int retentionYears = 3;
+    private Duration initialDelay = Duration.ofMinutes(1);
+    private Duration interval = Duration.ofHours(6);
+}
@@ -0,0 +1,19 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.workload.dedup")
+public class WorkloadDedupProperties {
+
+    private boolean enabled = true;
+    private int capacity = 65_536;
+    private Duration window = Duration.ofMinutes(10);
+}
@@ -0,0 +1,16 @@
+package com.epam.trainer_session_management.config;
+
+import com.epam.trainer_session_management.executor.StripedExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WorkloadExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public StripedExecutor workloadExecutor(@Value("${application.workload.stripes:0}") int stripes) {
+        // One lane per core by default; a trainer always maps to the same lane, so its updates stay ordered
+        return new StripedExecutor("workload-stripe", stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors());
+    }
+}
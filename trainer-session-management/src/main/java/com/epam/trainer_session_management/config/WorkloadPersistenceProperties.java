@@ -0,0 +1,22 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.workload.persistence")
+public class WorkloadPersistenceProperties {
+
+    private boolean enabled;
+    private String directory = "data/workload";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private Duration snapshotInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,17 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.workload.rebuild")
+public class WorkloadRebuildProperties {
+
+    private boolean onStartup;
+    private String sourceUrl = "http://gym-crm/api/v1/trainings/workload/monthly";
+    private int batchSize = 1_000;
+}
@@ -0,0 +1,24 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.workload.replication")
+public class WorkloadReplicationProperties {
+
+    private boolean enabled;
+    /**
+     * Name this replica's counters are kept under on every replica; must be unique and survive restarts.
+     */
+    private String replicaId = "local";
+    private String serviceId = "trainer-session-management";
+    private Duration interval = Duration.ofSeconds(5);
+    private int maxCellsPerExchange = 5000;
+}
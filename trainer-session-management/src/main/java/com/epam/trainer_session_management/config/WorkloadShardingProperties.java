@@ -0,0 +1,28 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.workload.sharding")
+public class WorkloadShardingProperties {
+
+    private boolean enabled;
+    /**
+     * Fixed number of partition queues; must match {@code application.active_mq.broker.partitions} in gym-crm.
+     */
+    private int partitions = 64;
+    private int virtualNodes = 128;
+    private String serviceId = "trainer-session-management";
+    private Duration refreshInterval = Duration.ofSeconds(15);
+    /**
+     * How long a new owner waits for the previous one to hand a partition over before consuming it anyway.
+     */
+    private Duration handoffTimeout = Duration.ofMinutes(2);
+}
@@ -0,0 +1,17 @@
+package com.epam.trainer_session_management.config;
+
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class WorkloadStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public TrainerDictionary trainerDictionary(WorkloadStoreProperties properties) {
+        String file = properties.getDictionaryFile();
+        return file == null || file.isBlank() ? new TrainerDictionary() : new TrainerDictionary(Path.of(file));
+    }
+}
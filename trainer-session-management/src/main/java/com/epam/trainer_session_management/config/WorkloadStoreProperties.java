@@ -0,0 +1,25 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.workload.store")
+public class WorkloadStoreProperties {
+
+    /**
+     * {@code memory} keeps trainers on the heap, {@code mapped} keeps them in memory-mapped files.
+     */
+    private String type = "memory";
+    private String directory = "data/workload/store";
+    private int initialTrainers = 1_024;
+    private int initialTrainerYears = 4_096;
+    /**
+     * File holding the username to trainer ID dictionary; blank keeps the dictionary on the heap only.
+     */
+    private String dictionaryFile = "data/workload/store/usernames.dict";
+}
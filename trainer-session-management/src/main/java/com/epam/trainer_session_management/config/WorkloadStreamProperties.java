@@ -0,0 +1,25 @@
+package com.epam.trainer_session_management.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.workload.stream")
+public class WorkloadStreamProperties {
+
+    /**
+     * Distinct trainer-months a subscriber may have pending before it is dropped as too slow.
+     */
+    private int bufferSize = 256;
+    private int deliveryThreads = 2;
+    /**
+     * Lifetime of one SSE connection; clients reconnect after it.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
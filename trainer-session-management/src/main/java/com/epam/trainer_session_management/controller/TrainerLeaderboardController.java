@@ -0,0 +1,35 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.LeaderboardEntryResponse;
+import com.epam.trainer_session_management.dto.LeaderboardResponse;
+import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/leaderboard")
+public class TrainerLeaderboardController {
+
+    private final TrainerWorkingHoursService trainerWorkingHoursService;
+
+    @GetMapping(value = "/{year}/{month}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(@PathVariable("year") String year,
+                                                              @PathVariable("month") String month,
+                                                              @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(trainerWorkingHoursService.getLeaderboard(year, month, limit));
+    }
+
+    @GetMapping(value = "/{year}/{month}/{username}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LeaderboardEntryResponse> getTrainerRank(@PathVariable("year") String year,
+                                                                   @PathVariable("month") String month,
+                                                                   @PathVariable("username") String username) {
+        return ResponseEntity.ok(trainerWorkingHoursService.getTrainerRank(username, year, month));
+    }
+}
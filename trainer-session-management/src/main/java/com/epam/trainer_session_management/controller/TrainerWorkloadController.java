@@ -0,0 +1,136 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.TrainerDurationStatsResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadAsOfResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchRequest;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRangeResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadSummaryResponse;
+import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read API over the trainer workload. Every single-trainer response carries an ETag built from the trainer's workload
+ * tag, and the tag is checked before the body is assembled, so an unchanged trainer is answered with a bare 304. With
+ * replication on the tag follows the replicated counts, so a client switching replicas keeps its 304s.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/workload")
+public class TrainerWorkloadController {
+
+    private final TrainerWorkingHoursService trainerWorkingHoursService;
+
+    @GetMapping(value = "/{username}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TrainerWorkloadSummaryResponse> getTrainerWorkload(@PathVariable("username") String username,
+                                                                             WebRequest webRequest) {
+        String eTag = eTagOf(username);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ok(eTag, trainerWorkingHoursService.getTrainerWorkloadSummary(username));
+    }
+
+    @GetMapping(value = "/{username}/{year}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TrainerWorkloadSummaryResponse> getTrainerYearWorkload(@PathVariable("username") String username,
+                                                                                 @PathVariable("year") String year,
+                                                                                 WebRequest webRequest) {
+        String eTag = eTagOf(username);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ok(eTag, trainerWorkingHoursService.getTrainerWorkloadSummary(username, year));
+    }
+
+    @GetMapping(value = "/{username}/{year}/{month}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TrainerWorkloadResponse> getTrainerMonthWorkload(@PathVariable("username") String username,
+                                                                           @PathVariable("year") String year,
+                                                                           @PathVariable("month") String month,
+                                                                           WebRequest webRequest) {
+        String eTag = eTagOf(username);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ok(eTag, trainerWorkingHoursService.getTrainerWorkingHours(username, year, month));
+    }
+
+    /**
+     * Hours of a month as they were recorded at {@code at}; no ETag, since a past answer never changes.
+     */
+    @GetMapping(value = "/{username}/{year}/{month}/as-of", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TrainerWorkloadAsOfResponse> getTrainerMonthWorkloadAsOf(
+            @PathVariable("username") String username,
+            @PathVariable("year") String year,
+            @PathVariable("month") String month,
+            @RequestParam("at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at) {
+        return ResponseEntity.ok(trainerWorkingHoursService.getTrainerWorkingHoursAsOf(username, year, month, at));
+    }
+
+    @GetMapping(value = "/{username}/{year}/{month}/durations", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TrainerDurationStatsResponse> getTrainerMonthDurations(
+            @PathVariable("username") String username,
+            @PathVariable("year") String year,
+            @PathVariable("month") String month,
+            WebRequest webRequest) {
+        String eTag = quoted(trainerWorkingHoursService.getTrainerDurationStatsTag(username));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ok(eTag, trainerWorkingHoursService.getTrainerDurationStats(username, year, month));
+    }
+
+    @GetMapping(value = "/{username}/range", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TrainerWorkloadRangeResponse> getTrainerRangeWorkload(
+            @PathVariable("username") String username,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
+        String eTag = eTagOf(username);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ok(eTag, trainerWorkingHoursService.getTrainerWorkingHoursBetween(username, from, to));
+    }
+
+    /**
+     * Grid query for many trainers at once; a POST because the username list does not fit a URL comfortably.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TrainerWorkloadBatchResponse> getTrainerWorkloadBatch(
+            @RequestBody TrainerWorkloadBatchRequest request) {
+        return ResponseEntity.ok(trainerWorkingHoursService.getTrainerWorkloadBatch(request));
+    }
+
+    // The tag is read before the body, so the body is never older than the tag that describes it
+    private String eTagOf(String username) {
+        return quoted(trainerWorkingHoursService.getTrainerWorkloadTag(username));
+    }
+
+    private static String quoted(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    private static <T> ResponseEntity<T> ok(String eTag, T body) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
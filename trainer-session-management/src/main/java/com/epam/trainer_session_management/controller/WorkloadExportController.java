@@ -0,0 +1,46 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.enums.ExportFormat;
+import com.epam.trainer_session_management.service.WorkloadExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Bulk export of every trainer's monthly hours, streamed to the client while the store is walked.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/export")
+public class WorkloadExportController {
+
+    private final WorkloadExportService workloadExportService;
+
+    @GetMapping("/workload")
+    public ResponseEntity<StreamingResponseBody> exportWorkload(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "year", required = false) Integer year,
+            @RequestParam(value = "month", required = false) Integer month) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        if (month != null && (month < 1 || month > 12)) {
+            throw new IllegalArgumentException("Invalid month: " + month);
+        }
+
+        StreamingResponseBody body = outputStream ->
+                workloadExportService.exportWorkload(exportFormat, year, month, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("workload." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,28 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+import com.epam.trainer_session_management.service.WorkloadRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reconciles the workload with gym-crm on demand; the workload listener is stopped while the rebuild runs, so live
+ * updates wait on the queue. Requires the service token (see
+ * {@link com.epam.trainer_session_management.security.ServiceTokenFilter}).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/workload/rebuild")
+public class WorkloadRebuildController {
+
+    private final WorkloadRebuildService workloadRebuildService;
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WorkloadRebuildResponse> rebuild() {
+        return ResponseEntity.ok(workloadRebuildService.rebuild());
+    }
+}
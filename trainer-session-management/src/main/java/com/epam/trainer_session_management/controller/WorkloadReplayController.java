@@ -0,0 +1,31 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.WorkloadReplayResponse;
+import com.epam.trainer_session_management.enums.ReplaySource;
+import com.epam.trainer_session_management.service.WorkloadReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Feeds parked or dead-lettered workload messages back in once whatever made them fail has been fixed. Requires the
+ * service token (see {@link com.epam.trainer_session_management.security.ServiceTokenFilter}).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/workload/replay")
+public class WorkloadReplayController {
+
+    private final WorkloadReplayService workloadReplayService;
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WorkloadReplayResponse> replay(
+            @RequestParam(value = "source", defaultValue = "parking") String source,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(workloadReplayService.replay(ReplaySource.fromValue(source), limit));
+    }
+}
@@ -0,0 +1,33 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.WorkloadReplicationRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplicationResponse;
+import com.epam.trainer_session_management.replication.WorkloadReplicator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Counter exchange between workload replicas, guarded by the service token they share with gym-crm
+ * (see {@link com.epam.trainer_session_management.security.ServiceTokenFilter}).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/replication")
+@ConditionalOnProperty(prefix = "application.workload.replication", name = "enabled", havingValue = "true")
+public class WorkloadReplicationController {
+
+    private final WorkloadReplicator workloadReplicator;
+
+    @PostMapping(value = "/deltas", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WorkloadReplicationResponse> mergeDeltas(
+            @RequestBody WorkloadReplicationRequest request) {
+        return ResponseEntity.ok(workloadReplicator.accept(request));
+    }
+}
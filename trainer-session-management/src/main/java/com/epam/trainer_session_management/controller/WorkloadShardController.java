@@ -0,0 +1,59 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+import com.epam.trainer_session_management.service.WorkloadShardService;
+import com.epam.trainer_session_management.sharding.WorkloadShardCoordinator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Partition hand-over between workload instances, guarded by the service token they share with gym-crm
+ * (see {@link com.epam.trainer_session_management.security.ServiceTokenFilter}).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/shards")
+@ConditionalOnProperty(prefix = "application.workload.sharding", name = "enabled", havingValue = "true")
+public class WorkloadShardController {
+
+    private final WorkloadShardService workloadShardService;
+    private final WorkloadShardCoordinator workloadShardCoordinator;
+
+    /**
+     * Answers 409 while this instance still consumes the partition; the new owner asks again later.
+     */
+    @GetMapping(value = "/{partition}/workload", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPartition(
+            @PathVariable("partition") int partition) {
+        if (!workloadShardCoordinator.canHandOff(partition)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        StreamingResponseBody body = outputStream -> workloadShardService.exportPartition(partition, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PutMapping(value = "/{partition}/workload", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WorkloadRebuildResponse> importPartition(
+            @PathVariable("partition") int partition,
+            @RequestHeader(name = WorkloadShardCoordinator.SOURCE_INSTANCE_HEADER, required = false)
+            String sourceInstanceId,
+            InputStream source) throws IOException {
+        return ResponseEntity.ok(workloadShardCoordinator.acceptHandoff(partition, sourceInstanceId, source));
+    }
+}
@@ -0,0 +1,71 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.config.WorkloadStreamProperties;
+import com.epam.trainer_session_management.dto.WorkloadChangeEvent;
+import com.epam.trainer_session_management.exception.WorkloadNotFoundException;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.stream.WorkloadChangeBroadcaster;
+import com.epam.trainer_session_management.stream.WorkloadEventSink;
+import com.epam.trainer_session_management.stream.WorkloadSubscription;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Live workload changes as server-sent events, for every trainer or for one. Each event is named {@code workload}
+ * and carries the journal sequence as its ID; months that change faster than the client reads arrive coalesced.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/stream")
+public class WorkloadStreamController {
+
+    private static final String EVENT_NAME = "workload";
+
+    private final WorkloadChangeBroadcaster workloadChangeBroadcaster;
+    private final TrainerDictionary trainerDictionary;
+    private final WorkloadStreamProperties streamProperties;
+
+    @GetMapping(value = "/workload", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllWorkload() {
+        return subscribe(WorkloadSubscription.ALL_TRAINERS);
+    }
+
+    @GetMapping(value = "/workload/{username}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTrainerWorkload(@PathVariable("username") String username) {
+        // Only known trainers, so a subscription never registers a username in the persistent dictionary
+        int trainerId = trainerDictionary.find(username);
+        if (trainerId == TrainerDictionary.NO_ID) {
+            throw new WorkloadNotFoundException("Trainer not found: " + username);
+        }
+        return subscribe(trainerId);
+    }
+
+    private SseEmitter subscribe(int trainerId) {
+        SseEmitter emitter = new SseEmitter(streamProperties.getTimeout().toMillis());
+        WorkloadSubscription subscription = workloadChangeBroadcaster.subscribe(trainerId, new WorkloadEventSink() {
+            @Override
+            public void send(WorkloadChangeEvent event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .name(EVENT_NAME)
+                        .id(String.valueOf(event.getSequence()))
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(() -> workloadChangeBroadcaster.unsubscribe(subscription));
+        emitter.onTimeout(() -> workloadChangeBroadcaster.unsubscribe(subscription));
+        emitter.onError(error -> workloadChangeBroadcaster.unsubscribe(subscription));
+        return emitter;
+    }
+}
@@ -0,0 +1,240 @@
+package com.epam.trainer_session_management.dedup;
+
+import com.epam.trainer_session_management.config.WorkloadDedupProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the IDs of recently applied workload events so that redelivered messages are dropped.
+ * <p>
+ * Two rotating Bloom filter generations answer "never seen" without touching the exact index. A Bloom hit is
+ * confirmed against a fixed-size ring of recent IDs with a linear-probing lookup table; the oldest ID is evicted
+ * once the ring is full or falls out of the window, so memory does not grow with the message rate. An ID that is
+ * no longer in the ring is treated as new.
+ */
+@Component
+public class WorkloadDeduplicator implements MeterBinder {
+
+    private static final int BLOOM_HASHES = 7;
+    private static final int BLOOM_BITS_PER_ID = 10;
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    private final int capacity;
+    private final long[] ringMostSigBits;
+    private final long[] ringLeastSigBits;
+    private final long[] ringTimestamps;
+    private int head;
+    private int size;
+
+    // ring index + 1, 0 marks a free slot
+    private final int[] slots;
+    private final int slotMask;
+
+    private long[] currentBloom;
+    private long[] previousBloom;
+    private final long bloomMask;
+    private long generationStarted;
+
+    private long duplicates;
+
+    @Autowired
+    public WorkloadDeduplicator(WorkloadDedupProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    WorkloadDeduplicator(WorkloadDedupProperties properties, LongSupplier clock) {
+        if (properties.getCapacity() <= 0) {
+            throw new IllegalArgumentException("Dedup capacity must be positive: " + properties.getCapacity());
+        }
+        this.enabled = properties.isEnabled();
+        this.windowMillis = properties.getWindow().toMillis();
+        this.clock = clock;
+
+        this.capacity = properties.getCapacity();
+        this.ringMostSigBits = new long[capacity];
+        this.ringLeastSigBits = new long[capacity];
+        this.ringTimestamps = new long[capacity];
+
+        this.slots = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        this.slotMask = slots.length - 1;
+
+        long bloomBits = Long.highestOneBit((long) capacity * BLOOM_BITS_PER_ID - 1) << 1;
+        this.currentBloom = new long[(int) Math.max(1, bloomBits >>> 6)];
+        this.previousBloom = new long[currentBloom.length];
+        this.bloomMask = (long) currentBloom.length * Long.SIZE - 1;
+        this.generationStarted = clock.getAsLong();
+    }
+
+    /**
+     * Returns {@code true} when an event with this ID was recorded within the window.
+     * Events without an ID are never considered duplicates.
+     */
+    public synchronized boolean isDuplicate(String eventId) {
+        if (!enabled || eventId == null) {
+            return false;
+        }
+        UUID id = toUuid(eventId);
+        long now = clock.getAsLong();
+        advance(now);
+
+        long hash = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+        if (!mightContain(currentBloom, hash) && !mightContain(previousBloom, hash)) {
+            return false;
+        }
+        if (find(id.getMostSignificantBits(), id.getLeastSignificantBits(), hash) < 0) {
+            return false;
+        }
+        duplicates++;
+        return true;
+    }
+
+    public void record(String eventId) {
+        record(eventId, clock.getAsLong());
+    }
+
+    /**
+     * Records an applied event; {@code timestamp} is when it was applied, which lets recovery re-seed the window
+     * from the journal.
+     */
+    public synchronized void record(String eventId, long timestamp) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (now - timestamp >= windowMillis) {
+            return;
+        }
+        advance(now);
+
+        UUID id = toUuid(eventId);
+        long mostSigBits = id.getMostSignificantBits();
+        long leastSigBits = id.getLeastSignificantBits();
+        long hash = mix(mostSigBits ^ Long.rotateLeft(leastSigBits, 32));
+        if (find(mostSigBits, leastSigBits, hash) >= 0) {
+            return;
+        }
+
+        if (size == capacity) {
+            evictOldest();
+        }
+        int index = (head + size) % capacity;
+        ringMostSigBits[index] = mostSigBits;
+        ringLeastSigBits[index] = leastSigBits;
+        ringTimestamps[index] = timestamp;
+        size++;
+
+        int slot = (int) hash & slotMask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & slotMask;
+        }
+        slots[slot] = index + 1;
+
+        long step = mix(hash) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (hash + i * step) & bloomMask;
+            currentBloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("workload.dedup.size", this, WorkloadDeduplicator::size)
+                .description("Event IDs currently held in the exact dedup index")
+                .register(registry);
+        FunctionCounter.builder("workload.dedup.duplicates", this, deduplicator -> deduplicator.duplicates)
+                .description("Redelivered workload events dropped as duplicates")
+                .register(registry);
+    }
+
+    private void advance(long now) {
+        if (now - generationStarted >= windowMillis) {
+            long[] recycled = previousBloom;
+            Arrays.fill(recycled, 0L);
+            previousBloom = currentBloom;
+            currentBloom = recycled;
+            generationStarted = now;
+        }
+        while (size > 0 && now - ringTimestamps[head] >= windowMillis) {
+            evictOldest();
+        }
+    }
+
+    private int find(long mostSigBits, long leastSigBits, long hash) {
+        int slot = (int) hash & slotMask;
+        while (slots[slot] != 0) {
+            int index = slots[slot] - 1;
+            if (ringMostSigBits[index] == mostSigBits && ringLeastSigBits[index] == leastSigBits) {
+                return index;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        return -1;
+    }
+
+    private void evictOldest() {
+        int index = head;
+        int gap = slotOf(index);
+        while (slots[gap] != index + 1) {
+            gap = (gap + 1) & slotMask;
+        }
+        // backward-shift deletion keeps every probe chain contiguous
+        int next = (gap + 1) & slotMask;
+        while (slots[next] != 0) {
+            int home = slotOf(slots[next] - 1);
+            if (((next - home) & slotMask) >= ((next - gap) & slotMask)) {
+                slots[gap] = slots[next];
+                gap = next;
+            }
+            next = (next + 1) & slotMask;
+        }
+        slots[gap] = 0;
+
+        head = (head + 1) % capacity;
+        size--;
+    }
+
+    private int slotOf(int index) {
+        return (int) mix(ringMostSigBits[index] ^ Long.rotateLeft(ringLeastSigBits[index], 32)) & slotMask;
+    }
+
+    private boolean mightContain(long[] bloom, long hash) {
+        long step = mix(hash) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (hash + i * step) & bloomMask;
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static UUID toUuid(String eventId) {
+        try {
+            return UUID.fromString(eventId);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(eventId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,23 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardResponse {
+    private String year;
+    private String month;
+    private Integer trainerCount;
+    private List<LeaderboardEntryResponse> trainers;
+}
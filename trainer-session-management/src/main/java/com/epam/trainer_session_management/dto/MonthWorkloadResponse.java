@@ -0,0 +1,19 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MonthWorkloadResponse {
+    private String month;
+    private Float workingHours;
+}
@@ -0,0 +1,29 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One trainer-day as counted by a single replica: every minute it ever added and every minute it ever removed.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReplicatedCell {
+    private String trainerUsername;
+    private String trainerFirstName;
+    private String trainerLastName;
+    private Boolean isActive;
+    private Integer year;
+    private Integer month;
+    private Integer day;
+    private Long addedMinutes;
+    private Long removedMinutes;
+}
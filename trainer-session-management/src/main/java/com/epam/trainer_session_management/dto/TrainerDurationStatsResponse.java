@@ -0,0 +1,27 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Session duration percentiles of one month, in minutes.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainerDurationStatsResponse {
+    private String trainerUsername;
+    private String year;
+    private String month;
+    private Long sessions;
+    private Float p50;
+    private Float p90;
+    private Float p99;
+}
@@ -0,0 +1,27 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Total training duration of one trainer in one month, as streamed by gym-crm.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainerMonthlyWorkloadResponse {
+    private String trainerUsername;
+    private String trainerFirstName;
+    private String trainerLastName;
+    private Boolean isActive;
+    private Integer year;
+    private Integer month;
+    private Long trainingDuration;
+}
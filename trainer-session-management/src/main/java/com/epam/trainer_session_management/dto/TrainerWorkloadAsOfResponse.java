@@ -0,0 +1,26 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Hours of one month as they were recorded at {@code asOf}, next to the hours recorded now.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainerWorkloadAsOfResponse {
+    private String trainerUsername;
+    private String year;
+    private String month;
+    private String asOf;
+    private Float workingHours;
+    private Float currentWorkingHours;
+}
@@ -0,0 +1,27 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Asks for the monthly hours of several trainers at once: either a whole {@code year}, or the months from
+ * {@code from} to {@code to} inclusive, both as {@code yyyy-MM}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainerWorkloadBatchRequest {
+    private List<String> trainerUsernames;
+    private String year;
+    private String from;
+    private String to;
+}
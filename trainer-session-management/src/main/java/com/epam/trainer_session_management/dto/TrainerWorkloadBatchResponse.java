@@ -0,0 +1,29 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Columnar answer to a {@link TrainerWorkloadBatchRequest}: row {@code i} of {@code workingHours} belongs to
+ * {@code trainerUsernames[i]} and {@code trainerIds[i]}, and column {@code j} to {@code months[j]}. Months without
+ * recorded hours are {@code 0}; requested trainers without any workload are listed in {@code missingTrainerUsernames}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainerWorkloadBatchResponse {
+    private List<String> months;
+    private List<String> trainerUsernames;
+    private int[] trainerIds;
+    private float[][] workingHours;
+    private List<String> missingTrainerUsernames;
+}
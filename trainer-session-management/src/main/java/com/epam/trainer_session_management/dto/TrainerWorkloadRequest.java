@@ -25,5 +25,6 @@ public class TrainerWorkloadRequest {
     private Date trainingDate;
     private Integer trainingDuration;
     private ActionType actionType;
+    private String eventId;
 
 }
@@ -0,0 +1,24 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainerWorkloadSummaryResponse {
+    private String trainerUsername;
+    private String trainerFirstName;
+    private String trainerLastName;
+    private Boolean isActive;
+    private List<YearWorkloadResponse> years;
+}
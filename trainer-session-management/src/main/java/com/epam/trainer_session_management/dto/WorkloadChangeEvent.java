@@ -0,0 +1,27 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One month of a trainer as streamed to subscribers: the month total after the change, and the hours added or removed
+ * since the subscriber's previous event for that month.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadChangeEvent {
+    private Long sequence;
+    private String trainerUsername;
+    private String year;
+    private String month;
+    private Float workingHours;
+    private Float deltaHours;
+}
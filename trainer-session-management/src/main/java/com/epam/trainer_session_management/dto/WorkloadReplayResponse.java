@@ -0,0 +1,24 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadReplayResponse {
+    private String source;
+    private Integer replayed;
+    /**
+     * Messages that still cannot be processed and were parked again with the new reason.
+     */
+    private Integer parked;
+    private Long durationMillis;
+}
@@ -0,0 +1,30 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The cells a replica changed after {@code fromVersion} up to and including {@code upToVersion} of its local clock.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadReplicationRequest {
+    private String replicaId;
+    /**
+     * Changes on every start of the sending replica, whose versions are only comparable within one incarnation.
+     */
+    private String incarnation;
+    private Long fromVersion;
+    private Long upToVersion;
+    private List<ReplicatedCell> cells;
+}
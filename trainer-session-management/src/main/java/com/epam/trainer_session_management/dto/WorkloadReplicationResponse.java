@@ -0,0 +1,23 @@
+package com.epam.trainer_session_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadReplicationResponse {
+    private String replicaId;
+    /**
+     * Version of the sender up to which the receiver holds every cell; the sender continues from there.
+     */
+    private Long mergedVersion;
+    private Integer mergedCells;
+}
@@ -0,0 +1,16 @@
+package com.epam.trainer_session_management.enums;
+
+import java.util.Locale;
+
+public enum ReplaySource {
+    PARKING,
+    DEAD_LETTER;
+
+    public static ReplaySource fromValue(String value) {
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported replay source: " + value, e);
+        }
+    }
+}
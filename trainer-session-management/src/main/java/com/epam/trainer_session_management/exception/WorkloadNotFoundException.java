@@ -0,0 +1,7 @@
+package com.epam.trainer_session_management.exception;
+
+public class WorkloadNotFoundException extends IllegalArgumentException {
+    public WorkloadNotFoundException(String message) {
+        super(message);
+    }
+}
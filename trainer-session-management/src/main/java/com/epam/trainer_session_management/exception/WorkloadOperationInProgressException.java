@@ -0,0 +1,7 @@
+package com.epam.trainer_session_management.exception;
+
+public class WorkloadOperationInProgressException extends IllegalStateException {
+    public WorkloadOperationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.epam.trainer_session_management.exception;
+
+public class WorkloadRebuildException extends RuntimeException {
+    public WorkloadRebuildException(String message) {
+        super(message);
+    }
+
+    public WorkloadRebuildException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.epam.trainer_session_management.exception;
+
+public class WorkloadRebuildRefusedException extends IllegalStateException {
+    public WorkloadRebuildRefusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,223 @@
+package com.epam.trainer_session_management.executor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.MDC;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on a fixed set of single-threaded lanes chosen by key hash: tasks with the same key execute
+ * strictly in submission order, tasks with different keys run in parallel.
+ */
+public class StripedExecutor implements MeterBinder {
+
+    private final String name;
+    private final Lane[] lanes;
+
+    // set once meters are bound; the time a task spends queued behind other tasks of its stripe
+    private volatile Timer waitTimer;
+
+    public StripedExecutor(String name, int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripes);
+        }
+        this.name = name;
+        this.lanes = new Lane[stripes];
+        for (int i = 0; i < stripes; i++) {
+            lanes[i] = new Lane(name + "-" + i);
+        }
+    }
+
+    public int stripes() {
+        return lanes.length;
+    }
+
+    public int stripeOf(Object key) {
+        int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    public CompletableFuture<Void> submit(Object key, Runnable task) {
+        return CompletableFuture.runAsync(timed(withContext(task)), lanes[stripeOf(key)].executor);
+    }
+
+    /**
+     * Runs {@code task} on the key's stripe and waits for its result, so it is ordered with every other task of the
+     * key. A failure is rethrown as the task threw it. Called from that stripe, the task runs inline.
+     */
+    public <T> T call(Object key, Supplier<T> task) {
+        Lane lane = lanes[stripeOf(key)];
+        if (Thread.currentThread() == lane.thread) {
+            return task.get();
+        }
+        List<T> result = new ArrayList<>(1);
+        try {
+            CompletableFuture.runAsync(timed(withContext(() -> result.add(task.get()))), lane.executor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+        return result.get(0);
+    }
+
+    /**
+     * Applies {@code action} to every item, one lane task per stripe, and waits for all of them.
+     * Items sharing a key are processed in list order.
+     *
+     * @throws CompletionException wrapping the first failure once every lane has finished
+     */
+    public <T> void executeAll(List<T> items, Function<T, ?> keyOf, Consumer<T> action) {
+        List<List<T>> partitions = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            partitions.add(null);
+        }
+        for (T item : items) {
+            int stripe = stripeOf(keyOf.apply(item));
+            List<T> partition = partitions.get(stripe);
+            if (partition == null) {
+                partition = new ArrayList<>();
+                partitions.set(stripe, partition);
+            }
+            partition.add(item);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int stripe = 0; stripe < lanes.length; stripe++) {
+            List<T> partition = partitions.get(stripe);
+            if (partition != null) {
+                futures.add(CompletableFuture.runAsync(timed(withContext(() -> partition.forEach(action))),
+                        lanes[stripe].executor));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /**
+     * Samples every stripe's utilization over the time since the previous sample. Runs on a fixed schedule, so the
+     * gauge window does not depend on how often, or by how many registries, it is read.
+     */
+    @Scheduled(fixedRateString = "${application.workload.stripe-utilization-interval:PT15S}")
+    public void sampleUtilization() {
+        for (Lane lane : lanes) {
+            lane.sampleUtilization();
+        }
+    }
+
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[i];
+            String stripe = String.valueOf(i);
+            Gauge.builder("workload.stripe.queue.depth", lane, l -> l.executor.getQueue().size())
+                    .description("Tasks waiting on the stripe")
+                    .tag("executor", name)
+                    .tag("stripe", stripe)
+                    .register(registry);
+            Gauge.builder("workload.stripe.utilization", lane, l -> l.utilization)
+                    .description("Share of wall time the stripe spent running tasks over the last sampling interval")
+                    .tag("executor", name)
+                    .tag("stripe", stripe)
+                    .register(registry);
+        }
+        waitTimer = Timer.builder("workload.stripe.wait")
+                .description("Time a task waited on its stripe before running, i.e. contention on hot trainers")
+                .tag("executor", name)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Runnable timed(Runnable task) {
+        Timer timer = waitTimer;
+        if (timer == null) {
+            return task;
+        }
+        long queuedAt = System.nanoTime();
+        return () -> {
+            timer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            task.run();
+        };
+    }
+
+    private static Runnable withContext(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            MDC.setContextMap(context);
+            try {
+                task.run();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+
+    private static final class Lane {
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong runningSince = new AtomicLong();
+        private volatile Thread thread;
+
+        private long sampledAt = System.nanoTime();
+        private long sampledBusyNanos;
+        private volatile double utilization;
+
+        private Lane(String threadName) {
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    }) {
+                @Override
+                protected void beforeExecute(Thread thread, Runnable runnable) {
+                    runningSince.set(System.nanoTime());
+                }
+
+                @Override
+                protected void afterExecute(Runnable runnable, Throwable throwable) {
+                    busyNanos.addAndGet(System.nanoTime() - runningSince.getAndSet(0L));
+                }
+            };
+        }
+
+        private synchronized void sampleUtilization() {
+            long now = System.nanoTime();
+            long running = runningSince.get();
+            long busy = busyNanos.get() + (running == 0L ? 0L : now - running);
+            long elapsed = now - sampledAt;
+            if (elapsed > 0) {
+                utilization = Math.min(1.0, (double) (busy - sampledBusyNanos) / elapsed);
+            }
+            sampledAt = now;
+            sampledBusyNanos = busy;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.epam.trainer_session_management.handler;
+
+import com.epam.trainer_session_management.dto.ExceptionResponse;
+import com.epam.trainer_session_management.exception.WorkloadNotFoundException;
+import com.epam.trainer_session_management.exception.WorkloadOperationInProgressException;
+import com.epam.trainer_session_management.exception.WorkloadRebuildException;
+import com.epam.trainer_session_management.exception.WorkloadRebuildRefusedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(WorkloadNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleWorkloadNotFoundException(WorkloadNotFoundException exception) {
+        log.warn("WorkloadNotFoundException: {}", exception.getMessage());
+        return createExceptionResponse(HttpStatus.NOT_FOUND, exception.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ExceptionResponse> handleIllegalArgumentException(IllegalArgumentException exception) {
+        log.warn("IllegalArgumentException: {}", exception.getMessage());
+        return createExceptionResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
+    }
+
+    @ExceptionHandler(WorkloadOperationInProgressException.class)
+    public ResponseEntity<ExceptionResponse> handleWorkloadOperationInProgressException(
+            WorkloadOperationInProgressException exception) {
+        log.warn("WorkloadOperationInProgressException: {}", exception.getMessage());
+        return createExceptionResponse(HttpStatus.CONFLICT, exception.getMessage());
+    }
+
+    @ExceptionHandler(WorkloadRebuildRefusedException.class)
+    public ResponseEntity<ExceptionResponse> handleWorkloadRebuildRefusedException(
+            WorkloadRebuildRefusedException exception) {
+        log.warn("WorkloadRebuildRefusedException: {}", exception.getMessage());
+        return createExceptionResponse(HttpStatus.CONFLICT, exception.getMessage());
+    }
+
+    @ExceptionHandler(WorkloadRebuildException.class)
+    public ResponseEntity<ExceptionResponse> handleWorkloadRebuildException(WorkloadRebuildException exception) {
+        log.error("WorkloadRebuildException: {}", exception.getMessage(), exception);
+        return createExceptionResponse(HttpStatus.BAD_GATEWAY, exception.getMessage());
+    }
+
+    private static ResponseEntity<ExceptionResponse> createExceptionResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .body(ExceptionResponse.builder()
+                        .status(status.value())
+                        .errorMessage(message)
+                        .build());
+    }
+}
@@ -0,0 +1,74 @@
+package com.epam.trainer_session_management.history;
+
+import java.util.Arrays;
+
+/**
+ * Append-only column of zigzag varints: seven bits per byte, so the small deltas a history mostly holds take one or
+ * two bytes whatever their sign.
+ */
+final class VarIntColumn {
+
+    private byte[] bytes;
+    private int size;
+
+    VarIntColumn() {
+        this(new byte[16], 0);
+    }
+
+    VarIntColumn(byte[] bytes, int size) {
+        this.bytes = bytes;
+        this.size = size;
+    }
+
+    void append(long value) {
+        if (bytes.length - size < 10) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + 10));
+        }
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        bytes[size++] = (byte) zigzag;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    Reader reader(int position) {
+        return new Reader(position);
+    }
+
+    /**
+     * Sequential decoder starting at a byte offset of the column.
+     */
+    final class Reader {
+
+        private int position;
+
+        private Reader(int position) {
+            this.position = position;
+        }
+
+        long next() {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        int position() {
+            return position;
+        }
+    }
+}
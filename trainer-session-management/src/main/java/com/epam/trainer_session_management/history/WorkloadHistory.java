@@ -0,0 +1,401 @@
+package com.epam.trainer_session_management.history;
+
+import com.epam.trainer_session_management.persistence.SnapshotSection;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerIdMap;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.WorkloadChangeListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only, bitemporal record of every applied delta: per trainer, three varint columns hold the recording time,
+ * the training day and the minutes, each time and day stored as the difference to the previous event. Nothing is
+ * ever overwritten, so the hours of a month can be asked for as they stood at any past moment, before later
+ * corrections or DELETEs arrived.
+ * <p>
+ * Every {@value #CHECKPOINT_INTERVAL} events a checkpoint keeps the column offsets and the month totals reached so
+ * far, so an as-of query binary-searches the checkpoints by recording time and decodes at most one interval. Month
+ * totals are unclamped sums, mirroring the store, and are clamped at zero when read. Months of years past the
+ * retention horizon are {@linkplain #compact(int, int) compacted} out of the checkpoints.
+ * <p>
+ * The recording time is when this instance applied the delta. Minutes merged from another replica are therefore
+ * recorded when they were merged here, and replicas may answer differently for moments within the replication lag.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkloadHistory implements WorkloadChangeListener, SnapshotSection {
+
+    static final int CHECKPOINT_INTERVAL = 64;
+    // object header, fields and the two array headers of a checkpoint
+    private static final int CHECKPOINT_BYTES = 80;
+    // object header, fields and the two array headers of the checkpoint totals of a compacted month
+    private static final int MONTH_CHANGES_BYTES = 56;
+
+    private final TrainerDictionary trainerDictionary;
+    private final TrainerIdMap<TrainerHistory> trainers = new TrainerIdMap<>();
+
+    @Override
+    public void onWorkloadChange(WorkloadChange change) {
+        TrainerHistory history = trainers.computeIfAbsent(change.getTrainerId(), key -> new TrainerHistory());
+        synchronized (history) {
+            if (change.getSequence() > 0 && change.getSequence() <= history.sequence) {
+                return;
+            }
+            history.append(change.getTimestamp(), change.getEpochDay(), change.getDeltaMinutes());
+            history.sequence = Math.max(history.sequence, change.getSequence());
+        }
+    }
+
+    /**
+     * Returns the minutes of the month as recorded up to and including {@code asOfMillis}, or {@code 0} when nothing
+     * was recorded for it by then.
+     */
+    public int minutesAsOf(int trainerId, int year, int month, long asOfMillis) {
+        TrainerHistory history = trainers.get(trainerId);
+        if (history == null) {
+            return 0;
+        }
+        LocalDate firstDay = LocalDate.of(year, month, 1);
+        synchronized (history) {
+            return history.minutesAsOf(epochMonthOf(year, month), (int) firstDay.toEpochDay(),
+                    (int) firstDay.plusMonths(1).toEpochDay(), asOfMillis);
+        }
+    }
+
+    /**
+     * Takes the trainer's months before {@code beforeYear} out of the checkpoints. Each keeps its totals only at the
+     * checkpoints where they changed, so the months that late corrections no longer touch stop being copied into
+     * every new checkpoint. As-of answers are unchanged.
+     *
+     * @return the number of months compacted
+     */
+    public int compact(int trainerId, int beforeYear) {
+        TrainerHistory history = trainers.get(trainerId);
+        if (history == null) {
+            return 0;
+        }
+        synchronized (history) {
+            return history.compact(epochMonthOf(beforeYear, 1));
+        }
+    }
+
+    /**
+     * Returns the number of recorded events of the trainer.
+     */
+    public int eventCount(int trainerId) {
+        TrainerHistory history = trainers.get(trainerId);
+        if (history == null) {
+            return 0;
+        }
+        synchronized (history) {
+            return history.count;
+        }
+    }
+
+    /**
+     * Returns an estimate of the heap held by the columns and checkpoints, in bytes.
+     */
+    public long footprintBytes() {
+        long[] bytes = new long[1];
+        trainers.forEach((history, trainerId) -> {
+            synchronized (history) {
+                bytes[0] += history.timestamps.bytes().length + history.days.bytes().length
+                        + history.minutes.bytes().length;
+                for (Checkpoint checkpoint : history.checkpoints) {
+                    bytes[0] += CHECKPOINT_BYTES + (long) checkpoint.months.length * Integer.BYTES * 2;
+                }
+                for (MonthChanges changes : history.compactedMonths.values()) {
+                    bytes[0] += MONTH_CHANGES_BYTES + (long) changes.checkpoints.length * Integer.BYTES * 2;
+                }
+            }
+        });
+        return bytes[0];
+    }
+
+    @Override
+    public String sectionName() {
+        return "history";
+    }
+
+    /**
+     * Writes, per trainer, the sequence, the event count, the last time and day, and the three raw columns;
+     * checkpoints are rebuilt on read.
+     */
+    @Override
+    public void writeSection(DataOutput out) throws IOException {
+        List<Integer> trainerIds = new ArrayList<>(trainers.size());
+        trainers.forEach((history, trainerId) -> trainerIds.add(trainerId));
+        out.writeInt(trainerIds.size());
+        for (int trainerId : trainerIds) {
+            TrainerHistory history = trainers.get(trainerId);
+            synchronized (history) {
+                out.writeUTF(trainerDictionary.usernameOf(trainerId));
+                out.writeLong(history.sequence);
+                out.writeInt(history.count);
+                writeColumn(out, history.timestamps);
+                writeColumn(out, history.days);
+                writeColumn(out, history.minutes);
+            }
+        }
+    }
+
+    @Override
+    public void readSection(DataInput in) throws IOException {
+        int trainerCount = in.readInt();
+        for (int i = 0; i < trainerCount; i++) {
+            String trainerUsername = in.readUTF();
+            long sequence = in.readLong();
+            int count = in.readInt();
+            TrainerHistory history = new TrainerHistory(count, readColumn(in), readColumn(in), readColumn(in));
+            history.sequence = sequence;
+            trainers.put(trainerDictionary.register(trainerUsername), history);
+        }
+    }
+
+    private static void writeColumn(DataOutput out, VarIntColumn column) throws IOException {
+        out.writeInt(column.size());
+        out.write(column.bytes(), 0, column.size());
+    }
+
+    private static VarIntColumn readColumn(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new VarIntColumn(bytes, bytes.length);
+    }
+
+    private static int epochMonthOf(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    private static int epochMonthOf(int epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return epochMonthOf(date.getYear(), date.getMonthValue());
+    }
+
+    /**
+     * Column offsets, last decoded values and the totals of months not yet compacted after
+     * {@code index * CHECKPOINT_INTERVAL} events.
+     */
+    private static final class Checkpoint {
+        private final long timestamp;
+        private final int timestampOffset;
+        private final int dayOffset;
+        private final int minutesOffset;
+        private final int day;
+        private final int[] months;
+        private final int[] totals;
+
+        private Checkpoint(long timestamp, int timestampOffset, int dayOffset, int minutesOffset, int day,
+                           Map<Integer, Integer> monthTotals, int fromMonth) {
+            this.timestamp = timestamp;
+            this.timestampOffset = timestampOffset;
+            this.dayOffset = dayOffset;
+            this.minutesOffset = minutesOffset;
+            this.day = day;
+            this.months = monthTotals.keySet().stream().mapToInt(Integer::intValue)
+                    .filter(epochMonth -> epochMonth >= fromMonth).sorted().toArray();
+            this.totals = new int[months.length];
+            for (int i = 0; i < months.length; i++) {
+                totals[i] = monthTotals.get(months[i]);
+            }
+        }
+
+        private Checkpoint(Checkpoint checkpoint, int fromMonth) {
+            this.timestamp = checkpoint.timestamp;
+            this.timestampOffset = checkpoint.timestampOffset;
+            this.dayOffset = checkpoint.dayOffset;
+            this.minutesOffset = checkpoint.minutesOffset;
+            this.day = checkpoint.day;
+            int from = Arrays.binarySearch(checkpoint.months, fromMonth);
+            from = from >= 0 ? from : -from - 1;
+            this.months = Arrays.copyOfRange(checkpoint.months, from, checkpoint.months.length);
+            this.totals = Arrays.copyOfRange(checkpoint.totals, from, checkpoint.totals.length);
+        }
+
+        private int totalOf(int epochMonth) {
+            int index = Arrays.binarySearch(months, epochMonth);
+            return index >= 0 ? totals[index] : 0;
+        }
+    }
+
+    /**
+     * Totals of one compacted month at the checkpoints where they changed, ordered by checkpoint index.
+     */
+    private static final class MonthChanges {
+        private int[] checkpoints = new int[0];
+        private int[] totals = new int[0];
+
+        private void record(int checkpointIndex, int total) {
+            int size = checkpoints.length;
+            if (size == 0 ? total == 0 : totals[size - 1] == total) {
+                return;
+            }
+            checkpoints = Arrays.copyOf(checkpoints, size + 1);
+            totals = Arrays.copyOf(totals, size + 1);
+            checkpoints[size] = checkpointIndex;
+            totals[size] = total;
+        }
+
+        private int totalAt(int checkpointIndex) {
+            int index = Arrays.binarySearch(checkpoints, checkpointIndex);
+            index = index >= 0 ? index : -index - 2;
+            return index >= 0 ? totals[index] : 0;
+        }
+    }
+
+    /**
+     * Columns and checkpoints of one trainer; all access is guarded by the instance monitor. Recording times are
+     * kept non-decreasing, so a clock stepping back never breaks the binary search.
+     */
+    private static final class TrainerHistory {
+        private final VarIntColumn timestamps;
+        private final VarIntColumn days;
+        private final VarIntColumn minutes;
+        private final List<Checkpoint> checkpoints = new ArrayList<>();
+        private final Map<Integer, Integer> monthTotals = new HashMap<>();
+        // months before compactedBefore, left out of the checkpoints
+        private final Map<Integer, MonthChanges> compactedMonths = new HashMap<>();
+        // compacted months changed since the last checkpoint
+        private final Set<Integer> changedCompactedMonths = new HashSet<>();
+        private int compactedBefore = Integer.MIN_VALUE;
+        private long sequence;
+        private int count;
+        private long lastTimestamp;
+        private int lastDay;
+
+        private TrainerHistory() {
+            this.timestamps = new VarIntColumn();
+            this.days = new VarIntColumn();
+            this.minutes = new VarIntColumn();
+            checkpoints.add(new Checkpoint(Long.MIN_VALUE, 0, 0, 0, 0, monthTotals, compactedBefore));
+        }
+
+        /**
+         * Rebuilds month totals and checkpoints from columns holding {@code count} events.
+         */
+        private TrainerHistory(int count, VarIntColumn timestamps, VarIntColumn days, VarIntColumn minutes) {
+            this.timestamps = timestamps;
+            this.days = days;
+            this.minutes = minutes;
+            checkpoints.add(new Checkpoint(Long.MIN_VALUE, 0, 0, 0, 0, monthTotals, compactedBefore));
+            VarIntColumn.Reader timestampReader = timestamps.reader(0);
+            VarIntColumn.Reader dayReader = days.reader(0);
+            VarIntColumn.Reader minutesReader = minutes.reader(0);
+            for (int i = 0; i < count; i++) {
+                lastTimestamp += timestampReader.next();
+                lastDay += (int) dayReader.next();
+                monthTotals.merge(epochMonthOf(lastDay), (int) minutesReader.next(), Integer::sum);
+                this.count++;
+                if (this.count % CHECKPOINT_INTERVAL == 0) {
+                    checkpoint(timestampReader.position(), dayReader.position(), minutesReader.position());
+                }
+            }
+        }
+
+        private void append(long timestamp, int epochDay, int deltaMinutes) {
+            int epochMonth = epochMonthOf(epochDay);
+            int total = monthTotals.getOrDefault(epochMonth, 0);
+            long recordedAt = Math.max(timestamp, lastTimestamp);
+            timestamps.append(recordedAt - lastTimestamp);
+            days.append((long) epochDay - lastDay);
+            minutes.append(deltaMinutes);
+            lastTimestamp = recordedAt;
+            lastDay = epochDay;
+            monthTotals.put(epochMonth, total + deltaMinutes);
+            if (epochMonth < compactedBefore) {
+                changedCompactedMonths.add(epochMonth);
+            }
+            count++;
+            if (count % CHECKPOINT_INTERVAL == 0) {
+                checkpoint(timestamps.size(), days.size(), minutes.size());
+            }
+        }
+
+        private void checkpoint(int timestampOffset, int dayOffset, int minutesOffset) {
+            checkpoints.add(new Checkpoint(lastTimestamp, timestampOffset, dayOffset, minutesOffset, lastDay,
+                    monthTotals, compactedBefore));
+            int checkpointIndex = checkpoints.size() - 1;
+            for (int epochMonth : changedCompactedMonths) {
+                compactedMonths.computeIfAbsent(epochMonth, key -> new MonthChanges())
+                        .record(checkpointIndex, monthTotals.get(epochMonth));
+            }
+            changedCompactedMonths.clear();
+        }
+
+        private int compact(int beforeMonth) {
+            if (beforeMonth <= compactedBefore) {
+                return 0;
+            }
+            int compacted = 0;
+            for (int epochMonth : monthTotals.keySet()) {
+                if (epochMonth < compactedBefore || epochMonth >= beforeMonth) {
+                    continue;
+                }
+                MonthChanges changes = new MonthChanges();
+                for (int i = 0; i < checkpoints.size(); i++) {
+                    changes.record(i, checkpoints.get(i).totalOf(epochMonth));
+                }
+                compactedMonths.put(epochMonth, changes);
+                // changes since the last checkpoint are recorded by the next one
+                changedCompactedMonths.add(epochMonth);
+                compacted++;
+            }
+            compactedBefore = beforeMonth;
+            checkpoints.replaceAll(checkpoint -> new Checkpoint(checkpoint, beforeMonth));
+            return compacted;
+        }
+
+        private int totalAt(int checkpointIndex, int epochMonth) {
+            if (epochMonth < compactedBefore) {
+                MonthChanges changes = compactedMonths.get(epochMonth);
+                return changes == null ? 0 : changes.totalAt(checkpointIndex);
+            }
+            return checkpoints.get(checkpointIndex).totalOf(epochMonth);
+        }
+
+        private int minutesAsOf(int epochMonth, int firstDay, int endDay, long asOfMillis) {
+            int low = 0;
+            int high = checkpoints.size() - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (checkpoints.get(middle).timestamp <= asOfMillis) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            Checkpoint checkpoint = checkpoints.get(low);
+            int total = totalAt(low, epochMonth);
+            long timestamp = low == 0 ? 0L : checkpoint.timestamp;
+            int day = checkpoint.day;
+            VarIntColumn.Reader timestampReader = timestamps.reader(checkpoint.timestampOffset);
+            VarIntColumn.Reader dayReader = days.reader(checkpoint.dayOffset);
+            VarIntColumn.Reader minutesReader = minutes.reader(checkpoint.minutesOffset);
+            for (int i = low * CHECKPOINT_INTERVAL; i < count; i++) {
+                timestamp += timestampReader.next();
+                if (timestamp > asOfMillis) {
+                    break;
+                }
+                day += (int) dayReader.next();
+                int applied = (int) minutesReader.next();
+                if (day >= firstDay && day < endDay) {
+                    total += applied;
+                }
+            }
+            return Math.max(0, total);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.epam.trainer_session_management.index;
+
+import com.epam.trainer_session_management.persistence.SnapshotSection;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerIdMap;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.WorkloadChangeListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Daily working minutes per trainer, one Fenwick tree over the days of each year, so the total of any date range
+ * costs {@code O(log 366)} per year it touches instead of a walk over the history.
+ * Day totals are unclamped sums, like the month counters of the store, and range totals are clamped at zero when
+ * read. Years past the retention horizon are {@linkplain #compact(int, int) compacted} to their recorded days.
+ * Trainers are keyed by dictionary ID;
+ * the snapshot section writes usernames, so it does not depend on IDs staying stable.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyWorkloadIndex implements WorkloadChangeListener, SnapshotSection {
+
+    private static final int DAYS = 366;
+
+    private final TrainerDictionary trainerDictionary;
+    private final TrainerIdMap<TrainerDays> trainers = new TrainerIdMap<>();
+
+    @Override
+    public void onWorkloadChange(WorkloadChange change) {
+        TrainerDays trainerDays = trainers.computeIfAbsent(change.getTrainerId(), key -> new TrainerDays());
+        LocalDate date = LocalDate.ofEpochDay(change.getEpochDay());
+        synchronized (trainerDays) {
+            if (change.getSequence() > 0 && change.getSequence() <= trainerDays.sequence) {
+                return;
+            }
+            int[] tree = trainerDays.years.get(date.getYear());
+            if (tree == null) {
+                // a late change to a compacted year turns it back into a tree
+                int[] recorded = trainerDays.compactedYears.remove(date.getYear());
+                tree = recorded == null ? new int[DAYS + 1] : toTree(recorded);
+                trainerDays.years.put(date.getYear(), tree);
+            }
+            int day = date.getDayOfYear();
+            add(tree, day, change.getDeltaMinutes());
+            trainerDays.sequence = Math.max(trainerDays.sequence, change.getSequence());
+        }
+    }
+
+    /**
+     * Returns the minutes worked from {@code from} to {@code to}, both inclusive, clamped at zero.
+     */
+    public long sumMinutes(int trainerId, LocalDate from, LocalDate to) {
+        TrainerDays trainerDays = trainers.get(trainerId);
+        if (trainerDays == null || from.isAfter(to)) {
+            return 0L;
+        }
+        long total = 0L;
+        synchronized (trainerDays) {
+            NavigableMap<Integer, int[]> years = trainerDays.years.subMap(from.getYear(), true, to.getYear(), true);
+            for (Map.Entry<Integer, int[]> year : years.entrySet()) {
+                int firstDay = year.getKey() == from.getYear() ? from.getDayOfYear() : 1;
+                int lastDay = year.getKey() == to.getYear() ? to.getDayOfYear() : DAYS;
+                total += prefix(year.getValue(), lastDay) - prefix(year.getValue(), firstDay - 1);
+            }
+            NavigableMap<Integer, int[]> compactedYears =
+                    trainerDays.compactedYears.subMap(from.getYear(), true, to.getYear(), true);
+            for (Map.Entry<Integer, int[]> year : compactedYears.entrySet()) {
+                int firstDay = year.getKey() == from.getYear() ? from.getDayOfYear() : 1;
+                int lastDay = year.getKey() == to.getYear() ? to.getDayOfYear() : DAYS;
+                int[] recorded = year.getValue();
+                for (int i = 0; i < recorded.length; i += 2) {
+                    if (recorded[i] >= firstDay && recorded[i] <= lastDay) {
+                        total += recorded[i + 1];
+                    }
+                }
+            }
+        }
+        return Math.max(0L, total);
+    }
+
+    /**
+     * Replaces the trees of the trainer's years before {@code beforeYear} with their non-zero days, packed as
+     * day and minutes pairs. They still answer range totals, by a scan, and a late change rebuilds the tree.
+     *
+     * @return the number of years compacted
+     */
+    public int compact(int trainerId, int beforeYear) {
+        TrainerDays trainerDays = trainers.get(trainerId);
+        if (trainerDays == null) {
+            return 0;
+        }
+        synchronized (trainerDays) {
+            NavigableMap<Integer, int[]> expired = trainerDays.years.headMap(beforeYear, false);
+            int compacted = expired.size();
+            for (Map.Entry<Integer, int[]> year : expired.entrySet()) {
+                trainerDays.compactedYears.put(year.getKey(), recordedDays(toDays(year.getValue())));
+            }
+            expired.clear();
+            return compacted;
+        }
+    }
+
+    @Override
+    public String sectionName() {
+        return "daily";
+    }
+
+    /**
+     * Writes, per trainer, the sequence and the non-zero days of every year.
+     */
+    @Override
+    public void writeSection(DataOutput out) throws IOException {
+        List<Integer> trainerIds = new ArrayList<>(trainers.size());
+        trainers.forEach((trainerDays, trainerId) -> trainerIds.add(trainerId));
+        out.writeInt(trainerIds.size());
+        for (int trainerId : trainerIds) {
+            TrainerDays trainerDays = trainers.get(trainerId);
+            synchronized (trainerDays) {
+                out.writeUTF(trainerDictionary.usernameOf(trainerId));
+                out.writeLong(trainerDays.sequence);
+                out.writeShort(trainerDays.years.size() + trainerDays.compactedYears.size());
+                for (Map.Entry<Integer, int[]> year : trainerDays.years.entrySet()) {
+                    writeYear(out, year.getKey(), recordedDays(toDays(year.getValue())));
+                }
+                for (Map.Entry<Integer, int[]> year : trainerDays.compactedYears.entrySet()) {
+                    writeYear(out, year.getKey(), year.getValue());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readSection(DataInput in) throws IOException {
+        int trainerCount = in.readInt();
+        for (int i = 0; i < trainerCount; i++) {
+            String trainerUsername = in.readUTF();
+            TrainerDays trainerDays = new TrainerDays();
+            trainerDays.sequence = in.readLong();
+            int yearCount = in.readUnsignedShort();
+            for (int y = 0; y < yearCount; y++) {
+                int year = in.readInt();
+                int[] tree = new int[DAYS + 1];
+                int recordedDays = in.readUnsignedShort();
+                for (int d = 0; d < recordedDays; d++) {
+                    int day = in.readUnsignedShort();
+                    tree[day] = in.readInt();
+                }
+                buildTree(tree);
+                trainerDays.years.put(year, tree);
+            }
+            trainers.put(trainerDictionary.register(trainerUsername), trainerDays);
+        }
+    }
+
+    private static void writeYear(DataOutput out, int year, int[] recorded) throws IOException {
+        out.writeInt(year);
+        out.writeShort(recorded.length / 2);
+        for (int i = 0; i < recorded.length; i += 2) {
+            out.writeShort(recorded[i]);
+            out.writeInt(recorded[i + 1]);
+        }
+    }
+
+    private static int prefix(int[] tree, int day) {
+        int sum = 0;
+        for (int i = day; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private static void add(int[] tree, int day, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        for (int i = day; i <= DAYS; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Turns day values into a Fenwick tree in place, in linear time.
+     */
+    private static void buildTree(int[] values) {
+        for (int i = 1; i <= DAYS; i++) {
+            int parent = i + (i & -i);
+            if (parent <= DAYS) {
+                values[parent] += values[i];
+            }
+        }
+    }
+
+    /**
+     * Inverse of {@link #buildTree(int[])}: returns the day values of a Fenwick tree.
+     */
+    private static int[] toDays(int[] tree) {
+        int[] days = tree.clone();
+        for (int i = DAYS; i >= 1; i--) {
+            int parent = i + (i & -i);
+            if (parent <= DAYS) {
+                days[parent] -= days[i];
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Packs the non-zero day values as day and minutes pairs.
+     */
+    private static int[] recordedDays(int[] days) {
+        int count = 0;
+        for (int day = 1; day <= DAYS; day++) {
+            if (days[day] != 0) {
+                count++;
+            }
+        }
+        int[] recorded = new int[count * 2];
+        int i = 0;
+        for (int day = 1; day <= DAYS; day++) {
+            if (days[day] != 0) {
+                recorded[i++] = day;
+                recorded[i++] = days[day];
+            }
+        }
+        return recorded;
+    }
+
+    /**
+     * Inverse of {@link #recordedDays(int[])}: builds the Fenwick tree of packed day values.
+     */
+    private static int[] toTree(int[] recorded) {
+        int[] tree = new int[DAYS + 1];
+        for (int i = 0; i < recorded.length; i += 2) {
+            tree[recorded[i]] = recorded[i + 1];
+        }
+        buildTree(tree);
+        return tree;
+    }
+
+    /**
+     * Fenwick trees of one trainer keyed by year, and the packed days of compacted years; all access is guarded by
+     * the instance monitor.
+     */
+    private static final class TrainerDays {
+        private final NavigableMap<Integer, int[]> years = new TreeMap<>();
+        private final NavigableMap<Integer, int[]> compactedYears = new TreeMap<>();
+        private long sequence;
+    }
+}
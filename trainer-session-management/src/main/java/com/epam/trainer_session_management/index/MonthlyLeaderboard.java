@@ -0,0 +1,272 @@
+package com.epam.trainer_session_management.index;
+
+import com.epam.trainer_session_management.persistence.SnapshotSection;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.WorkloadChangeListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trainers ranked by working minutes for every (year, month), maintained from the month totals of applied changes.
+ * <p>
+ * Each month keeps its trainers in an order-statistic tree ordered by minutes, so top-N costs {@code O(log n + N)}
+ * and a rank lookup {@code O(log n)} in the number of trainers, and memory does not depend on the minutes themselves.
+ * Ties share a rank.
+ * Each month is guarded by its own monitor, so readers always see a consistent ranking. Trainers are ranked by
+ * dictionary ID, and equal minutes are ordered by ID; the snapshot section writes usernames.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyLeaderboard implements WorkloadChangeListener, SnapshotSection {
+
+    private final TrainerDictionary trainerDictionary;
+    private final Map<Integer, MonthRanking> months = new ConcurrentHashMap<>();
+
+    @Override
+    public void onWorkloadChange(WorkloadChange change) {
+        LocalDate date = LocalDate.ofEpochDay(change.getEpochDay());
+        MonthRanking ranking = months.computeIfAbsent(keyOf(date.getYear(), date.getMonthValue()),
+                key -> new MonthRanking());
+        synchronized (ranking) {
+            // Month totals are unclamped sums; rankings read them clamped at zero
+            ranking.update(change.getTrainerId(), Math.max(0, change.getMonthMinutes()));
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} trainers with the most minutes in the month, best first.
+     */
+    public List<RankedTrainer> top(int year, int month, int limit) {
+        MonthRanking ranking = months.get(keyOf(year, month));
+        if (ranking == null) {
+            return List.of();
+        }
+        synchronized (ranking) {
+            List<RankedTrainer> result = new ArrayList<>(Math.min(limit, ranking.minutes.size()));
+            int rank = 0;
+            int previousMinutes = -1;
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = ranking.root;
+            while (result.size() < limit && (node != null || !path.isEmpty())) {
+                while (node != null) {
+                    path.push(node);
+                    node = node.left;
+                }
+                node = path.pop();
+                if (node.minutes != previousMinutes) {
+                    rank = result.size() + 1;
+                    previousMinutes = node.minutes;
+                }
+                result.add(new RankedTrainer(rank, node.trainerId, node.minutes));
+                node = node.right;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the trainer's place in the month, or {@code null} when the trainer has no minutes recorded for it.
+     */
+    public RankedTrainer rankOf(int trainerId, int year, int month) {
+        MonthRanking ranking = months.get(keyOf(year, month));
+        if (ranking == null) {
+            return null;
+        }
+        synchronized (ranking) {
+            Integer minutes = ranking.minutes.get(trainerId);
+            if (minutes == null) {
+                return null;
+            }
+            return new RankedTrainer(ranking.countAbove(minutes) + 1, trainerId, minutes);
+        }
+    }
+
+    public int trainerCount(int year, int month) {
+        MonthRanking ranking = months.get(keyOf(year, month));
+        if (ranking == null) {
+            return 0;
+        }
+        synchronized (ranking) {
+            return ranking.minutes.size();
+        }
+    }
+
+    @Override
+    public String sectionName() {
+        return "leaderboard";
+    }
+
+    @Override
+    public void writeSection(DataOutput out) throws IOException {
+        List<Map.Entry<Integer, MonthRanking>> entries = new ArrayList<>(months.entrySet());
+        out.writeInt(entries.size());
+        for (Map.Entry<Integer, MonthRanking> entry : entries) {
+            MonthRanking ranking = entry.getValue();
+            synchronized (ranking) {
+                out.writeInt(entry.getKey());
+                out.writeInt(ranking.minutes.size());
+                for (Map.Entry<Integer, Integer> trainer : ranking.minutes.entrySet()) {
+                    out.writeUTF(trainerDictionary.usernameOf(trainer.getKey()));
+                    out.writeInt(trainer.getValue());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readSection(DataInput in) throws IOException {
+        int monthCount = in.readInt();
+        for (int i = 0; i < monthCount; i++) {
+            int key = in.readInt();
+            MonthRanking ranking = new MonthRanking();
+            int trainerCount = in.readInt();
+            for (int t = 0; t < trainerCount; t++) {
+                ranking.update(trainerDictionary.register(in.readUTF()), in.readInt());
+            }
+            months.put(key, ranking);
+        }
+    }
+
+    private static int keyOf(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    /**
+     * Treap node: ordered by minutes descending, then by trainer ID, and heap-ordered by a random priority.
+     */
+    private static final class Node {
+        private final int minutes;
+        private final int trainerId;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(int minutes, int trainerId) {
+            this.minutes = minutes;
+            this.trainerId = trainerId;
+        }
+
+        private Node resize() {
+            size = 1 + sizeOf(left) + sizeOf(right);
+            return this;
+        }
+
+        private static int sizeOf(Node node) {
+            return node == null ? 0 : node.size;
+        }
+    }
+
+    /**
+     * Ranking of one month; all access is guarded by the instance monitor.
+     */
+    private static final class MonthRanking {
+        private final Map<Integer, Integer> minutes = new HashMap<>();
+        private Node root;
+
+        private void update(int trainerId, int newMinutes) {
+            Integer oldMinutes = minutes.put(trainerId, newMinutes);
+            if (oldMinutes != null) {
+                if (oldMinutes == newMinutes) {
+                    return;
+                }
+                root = remove(root, oldMinutes, trainerId);
+            }
+            Node[] parts = split(root, newMinutes, trainerId);
+            root = merge(merge(parts[0], new Node(newMinutes, trainerId)), parts[1]);
+        }
+
+        /**
+         * Counts the trainers with more minutes than {@code value}; they are exactly the ones ordered before it.
+         */
+        private int countAbove(int value) {
+            int count = 0;
+            Node node = root;
+            while (node != null) {
+                if (node.minutes > value) {
+                    count += Node.sizeOf(node.left) + 1;
+                    node = node.right;
+                } else {
+                    node = node.left;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Compares the (minutes, trainer) key with the node in ranking order: negative when the key comes first.
+         */
+        private static int compare(int minutes, int trainerId, Node node) {
+            return minutes != node.minutes
+                    ? Integer.compare(node.minutes, minutes)
+                    : Integer.compare(trainerId, node.trainerId);
+        }
+
+        /**
+         * Splits the tree into the nodes ordered before the key and the rest.
+         */
+        private static Node[] split(Node node, int minutes, int trainerId) {
+            if (node == null) {
+                return new Node[2];
+            }
+            if (compare(minutes, trainerId, node) > 0) {
+                Node[] parts = split(node.right, minutes, trainerId);
+                node.right = parts[0];
+                parts[0] = node.resize();
+                return parts;
+            }
+            Node[] parts = split(node.left, minutes, trainerId);
+            node.left = parts[1];
+            parts[1] = node.resize();
+            return parts;
+        }
+
+        /**
+         * Joins two trees whose every node of {@code left} is ordered before every node of {@code right}.
+         */
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                return left.resize();
+            }
+            right.left = merge(left, right.left);
+            return right.resize();
+        }
+
+        private static Node remove(Node node, int minutes, int trainerId) {
+            if (node == null) {
+                return null;
+            }
+            int order = compare(minutes, trainerId, node);
+            if (order == 0) {
+                return merge(node.left, node.right);
+            }
+            if (order < 0) {
+                node.left = remove(node.left, minutes, trainerId);
+            } else {
+                node.right = remove(node.right, minutes, trainerId);
+            }
+            return node.resize();
+        }
+    }
+}
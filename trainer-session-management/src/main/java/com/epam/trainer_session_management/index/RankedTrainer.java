@@ -0,0 +1,15 @@
+package com.epam.trainer_session_management.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class RankedTrainer {
+
+    private final int rank;
+    private final int trainerId;
+    private final int minutes;
+}
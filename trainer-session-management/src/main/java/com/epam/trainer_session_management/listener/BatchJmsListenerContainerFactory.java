@@ -0,0 +1,24 @@
+package com.epam.trainer_session_management.listener;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.time.Duration;
+
+@RequiredArgsConstructor
+public class BatchJmsListenerContainerFactory extends DefaultJmsListenerContainerFactory {
+
+    private final BatchMessageListener batchMessageListener;
+    private final int batchSize;
+    private final Duration batchTimeout;
+
+    @Override
+    protected DefaultMessageListenerContainer createContainerInstance() {
+        BatchMessageListenerContainer container = new BatchMessageListenerContainer();
+        container.setBatchMessageListener(batchMessageListener);
+        container.setBatchSize(batchSize);
+        container.setBatchTimeoutMillis(batchTimeout.toMillis());
+        return container;
+    }
+}
@@ -0,0 +1,17 @@
+package com.epam.trainer_session_management.listener;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+
+import java.util.List;
+
+/**
+ * Receives every message drained within one transacted session; the session is committed once
+ * the call returns and rolled back when it throws. Messages sent through the session commit with the batch.
+ */
+@FunctionalInterface
+public interface BatchMessageListener {
+
+    void onMessages(List<Message> messages, Session session) throws JMSException;
+}
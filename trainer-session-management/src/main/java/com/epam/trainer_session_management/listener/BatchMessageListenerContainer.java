@@ -0,0 +1,107 @@
+package com.epam.trainer_session_management.listener;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
+import lombok.Setter;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains up to {@code batchSize} messages, or whatever arrives within {@code batchTimeoutMillis} of the first one,
+ * hands them to a {@link BatchMessageListener} and commits the session once.
+ * <p>
+ * When a batch fails the session is rolled back, and every message that comes back redelivered goes through the
+ * regular endpoint listener on its own, so a failing message is parked or dead-lettered alone whichever consumer
+ * receives it. The decision is made per message: a redelivered first message gets its own transaction, and one met
+ * while draining ends the batch and is handled ahead of it.
+ */
+@Setter
+public class BatchMessageListenerContainer extends DefaultMessageListenerContainer {
+
+    private BatchMessageListener batchMessageListener;
+    private int batchSize;
+    private long batchTimeoutMillis;
+
+    @Override
+    protected boolean doReceiveAndExecute(Object invoker, @Nullable Session session,
+                                          @Nullable MessageConsumer consumer, @Nullable TransactionStatus status)
+            throws JMSException {
+        if (session == null || consumer == null || batchMessageListener == null) {
+            return super.doReceiveAndExecute(invoker, session, consumer, status);
+        }
+
+        Message first = receiveMessage(consumer);
+        if (first == null) {
+            noMessageReceived(invoker, session);
+            return false;
+        }
+        messageReceived(invoker, session);
+        if (first.getJMSRedelivered()) {
+            executeSingle(session, first, status);
+            return true;
+        }
+
+        List<Message> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        Message redelivered = null;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMillis);
+        while (batch.size() < batchSize) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            Message next = remainingMillis > 0 ? consumer.receive(remainingMillis) : consumer.receiveNoWait();
+            if (next == null) {
+                break;
+            }
+            if (next.getJMSRedelivered()) {
+                redelivered = next;
+                break;
+            }
+            batch.add(next);
+        }
+
+        if (!isAcceptMessagesWhileStopping() && !isRunning()) {
+            rollbackIfNecessary(session);
+            return true;
+        }
+
+        try {
+            if (redelivered != null) {
+                invokeListener(session, redelivered);
+            }
+            batchMessageListener.onMessages(batch, session);
+        } catch (Throwable ex) {
+            if (status != null) {
+                status.setRollbackOnly();
+            }
+            rollbackIfNecessary(session);
+            handleListenerException(ex);
+            return true;
+        }
+        commitIfNecessary(session, batch.get(batch.size() - 1));
+        return true;
+    }
+
+    /**
+     * Runs one message through the endpoint listener in a transaction of its own, as the plain container does.
+     */
+    private void executeSingle(Session session, Message message, @Nullable TransactionStatus status)
+            throws JMSException {
+        try {
+            doExecuteListener(session, message);
+        } catch (Throwable ex) {
+            if (status != null) {
+                status.setRollbackOnly();
+            }
+            handleListenerException(ex);
+            if (ex instanceof JMSException jmsException) {
+                throw jmsException;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.epam.trainer_session_management.listener;
+
+import com.epam.trainer_session_management.config.ListenerScalingProperties;
+import com.epam.trainer_session_management.scaling.ConcurrencyController;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.jms.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Enumeration;
+
+/**
+ * Samples the workload queue backlog and the age of its oldest message, and resizes the listener container between
+ * the configured bounds. Producers set {@code JMSXGroupID} to the trainer username, so the broker keeps each
+ * trainer on a single consumer and per-trainer order holds at any concurrency.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.broker.scaling", name = "enabled", havingValue = "true")
+public class ListenerConcurrencyScaler implements MeterBinder {
+
+    private final JmsListenerEndpointRegistry registry;
+    private final JmsTemplate jmsTemplate;
+    private final String destination;
+    private final ConcurrencyController controller;
+    private final long browseLimit;
+
+    private volatile long backlog;
+    private volatile Duration lag = Duration.ZERO;
+
+    public ListenerConcurrencyScaler(
+            JmsListenerEndpointRegistry registry,
+            JmsTemplate jmsTemplate,
+            @Value("${application.broker.destination}") String destination,
+            ListenerScalingProperties properties
+    ) {
+        this.registry = registry;
+        this.jmsTemplate = jmsTemplate;
+        this.destination = destination;
+        this.controller = new ConcurrencyController(properties);
+        // Anything beyond this already asks for the maximum, so browsing further only costs broker round trips
+        this.browseLimit = (long) properties.getMaxConcurrency() * properties.getMessagesPerConsumer() + 1;
+    }
+
+    @Scheduled(fixedDelayString = "${application.broker.scaling.interval:PT5S}")
+    public void rescale() {
+        DefaultMessageListenerContainer container = container();
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+        // A sharded container reads its partition queues instead of the configured destination
+        String sampled = container.getDestinationName() != null ? container.getDestinationName() : destination;
+        try {
+            sample(sampled);
+        } catch (RuntimeException e) {
+            log.warn("Failed to sample backlog of {}: {}", sampled, e.getMessage());
+            return;
+        }
+        int previous = controller.concurrency();
+        int concurrency = controller.update(backlog, lag);
+        if (concurrency != previous || container.getMaxConcurrentConsumers() != concurrency) {
+            log.info("Scaling workload listener from {} to {} consumers (backlog {}, lag {} ms)",
+                    previous, concurrency, backlog, lag.toMillis());
+            // Surplus invokers retire after their current receive; new ones start as messages keep arriving
+            container.setConcurrentConsumers(concurrency);
+            container.setMaxConcurrentConsumers(concurrency);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("workload.listener.concurrency", controller, ConcurrencyController::concurrency)
+                .description("Consumers the workload listener is currently scaled to")
+                .register(meterRegistry);
+        Gauge.builder("workload.listener.backlog", this, scaler -> scaler.backlog)
+                .description("Messages waiting on the workload queue at the last sample, capped at the browse limit")
+                .register(meterRegistry);
+        Gauge.builder("workload.listener.lag", this, scaler -> scaler.lag.toMillis())
+                .description("Age in milliseconds of the oldest message waiting on the workload queue")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    private void sample(String queue) {
+        jmsTemplate.browse(queue, (session, browser) -> {
+            long count = 0;
+            long oldest = 0;
+            Enumeration<?> messages = browser.getEnumeration();
+            while (count < browseLimit && messages.hasMoreElements()) {
+                Message message = (Message) messages.nextElement();
+                if (count == 0) {
+                    oldest = message.getJMSTimestamp();
+                }
+                count++;
+            }
+            backlog = count;
+            lag = oldest > 0 ? Duration.ofMillis(Math.max(0, System.currentTimeMillis() - oldest)) : Duration.ZERO;
+            return null;
+        });
+    }
+
+    private DefaultMessageListenerContainer container() {
+        MessageListenerContainer container = registry.getListenerContainer(TrainerHoursMessageListener.LISTENER_ID);
+        return container instanceof DefaultMessageListenerContainer dmlc ? dmlc : null;
+    }
+}
@@ -1,40 +1,99 @@
 package com.epam.trainer_session_management.listener;
 
 import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.metrics.MessageMetrics;
 import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import io.micrometer.core.instrument.Timer;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.jms.annotation.JmsListener;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Applies workload messages one at a time or in batches. A message that fails is parked rather than rolled back
+ * when {@link WorkloadParkingLot} says another attempt cannot help; otherwise the rollback lets the broker redeliver
+ * it after its backoff.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class TrainerHoursMessageListener {
+public class TrainerHoursMessageListener implements BatchMessageListener {
+
+    public static final String LISTENER_ID = "trainerWorkloadListener";
 
     private final TrainerWorkingHoursService trainerWorkingHoursService;
+    private final WorkloadMessageReader workloadMessageReader;
+    private final WorkloadParkingLot workloadParkingLot;
+    private final MessageMetrics messageMetrics;
 
-    @JmsListener(destination = "${application.broker.destination}", containerFactory = "jmsListenerContainerFactory")
-    public void onMessage(
-            @Payload TrainerWorkloadRequest message,
-            @Header("transactionId") String transactionId
-    ) {
-        MDC.put("transactionId", transactionId);
+    @JmsListener(id = LISTENER_ID, destination = "${application.broker.destination}",
+            containerFactory = "jmsListenerContainerFactory")
+    public void onMessage(Message message, Session session) throws JMSException {
+        MDC.put("transactionId", message.getStringProperty(WorkloadMessageReader.TRANSACTION_ID));
+        messageMetrics.received(message.getJMSTimestamp(), message.getJMSRedelivered());
+        Timer.Sample sample = messageMetrics.start();
         try {
-            log.info("Message received: {}", message);
+            TrainerWorkloadRequest request = workloadMessageReader.read(message);
+            log.info("Message received: {}", request);
 
-            // Simulate failure for testing DLQ
-            if (message.getTrainerUsername() == null) {
-                throw new IllegalArgumentException("Trainer ID is missing — cannot process message");
+            trainerWorkingHoursService.calculateAndSave(request);
+            messageMetrics.processed(sample);
+        } catch (JMSException | RuntimeException e) {
+            messageMetrics.failed(e, 1);
+            if (!workloadParkingLot.shouldPark(message, e)) {
+                throw e;
             }
+            workloadParkingLot.park(session, message, e);
+        } finally {
+            MDC.clear(); // Prevent logging context leak
+        }
+    }
 
-            trainerWorkingHoursService.calculateAndSave(message);
+    /**
+     * Poison messages are parked on the way and the rest of the batch is applied; any other failure rolls the whole
+     * batch back, and its messages come again one per transaction.
+     */
+    @Override
+    public void onMessages(List<Message> messages, Session session) throws JMSException {
+        Timer.Sample sample = messageMetrics.start();
+        try {
+            List<TrainerWorkloadRequest> requests = new ArrayList<>(messages.size());
+            StringJoiner transactionIds = new StringJoiner(",");
+            for (Message message : messages) {
+                messageMetrics.received(message.getJMSTimestamp(), message.getJMSRedelivered());
+                TrainerWorkloadRequest request;
+                try {
+                    request = workloadMessageReader.read(message);
+                } catch (RuntimeException e) {
+                    if (!WorkloadParkingLot.isPoison(e)) {
+                        throw e;
+                    }
+                    messageMetrics.failed(e, 1);
+                    workloadParkingLot.park(session, message, e);
+                    continue;
+                }
+                requests.add(request);
+                transactionIds.add(String.valueOf(message.getStringProperty(WorkloadMessageReader.TRANSACTION_ID)));
+            }
+
+            MDC.put("transactionId", transactionIds.toString());
+            log.info("Batch of {} messages received", requests.size());
+
+            trainerWorkingHoursService.calculateAndSaveAll(requests);
+            messageMetrics.processedBatch(sample, requests.size());
+        } catch (JMSException | RuntimeException e) {
+            messageMetrics.failed(e, messages.size());
+            throw e;
         } finally {
             MDC.clear(); // Prevent logging context leak
         }
     }
 }
-
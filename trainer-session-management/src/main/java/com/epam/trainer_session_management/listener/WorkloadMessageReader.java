@@ -0,0 +1,56 @@
+package com.epam.trainer_session_management.listener;
+
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a workload message into a request, for the listener and for replays alike. A message that cannot be
+ * converted fails with {@link MessageConversionException}, one that can never be applied with
+ * {@link IllegalArgumentException}.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkloadMessageReader {
+
+    public static final String TRANSACTION_ID = "transactionId";
+    public static final String EVENT_ID = "eventId";
+
+    // a single training cannot last longer than the day it is recorded on
+    private static final int MAX_TRAINING_MINUTES = 24 * 60;
+
+    private final MappingJackson2MessageConverter messageConverter;
+
+    public TrainerWorkloadRequest read(Message message) throws JMSException {
+        Object payload = messageConverter.fromMessage(message);
+        if (!(payload instanceof TrainerWorkloadRequest request)) {
+            throw new MessageConversionException("Not a workload request: "
+                    + (payload == null ? null : payload.getClass().getSimpleName()));
+        }
+        validate(request);
+        if (request.getEventId() == null) {
+            request.setEventId(message.getStringProperty(EVENT_ID));
+        }
+        return request;
+    }
+
+    private static void validate(TrainerWorkloadRequest request) {
+        // Simulate failure for testing DLQ
+        if (request.getTrainerUsername() == null || request.getTrainerUsername().isBlank()) {
+            throw new IllegalArgumentException("Trainer ID is missing — cannot process message");
+        }
+        if (request.getTrainingDate() == null || request.getTrainingDuration() == null) {
+            throw new IllegalArgumentException("Training date or duration is missing for "
+                    + request.getTrainerUsername());
+        }
+        int duration = request.getTrainingDuration();
+        if (duration <= 0 || duration > MAX_TRAINING_MINUTES) {
+            throw new IllegalArgumentException("Training duration " + duration + " is out of range for "
+                    + request.getTrainerUsername());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.epam.trainer_session_management.listener;
+
+import com.epam.trainer_session_management.config.ListenerRedeliveryProperties;
+import com.epam.trainer_session_management.config.ParkingLotProperties;
+import com.epam.trainer_session_management.metrics.MessageMetrics;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageFormatException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+
+import java.util.Enumeration;
+
+/**
+ * Sets aside workload messages that cannot be applied, on a queue of their own and with the reason attached, so
+ * they can be inspected and replayed once the cause is fixed. A message that can never succeed, such as one without
+ * a trainer username, is parked on its first delivery; any other failure is retried with the broker's exponential
+ * backoff and parked on the last attempt. The copy is sent through the session the message was received in, so
+ * parking it and acknowledging it commit together.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkloadParkingLot {
+
+    public static final String PARKED_REASON = "parkedReason";
+    public static final String PARKED_EXCEPTION = "parkedException";
+    public static final String PARKED_AT = "parkedAt";
+    public static final String PARKED_FROM = "parkedFrom";
+    public static final String PARKED_DELIVERIES = "parkedDeliveries";
+
+    private static final String DELIVERY_COUNT = "JMSXDeliveryCount";
+    private static final String GROUP_ID = "JMSXGroupID";
+    private static final int MAX_REASON_LENGTH = 1000;
+
+    private final ParkingLotProperties parkingLotProperties;
+    private final ListenerRedeliveryProperties redeliveryProperties;
+    private final MessageMetrics messageMetrics;
+
+    /**
+     * Whether the failed delivery should be parked rather than rolled back for another attempt.
+     */
+    public boolean shouldPark(Message message, Throwable failure) throws JMSException {
+        return isPoison(failure) || deliveryCount(message) > redeliveryProperties.getMaxRedeliveries();
+    }
+
+    public void park(Session session, Message message, Throwable failure) throws JMSException {
+        park(session, message, failure, isPoison(failure) ? "poison" : "exhausted");
+    }
+
+    /**
+     * Sends a copy of the message, body, properties and group included, to the parking queue.
+     */
+    public void park(Session session, Message message, Throwable failure, String reason) throws JMSException {
+        Message copy = copyOf(session, message);
+        String failureMessage = String.valueOf(failure.getMessage());
+        copy.setStringProperty(PARKED_REASON, failureMessage.length() > MAX_REASON_LENGTH
+                ? failureMessage.substring(0, MAX_REASON_LENGTH) : failureMessage);
+        copy.setStringProperty(PARKED_EXCEPTION, failure.getClass().getName());
+        copy.setLongProperty(PARKED_AT, System.currentTimeMillis());
+        copy.setIntProperty(PARKED_DELIVERIES, deliveryCount(message));
+        if (message.getJMSDestination() != null) {
+            copy.setStringProperty(PARKED_FROM, message.getJMSDestination().toString());
+        }
+        MessageProducer producer = session.createProducer(session.createQueue(parkingLotProperties.getDestination()));
+        try {
+            producer.send(copy, DeliveryMode.PERSISTENT, message.getJMSPriority(), 0L);
+        } finally {
+            producer.close();
+        }
+        messageMetrics.parked(reason);
+        log.warn("Parked workload message {} ({}): {}", message.getJMSMessageID(), reason, failureMessage);
+    }
+
+    /**
+     * Failures that redelivering the same message cannot fix.
+     */
+    public static boolean isPoison(Throwable failure) {
+        return failure instanceof IllegalArgumentException || failure instanceof MessageConversionException
+                || failure instanceof MessageFormatException;
+    }
+
+    private static int deliveryCount(Message message) throws JMSException {
+        if (message.propertyExists(DELIVERY_COUNT)) {
+            return message.getIntProperty(DELIVERY_COUNT);
+        }
+        return message.getJMSRedelivered() ? 2 : 1;
+    }
+
+    private static Message copyOf(Session session, Message message) throws JMSException {
+        Message copy;
+        if (message instanceof TextMessage textMessage) {
+            copy = session.createTextMessage(textMessage.getText());
+        } else if (message instanceof BytesMessage bytesMessage) {
+            bytesMessage.reset();
+            byte[] body = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(body);
+            BytesMessage bytesCopy = session.createBytesMessage();
+            bytesCopy.writeBytes(body);
+            copy = bytesCopy;
+        } else {
+            throw new MessageFormatException("Cannot park a " + message.getClass().getSimpleName());
+        }
+        Enumeration<?> names = message.getPropertyNames();
+        while (names.hasMoreElements()) {
+            String name = (String) names.nextElement();
+            // JMSX properties are set by the provider; only the group is carried over
+            if (!name.startsWith("JMSX")) {
+                copy.setObjectProperty(name, message.getObjectProperty(name));
+            }
+        }
+        if (message.propertyExists(GROUP_ID)) {
+            copy.setStringProperty(GROUP_ID, message.getStringProperty(GROUP_ID));
+        }
+        copy.setJMSCorrelationID(message.getJMSCorrelationID());
+        copy.setJMSType(message.getJMSType());
+        return copy;
+    }
+}
@@ -0,0 +1,102 @@
+package com.epam.trainer_session_management.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the workload message listener: consumer lag and processing time per delivery, batch sizes, redeliveries,
+ * failures, parked and replayed messages. A failed delivery is either rolled back for a delayed redelivery or parked,
+ * so the failure rate bounds the sum of redeliveries and parked messages from above.
+ */
+@Component
+public class MessageMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer singleProcessing;
+    private final Timer batchProcessing;
+    private final Timer lag;
+    private final DistributionSummary batchSize;
+    private final Counter redelivered;
+
+    public MessageMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.singleProcessing = processingTimer("single");
+        this.batchProcessing = processingTimer("batch");
+        this.lag = Timer.builder("workload.message.lag")
+                .description("Time from sending a workload message to its consumption")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("workload.message.batch.size")
+                .description("Messages drained per listener batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.redelivered = Counter.builder("workload.message.redelivered")
+                .description("Workload messages received again after a rolled-back delivery")
+                .register(registry);
+    }
+
+    /**
+     * Records one received message; {@code sentAt} is its {@code JMSTimestamp}, {@code 0} when the producer disabled it.
+     */
+    public void received(long sentAt, boolean isRedelivered) {
+        if (sentAt > 0) {
+            lag.record(Math.max(0, System.currentTimeMillis() - sentAt), TimeUnit.MILLISECONDS);
+        }
+        if (isRedelivered) {
+            redelivered.increment();
+        }
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void processed(Timer.Sample sample) {
+        sample.stop(singleProcessing);
+    }
+
+    public void processedBatch(Timer.Sample sample, int messages) {
+        sample.stop(batchProcessing);
+        batchSize.record(messages);
+    }
+
+    public void failed(Throwable failure, int messages) {
+        Counter.builder("workload.message.failures")
+                .description("Workload messages whose delivery failed and was rolled back")
+                .tag("exception", failure.getClass().getSimpleName())
+                .register(registry)
+                .increment(messages);
+    }
+
+    /**
+     * Records one parked message; {@code reason} is {@code poison}, {@code exhausted} or {@code replay}.
+     */
+    public void parked(String reason) {
+        Counter.builder("workload.message.parked")
+                .description("Workload messages set aside on the parking queue")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void replayed(String source, int messages) {
+        Counter.builder("workload.message.replayed")
+                .description("Parked or dead-lettered workload messages applied by a replay")
+                .tag("source", source)
+                .register(registry)
+                .increment(messages);
+    }
+
+    private Timer processingTimer(String mode) {
+        return Timer.builder("workload.message.processing")
+                .description("Time to apply one listener delivery, a single message or a whole batch")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
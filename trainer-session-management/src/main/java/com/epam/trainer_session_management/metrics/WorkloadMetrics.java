@@ -0,0 +1,41 @@
+package com.epam.trainer_session_management.metrics;
+
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size and memory gauges of the workload state. Footprints are estimates walked on every scrape, so they cost a pass
+ * over the trainers but never block writers for longer than one trainer.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkloadMetrics implements MeterBinder {
+
+    private final TrainerWorkloadStore trainerWorkloadStore;
+    private final TrainerDictionary trainerDictionary;
+    private final WorkloadHistory workloadHistory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("workload.store.trainers", trainerWorkloadStore, TrainerWorkloadStore::size)
+                .description("Trainers held in the workload store")
+                .register(registry);
+        Gauge.builder("workload.store.memory", trainerWorkloadStore, TrainerWorkloadStore::footprintBytes)
+                .description("Estimated memory held by the workload store, heap or mapped")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("workload.dictionary.size", trainerDictionary, TrainerDictionary::size)
+                .description("Trainer usernames with a dictionary ID")
+                .register(registry);
+        Gauge.builder("workload.history.memory", workloadHistory, WorkloadHistory::footprintBytes)
+                .description("Estimated heap held by the bitemporal workload history")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -1,47 +0,0 @@
-package com.epam.trainer_session_management.model;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-import lombok.ToString;
-
-import java.util.List;
-
-@Getter
-@Setter
-@ToString
-@Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class TrainerWorkingHours {
-    private String trainerUsername;
-    private String trainerFirstName;
-    private String trainerLastName;
-    private Boolean isActive;
-    private List<Year> years;
-
-    @Getter
-    @Setter
-    @ToString
-    @Builder
-    @AllArgsConstructor
-    @NoArgsConstructor
-    public static class Year{
-        private String year;
-        private List<Month> months;
-
-    }
-
-    @Getter
-    @Setter
-    @ToString
-    @Builder
-    @AllArgsConstructor
-    @NoArgsConstructor
-    public static class Month{
-        private String month;
-        private Float workingHours;
-    }
-}
@@ -0,0 +1,21 @@
+package com.epam.trainer_session_management.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class JournalEntry {
+
+    private final long sequence;
+    private final long timestamp;
+    private final String eventId;
+    private final String trainerUsername;
+    private final String trainerFirstName;
+    private final String trainerLastName;
+    private final boolean isActive;
+    private final int epochDay;
+    private final int deltaMinutes;
+}
@@ -0,0 +1,18 @@
+package com.epam.trainer_session_management.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Extra state stored in every workload snapshot next to the store, such as secondary indexes.
+ * Sections are written length-prefixed, so a snapshot holding a section nobody reads can still be loaded.
+ */
+public interface SnapshotSection {
+
+    String sectionName();
+
+    void writeSection(DataOutput out) throws IOException;
+
+    void readSection(DataInput in) throws IOException;
+}
@@ -0,0 +1,25 @@
+package com.epam.trainer_session_management.persistence;
+
+/**
+ * Write-ahead log of applied workload deltas.
+ * <p>
+ * Every {@link #append} must be paired with a {@link #complete()} once the delta has been applied to the store,
+ * so that a snapshot never cuts between a logged record and its effect. A delta the store refused is marked with
+ * {@link #abort} before completing, so recovery does not apply what never took effect.
+ */
+public interface WorkloadJournal {
+
+    /**
+     * Logs the delta and returns its sequence number, or {@code 0} when journaling is disabled.
+     */
+    long append(String eventId, String trainerUsername, String trainerFirstName, String trainerLastName,
+                Boolean isActive, int epochDay, int deltaMinutes);
+
+    /**
+     * Marks the record of {@code sequence} as never applied; called between its {@link #append} and
+     * {@link #complete()}.
+     */
+    void abort(long sequence);
+
+    void complete();
+}
@@ -0,0 +1,333 @@
+package com.epam.trainer_session_management.persistence;
+
+import com.epam.trainer_session_management.config.WorkloadPersistenceProperties;
+import com.epam.trainer_session_management.dedup.WorkloadDeduplicator;
+import com.epam.trainer_session_management.persistence.impl.MappedWorkloadJournal;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.WorkloadChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Recovers the workload store on startup (latest snapshot, then the journal tail) and periodically
+ * compacts the journal into a new snapshot. Event IDs found in the journal tail re-seed the deduplicator, and a
+ * record repeating an event ID replay has already seen is skipped, as the live path would have dropped it.
+ * <p>
+ * Snapshot layout: {@code int magic | int format | long nextSequence}, then one record per trainer prefixed
+ * with a {@code 1} byte and terminated by a {@code 0} byte. Only recorded months are written. Format 2 follows
+ * with the {@link SnapshotSection}s, each as {@code 1 | name | int length | bytes}, terminated by a {@code 0} byte.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.workload.persistence", name = "enabled", havingValue = "true")
+public class WorkloadSnapshotManager {
+
+    private static final int MAGIC = 0x54534D53;
+    private static final int FORMAT = 2;
+    private static final int FORMAT_WITHOUT_SECTIONS = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final WorkloadPersistenceProperties properties;
+    private final MappedWorkloadJournal workloadJournal;
+    private final TrainerDictionary trainerDictionary;
+    private final TrainerWorkloadStore trainerWorkloadStore;
+    private final WorkloadDeduplicator workloadDeduplicator;
+    private final List<WorkloadChangeListener> workloadChangeListeners;
+    private final List<SnapshotSection> snapshotSections;
+    private final MeterRegistry meterRegistry;
+
+    private long recoveryNanos;
+    private long recoveredRecords;
+    private long snapshotSequence;
+
+    @PostConstruct
+    public void recover() {
+        long started = System.nanoTime();
+
+        snapshotSequence = loadLatestSnapshot();
+        long[] replayed = new long[1];
+        Set<String> replayedEventIds = new HashSet<>();
+        long lastSequence = workloadJournal.replay(entry -> {
+            if (entry.getEventId() != null && !replayedEventIds.add(entry.getEventId())) {
+                log.warn("Skipping journal record {} repeating event {}", entry.getSequence(), entry.getEventId());
+                return;
+            }
+            workloadDeduplicator.record(entry.getEventId(), entry.getTimestamp());
+            LocalDate date = LocalDate.ofEpochDay(entry.getEpochDay());
+            int trainerId = trainerDictionary.register(entry.getTrainerUsername());
+            int monthMinutes;
+            if (entry.getSequence() > trainerWorkloadStore.getSequence(trainerId)) {
+                monthMinutes = trainerWorkloadStore.apply(trainerId, entry.getTrainerFirstName(),
+                        entry.getTrainerLastName(), entry.isActive(), date.getYear(), date.getMonthValue(),
+                        entry.getDeltaMinutes(), entry.getSequence());
+                replayed[0]++;
+            } else {
+                monthMinutes = trainerWorkloadStore.getMinutes(trainerId, date.getYear(), date.getMonthValue());
+            }
+            // listeners skip what their own snapshot section already holds
+            WorkloadChange change = new WorkloadChange(entry.getSequence(), trainerId, entry.getEpochDay(),
+                    entry.getDeltaMinutes(), monthMinutes, entry.getTimestamp(), entry.getEventId());
+            workloadChangeListeners.forEach(listener -> listener.onWorkloadChange(change));
+        });
+        workloadJournal.open(Math.max(Math.max(lastSequence + 1, snapshotSequence), 1L));
+
+        recoveryNanos = System.nanoTime() - started;
+        recoveredRecords = replayed[0];
+        TimeGauge.builder("workload.recovery.duration", this, TimeUnit.NANOSECONDS, manager -> manager.recoveryNanos)
+                .description("Time spent loading the workload snapshot and replaying the journal on startup")
+                .register(meterRegistry);
+        Gauge.builder("workload.recovery.records", this, manager -> manager.recoveredRecords)
+                .description("Journal records replayed on startup")
+                .register(meterRegistry);
+
+        log.info("Workload recovered in {} ms: {} trainers, {} journal records replayed",
+                TimeUnit.NANOSECONDS.toMillis(recoveryNanos), trainerWorkloadStore.size(), recoveredRecords);
+
+        if (recoveredRecords > 0) {
+            snapshot();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.workload.persistence.snapshot-interval:PT10M}",
+            initialDelayString = "${application.workload.persistence.snapshot-interval:PT10M}")
+    public synchronized void snapshot() {
+        long nextSequence = workloadJournal.rollover();
+        if (nextSequence == snapshotSequence) {
+            return;
+        }
+
+        Path directory = Path.of(properties.getDirectory());
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + "next.tmp");
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, nextSequence, SNAPSHOT_SUFFIX));
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(nextSequence);
+                writeTrainers(out);
+                writeSections(out);
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write workload snapshot " + target, e);
+        }
+
+        snapshotSequence = nextSequence;
+        deleteSnapshotsBefore(nextSequence);
+        workloadJournal.deleteSegmentsBefore(nextSequence);
+        log.info("Workload snapshot {} written in {} ms", target.getFileName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void writeTrainers(DataOutputStream out) throws IOException {
+        try {
+            trainerWorkloadStore.forEach(trainer -> {
+                try {
+                    writeTrainer(out, trainer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.writeByte(0);
+    }
+
+    private void writeSections(DataOutputStream out) throws IOException {
+        for (SnapshotSection section : snapshotSections) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            section.writeSection(new DataOutputStream(buffer));
+            out.writeByte(1);
+            out.writeUTF(section.sectionName());
+            out.writeInt(buffer.size());
+            buffer.writeTo(out);
+        }
+        out.writeByte(0);
+    }
+
+    private void readSections(DataInputStream in) throws IOException {
+        while (in.readByte() == 1) {
+            String name = in.readUTF();
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            SnapshotSection section = snapshotSections.stream()
+                    .filter(candidate -> candidate.sectionName().equals(name))
+                    .findFirst()
+                    .orElse(null);
+            if (section == null) {
+                log.warn("Skipping unknown snapshot section {}", name);
+                continue;
+            }
+            section.readSection(new DataInputStream(new ByteArrayInputStream(bytes)));
+        }
+    }
+
+    private static void writeTrainer(DataOutputStream out, TrainerWorkload trainer) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(trainer.getTrainerUsername());
+        writeNullableString(out, trainer.getTrainerFirstName());
+        writeNullableString(out, trainer.getTrainerLastName());
+        out.writeByte(trainer.getIsActive() == null ? 2 : trainer.getIsActive() ? 1 : 0);
+        out.writeLong(trainer.getVersion());
+        out.writeLong(trainer.getSequence());
+
+        int[] years = trainer.getYears();
+        out.writeShort(years.length);
+        for (int i = 0; i < years.length; i++) {
+            int mask = trainer.getMonthMasks()[i];
+            out.writeInt(years[i]);
+            out.writeShort(mask);
+            for (int month = 0; month < 12; month++) {
+                if ((mask & (1 << month)) != 0) {
+                    out.writeInt(trainer.getMinutes()[i][month]);
+                }
+            }
+        }
+    }
+
+    private static TrainerWorkload readTrainer(DataInputStream in) throws IOException {
+        String username = in.readUTF();
+        String firstName = readNullableString(in);
+        String lastName = readNullableString(in);
+        byte active = in.readByte();
+        long version = in.readLong();
+        long sequence = in.readLong();
+
+        int yearCount = in.readUnsignedShort();
+        int[] years = new int[yearCount];
+        int[] masks = new int[yearCount];
+        int[][] minutes = new int[yearCount][12];
+        for (int i = 0; i < yearCount; i++) {
+            years[i] = in.readInt();
+            masks[i] = in.readUnsignedShort();
+            for (int month = 0; month < 12; month++) {
+                if ((masks[i] & (1 << month)) != 0) {
+                    minutes[i][month] = in.readInt();
+                }
+            }
+        }
+        return new TrainerWorkload(username, firstName, lastName, active == 2 ? null : active == 1,
+                version, sequence, years, masks, minutes);
+    }
+
+    /**
+     * Restores the newest readable snapshot and returns the journal sequence it was taken at,
+     * or {@code 0} when there is none.
+     */
+    private long loadLatestSnapshot() {
+        List<Path> snapshots = listSnapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path path = snapshots.get(i);
+            try (InputStream file = Files.newInputStream(path);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+                int format = in.readInt() == MAGIC ? in.readInt() : -1;
+                if (format != FORMAT && format != FORMAT_WITHOUT_SECTIONS) {
+                    log.warn("Skipping snapshot {} with unknown format", path.getFileName());
+                    continue;
+                }
+                long nextSequence = in.readLong();
+                while (in.readByte() == 1) {
+                    TrainerWorkload trainer = readTrainer(in);
+                    int trainerId = trainerDictionary.register(trainer.getTrainerUsername());
+                    // a persistent store may already hold this trainer or a newer state of it
+                    if (!trainerWorkloadStore.containsTrainer(trainerId)
+                            || trainer.getSequence() > trainerWorkloadStore.getSequence(trainerId)) {
+                        trainerWorkloadStore.restore(trainer);
+                    }
+                }
+                if (format == FORMAT) {
+                    readSections(in);
+                }
+                log.info("Loaded workload snapshot {}", path.getFileName());
+                return nextSequence;
+            } catch (IOException e) {
+                log.warn("Skipping unreadable snapshot {}", path.getFileName(), e);
+            }
+        }
+        return 0L;
+    }
+
+    private void deleteSnapshotsBefore(long nextSequence) {
+        for (Path path : listSnapshots()) {
+            if (sequenceOf(path) < nextSequence) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Failed to delete snapshot {}", path, e);
+                }
+            }
+        }
+    }
+
+    private List<Path> listSnapshots() {
+        Path directory = Path.of(properties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(WorkloadSnapshotManager::sequenceOf))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list snapshots in " + directory, e);
+        }
+    }
+
+    private static long sequenceOf(Path snapshotPath) {
+        String name = snapshotPath.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
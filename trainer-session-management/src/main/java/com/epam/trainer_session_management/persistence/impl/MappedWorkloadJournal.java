@@ -0,0 +1,329 @@
+package com.epam.trainer_session_management.persistence.impl;
+
+import com.epam.trainer_session_management.config.WorkloadPersistenceProperties;
+import com.epam.trainer_session_management.persistence.JournalEntry;
+import com.epam.trainer_session_management.persistence.WorkloadJournal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal backed by fixed-size memory-mapped segment files named after the first sequence they hold.
+ * <p>
+ * Record layout: {@code int length | int crc32 | payload}, where the length is written last so a torn record
+ * reads as the end of the segment. Appends only copy bytes into the mapping; pages are forced to disk by
+ * {@link #flush()} on a fixed delay instead of on every message.
+ * <p>
+ * An abort marker is a record without strings that repeats the sequence of an earlier record and has the
+ * {@code ABORTED} flag set; other appends may land in between, so replay collects the markers first.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.workload.persistence", name = "enabled", havingValue = "true")
+public class MappedWorkloadJournal implements WorkloadJournal {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 8 + 8 + 4 + 4 + 1 + 4 * 2;
+    private static final byte ACTIVE = 1;
+    private static final byte ABORTED = 2;
+    private static final byte[] EMPTY = new byte[0];
+    // string fields are prefixed with an unsigned short length
+    private static final int MAX_FIELD_BYTES = 0xFFFF;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final ReentrantReadWriteLock barrier = new ReentrantReadWriteLock();
+    private final Object appendLock = new Object();
+    private final CRC32 crc = new CRC32();
+
+    private MappedByteBuffer segment;
+    private long nextSequence;
+
+    public MappedWorkloadJournal(WorkloadPersistenceProperties properties) {
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = (int) properties.getSegmentSize().toBytes();
+    }
+
+    /**
+     * Starts a fresh segment; must be called once recovery has replayed the existing segments.
+     */
+    public void open(long firstSequence) {
+        synchronized (appendLock) {
+            nextSequence = firstSequence;
+            startSegment(firstSequence);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException when a field takes more than {@value #MAX_FIELD_BYTES} bytes in UTF-8;
+     *                                  nothing is written and no {@link #complete()} is owed
+     */
+    @Override
+    public long append(String eventId, String trainerUsername, String trainerFirstName, String trainerLastName,
+                       Boolean isActive, int epochDay, int deltaMinutes) {
+        byte[] event = fieldOf("Event ID", eventId);
+        byte[] username = fieldOf("Trainer username", trainerUsername);
+        byte[] firstName = fieldOf("Trainer first name", trainerFirstName);
+        byte[] lastName = fieldOf("Trainer last name", trainerLastName);
+        int payloadSize = FIXED_PAYLOAD_SIZE + event.length + username.length + firstName.length + lastName.length;
+
+        barrier.readLock().lock();
+        try {
+            synchronized (appendLock) {
+                if (segment == null) {
+                    throw new IllegalStateException("Workload journal is not open");
+                }
+                if (segment.remaining() < HEADER_SIZE + payloadSize + HEADER_SIZE) {
+                    startSegment(nextSequence);
+                }
+
+                long sequence = nextSequence++;
+                putRecord(sequence, epochDay, deltaMinutes, Boolean.TRUE.equals(isActive) ? ACTIVE : 0, event,
+                        username, firstName, lastName);
+                return sequence;
+            }
+        } catch (RuntimeException e) {
+            barrier.readLock().unlock();
+            throw e;
+        }
+    }
+
+    @Override
+    public void abort(long sequence) {
+        synchronized (appendLock) {
+            if (segment.remaining() < HEADER_SIZE + FIXED_PAYLOAD_SIZE + HEADER_SIZE) {
+                startSegment(nextSequence);
+            }
+            putRecord(sequence, 0, 0, ABORTED, EMPTY, EMPTY, EMPTY, EMPTY);
+        }
+    }
+
+    @Override
+    public void complete() {
+        barrier.readLock().unlock();
+    }
+
+    /**
+     * Switches appends to a new segment once every in-flight record has been applied.
+     *
+     * @return the first sequence of the new segment; all older segments hold only smaller sequences
+     */
+    public long rollover() {
+        barrier.writeLock().lock();
+        try {
+            synchronized (appendLock) {
+                startSegment(nextSequence);
+                return nextSequence;
+            }
+        } finally {
+            barrier.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replays every readable record of every segment in sequence order, leaving out aborted records.
+     *
+     * @return the highest sequence seen, or {@code 0} when the journal is empty
+     */
+    public long replay(Consumer<JournalEntry> consumer) {
+        Set<Long> aborted = new HashSet<>();
+        scan((entry, abortMarker) -> {
+            if (abortMarker) {
+                aborted.add(entry.getSequence());
+            }
+        });
+        long[] lastSequence = new long[1];
+        scan((entry, abortMarker) -> {
+            lastSequence[0] = Math.max(lastSequence[0], entry.getSequence());
+            if (!abortMarker && !aborted.contains(entry.getSequence())) {
+                consumer.accept(entry);
+            }
+        });
+        return lastSequence[0];
+    }
+
+    /**
+     * Deletes the segments that only hold sequences below {@code firstSequence}.
+     */
+    public void deleteSegmentsBefore(long firstSequence) {
+        for (Path path : listSegments()) {
+            if (sequenceOf(path) < firstSequence) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Failed to delete journal segment {}", path, e);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.workload.persistence.flush-interval:PT1S}")
+    public void flush() {
+        MappedByteBuffer current;
+        synchronized (appendLock) {
+            current = segment;
+        }
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void scan(BiConsumer<JournalEntry, Boolean> consumer) {
+        for (Path path : listSegments()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                CRC32 checksum = new CRC32();
+                while (buffer.remaining() >= HEADER_SIZE) {
+                    int length = buffer.getInt();
+                    int expectedCrc = buffer.getInt();
+                    if (length <= 0 || length > buffer.remaining()) {
+                        break;
+                    }
+                    checksum.reset();
+                    checksum.update(buffer.slice(buffer.position(), length));
+                    if ((int) checksum.getValue() != expectedCrc) {
+                        log.warn("Torn journal record in {} at offset {}, ignoring the rest of the segment",
+                                path.getFileName(), buffer.position() - HEADER_SIZE);
+                        break;
+                    }
+                    boolean abortMarker = (buffer.get(buffer.position() + 8 + 8 + 4 + 4) & ABORTED) != 0;
+                    consumer.accept(readEntry(buffer), abortMarker);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to replay journal segment " + path, e);
+            }
+        }
+    }
+
+    /**
+     * Writes one record at the current position; the caller holds the append lock and has checked the room left.
+     */
+    private void putRecord(long sequence, int epochDay, int deltaMinutes, byte flags, byte[] event, byte[] username,
+                           byte[] firstName, byte[] lastName) {
+        int payloadSize = FIXED_PAYLOAD_SIZE + event.length + username.length + firstName.length + lastName.length;
+        int recordStart = segment.position();
+        segment.position(recordStart + HEADER_SIZE);
+        segment.putLong(sequence)
+                .putLong(System.currentTimeMillis())
+                .putInt(epochDay)
+                .putInt(deltaMinutes)
+                .put(flags);
+        putBytes(event);
+        putBytes(username);
+        putBytes(firstName);
+        putBytes(lastName);
+
+        crc.reset();
+        crc.update(segment.slice(recordStart + HEADER_SIZE, payloadSize));
+        segment.putInt(recordStart + 4, (int) crc.getValue());
+        segment.putInt(recordStart, payloadSize);
+    }
+
+    private void startSegment(long firstSequence) {
+        if (segment != null) {
+            segment.force();
+        }
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment " + path, e);
+        }
+        log.info("Journal segment {} started at sequence {}", path.getFileName(), firstSequence);
+    }
+
+    private List<Path> listSegments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list journal segments in " + directory, e);
+        }
+    }
+
+    private static long sequenceOf(Path segmentPath) {
+        String name = segmentPath.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static JournalEntry readEntry(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        long timestamp = buffer.getLong();
+        int epochDay = buffer.getInt();
+        int deltaMinutes = buffer.getInt();
+        boolean isActive = (buffer.get() & ACTIVE) != 0;
+        String eventId = readString(buffer);
+        String username = readString(buffer);
+        String firstName = readString(buffer);
+        String lastName = readString(buffer);
+        return new JournalEntry(sequence, timestamp, eventId, username, firstName, lastName, isActive, epochDay,
+                deltaMinutes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void putBytes(byte[] bytes) {
+        segment.putShort((short) bytes.length).put(bytes);
+    }
+
+    /**
+     * Encodes a string field, refusing one its length prefix cannot hold rather than letting the length wrap.
+     */
+    private static byte[] fieldOf(String name, String value) {
+        byte[] bytes = value == null ? EMPTY : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException(name + " takes " + bytes.length + " bytes; the journal holds at most "
+                    + MAX_FIELD_BYTES);
+        }
+        return bytes;
+    }
+}
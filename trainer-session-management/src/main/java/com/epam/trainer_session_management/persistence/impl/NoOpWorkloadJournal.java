@@ -0,0 +1,26 @@
+package com.epam.trainer_session_management.persistence.impl;
+
+import com.epam.trainer_session_management.persistence.WorkloadJournal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "application.workload.persistence", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpWorkloadJournal implements WorkloadJournal {
+
+    @Override
+    public long append(String eventId, String trainerUsername, String trainerFirstName, String trainerLastName,
+                       Boolean isActive, int epochDay, int deltaMinutes) {
+        return 0L;
+    }
+
+    @Override
+    public void abort(long sequence) {
+        // nothing was logged
+    }
+
+    @Override
+    public void complete() {
+        // nothing to release
+    }
+}
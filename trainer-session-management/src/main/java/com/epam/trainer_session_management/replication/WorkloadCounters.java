@@ -0,0 +1,252 @@
+package com.epam.trainer_session_management.replication;
+
+import com.epam.trainer_session_management.config.WorkloadReplicationProperties;
+import com.epam.trainer_session_management.persistence.SnapshotSection;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerIdMap;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.WorkloadChangeListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every trainer-day as a PN-counter: per replica, the minutes it ever added and the minutes it ever removed. Both
+ * only grow, so merging two views of a cell is taking the larger count of every replica, whatever order the views
+ * arrive in and however often. The store total of a month is the sum of all added minus all removed minutes of its
+ * days; cells are kept per day so that merged minutes land on the day they were recorded for, and day ranges read
+ * the same on every replica.
+ * <p>
+ * Deltas journaled under {@code replica:<id>} were merged from that replica; every other delta was recorded here
+ * and counts for the local replica, whose cells also carry the local clock value of their last change so the
+ * replicator can ship only what changed since a peer last acknowledged.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.workload.replication", name = "enabled", havingValue = "true")
+public class WorkloadCounters implements WorkloadChangeListener, SnapshotSection {
+
+    public static final String ORIGIN_PREFIX = "replica:";
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final TrainerDictionary trainerDictionary;
+    private final String replicaId;
+    private final TrainerIdMap<TrainerCounters> trainers = new TrainerIdMap<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Autowired
+    public WorkloadCounters(TrainerDictionary trainerDictionary, WorkloadReplicationProperties properties) {
+        this(trainerDictionary, properties.getReplicaId());
+    }
+
+    WorkloadCounters(TrainerDictionary trainerDictionary, String replicaId) {
+        this.trainerDictionary = trainerDictionary;
+        this.replicaId = replicaId;
+    }
+
+    public String replicaId() {
+        return replicaId;
+    }
+
+    /**
+     * Returns the event ID deltas merged from the replica are journaled under.
+     */
+    public static String originEventId(String replicaId) {
+        return ORIGIN_PREFIX + replicaId;
+    }
+
+    @Override
+    public void onWorkloadChange(WorkloadChange change) {
+        TrainerCounters counters = trainers.computeIfAbsent(change.getTrainerId(), key -> new TrainerCounters());
+        String eventId = change.getEventId();
+        String origin = eventId != null && eventId.startsWith(ORIGIN_PREFIX)
+                ? eventId.substring(ORIGIN_PREFIX.length()) : replicaId;
+        synchronized (counters) {
+            if (change.getSequence() > 0 && change.getSequence() <= counters.sequence) {
+                return;
+            }
+            counters.sequence = Math.max(counters.sequence, change.getSequence());
+            if (change.getDeltaMinutes() == 0) {
+                return;
+            }
+            Cell cell = counters.cells.computeIfAbsent(change.getEpochDay(), key -> new Cell());
+            long[] counts = cell.counts.computeIfAbsent(origin, key -> new long[2]);
+            if (change.getDeltaMinutes() > 0) {
+                counts[0] += change.getDeltaMinutes();
+            } else {
+                counts[1] -= change.getDeltaMinutes();
+            }
+            if (origin.equals(replicaId)) {
+                cell.version = clock.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns the minutes the replica has added to and removed from the day, as far as merged here.
+     */
+    public long[] countsOf(int trainerId, LocalDate day, String origin) {
+        TrainerCounters counters = trainers.get(trainerId);
+        if (counters == null) {
+            return new long[2];
+        }
+        synchronized (counters) {
+            Cell cell = counters.cells.get((int) day.toEpochDay());
+            long[] counts = cell == null ? null : cell.counts.get(origin);
+            return counts == null ? new long[2] : counts.clone();
+        }
+    }
+
+    /**
+     * Returns a digest of the trainer's counts of every replica. It depends on the counts alone, not on the order
+     * they were recorded or merged in, so replicas that hold the same counts return the same digest.
+     */
+    public long digestOf(int trainerId) {
+        TrainerCounters counters = trainers.get(trainerId);
+        if (counters == null) {
+            return 0L;
+        }
+        long digest = 0L;
+        synchronized (counters) {
+            for (Map.Entry<Integer, Cell> cell : counters.cells.entrySet()) {
+                for (Map.Entry<String, long[]> counts : cell.getValue().counts.entrySet()) {
+                    // a sum of mixed cells stays independent of the map order
+                    digest += mix(mix(mix(cell.getKey() * GOLDEN_GAMMA ^ counts.getKey().hashCode())
+                            ^ counts.getValue()[0]) ^ counts.getValue()[1]);
+                }
+            }
+        }
+        return digest;
+    }
+
+    /**
+     * Returns the local clock, the version of the latest local change.
+     */
+    public long version() {
+        return clock.get();
+    }
+
+    /**
+     * Returns the local counts of the cells last changed after {@code afterVersion}, oldest change first.
+     */
+    public List<LocalCell> changedAfter(long afterVersion) {
+        List<LocalCell> changed = new ArrayList<>();
+        trainers.forEach((counters, trainerId) -> {
+            synchronized (counters) {
+                counters.cells.forEach((epochDay, cell) -> {
+                    long[] counts = cell.counts.get(replicaId);
+                    if (cell.version > afterVersion && counts != null) {
+                        changed.add(new LocalCell(trainerId, LocalDate.ofEpochDay(epochDay), counts[0], counts[1],
+                                cell.version));
+                    }
+                });
+            }
+        });
+        changed.sort(Comparator.comparingLong(LocalCell::version));
+        return changed;
+    }
+
+    @Override
+    public String sectionName() {
+        return "counters";
+    }
+
+    /**
+     * Writes the replica ID and clock, then per trainer the sequence and, per epoch day, the local version and the
+     * counts of every replica.
+     */
+    @Override
+    public void writeSection(DataOutput out) throws IOException {
+        List<Integer> trainerIds = new ArrayList<>(trainers.size());
+        trainers.forEach((counters, trainerId) -> trainerIds.add(trainerId));
+        out.writeUTF(replicaId);
+        out.writeLong(clock.get());
+        out.writeInt(trainerIds.size());
+        for (int trainerId : trainerIds) {
+            TrainerCounters counters = trainers.get(trainerId);
+            synchronized (counters) {
+                out.writeUTF(trainerDictionary.usernameOf(trainerId));
+                out.writeLong(counters.sequence);
+                out.writeInt(counters.cells.size());
+                for (Map.Entry<Integer, Cell> entry : counters.cells.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeLong(entry.getValue().version);
+                    out.writeInt(entry.getValue().counts.size());
+                    for (Map.Entry<String, long[]> counts : entry.getValue().counts.entrySet()) {
+                        out.writeUTF(counts.getKey());
+                        out.writeLong(counts.getValue()[0]);
+                        out.writeLong(counts.getValue()[1]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readSection(DataInput in) throws IOException {
+        String snapshotReplicaId = in.readUTF();
+        if (!snapshotReplicaId.equals(replicaId)) {
+            log.warn("Workload counters were recorded as replica {} and are now counted as replica {}; minutes "
+                    + "recorded as {} are not shipped any more", snapshotReplicaId, replicaId, snapshotReplicaId);
+        }
+        long version = in.readLong();
+        int trainerCount = in.readInt();
+        for (int i = 0; i < trainerCount; i++) {
+            TrainerCounters counters = new TrainerCounters();
+            int trainerId = trainerDictionary.register(in.readUTF());
+            counters.sequence = in.readLong();
+            int cellCount = in.readInt();
+            for (int j = 0; j < cellCount; j++) {
+                int epochDay = in.readInt();
+                Cell cell = new Cell();
+                cell.version = in.readLong();
+                version = Math.max(version, cell.version);
+                int originCount = in.readInt();
+                for (int k = 0; k < originCount; k++) {
+                    cell.counts.put(in.readUTF(), new long[]{in.readLong(), in.readLong()});
+                }
+                counters.cells.put(epochDay, cell);
+            }
+            trainers.put(trainerId, counters);
+        }
+        clock.set(version);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * The local counts of one day and the clock value of their last change.
+     */
+    public record LocalCell(int trainerId, LocalDate day, long addedMinutes, long removedMinutes, long version) {
+    }
+
+    /**
+     * Counts by replica, {@code {added, removed}}; guarded by the trainer's monitor.
+     */
+    private static final class Cell {
+        private final Map<String, long[]> counts = new HashMap<>(4);
+        private long version;
+    }
+
+    private static final class TrainerCounters {
+        private final Map<Integer, Cell> cells = new HashMap<>();
+        private long sequence;
+    }
+}
@@ -0,0 +1,154 @@
+package com.epam.trainer_session_management.replication;
+
+import com.epam.trainer_session_management.config.ServiceTokenProperties;
+import com.epam.trainer_session_management.config.WorkloadReplicationProperties;
+import com.epam.trainer_session_management.config.WorkloadShardingProperties;
+import com.epam.trainer_session_management.dto.WorkloadReplicationRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplicationResponse;
+import com.epam.trainer_session_management.security.ServiceTokenFilter;
+import com.epam.trainer_session_management.service.WorkloadReplicationService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs this instance as one of several active-active replicas. Each replica consumes its share of the workload
+ * queue and answers every read from its own store; on a fixed interval it sends every peer Eureka knows about the
+ * cells it changed since that peer last acknowledged, and the peer merges them into its counters.
+ * <p>
+ * A peer acknowledges the version it has merged everything up to, which may be lower than what was sent when it
+ * restarted or missed an exchange; sending then starts over from there.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.workload.replication", name = "enabled", havingValue = "true")
+public class WorkloadReplicator implements MeterBinder {
+
+    private static final String REPLICATION_PATH = "/api/v1/replication/deltas";
+
+    private final WorkloadReplicationProperties properties;
+    private final DiscoveryClient discoveryClient;
+    private final Registration registration;
+    private final WorkloadReplicationService workloadReplicationService;
+    private final WorkloadCounters workloadCounters;
+    private final RestClient shardRestClient;
+    private final String serviceToken;
+
+    private final Map<String, Long> ackedVersions = new ConcurrentHashMap<>();
+    private final AtomicLong sentCells = new AtomicLong();
+    private final AtomicLong mergedCells = new AtomicLong();
+    private final AtomicLong failedExchanges = new AtomicLong();
+
+    public WorkloadReplicator(
+            WorkloadReplicationProperties properties,
+            WorkloadShardingProperties shardingProperties,
+            DiscoveryClient discoveryClient,
+            Registration registration,
+            WorkloadReplicationService workloadReplicationService,
+            WorkloadCounters workloadCounters,
+            @Qualifier("shardRestClient") RestClient shardRestClient,
+            ServiceTokenProperties serviceTokenProperties
+    ) {
+        if (shardingProperties.isEnabled()) {
+            throw new IllegalStateException("Workload replication and sharding are alternatives; enable only one");
+        }
+        this.properties = properties;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.workloadReplicationService = workloadReplicationService;
+        this.workloadCounters = workloadCounters;
+        this.shardRestClient = shardRestClient;
+        this.serviceToken = serviceTokenProperties.getServiceToken();
+    }
+
+    @Scheduled(initialDelayString = "${application.workload.replication.interval:PT5S}",
+            fixedDelayString = "${application.workload.replication.interval:PT5S}")
+    public synchronized void exchange() {
+        Set<String> live = new HashSet<>();
+        for (ServiceInstance peer : discoveryClient.getInstances(properties.getServiceId())) {
+            if (peer.getInstanceId().equals(registration.getInstanceId())) {
+                continue;
+            }
+            live.add(peer.getInstanceId());
+            send(peer);
+        }
+        ackedVersions.keySet().retainAll(live);
+    }
+
+    /**
+     * Merges cells sent by a peer.
+     */
+    public WorkloadReplicationResponse accept(WorkloadReplicationRequest request) {
+        WorkloadReplicationResponse response = workloadReplicationService.merge(request);
+        mergedCells.addAndGet(response.getMergedCells());
+        return response;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("workload.replication.lag", this, WorkloadReplicator::lag)
+                .description("Local changes the furthest-behind peer has not acknowledged yet")
+                .register(meterRegistry);
+        bindCells(meterRegistry, "sent", sentCells);
+        bindCells(meterRegistry, "merged", mergedCells);
+        FunctionCounter.builder("workload.replication.failures", failedExchanges, AtomicLong::get)
+                .description("Exchanges with a peer that failed and are retried on the next interval")
+                .register(meterRegistry);
+    }
+
+    private static void bindCells(MeterRegistry meterRegistry, String direction, AtomicLong count) {
+        FunctionCounter.builder("workload.replication.cells", count, AtomicLong::get)
+                .description("Trainer-month cells sent to peers, or merged from them with a change")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private double lag() {
+        long version = workloadCounters.version();
+        return ackedVersions.values().stream().mapToLong(acked -> version - acked).max().orElse(0L);
+    }
+
+    private void send(ServiceInstance peer) {
+        long acked = ackedVersions.getOrDefault(peer.getInstanceId(), 0L);
+        WorkloadReplicationRequest request = workloadReplicationService.collect(acked,
+                properties.getMaxCellsPerExchange());
+        if (request.getUpToVersion() <= acked) {
+            ackedVersions.putIfAbsent(peer.getInstanceId(), acked);
+            return;
+        }
+        try {
+            WorkloadReplicationResponse response = shardRestClient.post()
+                    .uri(peer.getUri() + REPLICATION_PATH)
+                    .header(ServiceTokenFilter.SERVICE_TOKEN_HEADER, serviceToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(request)
+                    .retrieve()
+                    .body(WorkloadReplicationResponse.class);
+            if (response != null && response.getMergedVersion() != null) {
+                ackedVersions.put(peer.getInstanceId(), response.getMergedVersion());
+                sentCells.addAndGet(request.getCells().size());
+            }
+        } catch (RestClientException e) {
+            failedExchanges.incrementAndGet();
+            log.warn("Failed to replicate workload to {}: {}", peer.getInstanceId(), e.getMessage());
+        }
+    }
+}
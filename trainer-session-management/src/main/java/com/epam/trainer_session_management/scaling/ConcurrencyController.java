@@ -0,0 +1,79 @@
+package com.epam.trainer_session_management.scaling;
+
+import com.epam.trainer_session_management.config.ListenerScalingProperties;
+
+import java.time.Duration;
+
+/**
+ * Turns backlog and lag samples into a consumer count between the configured bounds.
+ * <p>
+ * Scaling up jumps straight to the target once {@code scaleUpSamples} samples in a row asked for more; scaling down
+ * drops one consumer at a time and only after {@code scaleDownSamples} samples in a row asked for fewer, so a
+ * month-end flood is picked up quickly while short lulls do not make the count oscillate. Not thread-safe.
+ */
+public class ConcurrencyController {
+
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final int messagesPerConsumer;
+    private final Duration maxLag;
+    private final int scaleUpSamples;
+    private final int scaleDownSamples;
+
+    private int concurrency;
+    private int upStreak;
+    private int downStreak;
+
+    public ConcurrencyController(ListenerScalingProperties properties) {
+        if (properties.getMinConcurrency() < 1 || properties.getMaxConcurrency() < properties.getMinConcurrency()) {
+            throw new IllegalArgumentException("Invalid listener concurrency bounds: "
+                    + properties.getMinConcurrency() + ".." + properties.getMaxConcurrency());
+        }
+        this.minConcurrency = properties.getMinConcurrency();
+        this.maxConcurrency = properties.getMaxConcurrency();
+        this.messagesPerConsumer = Math.max(1, properties.getMessagesPerConsumer());
+        this.maxLag = properties.getMaxLag();
+        this.scaleUpSamples = Math.max(1, properties.getScaleUpSamples());
+        this.scaleDownSamples = Math.max(1, properties.getScaleDownSamples());
+        this.concurrency = minConcurrency;
+    }
+
+    /**
+     * Records one sample and returns the concurrency to run with.
+     *
+     * @param backlog messages waiting in the queue
+     * @param lag     age of the oldest waiting message, {@link Duration#ZERO} when the queue is empty
+     */
+    public int update(long backlog, Duration lag) {
+        int target = targetOf(backlog, lag);
+        if (target > concurrency) {
+            downStreak = 0;
+            if (++upStreak >= scaleUpSamples) {
+                concurrency = target;
+                upStreak = 0;
+            }
+        } else if (target < concurrency) {
+            upStreak = 0;
+            if (++downStreak >= scaleDownSamples) {
+                concurrency--;
+                downStreak = 0;
+            }
+        } else {
+            upStreak = 0;
+            downStreak = 0;
+        }
+        return concurrency;
+    }
+
+    public int concurrency() {
+        return concurrency;
+    }
+
+    private int targetOf(long backlog, Duration lag) {
+        long target = (backlog + messagesPerConsumer - 1) / messagesPerConsumer;
+        if (lag.compareTo(maxLag) > 0) {
+            target = Math.max(target, concurrency + 1L);
+        }
+        return (int) Math.max(minConcurrency, Math.min(maxConcurrency, target));
+    }
+}
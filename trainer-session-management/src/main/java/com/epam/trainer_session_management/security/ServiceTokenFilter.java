@@ -0,0 +1,70 @@
+package com.epam.trainer_session_management.security;
+
+import com.epam.trainer_session_management.config.ServiceTokenProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Answers 403 to requests for the service and admin endpoints that do not carry the shared service token. The token is
+ * compared in constant time, and a service without one configured refuses them all.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceTokenFilter extends OncePerRequestFilter {
+
+    public static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    // Called by other workload instances only
+    private static final List<String> SERVICE_PATHS = List.of(
+            "/api/v1/shards/",
+            "/api/v1/replication/"
+    );
+
+    // Operations that rewrite the workload, posted by operators holding the token
+    private static final Set<String> ADMIN_PATHS = Set.of(
+            "/api/v1/workload/rebuild",
+            "/api/v1/workload/replay"
+    );
+
+    private final ServiceTokenProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        boolean adminRequest = HttpMethod.POST.matches(request.getMethod()) && ADMIN_PATHS.contains(path);
+        return !adminRequest && SERVICE_PATHS.stream().noneMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!isServiceRequest(request)) {
+            log.warn("Refused {} {}: missing or invalid service token", request.getMethod(), request.getServletPath());
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isServiceRequest(HttpServletRequest request) {
+        String expected = properties.getServiceToken();
+        String token = request.getHeader(SERVICE_TOKEN_HEADER);
+        return expected != null && !expected.isEmpty() && token != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
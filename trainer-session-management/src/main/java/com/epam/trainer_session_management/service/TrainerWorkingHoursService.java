@@ -1,11 +1,102 @@
 package com.epam.trainer_session_management.service;
 
+import com.epam.trainer_session_management.dto.LeaderboardEntryResponse;
+import com.epam.trainer_session_management.dto.LeaderboardResponse;
+import com.epam.trainer_session_management.dto.TrainerDurationStatsResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadAsOfResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchRequest;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRangeResponse;
 import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
 import com.epam.trainer_session_management.dto.TrainerWorkloadResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadSummaryResponse;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 
 public interface TrainerWorkingHoursService {
 
     TrainerWorkloadResponse calculateAndSave(TrainerWorkloadRequest request);
 
+    void calculateAndSaveAll(List<TrainerWorkloadRequest> requests);
+
+    /**
+     * Applies deltas another replica has already recorded and waits for them. The action type alone gives the sign,
+     * since the recording replica applied the inactive-trainer rule, and nothing is deduplicated: callers pass only
+     * what this replica is still missing.
+     */
+    void applyReplicatedAll(List<TrainerWorkloadRequest> requests);
+
     TrainerWorkloadResponse getTrainerWorkingHours(String trainerUsername, String year, String month);
+
+    /**
+     * Returns every recorded year of the trainer with all twelve months.
+     */
+    TrainerWorkloadSummaryResponse getTrainerWorkloadSummary(String trainerUsername);
+
+    /**
+     * Returns one year of the trainer with all twelve months.
+     */
+    TrainerWorkloadSummaryResponse getTrainerWorkloadSummary(String trainerUsername, String year);
+
+    /**
+     * Returns the hours worked from {@code from} to {@code to}, both inclusive.
+     */
+    TrainerWorkloadRangeResponse getTrainerWorkingHoursBetween(String trainerUsername, LocalDate from, LocalDate to);
+
+    /**
+     * Returns the hours of the month as recorded at {@code asOf}, ignoring every update that arrived later.
+     */
+    TrainerWorkloadAsOfResponse getTrainerWorkingHoursAsOf(String trainerUsername, String year, String month,
+                                                           Instant asOf);
+
+    /**
+     * Returns the median, 90th and 99th percentile session duration of the month, from the month's duration sketch.
+     */
+    TrainerDurationStatsResponse getTrainerDurationStats(String trainerUsername, String year, String month);
+
+    /**
+     * Returns the monthly hours of every requested trainer over the requested months as one columnar response.
+     * Each trainer is copied from the store once, however many months are asked for.
+     */
+    TrainerWorkloadBatchResponse getTrainerWorkloadBatch(TrainerWorkloadBatchRequest request);
+
+    /**
+     * Returns up to {@code limit} trainers with the most hours in the month, best first.
+     */
+    LeaderboardResponse getLeaderboard(String year, String month, int limit);
+
+    /**
+     * Returns the trainer's rank in the month; trainers with equal hours share a rank.
+     */
+    LeaderboardEntryResponse getTrainerRank(String trainerUsername, String year, String month);
+
+    /**
+     * Returns the trainer's workload version, which changes with every applied update.
+     */
+    long getTrainerWorkloadVersion(String trainerUsername);
+
+    /**
+     * Returns an entity tag of the trainer's hours. It is the workload version on a single instance; with replication
+     * on it is derived from the replicated counts and the trainer's details, so replicas that have exchanged
+     * everything give the same tag for the same hours.
+     */
+    String getTrainerWorkloadTag(String trainerUsername);
+
+    /**
+     * Returns an entity tag of the trainer's duration statistics. Replicas sketch only the sessions they recorded
+     * themselves, so with replication on the tag also names the replica.
+     */
+    String getTrainerDurationStatsTag(String trainerUsername);
+
+    /**
+     * Brings every given trainer to exactly the recorded months of its target: months that differ are corrected and
+     * months missing from the target drop to zero. Corrections are journaled like regular updates and run on the
+     * trainer's workload stripe, so each trainer switches over in one step.
+     *
+     * @return the number of corrected months
+     */
+    int reconcileAll(List<TrainerWorkload> targets);
 }
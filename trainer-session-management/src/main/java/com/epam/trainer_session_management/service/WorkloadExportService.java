@@ -0,0 +1,16 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface WorkloadExportService {
+
+    /**
+     * Writes one row per recorded trainer month straight to {@code outputStream}, visiting the store one trainer
+     * at a time. {@code null} filters match everything;
+     * {@code month} is 1-based.
+     */
+    void exportWorkload(ExportFormat format, Integer year, Integer month, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,28 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Predicate;
+
+public interface WorkloadRebuildService {
+
+    /**
+     * Reconciles the workload with the monthly totals streamed by gym-crm, the source of truth. Unless sharded, the
+     * workload listener is stopped until the rebuild finishes.
+     */
+    WorkloadRebuildResponse rebuild();
+
+    /**
+     * Reconciles the workload with newline-delimited monthly totals ordered by trainer. Trainers missing from the
+     * source drop to zero hours. Unless sharded, the workload listener is stopped until the rebuild finishes.
+     */
+    WorkloadRebuildResponse rebuild(InputStream source) throws IOException;
+
+    /**
+     * Like {@link #rebuild(InputStream)}, but only for trainers in {@code scope}: rows of other trainers are skipped
+     * and only trainers in scope drop to zero hours when missing.
+     */
+    WorkloadRebuildResponse rebuild(InputStream source, Predicate<String> scope) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.dto.WorkloadReplayResponse;
+import com.epam.trainer_session_management.enums.ReplaySource;
+
+public interface WorkloadReplayService {
+
+    /**
+     * Feeds up to {@code limit} parked or dead-lettered messages back through the workload service, in batches and
+     * no faster than the configured rate. Messages that still cannot be applied are parked again.
+     */
+    WorkloadReplayResponse replay(ReplaySource source, int limit);
+}
@@ -0,0 +1,18 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.dto.WorkloadReplicationRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplicationResponse;
+
+public interface WorkloadReplicationService {
+
+    /**
+     * Returns up to {@code maxCells} local cells changed after {@code afterVersion}, oldest change first.
+     */
+    WorkloadReplicationRequest collect(long afterVersion, int maxCells);
+
+    /**
+     * Applies whatever the sending replica counted beyond what this replica has merged from it so far. Merging the
+     * same cells again, or older ones, changes nothing.
+     */
+    WorkloadReplicationResponse merge(WorkloadReplicationRequest request);
+}
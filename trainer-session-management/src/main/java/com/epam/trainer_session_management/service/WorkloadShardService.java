@@ -0,0 +1,21 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface WorkloadShardService {
+
+    /**
+     * Writes the monthly totals of every trainer in the partition as newline-delimited rows ordered by trainer, the
+     * format gym-crm streams for a rebuild.
+     */
+    void exportPartition(int partition, OutputStream outputStream) throws IOException;
+
+    /**
+     * Reconciles the trainers of the partition with totals written by {@link #exportPartition} on another instance.
+     */
+    WorkloadRebuildResponse importPartition(int partition, InputStream source) throws IOException;
+}
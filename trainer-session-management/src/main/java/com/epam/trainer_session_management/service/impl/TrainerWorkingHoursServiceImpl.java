@@ -1,144 +1,570 @@
 package com.epam.trainer_session_management.service.impl;
 
+import com.epam.trainer_session_management.dedup.WorkloadDeduplicator;
+import com.epam.trainer_session_management.dto.LeaderboardEntryResponse;
+import com.epam.trainer_session_management.dto.LeaderboardResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadAsOfResponse;
+import com.epam.trainer_session_management.dto.MonthWorkloadResponse;
+import com.epam.trainer_session_management.dto.TrainerDurationStatsResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchRequest;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRangeResponse;
 import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
 import com.epam.trainer_session_management.dto.TrainerWorkloadResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadSummaryResponse;
+import com.epam.trainer_session_management.dto.YearWorkloadResponse;
 import com.epam.trainer_session_management.enums.ActionType;
-import com.epam.trainer_session_management.model.TrainerWorkingHours;
+import com.epam.trainer_session_management.exception.WorkloadNotFoundException;
+import com.epam.trainer_session_management.executor.StripedExecutor;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.index.MonthlyLeaderboard;
+import com.epam.trainer_session_management.index.RankedTrainer;
+import com.epam.trainer_session_management.persistence.WorkloadJournal;
+import com.epam.trainer_session_management.replication.WorkloadCounters;
 import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import com.epam.trainer_session_management.stats.DurationSketch;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.WorkloadChangeListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class TrainerWorkingHoursServiceImpl implements TrainerWorkingHoursService {
 
-    private static final Map<String, TrainerWorkingHours> TRAINER_WORKLOAD_MAP = new ConcurrentHashMap<>();
+    private static final float MINUTES_PER_HOUR = 60.0F;
+    private static final int MONTHS = 12;
+    private static final int MAX_LEADERBOARD_SIZE = 1000;
+    private static final int MAX_BATCH_TRAINERS = 1000;
+    private static final int MAX_BATCH_MONTHS = 120;
 
+    private final TrainerDictionary trainerDictionary;
+    private final TrainerWorkloadStore trainerWorkloadStore;
+    private final WorkloadJournal workloadJournal;
+    private final StripedExecutor workloadExecutor;
+    private final WorkloadDeduplicator workloadDeduplicator;
+    private final DailyWorkloadIndex dailyWorkloadIndex;
+    private final MonthlyLeaderboard monthlyLeaderboard;
+    private final WorkloadHistory workloadHistory;
+    private final DurationSketches durationSketches;
+    private final List<WorkloadChangeListener> workloadChangeListeners;
+    private final Optional<WorkloadCounters> workloadCounters;
+
+    /**
+     * Applies the request on the trainer's stripe and waits for it, so its journal sequence reaches the listeners in
+     * order with the batches, rebuilds and replicated deltas that change the same trainer.
+     */
     @Override
     public TrainerWorkloadResponse calculateAndSave(TrainerWorkloadRequest request) {
         LocalDate localDate = toLocalDate(request.getTrainingDate());
-        String year = String.valueOf(localDate.getYear());
-        String month = String.valueOf(localDate.getMonth());
-        String username = request.getTrainerUsername();
+        int totalMinutes = workloadExecutor.call(trainerDictionary.register(request.getTrainerUsername()),
+                () -> apply(request, localDate));
 
-        float rawDurationHours = request.getTrainingDuration() / 60.0F;
+        return TrainerWorkloadResponse.builder()
+                .trainerUsername(request.getTrainerUsername())
+                .year(String.valueOf(localDate.getYear()))
+                .month(String.valueOf(localDate.getMonth()))
+                .workingHours(toHours(totalMinutes))
+                .build();
+    }
 
-        //Treat inactive trainers' hours as DELETE even if ActionType is ADD
-        boolean shouldSubtract = request.getActionType() == ActionType.DELETE || !request.getIsActive();
-        float durationHours = shouldSubtract ? -rawDurationHours : rawDurationHours;
+    @Override
+    public void calculateAndSaveAll(List<TrainerWorkloadRequest> requests) {
+        workloadExecutor.executeAll(requests, request -> trainerDictionary.register(request.getTrainerUsername()),
+                request -> apply(request, toLocalDate(request.getTrainingDate())));
+    }
 
-        TRAINER_WORKLOAD_MAP.compute(username, (key, existingData) -> {
-            if (existingData == null) {
-                return createNewTrainerRecord(request, year, month, durationHours);
-            }
-            return updateTrainerRecord(existingData, year, month, durationHours);
-        });
+    @Override
+    public void applyReplicatedAll(List<TrainerWorkloadRequest> requests) {
+        workloadExecutor.executeAll(requests, request -> trainerDictionary.register(request.getTrainerUsername()),
+                request -> {
+                    int durationMinutes = request.getTrainingDuration();
+                    applyDelta(request.getEventId(), trainerDictionary.register(request.getTrainerUsername()),
+                            request.getTrainerUsername(), request.getTrainerFirstName(),
+                            request.getTrainerLastName(), request.getIsActive(),
+                            toLocalDate(request.getTrainingDate()),
+                            request.getActionType() == ActionType.DELETE ? -durationMinutes : durationMinutes);
+                });
+    }
 
-        TrainerWorkingHours updated = TRAINER_WORKLOAD_MAP.get(username);
-        TrainerWorkingHours.Month updatedMonth = findMonth(updated, year, month);
+    @Override
+    public TrainerWorkloadResponse getTrainerWorkingHours(String trainerUsername, String year, String month) {
+        int trainerId = findTrainerId(trainerUsername);
+        int minutes = trainerWorkloadStore.getMinutes(trainerId, parseYear(year), parseMonth(month));
+        if (minutes == TrainerWorkloadStore.NO_DATA) {
+            throw new WorkloadNotFoundException("No data found for year " + year + " and month " + month);
+        }
 
-        System.out.println("Saved or updated: " + updated);
         return TrainerWorkloadResponse.builder()
-                .trainerUsername(updated.getTrainerUsername())
+                .trainerUsername(trainerUsername)
                 .year(year)
                 .month(month)
-                .workingHours(updatedMonth.getWorkingHours())
+                .workingHours(toHours(minutes))
                 .build();
     }
 
     @Override
-    public TrainerWorkloadResponse getTrainerWorkingHours(String trainerUsername, String year, String month) {
-        TrainerWorkingHours trainerWorkingHours = TRAINER_WORKLOAD_MAP.get(trainerUsername);
-        if (trainerWorkingHours == null) {
-            throw new IllegalArgumentException("Trainer not found: " + trainerUsername);
+    public TrainerWorkloadSummaryResponse getTrainerWorkloadSummary(String trainerUsername) {
+        return toSummary(findTrainer(trainerUsername), null);
+    }
+
+    @Override
+    public TrainerWorkloadSummaryResponse getTrainerWorkloadSummary(String trainerUsername, String year) {
+        int parsedYear = parseYear(year);
+        TrainerWorkloadSummaryResponse summary = toSummary(findTrainer(trainerUsername), parsedYear);
+        if (summary.getYears().isEmpty()) {
+            throw new WorkloadNotFoundException("No data found for year " + year);
         }
+        return summary;
+    }
 
-        TrainerWorkingHours.Month monthEntry = trainerWorkingHours.getYears().stream()
-                .filter(y -> y.getYear().equals(year))
-                .flatMap(y -> y.getMonths().stream())
-                .filter(m -> m.getMonth().equals(month.toUpperCase()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("No data found for year " + year + " and month " + month));
+    @Override
+    public TrainerWorkloadRangeResponse getTrainerWorkingHoursBetween(String trainerUsername, LocalDate from,
+                                                                      LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start " + from + " is after its end " + to);
+        }
+        long minutes = dailyWorkloadIndex.sumMinutes(findTrainerId(trainerUsername), from, to);
+        return TrainerWorkloadRangeResponse.builder()
+                .trainerUsername(trainerUsername)
+                .from(from.toString())
+                .to(to.toString())
+                .workingHours(minutes / MINUTES_PER_HOUR)
+                .build();
+    }
 
-        System.out.println("Read: " + trainerWorkingHours);
-        return TrainerWorkloadResponse.builder()
-                .trainerUsername(trainerWorkingHours.getTrainerUsername())
+    @Override
+    public TrainerWorkloadAsOfResponse getTrainerWorkingHoursAsOf(String trainerUsername, String year, String month,
+                                                                  Instant asOf) {
+        int trainerId = findTrainerId(trainerUsername);
+        int parsedYear = parseYear(year);
+        int parsedMonth = parseMonth(month);
+        int minutes = workloadHistory.minutesAsOf(trainerId, parsedYear, parsedMonth, asOf.toEpochMilli());
+        int currentMinutes = trainerWorkloadStore.getMinutes(trainerId, parsedYear, parsedMonth);
+
+        return TrainerWorkloadAsOfResponse.builder()
+                .trainerUsername(trainerUsername)
+                .year(String.valueOf(parsedYear))
+                .month(Month.of(parsedMonth).name())
+                .asOf(asOf.toString())
+                .workingHours(toHours(minutes))
+                .currentWorkingHours(toHours(currentMinutes))
+                .build();
+    }
+
+    @Override
+    public TrainerDurationStatsResponse getTrainerDurationStats(String trainerUsername, String year, String month) {
+        int trainerId = findTrainerId(trainerUsername);
+        DurationSketch sketch = durationSketches.sketchOf(trainerId, parseYear(year), parseMonth(month));
+        long sessions = sketch == null ? 0 : sketch.count();
+        if (sessions == 0) {
+            throw new WorkloadNotFoundException("No sessions found for year " + year + " and month " + month);
+        }
+
+        return TrainerDurationStatsResponse.builder()
+                .trainerUsername(trainerUsername)
                 .year(year)
                 .month(month)
-                .workingHours(monthEntry.getWorkingHours())
+                .sessions(sessions)
+                .p50(sketch.quantile(0.5))
+                .p90(sketch.quantile(0.9))
+                .p99(sketch.quantile(0.99))
                 .build();
     }
 
-    private static LocalDate toLocalDate(Date trainingDate) {
-        return trainingDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    @Override
+    public TrainerWorkloadBatchResponse getTrainerWorkloadBatch(TrainerWorkloadBatchRequest request) {
+        List<String> trainerUsernames = request.getTrainerUsernames();
+        if (trainerUsernames == null || trainerUsernames.isEmpty() || trainerUsernames.size() > MAX_BATCH_TRAINERS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH_TRAINERS + " trainer usernames are required");
+        }
+        YearMonth from;
+        YearMonth to;
+        if (request.getYear() != null) {
+            int year = parseYear(request.getYear());
+            from = YearMonth.of(year, Month.JANUARY);
+            to = YearMonth.of(year, Month.DECEMBER);
+        } else {
+            from = parseYearMonth(request.getFrom());
+            to = parseYearMonth(request.getTo());
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start " + from + " is after its end " + to);
+        }
+        int monthCount = (to.getYear() - from.getYear()) * MONTHS + to.getMonthValue() - from.getMonthValue() + 1;
+        if (monthCount > MAX_BATCH_MONTHS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_MONTHS + " months can be requested at once");
+        }
+
+        List<String> months = new ArrayList<>(monthCount);
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month.toString());
+        }
+        List<String> found = new ArrayList<>(trainerUsernames.size());
+        List<String> missing = new ArrayList<>();
+        int[] trainerIds = new int[trainerUsernames.size()];
+        float[][] workingHours = new float[trainerUsernames.size()][];
+        for (String trainerUsername : trainerUsernames) {
+            int trainerId = trainerDictionary.find(trainerUsername);
+            TrainerWorkload trainer = trainerId == TrainerDictionary.NO_ID ? null : trainerWorkloadStore.get(trainerId);
+            if (trainer == null) {
+                missing.add(trainerUsername);
+                continue;
+            }
+            trainerIds[found.size()] = trainerId;
+            workingHours[found.size()] = hoursBetween(trainer, from, monthCount);
+            found.add(trainerUsername);
+        }
+
+        return TrainerWorkloadBatchResponse.builder()
+                .months(months)
+                .trainerUsernames(found)
+                .trainerIds(Arrays.copyOf(trainerIds, found.size()))
+                .workingHours(Arrays.copyOf(workingHours, found.size()))
+                .missingTrainerUsernames(missing)
+                .build();
     }
 
-    private TrainerWorkingHours createNewTrainerRecord(TrainerWorkloadRequest request, String year, String month, Float durationHours) {
-        TrainerWorkingHours.Month newMonth = TrainerWorkingHours.Month.builder()
-                .month(month)
-                .workingHours(durationHours)
+    @Override
+    public LeaderboardResponse getLeaderboard(String year, String month, int limit) {
+        if (limit < 1 || limit > MAX_LEADERBOARD_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LEADERBOARD_SIZE + ": " + limit);
+        }
+        int parsedYear = parseYear(year);
+        int parsedMonth = parseMonth(month);
+
+        List<RankedTrainer> top = monthlyLeaderboard.top(parsedYear, parsedMonth, limit);
+        List<LeaderboardEntryResponse> trainers = new ArrayList<>(top.size());
+        for (RankedTrainer rankedTrainer : top) {
+            trainers.add(toLeaderboardEntry(rankedTrainer));
+        }
+        return LeaderboardResponse.builder()
+                .year(String.valueOf(parsedYear))
+                .month(Month.of(parsedMonth).name())
+                .trainerCount(monthlyLeaderboard.trainerCount(parsedYear, parsedMonth))
+                .trainers(trainers)
                 .build();
+    }
 
-        TrainerWorkingHours.Year newYear = TrainerWorkingHours.Year.builder()
-                .year(year)
-                .months(new ArrayList<>(List.of(newMonth)))
+    @Override
+    public LeaderboardEntryResponse getTrainerRank(String trainerUsername, String year, String month) {
+        int trainerId = trainerDictionary.find(trainerUsername);
+        RankedTrainer rankedTrainer = trainerId == TrainerDictionary.NO_ID ? null
+                : monthlyLeaderboard.rankOf(trainerId, parseYear(year), parseMonth(month));
+        if (rankedTrainer == null) {
+            throw new WorkloadNotFoundException("No data found for trainer " + trainerUsername
+                    + " in year " + year + " and month " + month);
+        }
+        return toLeaderboardEntry(rankedTrainer);
+    }
+
+    @Override
+    public long getTrainerWorkloadVersion(String trainerUsername) {
+        return trainerWorkloadStore.getVersion(findTrainerId(trainerUsername));
+    }
+
+    @Override
+    public String getTrainerWorkloadTag(String trainerUsername) {
+        int trainerId = findTrainerId(trainerUsername);
+        if (workloadCounters.isEmpty()) {
+            return Long.toString(trainerWorkloadStore.getVersion(trainerId));
+        }
+        // the local version differs between replicas holding the same hours, the counts do not
+        TrainerWorkload trainer = trainerWorkloadStore.get(trainerId);
+        long details = trainer == null ? 0L : Objects.hash(trainer.getTrainerFirstName(),
+                trainer.getTrainerLastName(), trainer.getIsActive());
+        return Long.toHexString(workloadCounters.get().digestOf(trainerId) * 31 + details);
+    }
+
+    @Override
+    public String getTrainerDurationStatsTag(String trainerUsername) {
+        long version = trainerWorkloadStore.getVersion(findTrainerId(trainerUsername));
+        return workloadCounters.map(counters -> counters.replicaId() + "-" + version)
+                .orElse(Long.toString(version));
+    }
+
+    @Override
+    public int reconcileAll(List<TrainerWorkload> targets) {
+        AtomicInteger correctedMonths = new AtomicInteger();
+        workloadExecutor.executeAll(targets, target -> trainerDictionary.register(target.getTrainerUsername()),
+                target -> correctedMonths.addAndGet(reconcile(target)));
+        return correctedMonths.get();
+    }
+
+    private LeaderboardEntryResponse toLeaderboardEntry(RankedTrainer rankedTrainer) {
+        return LeaderboardEntryResponse.builder()
+                .rank(rankedTrainer.getRank())
+                .trainerUsername(trainerDictionary.usernameOf(rankedTrainer.getTrainerId()))
+                .workingHours(toHours(rankedTrainer.getMinutes()))
                 .build();
+    }
 
-        return TrainerWorkingHours.builder()
-                .trainerUsername(request.getTrainerUsername())
-                .trainerFirstName(request.getTrainerFirstName())
-                .trainerLastName(request.getTrainerLastName())
-                .isActive(request.getIsActive())
-                .years(new ArrayList<>(List.of(newYear)))
+    private int findTrainerId(String trainerUsername) {
+        int trainerId = trainerDictionary.find(trainerUsername);
+        if (trainerId == TrainerDictionary.NO_ID || !trainerWorkloadStore.containsTrainer(trainerId)) {
+            throw new WorkloadNotFoundException("Trainer not found: " + trainerUsername);
+        }
+        return trainerId;
+    }
+
+    private TrainerWorkload findTrainer(String trainerUsername) {
+        TrainerWorkload trainerWorkload = trainerWorkloadStore.get(findTrainerId(trainerUsername));
+        if (trainerWorkload == null) {
+            throw new WorkloadNotFoundException("Trainer not found: " + trainerUsername);
+        }
+        return trainerWorkload;
+    }
+
+    private static TrainerWorkloadSummaryResponse toSummary(TrainerWorkload trainerWorkload, Integer onlyYear) {
+        int[] years = trainerWorkload.getYears();
+        List<YearWorkloadResponse> yearResponses = new ArrayList<>(years.length);
+        for (int i = 0; i < years.length; i++) {
+            if (onlyYear != null && years[i] != onlyYear) {
+                continue;
+            }
+            int mask = trainerWorkload.getMonthMasks()[i];
+            int yearMinutes = 0;
+            List<MonthWorkloadResponse> months = new ArrayList<>(MONTHS);
+            for (int month = 0; month < MONTHS; month++) {
+                int minutes = (mask & (1 << month)) != 0 ? Math.max(0, trainerWorkload.getMinutes()[i][month]) : 0;
+                yearMinutes += minutes;
+                months.add(MonthWorkloadResponse.builder()
+                        .month(Month.of(month + 1).name())
+                        .workingHours(toHours(minutes))
+                        .build());
+            }
+            yearResponses.add(YearWorkloadResponse.builder()
+                    .year(String.valueOf(years[i]))
+                    .workingHours(toHours(yearMinutes))
+                    .months(months)
+                    .build());
+        }
+
+        return TrainerWorkloadSummaryResponse.builder()
+                .trainerUsername(trainerWorkload.getTrainerUsername())
+                .trainerFirstName(trainerWorkload.getTrainerFirstName())
+                .trainerLastName(trainerWorkload.getTrainerLastName())
+                .isActive(trainerWorkload.getIsActive())
+                .years(yearResponses)
                 .build();
     }
 
-    private TrainerWorkingHours updateTrainerRecord(TrainerWorkingHours existing, String year, String month, Float durationHours) {
-        List<TrainerWorkingHours.Year> years = existing.getYears();
+    // Fills one row of the batch response; years are walked once each, not looked up per month
+    private static float[] hoursBetween(TrainerWorkload trainerWorkload, YearMonth from, int monthCount) {
+        float[] hours = new float[monthCount];
+        int[] years = trainerWorkload.getYears();
+        for (int i = 0; i < years.length; i++) {
+            int firstColumn = (years[i] - from.getYear()) * MONTHS - (from.getMonthValue() - 1);
+            if (firstColumn >= monthCount || firstColumn + MONTHS <= 0) {
+                continue;
+            }
+            int mask = trainerWorkload.getMonthMasks()[i];
+            for (int month = Math.max(0, -firstColumn); month < MONTHS && firstColumn + month < monthCount; month++) {
+                if ((mask & (1 << month)) != 0) {
+                    hours[firstColumn + month] = toHours(trainerWorkload.getMinutes()[i][month]);
+                }
+            }
+        }
+        return hours;
+    }
 
-        TrainerWorkingHours.Year yearEntry = years.stream()
-                .filter(y -> y.getYear().equals(year))
-                .findFirst()
-                .orElseGet(() -> {
-                    TrainerWorkingHours.Year newYear = TrainerWorkingHours.Year.builder()
-                            .year(year)
-                            .months(new ArrayList<>())
-                            .build();
-                    years.add(newYear);
-                    return newYear;
-                });
+    private int apply(TrainerWorkloadRequest request, LocalDate localDate) {
+        int trainerId = trainerDictionary.register(request.getTrainerUsername());
+        if (workloadDeduplicator.isDuplicate(request.getEventId())) {
+            log.info("Dropping duplicate workload event {} for {}", request.getEventId(), request.getTrainerUsername());
+            int minutes = trainerWorkloadStore.getMinutes(trainerId, localDate.getYear(), localDate.getMonthValue());
+            return Math.max(minutes, 0);
+        }
 
-        List<TrainerWorkingHours.Month> months = yearEntry.getMonths();
-        TrainerWorkingHours.Month monthEntry = months.stream()
-                .filter(m -> m.getMonth().equals(month))
-                .findFirst()
-                .orElseGet(() -> {
-                    TrainerWorkingHours.Month newMonth = TrainerWorkingHours.Month.builder()
-                            .month(month)
-                            .workingHours(0.0f)
-                            .build();
-                    months.add(newMonth);
-                    return newMonth;
-                });
+        int durationMinutes = request.getTrainingDuration();
+
+        //Treat inactive trainers' hours as DELETE even if ActionType is ADD
+        boolean shouldSubtract = request.getActionType() == ActionType.DELETE || !request.getIsActive();
+        int deltaMinutes = shouldSubtract ? -durationMinutes : durationMinutes;
+
+        return applyDelta(request.getEventId(), trainerId, request.getTrainerUsername(), request.getTrainerFirstName(),
+                request.getTrainerLastName(), request.getIsActive(), localDate, deltaMinutes);
+    }
+
+    private int reconcile(TrainerWorkload target) {
+        int trainerId = trainerDictionary.register(target.getTrainerUsername());
+        int correctedMonths = 0;
+
+        int[] years = target.getYears();
+        for (int i = 0; i < years.length; i++) {
+            int mask = target.getMonthMasks()[i];
+            for (int month = 0; month < MONTHS; month++) {
+                if ((mask & (1 << month)) == 0) {
+                    continue;
+                }
+                int currentMinutes = trainerWorkloadStore.getMinutes(trainerId, years[i], month + 1);
+                int targetMinutes = target.getMinutes()[i][month];
+                if (currentMinutes != targetMinutes) {
+                    int recordedMinutes = currentMinutes == TrainerWorkloadStore.NO_DATA ? 0 : currentMinutes;
+                    correctMonth(trainerId, target, years[i], month + 1, targetMinutes - recordedMinutes);
+                    correctedMonths++;
+                }
+            }
+        }
+
+        TrainerWorkload current = trainerWorkloadStore.get(trainerId);
+        if (current == null) {
+            return correctedMonths;
+        }
+        int[] currentYears = current.getYears();
+        for (int i = 0; i < currentYears.length; i++) {
+            int mask = current.getMonthMasks()[i] & ~monthMaskOf(target, currentYears[i]);
+            for (int month = 0; month < MONTHS; month++) {
+                int currentMinutes = current.getMinutes()[i][month];
+                if ((mask & (1 << month)) != 0 && currentMinutes != 0) {
+                    correctMonth(trainerId, current, currentYears[i], month + 1, -currentMinutes);
+                    correctedMonths++;
+                }
+            }
+        }
+        return correctedMonths;
+    }
 
-        float newTotal = monthEntry.getWorkingHours() + durationHours;
-        monthEntry.setWorkingHours(Math.max(0.0f, newTotal)); //prevent negative hours
+    /**
+     * Books a month correction without day-level detail: additions land on the first day of the month, removals are
+     * taken from the latest days that still hold minutes, so the daily index never has to clamp them away.
+     */
+    private void correctMonth(int trainerId, TrainerWorkload trainer, int year, int month, int deltaMinutes) {
+        String trainerUsername = trainer.getTrainerUsername();
+        LocalDate firstDay = LocalDate.of(year, month, 1);
+        int remaining = deltaMinutes;
+        for (LocalDate day = firstDay.plusMonths(1).minusDays(1); remaining < 0 && !day.isBefore(firstDay);
+             day = day.minusDays(1)) {
+            int dayMinutes = (int) dailyWorkloadIndex.sumMinutes(trainerId, day, day);
+            if (dayMinutes > 0) {
+                int taken = Math.min(dayMinutes, -remaining);
+                applyDelta(null, trainerId, trainerUsername, trainer.getTrainerFirstName(),
+                        trainer.getTrainerLastName(), trainer.getIsActive(), day, -taken);
+                remaining += taken;
+            }
+        }
+        if (remaining != 0 || deltaMinutes == 0) {
+            applyDelta(null, trainerId, trainerUsername, trainer.getTrainerFirstName(), trainer.getTrainerLastName(),
+                    trainer.getIsActive(), firstDay, remaining);
+        }
+    }
 
-        return existing;
+    private static int monthMaskOf(TrainerWorkload trainerWorkload, int year) {
+        int[] years = trainerWorkload.getYears();
+        for (int i = 0; i < years.length; i++) {
+            if (years[i] == year) {
+                return trainerWorkload.getMonthMasks()[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Journals a delta and applies it to the store and every listener; the journal keeps the username, so recovery
+     * does not depend on trainer IDs. A delta the store refuses is marked aborted in the journal before the failure
+     * is rethrown, so recovery does not count it once per redelivery.
+     */
+    private int applyDelta(String eventId, int trainerId, String trainerUsername, String trainerFirstName,
+                           String trainerLastName, Boolean isActive, LocalDate localDate, int deltaMinutes) {
+        long sequence = workloadJournal.append(eventId, trainerUsername, trainerFirstName, trainerLastName, isActive,
+                (int) localDate.toEpochDay(), deltaMinutes);
+        try {
+            int totalMinutes;
+            try {
+                totalMinutes = trainerWorkloadStore.apply(trainerId, trainerFirstName, trainerLastName, isActive,
+                        localDate.getYear(), localDate.getMonthValue(), deltaMinutes, sequence);
+            } catch (RuntimeException e) {
+                abort(sequence, e);
+                throw e;
+            }
+            WorkloadChange change = new WorkloadChange(sequence, trainerId, (int) localDate.toEpochDay(),
+                    deltaMinutes, totalMinutes, System.currentTimeMillis(), eventId);
+            // the delta is in the store and the journal now, so a failing view must not get it redelivered
+            for (WorkloadChangeListener listener : workloadChangeListeners) {
+                try {
+                    listener.onWorkloadChange(change);
+                } catch (RuntimeException e) {
+                    log.error("{} failed on change {} of {}; its view misses the delta",
+                            listener.getClass().getSimpleName(), sequence, trainerUsername, e);
+                }
+            }
+            workloadDeduplicator.record(eventId);
+            return totalMinutes;
+        } finally {
+            workloadJournal.complete();
+        }
     }
 
-    private TrainerWorkingHours.Month findMonth(TrainerWorkingHours trainer, String year, String month) {
-        return trainer.getYears().stream()
-                .filter(y -> y.getYear().equals(year))
-                .flatMap(y -> y.getMonths().stream())
-                .filter(m -> m.getMonth().equals(month))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Month not found for trainer"));
+    private void abort(long sequence, RuntimeException failure) {
+        try {
+            workloadJournal.abort(sequence);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static LocalDate toLocalDate(Date trainingDate) {
+        return trainingDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * Month totals are unclamped sums; this is where they are clamped at zero for reading.
+     */
+    private static float toHours(int minutes) {
+        return Math.max(0, minutes) / MINUTES_PER_HOUR;
+    }
+
+    private static int parseYear(String year) {
+        try {
+            return Integer.parseInt(year.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid year: " + year, e);
+        }
+    }
+
+    private static YearMonth parseYearMonth(String yearMonth) {
+        if (yearMonth == null) {
+            throw new IllegalArgumentException("Either a year or both from and to months are required");
+        }
+        try {
+            return YearMonth.parse(yearMonth.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid month, expected yyyy-MM: " + yearMonth, e);
+        }
+    }
+
+    private static int parseMonth(String month) {
+        try {
+            String value = month.trim();
+            if (!value.isEmpty() && Character.isDigit(value.charAt(0))) {
+                return Month.of(Integer.parseInt(value)).getValue();
+            }
+            return Month.valueOf(value.toUpperCase(Locale.ROOT)).getValue();
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid month: " + month, e);
+        }
     }
 }
@@ -0,0 +1,160 @@
+package com.epam.trainer_session_management.service.impl;
+
+import com.epam.trainer_session_management.enums.ExportFormat;
+import com.epam.trainer_session_management.service.WorkloadExportService;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Month;
+
+@Service
+@RequiredArgsConstructor
+public class WorkloadExportServiceImpl implements WorkloadExportService {
+
+    private static final float MINUTES_PER_HOUR = 60.0F;
+    private static final int MONTHS = 12;
+    private static final String CSV_HEADER =
+            "trainerUsername,trainerFirstName,trainerLastName,isActive,year,month,workingHours\n";
+
+    private final TrainerWorkloadStore trainerWorkloadStore;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportWorkload(ExportFormat format, Integer year, Integer month, OutputStream outputStream)
+            throws IOException {
+        RowWriter rowWriter = format == ExportFormat.CSV
+                ? new CsvRowWriter(outputStream)
+                : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8));
+
+        try {
+            trainerWorkloadStore.forEach(trainerWorkload -> {
+                try {
+                    writeTrainer(rowWriter, trainerWorkload, year, month);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.flush();
+    }
+
+    private static void writeTrainer(RowWriter rowWriter, TrainerWorkload trainerWorkload, Integer year, Integer month)
+            throws IOException {
+        int[] years = trainerWorkload.getYears();
+        for (int i = 0; i < years.length; i++) {
+            if (year != null && years[i] != year) {
+                continue;
+            }
+            int mask = trainerWorkload.getMonthMasks()[i];
+            for (int monthIndex = 0; monthIndex < MONTHS; monthIndex++) {
+                if ((mask & (1 << monthIndex)) == 0 || (month != null && monthIndex + 1 != month)) {
+                    continue;
+                }
+                rowWriter.write(trainerWorkload, years[i], monthIndex + 1,
+                        Math.max(0, trainerWorkload.getMinutes()[i][monthIndex]) / MINUTES_PER_HOUR);
+            }
+        }
+    }
+
+    private interface RowWriter {
+
+        void write(TrainerWorkload trainerWorkload, int year, int month, float workingHours) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+            // the servlet container owns the response stream; rows are separated by newlines, not spaces
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(TrainerWorkload trainerWorkload, int year, int month, float workingHours) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("trainerUsername", trainerWorkload.getTrainerUsername());
+            generator.writeStringField("trainerFirstName", trainerWorkload.getTrainerFirstName());
+            generator.writeStringField("trainerLastName", trainerWorkload.getTrainerLastName());
+            if (trainerWorkload.getIsActive() == null) {
+                generator.writeNullField("isActive");
+            } else {
+                generator.writeBooleanField("isActive", trainerWorkload.getIsActive());
+            }
+            generator.writeStringField("year", String.valueOf(year));
+            generator.writeStringField("month", Month.of(month).name());
+            generator.writeNumberField("workingHours", workingHours);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16);
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(TrainerWorkload trainerWorkload, int year, int month, float workingHours) throws IOException {
+            writeField(trainerWorkload.getTrainerUsername());
+            writer.write(',');
+            writeField(trainerWorkload.getTrainerFirstName());
+            writer.write(',');
+            writeField(trainerWorkload.getTrainerLastName());
+            writer.write(',');
+            writer.write(String.valueOf(trainerWorkload.getIsActive() == null ? "" : trainerWorkload.getIsActive()));
+            writer.write(',');
+            writer.write(Integer.toString(year));
+            writer.write(',');
+            writer.write(Month.of(month).name());
+            writer.write(',');
+            writer.write(Float.toString(workingHours));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
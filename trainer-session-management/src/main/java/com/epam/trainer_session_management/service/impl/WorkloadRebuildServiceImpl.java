@@ -0,0 +1,321 @@
+package com.epam.trainer_session_management.service.impl;
+
+import com.epam.trainer_session_management.config.ServiceTokenProperties;
+import com.epam.trainer_session_management.config.WorkloadRebuildProperties;
+import com.epam.trainer_session_management.config.WorkloadReplicationProperties;
+import com.epam.trainer_session_management.dto.TrainerMonthlyWorkloadResponse;
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+import com.epam.trainer_session_management.exception.WorkloadOperationInProgressException;
+import com.epam.trainer_session_management.exception.WorkloadRebuildException;
+import com.epam.trainer_session_management.exception.WorkloadRebuildRefusedException;
+import com.epam.trainer_session_management.listener.TrainerHoursMessageListener;
+import com.epam.trainer_session_management.persistence.WorkloadSnapshotManager;
+import com.epam.trainer_session_management.security.ServiceTokenFilter;
+import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import com.epam.trainer_session_management.service.WorkloadRebuildService;
+import com.epam.trainer_session_management.sharding.WorkloadShardRouter;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Parses the monthly totals as they arrive and hands them to {@link TrainerWorkingHoursService#reconcileAll} in
+ * batches of trainers, which fan out over the workload stripes. Only the current batch of targets is held in memory,
+ * but the usernames of every rebuilt trainer are kept until the end to find the stale ones, and so are the targets
+ * that zero those out.
+ * A sharded instance only takes the trainers whose partitions the ring assigns to it.
+ * <p>
+ * A full rebuild stops the workload listener until it finishes, so updates arriving meanwhile wait on the queue and
+ * apply on top of the rebuilt totals instead of being overwritten by them. On a sharded instance the listener belongs
+ * to the shard coordinator, which restarts it on other queues as partitions move, so a rebuild leaves it running
+ * there; a partition import needs no stop, the coordinator only consumes a partition once its import is done.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkloadRebuildServiceImpl implements WorkloadRebuildService {
+
+    private static final int MONTHS = 12;
+    private static final long LISTENER_STOP_TIMEOUT_SECONDS = 30;
+
+    private final RestClient gymCrmRestClient;
+    private final ObjectMapper objectMapper;
+    private final TrainerWorkingHoursService trainerWorkingHoursService;
+    private final TrainerWorkloadStore trainerWorkloadStore;
+    private final WorkloadRebuildProperties properties;
+    private final ServiceTokenProperties serviceTokenProperties;
+    private final WorkloadReplicationProperties replicationProperties;
+    private final Optional<WorkloadSnapshotManager> workloadSnapshotManager;
+    private final Optional<WorkloadShardRouter> workloadShardRouter;
+    private final Optional<JmsListenerEndpointRegistry> listenerRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!properties.isOnStartup()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Workload rebuild on startup failed, serving the recovered workload", e);
+        }
+    }
+
+    @Override
+    public WorkloadRebuildResponse rebuild() {
+        checkNotReplicated();
+        try {
+            return gymCrmRestClient.get()
+                    // gym-crm takes the months in our zone, as toLocalDate does for every message
+                    .uri(properties.getSourceUrl(), uriBuilder -> uriBuilder
+                            .queryParam("zone", ZoneId.systemDefault().getId())
+                            .build())
+                    .header(ServiceTokenFilter.SERVICE_TOKEN_HEADER, serviceTokenProperties.getServiceToken())
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new WorkloadRebuildException("Workload source " + properties.getSourceUrl()
+                                    + " answered " + response.getStatusCode());
+                        }
+                        return rebuild(response.getBody(), ownedTrainers(), true);
+                    });
+        } catch (RestClientException e) {
+            throw new WorkloadRebuildException("Failed to read workload source " + properties.getSourceUrl(), e);
+        }
+    }
+
+    @Override
+    public WorkloadRebuildResponse rebuild(InputStream source) throws IOException {
+        return rebuild(source, username -> true, true);
+    }
+
+    @Override
+    public WorkloadRebuildResponse rebuild(InputStream source, Predicate<String> scope) throws IOException {
+        return rebuild(source, scope, false);
+    }
+
+    private WorkloadRebuildResponse rebuild(InputStream source, Predicate<String> scope, boolean stopListener)
+            throws IOException {
+        checkNotReplicated();
+        if (!running.compareAndSet(false, true)) {
+            throw new WorkloadOperationInProgressException("A workload rebuild is already running");
+        }
+        DefaultMessageListenerContainer stoppedListener = stopListener ? stopListener() : null;
+        try {
+            return reconcile(source, scope);
+        } finally {
+            if (stoppedListener != null) {
+                stoppedListener.start();
+                log.info("Workload listener restarted after the rebuild");
+            }
+            running.set(false);
+        }
+    }
+
+    /**
+     * Corrections carry no event ID, so on active-active replicas they would count as local minutes of every replica
+     * that applies them and be shipped to all the others on top.
+     */
+    private void checkNotReplicated() {
+        if (replicationProperties.isEnabled()) {
+            throw new WorkloadRebuildRefusedException("Workload rebuilds are not supported while replication is "
+                    + "enabled; replicas converge by exchanging their counters");
+        }
+    }
+
+    /**
+     * Stops the workload listener, waiting up to {@value #LISTENER_STOP_TIMEOUT_SECONDS} s for the batch in flight.
+     *
+     * @return the stopped container, or {@code null} when there was no running listener to stop
+     */
+    private DefaultMessageListenerContainer stopListener() {
+        if (workloadShardRouter.isPresent()) {
+            return null;
+        }
+        DefaultMessageListenerContainer container = listenerRegistry
+                .map(registry -> registry.getListenerContainer(TrainerHoursMessageListener.LISTENER_ID))
+                .filter(DefaultMessageListenerContainer.class::isInstance)
+                .map(DefaultMessageListenerContainer.class::cast)
+                .filter(DefaultMessageListenerContainer::isRunning)
+                .orElse(null);
+        if (container == null) {
+            return null;
+        }
+        CountDownLatch stopped = new CountDownLatch(1);
+        container.stop(stopped::countDown);
+        try {
+            if (!stopped.await(LISTENER_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Workload listener still busy after {} s, rebuilding anyway", LISTENER_STOP_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Workload listener stopped for the rebuild");
+        return container;
+    }
+
+    private WorkloadRebuildResponse reconcile(InputStream source, Predicate<String> scope) throws IOException {
+        long started = System.nanoTime();
+        Set<String> rebuiltTrainers = new HashSet<>();
+        List<TrainerWorkload> batch = new ArrayList<>(properties.getBatchSize());
+        long months = 0;
+        int correctedMonths = 0;
+
+        try (MappingIterator<TrainerMonthlyWorkloadResponse> rows =
+                     objectMapper.readerFor(TrainerMonthlyWorkloadResponse.class).readValues(source)) {
+            TrainerTotals trainer = null;
+            while (rows.hasNextValue()) {
+                TrainerMonthlyWorkloadResponse row = rows.nextValue();
+                if (!scope.test(row.getTrainerUsername())) {
+                    continue;
+                }
+                if (trainer == null || !trainer.trainerUsername.equals(row.getTrainerUsername())) {
+                    if (trainer != null) {
+                        correctedMonths += add(batch, trainer.toWorkload());
+                    }
+                    if (!rebuiltTrainers.add(row.getTrainerUsername())) {
+                        throw new WorkloadRebuildException("Workload source is not ordered by trainer, "
+                                + row.getTrainerUsername() + " appeared twice");
+                    }
+                    trainer = new TrainerTotals(row);
+                }
+                trainer.add(row.getYear(), row.getMonth(), row.getTrainingDuration());
+                months++;
+            }
+            if (trainer != null) {
+                correctedMonths += add(batch, trainer.toWorkload());
+            }
+        }
+
+        // Trainers the source no longer knows keep their record but drop to zero hours
+        List<TrainerWorkload> staleTrainers = new ArrayList<>();
+        trainerWorkloadStore.forEach(trainerWorkload -> {
+            if (scope.test(trainerWorkload.getTrainerUsername())
+                    && !rebuiltTrainers.contains(trainerWorkload.getTrainerUsername())) {
+                staleTrainers.add(new TrainerWorkload(trainerWorkload.getTrainerUsername(),
+                        trainerWorkload.getTrainerFirstName(), trainerWorkload.getTrainerLastName(),
+                        trainerWorkload.getIsActive(), 0L, 0L, new int[0], new int[0], new int[0][]));
+            }
+        });
+        for (TrainerWorkload staleTrainer : staleTrainers) {
+            correctedMonths += add(batch, staleTrainer);
+        }
+        if (!batch.isEmpty()) {
+            correctedMonths += trainerWorkingHoursService.reconcileAll(batch);
+        }
+
+        workloadSnapshotManager.ifPresent(WorkloadSnapshotManager::snapshot);
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Workload rebuilt in {} ms: {} trainers, {} months, {} months corrected",
+                durationMillis, rebuiltTrainers.size(), months, correctedMonths);
+        return WorkloadRebuildResponse.builder()
+                .trainers(rebuiltTrainers.size())
+                .months(months)
+                .correctedMonths(correctedMonths)
+                .durationMillis(durationMillis)
+                .build();
+    }
+
+    private Predicate<String> ownedTrainers() {
+        return workloadShardRouter
+                .<Predicate<String>>map(router -> username -> router.isOwner(router.partitionOf(username)))
+                .orElse(username -> true);
+    }
+
+    /**
+     * Queues the target and reconciles the batch once it is full.
+     *
+     * @return the number of months corrected by this call
+     */
+    private int add(List<TrainerWorkload> batch, TrainerWorkload target) {
+        batch.add(target);
+        if (batch.size() < properties.getBatchSize()) {
+            return 0;
+        }
+        int correctedMonths = trainerWorkingHoursService.reconcileAll(List.copyOf(batch));
+        batch.clear();
+        return correctedMonths;
+    }
+
+    /**
+     * Monthly totals of one trainer collected from consecutive rows.
+     */
+    private static final class TrainerTotals {
+        private final String trainerUsername;
+        private final String trainerFirstName;
+        private final String trainerLastName;
+        private final Boolean isActive;
+        private final Map<Integer, int[]> minutesByYear = new TreeMap<>();
+
+        private TrainerTotals(TrainerMonthlyWorkloadResponse row) {
+            this.trainerUsername = row.getTrainerUsername();
+            this.trainerFirstName = row.getTrainerFirstName();
+            this.trainerLastName = row.getTrainerLastName();
+            this.isActive = row.getIsActive();
+        }
+
+        private void add(int year, int month, long minutes) {
+            if (month < 1 || month > MONTHS) {
+                throw new WorkloadRebuildException("Invalid month " + month + " for " + trainerUsername);
+            }
+            int[] months = minutesByYear.computeIfAbsent(year, key -> {
+                int[] unrecorded = new int[MONTHS];
+                Arrays.fill(unrecorded, TrainerWorkloadStore.NO_DATA);
+                return unrecorded;
+            });
+            months[month - 1] = Math.toIntExact(minutes);
+        }
+
+        private TrainerWorkload toWorkload() {
+            int[] years = new int[minutesByYear.size()];
+            int[] monthMasks = new int[years.length];
+            int[][] minutes = new int[years.length][];
+            int index = 0;
+            for (Map.Entry<Integer, int[]> entry : minutesByYear.entrySet()) {
+                int[] months = entry.getValue();
+                for (int month = 0; month < MONTHS; month++) {
+                    if (months[month] != TrainerWorkloadStore.NO_DATA) {
+                        monthMasks[index] |= 1 << month;
+                    } else {
+                        months[month] = 0;
+                    }
+                }
+                years[index] = entry.getKey();
+                minutes[index] = months;
+                index++;
+            }
+            return new TrainerWorkload(trainerUsername, trainerFirstName, trainerLastName, isActive, 0L, 0L,
+                    years, monthMasks, minutes);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.epam.trainer_session_management.service.impl;
+
+import com.epam.trainer_session_management.config.ParkingLotProperties;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplayResponse;
+import com.epam.trainer_session_management.enums.ReplaySource;
+import com.epam.trainer_session_management.exception.WorkloadOperationInProgressException;
+import com.epam.trainer_session_management.listener.WorkloadMessageReader;
+import com.epam.trainer_session_management.listener.WorkloadParkingLot;
+import com.epam.trainer_session_management.metrics.MessageMetrics;
+import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import com.epam.trainer_session_management.service.WorkloadReplayService;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the parking queue or the DLQ batch by batch, each batch in one transacted session: the readable messages
+ * are applied with {@link TrainerWorkingHoursService#calculateAndSaveAll}, the others parked again, and only then is
+ * the batch acknowledged. A failing batch is rolled back onto its queue and ends the replay. Event IDs make a batch
+ * that was applied before the failure harmless to replay again.
+ */
+@Slf4j
+@Service
+public class WorkloadReplayServiceImpl implements WorkloadReplayService {
+
+    private static final long RECEIVE_TIMEOUT_MILLIS = 500;
+
+    private final TrainerWorkingHoursService trainerWorkingHoursService;
+    private final WorkloadMessageReader workloadMessageReader;
+    private final WorkloadParkingLot workloadParkingLot;
+    private final MessageMetrics messageMetrics;
+    private final ParkingLotProperties properties;
+    private final JmsTemplate replayJmsTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public WorkloadReplayServiceImpl(TrainerWorkingHoursService trainerWorkingHoursService,
+                                     WorkloadMessageReader workloadMessageReader,
+                                     WorkloadParkingLot workloadParkingLot,
+                                     MessageMetrics messageMetrics,
+                                     ParkingLotProperties properties,
+                                     ConnectionFactory connectionFactory) {
+        this.trainerWorkingHoursService = trainerWorkingHoursService;
+        this.workloadMessageReader = workloadMessageReader;
+        this.workloadParkingLot = workloadParkingLot;
+        this.messageMetrics = messageMetrics;
+        this.properties = properties;
+        this.replayJmsTemplate = new JmsTemplate(connectionFactory);
+        this.replayJmsTemplate.setSessionTransacted(true);
+    }
+
+    @Override
+    public WorkloadReplayResponse replay(ReplaySource source, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Replay limit must be positive: " + limit);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new WorkloadOperationInProgressException("A workload replay is already running");
+        }
+        try {
+            return drain(source, limit);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private WorkloadReplayResponse drain(ReplaySource source, int limit) {
+        String destination = source == ReplaySource.PARKING ? properties.getDestination()
+                : properties.getDeadLetterDestination();
+        String sourceName = source.name().toLowerCase(Locale.ROOT);
+        long started = System.nanoTime();
+        int replayed = 0;
+        int parked = 0;
+        while (replayed + parked < limit) {
+            int batchSize = Math.min(properties.getReplayBatchSize(), limit - replayed - parked);
+            int[] counts = replayJmsTemplate.execute(session -> replayBatch(session, destination, batchSize), true);
+            replayed += counts[0];
+            parked += counts[1];
+            messageMetrics.replayed(sourceName, counts[0]);
+            // nothing applied means the queue is empty or holds only what was just parked again
+            if (counts[0] == 0) {
+                break;
+            }
+            pace(started, replayed + parked);
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Replayed {} workload messages from {}, parked {} again in {} ms", replayed, destination, parked,
+                durationMillis);
+        return WorkloadReplayResponse.builder()
+                .source(sourceName)
+                .replayed(replayed)
+                .parked(parked)
+                .durationMillis(durationMillis)
+                .build();
+    }
+
+    /**
+     * Returns the applied and the re-parked message count of one committed batch.
+     */
+    private int[] replayBatch(Session session, String destination, int batchSize) throws JMSException {
+        MessageConsumer consumer = session.createConsumer(session.createQueue(destination));
+        try {
+            List<TrainerWorkloadRequest> requests = new ArrayList<>(batchSize);
+            int parked = 0;
+            for (int i = 0; i < batchSize; i++) {
+                Message message = consumer.receive(RECEIVE_TIMEOUT_MILLIS);
+                if (message == null) {
+                    break;
+                }
+                try {
+                    requests.add(workloadMessageReader.read(message));
+                } catch (RuntimeException e) {
+                    workloadParkingLot.park(session, message, e, "replay");
+                    parked++;
+                }
+            }
+            trainerWorkingHoursService.calculateAndSaveAll(requests);
+            session.commit();
+            return new int[]{requests.size(), parked};
+        } catch (JMSException | RuntimeException e) {
+            session.rollback();
+            throw e;
+        } finally {
+            consumer.close();
+        }
+    }
+
+    // Holds the replay to properties.replayRate messages per second on average
+    private void pace(long started, int messages) {
+        long due = started + TimeUnit.SECONDS.toNanos(messages) / Math.max(1, properties.getReplayRate());
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.epam.trainer_session_management.service.impl;
+
+import com.epam.trainer_session_management.dto.ReplicatedCell;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplicationRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplicationResponse;
+import com.epam.trainer_session_management.enums.ActionType;
+import com.epam.trainer_session_management.replication.WorkloadCounters;
+import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import com.epam.trainer_session_management.service.WorkloadReplicationService;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ships and merges the local PN-counter cells. Only the minutes a replica recorded itself are shipped, to every
+ * peer directly, so each replica's counts travel one hop and a merge never has to compare third-party views.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.workload.replication", name = "enabled", havingValue = "true")
+public class WorkloadReplicationServiceImpl implements WorkloadReplicationService {
+
+    private final WorkloadCounters workloadCounters;
+    private final TrainerWorkingHoursService trainerWorkingHoursService;
+    private final TrainerDictionary trainerDictionary;
+    private final TrainerWorkloadStore trainerWorkloadStore;
+    private final String incarnation = UUID.randomUUID().toString();
+
+    // Version up to which every cell of a sender's incarnation has been merged; starts over after a restart here
+    private final Map<String, MergedVersion> mergedVersions = new HashMap<>();
+
+    public WorkloadReplicationServiceImpl(WorkloadCounters workloadCounters,
+                                          TrainerWorkingHoursService trainerWorkingHoursService,
+                                          TrainerDictionary trainerDictionary,
+                                          TrainerWorkloadStore trainerWorkloadStore) {
+        this.workloadCounters = workloadCounters;
+        this.trainerWorkingHoursService = trainerWorkingHoursService;
+        this.trainerDictionary = trainerDictionary;
+        this.trainerWorkloadStore = trainerWorkloadStore;
+    }
+
+    @Override
+    public WorkloadReplicationRequest collect(long afterVersion, int maxCells) {
+        long upToVersion = workloadCounters.version();
+        List<WorkloadCounters.LocalCell> changed = workloadCounters.changedAfter(afterVersion);
+        if (changed.size() > maxCells) {
+            changed = changed.subList(0, maxCells);
+            upToVersion = changed.get(maxCells - 1).version();
+        }
+        Map<Integer, TrainerWorkload> trainers = new HashMap<>();
+        List<ReplicatedCell> cells = new ArrayList<>(changed.size());
+        for (WorkloadCounters.LocalCell cell : changed) {
+            if (cell.version() > upToVersion) {
+                // changed while collecting; shipped with the next exchange
+                continue;
+            }
+            TrainerWorkload trainer = trainers.computeIfAbsent(cell.trainerId(), trainerWorkloadStore::get);
+            cells.add(ReplicatedCell.builder()
+                    .trainerUsername(trainerDictionary.usernameOf(cell.trainerId()))
+                    .trainerFirstName(trainer == null ? null : trainer.getTrainerFirstName())
+                    .trainerLastName(trainer == null ? null : trainer.getTrainerLastName())
+                    .isActive(trainer == null ? null : trainer.getIsActive())
+                    .year(cell.day().getYear())
+                    .month(cell.day().getMonthValue())
+                    .day(cell.day().getDayOfMonth())
+                    .addedMinutes(cell.addedMinutes())
+                    .removedMinutes(cell.removedMinutes())
+                    .build());
+        }
+        return WorkloadReplicationRequest.builder()
+                .replicaId(workloadCounters.replicaId())
+                .incarnation(incarnation)
+                .fromVersion(afterVersion)
+                .upToVersion(upToVersion)
+                .cells(cells)
+                .build();
+    }
+
+    @Override
+    public synchronized WorkloadReplicationResponse merge(WorkloadReplicationRequest request) {
+        String origin = request.getReplicaId();
+        if (origin == null || origin.equals(workloadCounters.replicaId())) {
+            throw new IllegalArgumentException("Cannot merge counters of replica " + origin + " into replica "
+                    + workloadCounters.replicaId());
+        }
+        MergedVersion merged = mergedVersions.get(origin);
+        long mergedVersion = merged == null || !merged.incarnation().equals(request.getIncarnation())
+                ? 0L : merged.version();
+        if (request.getFromVersion() > mergedVersion) {
+            // cells in between never arrived here; the sender starts over from what is merged
+            return response(mergedVersion, 0);
+        }
+
+        String eventId = WorkloadCounters.originEventId(origin);
+        List<TrainerWorkloadRequest> deltas = new ArrayList<>();
+        int mergedCells = 0;
+        for (ReplicatedCell cell : request.getCells()) {
+            int trainerId = trainerDictionary.register(cell.getTrainerUsername());
+            LocalDate day = LocalDate.of(cell.getYear(), cell.getMonth(), cell.getDay());
+            long[] counts = workloadCounters.countsOf(trainerId, day, origin);
+            Date trainingDate = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+            if (cell.getAddedMinutes() > counts[0]) {
+                deltas.add(toDelta(cell, trainingDate, ActionType.ADD, cell.getAddedMinutes() - counts[0], eventId));
+            }
+            if (cell.getRemovedMinutes() > counts[1]) {
+                deltas.add(toDelta(cell, trainingDate, ActionType.DELETE, cell.getRemovedMinutes() - counts[1],
+                        eventId));
+            }
+            if (cell.getAddedMinutes() > counts[0] || cell.getRemovedMinutes() > counts[1]) {
+                mergedCells++;
+            }
+        }
+        trainerWorkingHoursService.applyReplicatedAll(deltas);
+
+        mergedVersion = Math.max(mergedVersion, request.getUpToVersion());
+        mergedVersions.put(origin, new MergedVersion(request.getIncarnation(), mergedVersion));
+        return response(mergedVersion, mergedCells);
+    }
+
+    private WorkloadReplicationResponse response(long mergedVersion, int mergedCells) {
+        return WorkloadReplicationResponse.builder()
+                .replicaId(workloadCounters.replicaId())
+                .mergedVersion(mergedVersion)
+                .mergedCells(mergedCells)
+                .build();
+    }
+
+    private static TrainerWorkloadRequest toDelta(ReplicatedCell cell, Date trainingDate, ActionType actionType,
+                                                  long minutes, String eventId) {
+        return TrainerWorkloadRequest.builder()
+                .trainerUsername(cell.getTrainerUsername())
+                .trainerFirstName(cell.getTrainerFirstName())
+                .trainerLastName(cell.getTrainerLastName())
+                .isActive(cell.getIsActive())
+                .trainingDate(trainingDate)
+                .trainingDuration(Math.toIntExact(minutes))
+                .actionType(actionType)
+                .eventId(eventId)
+                .build();
+    }
+
+    private record MergedVersion(String incarnation, long version) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.epam.trainer_session_management.service.impl;
+
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+import com.epam.trainer_session_management.service.WorkloadRebuildService;
+import com.epam.trainer_session_management.service.WorkloadShardService;
+import com.epam.trainer_session_management.sharding.WorkloadShardRouter;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Moves one partition between instances through the rebuild format, so the receiving side reconciles it like a
+ * rebuild scoped to the partition: journaled, indexed and corrected wherever it had drifted.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.workload.sharding", name = "enabled", havingValue = "true")
+public class WorkloadShardServiceImpl implements WorkloadShardService {
+
+    private static final int MONTHS = 12;
+
+    private final TrainerWorkloadStore trainerWorkloadStore;
+    private final WorkloadRebuildService workloadRebuildService;
+    private final WorkloadShardRouter workloadShardRouter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportPartition(int partition, OutputStream outputStream) throws IOException {
+        checkPartition(partition);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        try {
+            trainerWorkloadStore.forEach(trainerWorkload -> {
+                if (workloadShardRouter.partitionOf(trainerWorkload.getTrainerUsername()) != partition) {
+                    return;
+                }
+                try {
+                    writeTrainer(generator, trainerWorkload);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.flush();
+    }
+
+    @Override
+    public WorkloadRebuildResponse importPartition(int partition, InputStream source) throws IOException {
+        checkPartition(partition);
+        return workloadRebuildService.rebuild(source,
+                username -> workloadShardRouter.partitionOf(username) == partition);
+    }
+
+    private static void writeTrainer(JsonGenerator generator, TrainerWorkload trainerWorkload) throws IOException {
+        int[] years = trainerWorkload.getYears();
+        for (int i = 0; i < years.length; i++) {
+            int mask = trainerWorkload.getMonthMasks()[i];
+            for (int month = 0; month < MONTHS; month++) {
+                if ((mask & (1 << month)) == 0) {
+                    continue;
+                }
+                // Field names of TrainerMonthlyWorkloadResponse, which the importing side reads the rows into
+                generator.writeStartObject();
+                generator.writeStringField("trainerUsername", trainerWorkload.getTrainerUsername());
+                generator.writeStringField("trainerFirstName", trainerWorkload.getTrainerFirstName());
+                generator.writeStringField("trainerLastName", trainerWorkload.getTrainerLastName());
+                if (trainerWorkload.getIsActive() == null) {
+                    generator.writeNullField("isActive");
+                } else {
+                    generator.writeBooleanField("isActive", trainerWorkload.getIsActive());
+                }
+                generator.writeNumberField("year", years[i]);
+                generator.writeNumberField("month", month + 1);
+                generator.writeNumberField("trainingDuration", trainerWorkload.getMinutes()[i][month]);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void checkPartition(int partition) {
+        if (partition < 0 || partition >= workloadShardRouter.partitions()) {
+            throw new IllegalArgumentException("Invalid partition: " + partition);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.epam.trainer_session_management.sharding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Forwards single-trainer workload reads to the instance serving the trainer's partition and relays its answer,
+ * ETag included, so clients can keep asking any instance. A forwarded request is always answered where it lands,
+ * which keeps two instances with different views of the ring from passing it back and forth.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.workload.sharding", name = "enabled", havingValue = "true")
+public class ShardForwardingFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_HEADER = "X-Workload-Forwarded-By";
+
+    private static final String WORKLOAD_PATH = "/api/v1/workload/";
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(HttpHeaders.ACCEPT,
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.AUTHORIZATION, "transactionId");
+    private static final List<String> RELAYED_RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            HttpHeaders.CACHE_CONTROL);
+
+    private final WorkloadShardRouter router;
+    private final RestClient shardRestClient;
+
+    public ShardForwardingFilter(WorkloadShardRouter router, @Qualifier("shardRestClient") RestClient shardRestClient) {
+        this.router = router;
+        this.shardRestClient = shardRestClient;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(FORWARDED_HEADER) != null
+                || trainerUsername(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Optional<ServiceInstance> owner = router.servingInstance(trainerUsername(request.getServletPath()));
+        if (owner.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String query = request.getQueryString();
+        URI uri = URI.create(owner.get().getUri() + request.getRequestURI() + (query == null ? "" : "?" + query));
+        try {
+            shardRestClient.get()
+                    .uri(uri)
+                    .headers(headers -> {
+                        for (String name : FORWARDED_REQUEST_HEADERS) {
+                            String value = request.getHeader(name);
+                            if (value != null) {
+                                headers.set(name, value);
+                            }
+                        }
+                        headers.set(FORWARDED_HEADER, router.localInstanceId());
+                    })
+                    .exchange((forwarded, answer) -> {
+                        response.setStatus(answer.getStatusCode().value());
+                        for (String name : RELAYED_RESPONSE_HEADERS) {
+                            String value = answer.getHeaders().getFirst(name);
+                            if (value != null) {
+                                response.setHeader(name, value);
+                            }
+                        }
+                        StreamUtils.copy(answer.getBody(), response.getOutputStream());
+                        return null;
+                    }, true);
+        } catch (RestClientException e) {
+            log.warn("Failed to forward {} to {}: {}", request.getRequestURI(), owner.get().getInstanceId(),
+                    e.getMessage());
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Trainer workload owner unavailable");
+        }
+    }
+
+    /**
+     * Returns the username of a {@code /api/v1/workload/{username}/...} path, or {@code null} for other paths.
+     */
+    static String trainerUsername(String path) {
+        if (path == null || !path.startsWith(WORKLOAD_PATH)) {
+            return null;
+        }
+        int end = path.indexOf('/', WORKLOAD_PATH.length());
+        String username = path.substring(WORKLOAD_PATH.length(), end < 0 ? path.length() : end);
+        // a path segment, so '+' is a literal plus, not an encoded space
+        return username.isEmpty() ? null : UriUtils.decode(username, StandardCharsets.UTF_8);
+    }
+}
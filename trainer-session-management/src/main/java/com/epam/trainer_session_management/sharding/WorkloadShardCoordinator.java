@@ -0,0 +1,333 @@
+package com.epam.trainer_session_management.sharding;
+
+import com.epam.trainer_session_management.config.ServiceTokenProperties;
+import com.epam.trainer_session_management.config.WorkloadShardingProperties;
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+import com.epam.trainer_session_management.exception.WorkloadRebuildException;
+import com.epam.trainer_session_management.listener.TrainerHoursMessageListener;
+import com.epam.trainer_session_management.security.ServiceTokenFilter;
+import com.epam.trainer_session_management.service.WorkloadShardService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps this instance's share of the partitions in line with the instances Eureka knows about.
+ * <p>
+ * A partition changes hands without a rebuild. The previous owner releases it first: its listener stops reading the
+ * partition queue, and only then does it answer a hand-off request for the partition. The new owner pulls the
+ * partition's totals from it, reconciles them, and only then adds the queue to its own listener; messages published
+ * meanwhile wait on the queue. An instance shutting down pushes its partitions to the instances inheriting them
+ * instead, since it will not be around to answer. When the previous owner vanished without either, the partition is
+ * taken over empty after the hand-off timeout and needs a rebuild to be complete again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.workload.sharding", name = "enabled", havingValue = "true")
+public class WorkloadShardCoordinator implements MeterBinder {
+
+    public static final String SOURCE_INSTANCE_HEADER = "X-Workload-Source-Instance";
+
+    private static final String HANDOFF_PATH = "/api/v1/shards/{partition}/workload";
+    private static final long LISTENER_STOP_TIMEOUT_SECONDS = 30;
+
+    private final WorkloadShardingProperties properties;
+    private final WorkloadShardRouter router;
+    private final DiscoveryClient discoveryClient;
+    private final JmsListenerEndpointRegistry listenerRegistry;
+    private final WorkloadShardService workloadShardService;
+    private final RestClient shardRestClient;
+    private final String destination;
+    private final String serviceToken;
+
+    private final Map<Integer, PendingHandoff> pendingHandoffs = new HashMap<>();
+    // Partitions pushed to this instance, by the instance that pushed them
+    private final Map<Integer, String> receivedHandoffs = new ConcurrentHashMap<>();
+    private final AtomicLong pulledHandoffs = new AtomicLong();
+    private final AtomicLong receivedHandoffCount = new AtomicLong();
+    private final AtomicLong pushedHandoffs = new AtomicLong();
+    private final AtomicLong missedHandoffs = new AtomicLong();
+
+    private BitSet consumedPartitions = new BitSet();
+    // Taken over, but not consumed yet because the listener was still stopping
+    private final BitSet acquiredPartitions = new BitSet();
+    private Map<String, ServiceInstance> peers = Map.of();
+    private boolean started;
+    // Completed once the listener stop requested by consume() has let the batch in flight finish
+    private CountDownLatch listenerStopped;
+    private volatile int servedPartitions;
+
+    public WorkloadShardCoordinator(
+            WorkloadShardingProperties properties,
+            WorkloadShardRouter router,
+            DiscoveryClient discoveryClient,
+            JmsListenerEndpointRegistry listenerRegistry,
+            WorkloadShardService workloadShardService,
+            @Qualifier("shardRestClient") RestClient shardRestClient,
+            @Value("${application.broker.destination}") String destination,
+            ServiceTokenProperties serviceTokenProperties
+    ) {
+        this.properties = properties;
+        this.router = router;
+        this.discoveryClient = discoveryClient;
+        this.listenerRegistry = listenerRegistry;
+        this.workloadShardService = workloadShardService;
+        this.shardRestClient = shardRestClient;
+        this.destination = destination;
+        this.serviceToken = serviceTokenProperties.getServiceToken();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh();
+    }
+
+    @Scheduled(initialDelayString = "${application.workload.sharding.refresh-interval:PT15S}",
+            fixedDelayString = "${application.workload.sharding.refresh-interval:PT15S}")
+    public synchronized void refresh() {
+        String localInstanceId = router.localInstanceId();
+        Map<String, ServiceInstance> live = new HashMap<>();
+        for (ServiceInstance instance : discoveryClient.getInstances(properties.getServiceId())) {
+            live.put(instance.getInstanceId(), instance);
+        }
+        live.remove(localInstanceId);
+        Set<String> members = new TreeSet<>(live.keySet());
+        members.add(localInstanceId);
+
+        // On the first pass the partitions come from the instances that were running before this one joined
+        ConsistentHashRing previous = started ? router.ring()
+                : new ConsistentHashRing(live.keySet(), properties.getVirtualNodes());
+        ConsistentHashRing ring = new ConsistentHashRing(members, properties.getVirtualNodes());
+        BitSet consumed = new BitSet(router.partitions());
+        ServiceInstance[] servingInstances = new ServiceInstance[router.partitions()];
+        for (int partition = 0; partition < router.partitions(); partition++) {
+            String owner = ring.ownerOf(partition);
+            if (!localInstanceId.equals(owner)) {
+                pendingHandoffs.remove(partition);
+                acquiredPartitions.clear(partition);
+                servingInstances[partition] = live.get(owner);
+                continue;
+            }
+            boolean held = consumedPartitions.get(partition) || acquiredPartitions.get(partition);
+            PendingHandoff pending = held ? null : pendingHandoffs.computeIfAbsent(
+                    partition, key -> new PendingHandoff(previous.ownerOf(key), System.nanoTime()));
+            if (pending == null || acquire(partition, pending, live)) {
+                pendingHandoffs.remove(partition);
+                acquiredPartitions.set(partition);
+                consumed.set(partition);
+            } else {
+                // Queries keep going to the previous owner until it has handed the partition over
+                servingInstances[partition] = live.get(pending.source());
+            }
+        }
+
+        // Released partitions stop being consumed before they are reported as handed over
+        if (!consumed.equals(consumedPartitions)) {
+            if (!consume(consumed)) {
+                // The ring is left as it was, so released partitions are not handed over yet; retried next refresh
+                return;
+            }
+            consumedPartitions = consumed;
+        }
+        acquiredPartitions.clear();
+        router.update(ring, servingInstances);
+        peers = Map.copyOf(live);
+        servedPartitions = consumed.cardinality();
+        started = true;
+    }
+
+    /**
+     * Whether this instance has released the partition, so its totals can be handed to the new owner.
+     */
+    public boolean canHandOff(int partition) {
+        return !router.isServing(partition);
+    }
+
+    /**
+     * Reconciles a partition pushed by an instance shutting down; it is consumed once the ring assigns it here.
+     */
+    public WorkloadRebuildResponse acceptHandoff(int partition, String sourceInstanceId, InputStream source)
+            throws IOException {
+        WorkloadRebuildResponse response = workloadShardService.importPartition(partition, source);
+        if (sourceInstanceId != null) {
+            receivedHandoffs.put(partition, sourceInstanceId);
+        }
+        receivedHandoffCount.incrementAndGet();
+        log.info("Partition {} handed over by {}: {} trainers", partition, sourceInstanceId, response.getTrainers());
+        return response;
+    }
+
+    /**
+     * The listener container has been stopped by now, so the pushed totals are final.
+     */
+    @PreDestroy
+    public synchronized void handOffOnShutdown() {
+        if (consumedPartitions.isEmpty() || peers.isEmpty()) {
+            return;
+        }
+        ConsistentHashRing remaining = new ConsistentHashRing(peers.keySet(), properties.getVirtualNodes());
+        consumedPartitions.stream().forEach(partition -> {
+            ServiceInstance target = peers.get(remaining.ownerOf(partition));
+            try {
+                shardRestClient.put()
+                        .uri(target.getUri() + HANDOFF_PATH, partition)
+                        .header(ServiceTokenFilter.SERVICE_TOKEN_HEADER, serviceToken)
+                        .header(SOURCE_INSTANCE_HEADER, router.localInstanceId())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(outputStream -> workloadShardService.exportPartition(partition, outputStream))
+                        .retrieve()
+                        .toBodilessEntity();
+                pushedHandoffs.incrementAndGet();
+            } catch (RestClientException e) {
+                log.warn("Failed to hand partition {} over to {}: {}", partition, target.getInstanceId(),
+                        e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("workload.shard.partitions", this, coordinator -> coordinator.servedPartitions)
+                .description("Partitions this instance consumes and answers queries for")
+                .register(meterRegistry);
+        bindHandoffs(meterRegistry, "pulled", pulledHandoffs);
+        bindHandoffs(meterRegistry, "received", receivedHandoffCount);
+        bindHandoffs(meterRegistry, "pushed", pushedHandoffs);
+        bindHandoffs(meterRegistry, "missed", missedHandoffs);
+    }
+
+    private static void bindHandoffs(MeterRegistry meterRegistry, String outcome, AtomicLong count) {
+        FunctionCounter.builder("workload.shard.handoffs", count, AtomicLong::get)
+                .description("Partition hand-overs; missed ones were taken over without the previous owner's totals")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether the partition can be consumed here, pulling it from its previous owner when needed.
+     */
+    private boolean acquire(int partition, PendingHandoff pending, Map<String, ServiceInstance> live) {
+        if (pending.source() == null || pending.source().equals(router.localInstanceId())) {
+            return true;
+        }
+        if (pending.source().equals(receivedHandoffs.get(partition))) {
+            receivedHandoffs.remove(partition);
+            return true;
+        }
+        ServiceInstance source = live.get(pending.source());
+        if (source != null && pull(partition, source)) {
+            pulledHandoffs.incrementAndGet();
+            return true;
+        }
+        if (source != null && System.nanoTime() - pending.since() < properties.getHandoffTimeout().toNanos()) {
+            return false;
+        }
+        missedHandoffs.incrementAndGet();
+        log.warn("Taking partition {} over without a hand-off from {}; run a rebuild to restore its totals",
+                partition, pending.source());
+        return true;
+    }
+
+    private boolean pull(int partition, ServiceInstance source) {
+        try {
+            return shardRestClient.get()
+                    .uri(source.getUri() + HANDOFF_PATH, partition)
+                    .header(ServiceTokenFilter.SERVICE_TOKEN_HEADER, serviceToken)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange((request, response) -> {
+                        if (response.getStatusCode().value() == HttpStatus.CONFLICT.value()) {
+                            // Still consuming the partition; asked again on the next refresh
+                            return false;
+                        }
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new WorkloadRebuildException("Instance " + source.getInstanceId()
+                                    + " answered " + response.getStatusCode() + " for partition " + partition);
+                        }
+                        WorkloadRebuildResponse imported = workloadShardService.importPartition(partition,
+                                response.getBody());
+                        log.info("Partition {} pulled from {}: {} trainers", partition, source.getInstanceId(),
+                                imported.getTrainers());
+                        return true;
+                    });
+        } catch (RestClientException | WorkloadRebuildException | IllegalStateException e) {
+            log.warn("Failed to pull partition {} from {}: {}", partition, source.getInstanceId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Moves the listener onto the partitions' queues once it has stopped consuming the old ones.
+     *
+     * @return {@code false} when the listener is still finishing its batch, so nothing may be handed over yet
+     */
+    private boolean consume(BitSet partitions) {
+        MessageListenerContainer container =
+                listenerRegistry.getListenerContainer(TrainerHoursMessageListener.LISTENER_ID);
+        if (!(container instanceof DefaultMessageListenerContainer listenerContainer)) {
+            throw new IllegalStateException("Workload listener container not found");
+        }
+        if (listenerContainer.isRunning()) {
+            listenerStopped = new CountDownLatch(1);
+            listenerContainer.stop(listenerStopped::countDown);
+        }
+        if (listenerStopped != null) {
+            try {
+                if (!listenerStopped.await(LISTENER_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("Workload listener still busy after {} s, keeping its partitions until it stops",
+                            LISTENER_STOP_TIMEOUT_SECONDS);
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            listenerStopped = null;
+        }
+        if (partitions.isEmpty()) {
+            log.info("No workload partitions assigned to this instance");
+            return true;
+        }
+        // ActiveMQ reads a comma-separated name as one composite destination over all of the queues
+        listenerContainer.setDestinationName(partitions.stream()
+                .mapToObj(partition -> WorkloadPartitioner.destinationOf(destination, partition))
+                .collect(Collectors.joining(",")));
+        listenerContainer.start();
+        log.info("Consuming {} of {} workload partitions", partitions.cardinality(), router.partitions());
+        return true;
+    }
+
+    private record PendingHandoff(String source, long since) {
+    }
+}
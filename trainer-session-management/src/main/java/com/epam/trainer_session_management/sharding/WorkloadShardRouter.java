@@ -0,0 +1,83 @@
+package com.epam.trainer_session_management.sharding;
+
+import com.epam.trainer_session_management.config.WorkloadShardingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where each trainer's workload lives. The ring decides which instance owns a partition; an instance serves a
+ * partition, consuming its queue and answering its queries, only once the previous owner has handed it over, so
+ * until then queries keep going to the previous owner. {@link WorkloadShardCoordinator} keeps both up to date.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.workload.sharding", name = "enabled", havingValue = "true")
+public class WorkloadShardRouter {
+
+    private final int partitions;
+    private final String localInstanceId;
+
+    private volatile ConsistentHashRing ring;
+    // Indexed by partition; null where this instance serves it
+    private volatile ServiceInstance[] servingInstances;
+
+    @Autowired
+    public WorkloadShardRouter(WorkloadShardingProperties properties, Registration registration) {
+        this(properties.getPartitions(), properties.getVirtualNodes(), registration.getInstanceId());
+    }
+
+    public WorkloadShardRouter(int partitions, int virtualNodes, String localInstanceId) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partitions must be positive: " + partitions);
+        }
+        this.partitions = partitions;
+        this.localInstanceId = localInstanceId;
+        // Alone until the first refresh, so this instance answers everything it knows
+        this.ring = new ConsistentHashRing(List.of(localInstanceId), virtualNodes);
+        this.servingInstances = new ServiceInstance[partitions];
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    public String localInstanceId() {
+        return localInstanceId;
+    }
+
+    public int partitionOf(String trainerUsername) {
+        return WorkloadPartitioner.partitionOf(trainerUsername, partitions);
+    }
+
+    /**
+     * Whether the ring assigns the partition to this instance, handed over or not.
+     */
+    public boolean isOwner(int partition) {
+        return localInstanceId.equals(ring.ownerOf(partition));
+    }
+
+    public boolean isServing(int partition) {
+        return servingInstances[partition] == null;
+    }
+
+    /**
+     * Returns the instance serving the trainer, or empty when it is this one.
+     */
+    public Optional<ServiceInstance> servingInstance(String trainerUsername) {
+        return Optional.ofNullable(servingInstances[partitionOf(trainerUsername)]);
+    }
+
+    ConsistentHashRing ring() {
+        return ring;
+    }
+
+    void update(ConsistentHashRing ring, ServiceInstance[] servingInstances) {
+        this.ring = ring;
+        this.servingInstances = servingInstances.clone();
+    }
+}
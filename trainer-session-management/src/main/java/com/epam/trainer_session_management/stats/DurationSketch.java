@@ -0,0 +1,143 @@
+package com.epam.trainer_session_management.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch of training durations in whole minutes: one counter per logarithmic bucket, each bucket
+ * at most {@value #RELATIVE_ACCURACY_PERCENT}% of its value wide, so every quantile is answered within that relative
+ * error. Durations up to nine minutes get a bucket of their own and are answered exactly; durations above
+ * {@value #MAX_MINUTES} minutes count in the last bucket. The counters are a fixed {@code int} array of a few hundred
+ * bytes, however many sessions are counted.
+ * <p>
+ * Merging adds the counters, so it is exact and does not depend on order, and a DELETE takes its session out again
+ * by decrementing the bucket the ADD counted it in. Counters may go negative while a DELETE is ahead of its ADD and
+ * count as empty until it arrives, like the month totals of the store.
+ */
+public final class DurationSketch {
+
+    static final int RELATIVE_ACCURACY_PERCENT = 5;
+    static final int MAX_MINUTES = 1440;
+
+    private static final double GAMMA = (100.0 + RELATIVE_ACCURACY_PERCENT) / (100.0 - RELATIVE_ACCURACY_PERCENT);
+    // bucket of every duration up to MAX_MINUTES; logarithmic buckets holding no whole minute are left out
+    private static final byte[] BUCKET_OF = new byte[MAX_MINUTES + 1];
+    private static final float[] VALUE_OF;
+
+    public static final int BUCKETS;
+
+    static {
+        float[] values = new float[MAX_MINUTES];
+        int bucket = 0;
+        int lowest = 1;
+        int previous = 0;
+        for (int minutes = 1; minutes <= MAX_MINUTES; minutes++) {
+            int logarithmic = (int) Math.ceil(Math.log(minutes) / Math.log(GAMMA));
+            if (minutes > 1 && logarithmic != previous) {
+                values[bucket++] = valueOf(lowest, minutes - 1);
+                lowest = minutes;
+            }
+            previous = logarithmic;
+            BUCKET_OF[minutes] = (byte) bucket;
+        }
+        values[bucket++] = valueOf(lowest, MAX_MINUTES);
+        BUCKETS = bucket;
+        VALUE_OF = Arrays.copyOf(values, BUCKETS);
+    }
+
+    private final int[] counts = new int[BUCKETS];
+
+    /**
+     * Counts {@code sessions} sessions of the duration; a negative number takes them out again.
+     */
+    public void add(int durationMinutes, int sessions) {
+        counts[bucketOf(durationMinutes)] += sessions;
+    }
+
+    public void merge(DurationSketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public DurationSketch copy() {
+        DurationSketch copy = new DurationSketch();
+        System.arraycopy(counts, 0, copy.counts, 0, BUCKETS);
+        return copy;
+    }
+
+    /**
+     * Returns the number of counted sessions.
+     */
+    public long count() {
+        long count = 0;
+        for (int bucketCount : counts) {
+            count += Math.max(0, bucketCount);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the duration in minutes that a {@code quantile} share of the sessions does not exceed, or
+     * {@link Float#NaN} when no session is counted.
+     */
+    public float quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        long count = count();
+        if (count == 0) {
+            return Float.NaN;
+        }
+        double rank = quantile * (count - 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += Math.max(0, counts[i]);
+            if (seen > rank) {
+                return VALUE_OF[i];
+            }
+        }
+        return VALUE_OF[BUCKETS - 1];
+    }
+
+    /**
+     * Writes the non-empty buckets as {@code short bucketCount}, then {@code byte bucket | int count} each.
+     */
+    public void write(DataOutput out) throws IOException {
+        int used = 0;
+        for (int bucketCount : counts) {
+            if (bucketCount != 0) {
+                used++;
+            }
+        }
+        out.writeShort(used);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                out.writeByte(i);
+                out.writeInt(counts[i]);
+            }
+        }
+    }
+
+    public static DurationSketch read(DataInput in) throws IOException {
+        DurationSketch sketch = new DurationSketch();
+        int used = in.readUnsignedShort();
+        for (int i = 0; i < used; i++) {
+            sketch.counts[in.readUnsignedByte()] = in.readInt();
+        }
+        return sketch;
+    }
+
+    private static int bucketOf(int durationMinutes) {
+        return BUCKET_OF[Math.max(0, Math.min(durationMinutes, MAX_MINUTES))];
+    }
+
+    /**
+     * The harmonic mean of the bucket bounds keeps the relative error below the bucket's half-width at both ends.
+     */
+    private static float valueOf(int lowest, int highest) {
+        return (float) (2.0 * lowest * highest / (lowest + highest));
+    }
+}
@@ -0,0 +1,203 @@
+package com.epam.trainer_session_management.stats;
+
+import com.epam.trainer_session_management.persistence.SnapshotSection;
+import com.epam.trainer_session_management.replication.WorkloadCounters;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerIdMap;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.WorkloadChangeListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link DurationSketch} of the training sessions of every trainer-month. Each delta journaled under an event ID
+ * is one session of {@code |delta|} minutes, counted in by an ADD and taken out by a DELETE or an inactive trainer's
+ * ADD, exactly as the store books it. Corrections carry no event ID and deltas merged from another replica stand
+ * for many sessions at once, so neither is counted: on active-active replicas each sketch covers the sessions the
+ * replica recorded itself.
+ * <p>
+ * Months of years past the retention horizon are {@linkplain #compact(int, int) compacted} to their encoded form.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DurationSketches implements WorkloadChangeListener, SnapshotSection {
+
+    private final TrainerDictionary trainerDictionary;
+    private final TrainerIdMap<TrainerSketches> trainers = new TrainerIdMap<>();
+
+    @Override
+    public void onWorkloadChange(WorkloadChange change) {
+        String eventId = change.getEventId();
+        if (eventId == null || eventId.startsWith(WorkloadCounters.ORIGIN_PREFIX) || change.getDeltaMinutes() == 0) {
+            return;
+        }
+        TrainerSketches sketches = trainers.computeIfAbsent(change.getTrainerId(), key -> new TrainerSketches());
+        synchronized (sketches) {
+            if (change.getSequence() > 0 && change.getSequence() <= sketches.sequence) {
+                return;
+            }
+            sketches.sequence = Math.max(sketches.sequence, change.getSequence());
+            int delta = change.getDeltaMinutes();
+            int epochMonth = epochMonthOf(change.getEpochDay());
+            DurationSketch sketch = sketches.months.get(epochMonth);
+            if (sketch == null) {
+                // a late session of a compacted month decodes it back
+                byte[] encoded = sketches.compactedMonths.remove(epochMonth);
+                sketch = encoded == null ? new DurationSketch() : decode(encoded);
+                sketches.months.put(epochMonth, sketch);
+            }
+            sketch.add(Math.abs(delta), delta > 0 ? 1 : -1);
+        }
+    }
+
+    /**
+     * Returns a copy of the month's sketch, or {@code null} when no session was recorded for it.
+     */
+    public DurationSketch sketchOf(int trainerId, int year, int month) {
+        TrainerSketches sketches = trainers.get(trainerId);
+        if (sketches == null) {
+            return null;
+        }
+        synchronized (sketches) {
+            int epochMonth = epochMonthOf(year, month);
+            DurationSketch sketch = sketches.months.get(epochMonth);
+            if (sketch != null) {
+                return sketch.copy();
+            }
+            byte[] encoded = sketches.compactedMonths.get(epochMonth);
+            return encoded == null ? null : decode(encoded);
+        }
+    }
+
+    /**
+     * Replaces the trainer's sketches of months before {@code beforeYear} with their encoded non-empty buckets,
+     * which take a few bytes instead of a full bucket array each.
+     *
+     * @return the number of months compacted
+     */
+    public int compact(int trainerId, int beforeYear) {
+        TrainerSketches sketches = trainers.get(trainerId);
+        if (sketches == null) {
+            return 0;
+        }
+        int beforeMonth = epochMonthOf(beforeYear, 1);
+        synchronized (sketches) {
+            int compacted = 0;
+            Iterator<Map.Entry<Integer, DurationSketch>> months = sketches.months.entrySet().iterator();
+            while (months.hasNext()) {
+                Map.Entry<Integer, DurationSketch> entry = months.next();
+                if (entry.getKey() < beforeMonth) {
+                    sketches.compactedMonths.put(entry.getKey(), encode(entry.getValue()));
+                    months.remove();
+                    compacted++;
+                }
+            }
+            return compacted;
+        }
+    }
+
+    @Override
+    public String sectionName() {
+        return "durations";
+    }
+
+    /**
+     * Writes the bucket count, then per trainer the sequence and, per month, its sketch.
+     */
+    @Override
+    public void writeSection(DataOutput out) throws IOException {
+        List<Integer> trainerIds = new ArrayList<>(trainers.size());
+        trainers.forEach((sketches, trainerId) -> trainerIds.add(trainerId));
+        out.writeShort(DurationSketch.BUCKETS);
+        out.writeInt(trainerIds.size());
+        for (int trainerId : trainerIds) {
+            TrainerSketches sketches = trainers.get(trainerId);
+            synchronized (sketches) {
+                out.writeUTF(trainerDictionary.usernameOf(trainerId));
+                out.writeLong(sketches.sequence);
+                out.writeInt(sketches.months.size() + sketches.compactedMonths.size());
+                for (Map.Entry<Integer, DurationSketch> entry : sketches.months.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    entry.getValue().write(out);
+                }
+                for (Map.Entry<Integer, byte[]> entry : sketches.compactedMonths.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.write(entry.getValue());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readSection(DataInput in) throws IOException {
+        int buckets = in.readUnsignedShort();
+        if (buckets != DurationSketch.BUCKETS) {
+            log.warn("Duration sketches were stored with {} buckets and are kept with {} now; starting them empty",
+                    buckets, DurationSketch.BUCKETS);
+            return;
+        }
+        int trainerCount = in.readInt();
+        for (int i = 0; i < trainerCount; i++) {
+            TrainerSketches sketches = new TrainerSketches();
+            int trainerId = trainerDictionary.register(in.readUTF());
+            sketches.sequence = in.readLong();
+            int monthCount = in.readInt();
+            for (int j = 0; j < monthCount; j++) {
+                int epochMonth = in.readInt();
+                sketches.months.put(epochMonth, DurationSketch.read(in));
+            }
+            trainers.put(trainerId, sketches);
+        }
+    }
+
+    private static byte[] encode(DurationSketch sketch) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            sketch.write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DurationSketch decode(byte[] encoded) {
+        try {
+            return DurationSketch.read(new DataInputStream(new ByteArrayInputStream(encoded)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int epochMonthOf(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    private static int epochMonthOf(int epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return epochMonthOf(date.getYear(), date.getMonthValue());
+    }
+
+    private static final class TrainerSketches {
+        private final Map<Integer, DurationSketch> months = new HashMap<>();
+        // sketches of compacted months, in the encoding of DurationSketch#write
+        private final Map<Integer, byte[]> compactedMonths = new HashMap<>();
+        private long sequence;
+    }
+}
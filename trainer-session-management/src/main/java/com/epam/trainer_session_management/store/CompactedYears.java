@@ -0,0 +1,158 @@
+package com.epam.trainer_session_management.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Whole years of one trainer's month counters in ascending year order, as the stores keep them once the years have
+ * been compacted out of the hot counters. Stored deflated as {@code short yearCount}, then per year
+ * {@code int year | short monthMask | int minutes} for every recorded month, the layout snapshots use.
+ */
+public final class CompactedYears {
+
+    private static final int MONTHS = 12;
+
+    private final int[] years;
+    private final int[] monthMasks;
+    private final int[][] minutes;
+
+    public CompactedYears(int[] years, int[] monthMasks, int[][] minutes) {
+        this.years = years;
+        this.monthMasks = monthMasks;
+        this.minutes = minutes;
+    }
+
+    public int size() {
+        return years.length;
+    }
+
+    public int year(int index) {
+        return years[index];
+    }
+
+    public int monthMask(int index) {
+        return monthMasks[index];
+    }
+
+    public int[] minutes(int index) {
+        return minutes[index];
+    }
+
+    /**
+     * Returns the index of the year, or {@code -1} when it is not held.
+     */
+    public int indexOf(int year) {
+        for (int i = 0; i < years.length; i++) {
+            if (years[i] == year) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the recorded minutes of the month, or {@link TrainerWorkloadStore#NO_DATA}.
+     */
+    public int getMinutes(int year, int month) {
+        int index = indexOf(year);
+        return index < 0 || (monthMasks[index] & (1 << (month - 1))) == 0 ? TrainerWorkloadStore.NO_DATA
+                : minutes[index][month - 1];
+    }
+
+    /**
+     * Merges two disjoint sets of years into one, keeping ascending order.
+     */
+    public CompactedYears union(CompactedYears other) {
+        if (other.size() == 0) {
+            return this;
+        }
+        if (size() == 0) {
+            return other;
+        }
+        int length = years.length + other.years.length;
+        int[] mergedYears = new int[length];
+        int[] mergedMasks = new int[length];
+        int[][] mergedMinutes = new int[length][];
+        for (int i = 0, left = 0, right = 0; i < length; i++) {
+            boolean takeLeft = right == other.years.length
+                    || left < years.length && years[left] < other.years[right];
+            CompactedYears source = takeLeft ? this : other;
+            int index = takeLeft ? left++ : right++;
+            mergedYears[i] = source.years[index];
+            mergedMasks[i] = source.monthMasks[index];
+            mergedMinutes[i] = source.minutes[index];
+        }
+        return new CompactedYears(mergedYears, mergedMasks, mergedMinutes);
+    }
+
+    public CompactedYears without(int index) {
+        int length = years.length - 1;
+        int[] remainingYears = new int[length];
+        int[] remainingMasks = new int[length];
+        int[][] remainingMinutes = new int[length][];
+        for (int from = 0, to = 0; from < years.length; from++) {
+            if (from != index) {
+                remainingYears[to] = years[from];
+                remainingMasks[to] = monthMasks[from];
+                remainingMinutes[to++] = minutes[from];
+            }
+        }
+        return new CompactedYears(remainingYears, remainingMasks, remainingMinutes);
+    }
+
+    /**
+     * Builds a trainer record copy around these years. The copy shares the arrays, so build it only from freshly
+     * copied or decompressed years.
+     */
+    public TrainerWorkload toTrainerWorkload(String trainerUsername, String trainerFirstName, String trainerLastName,
+                                             Boolean isActive, long version, long sequence) {
+        return new TrainerWorkload(trainerUsername, trainerFirstName, trainerLastName, isActive, version, sequence,
+                years, monthMasks, minutes);
+    }
+
+    public byte[] compress() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeShort(years.length);
+            for (int i = 0; i < years.length; i++) {
+                out.writeInt(years[i]);
+                out.writeShort(monthMasks[i]);
+                for (int month = 0; month < MONTHS; month++) {
+                    if ((monthMasks[i] & (1 << month)) != 0) {
+                        out.writeInt(minutes[i][month]);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress workload years", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CompactedYears decompress(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            int count = in.readUnsignedShort();
+            int[] years = new int[count];
+            int[] masks = new int[count];
+            int[][] minutes = new int[count][MONTHS];
+            for (int i = 0; i < count; i++) {
+                years[i] = in.readInt();
+                masks[i] = in.readUnsignedShort();
+                for (int month = 0; month < MONTHS; month++) {
+                    if ((masks[i] & (1 << month)) != 0) {
+                        minutes[i][month] = in.readInt();
+                    }
+                }
+            }
+            return new CompactedYears(years, masks, minutes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress workload years", e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.epam.trainer_session_management.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every trainer username a compact, dense int ID on first sight. Stores, indexes and stripes key on the ID;
+ * the username is only looked up again when a response, snapshot or export is built.
+ * <p>
+ * When backed by a file, every new username is appended as {@code short length | UTF-8 bytes} after an
+ * {@code int magic | int format} header, so IDs stay stable across restarts. A torn last record is dropped on load.
+ * Blank usernames are refused, so a zero length only ever marks the end of what reached the disk.
+ */
+@Slf4j
+public class TrainerDictionary {
+
+    /**
+     * Returned by {@link #find(String)} for a username that has no ID yet.
+     */
+    public static final int NO_ID = -1;
+
+    private static final int MAGIC = 0x54534D44;
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final FileChannel file;
+
+    // written under the instance monitor before the ID is published through ids
+    private volatile String[] usernames = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Creates a dictionary that lives on the heap only.
+     */
+    public TrainerDictionary() {
+        this.file = null;
+    }
+
+    /**
+     * Creates a dictionary persisted to {@code path}, loading the usernames it already holds.
+     */
+    public TrainerDictionary(Path path) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            load(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open trainer dictionary " + path, e);
+        }
+    }
+
+    /**
+     * Returns the trainer's ID, assigning the next free one when the username is new.
+     *
+     * @throws IllegalArgumentException when the username is null or blank
+     */
+    public int register(String trainerUsername) {
+        if (trainerUsername == null || trainerUsername.isBlank()) {
+            throw new IllegalArgumentException("Trainer username is blank");
+        }
+        Integer id = ids.get(trainerUsername);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(trainerUsername);
+            if (id != null) {
+                return id;
+            }
+            if (file != null) {
+                append(trainerUsername);
+            }
+            return add(trainerUsername);
+        }
+    }
+
+    /**
+     * Returns the trainer's ID, or {@link #NO_ID} when the username was never registered.
+     */
+    public int find(String trainerUsername) {
+        Integer id = ids.get(trainerUsername);
+        return id == null ? NO_ID : id;
+    }
+
+    /**
+     * Returns the username of a registered ID, or {@code null} for an unknown one.
+     */
+    public String usernameOf(int trainerId) {
+        String[] current = usernames;
+        return trainerId >= 0 && trainerId < current.length ? current[trainerId] : null;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Forces appended usernames to disk; stores that persist IDs call this before marking themselves clean.
+     */
+    public void force() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to force trainer dictionary", e);
+        }
+    }
+
+    public void close() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.force(false);
+            file.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close trainer dictionary", e);
+        }
+    }
+
+    private int add(String trainerUsername) {
+        int id = size;
+        if (id == usernames.length) {
+            usernames = Arrays.copyOf(usernames, id * 2);
+        }
+        usernames[id] = trainerUsername;
+        size++;
+        ids.put(trainerUsername, id);
+        return id;
+    }
+
+    private void append(String trainerUsername) {
+        byte[] bytes = trainerUsername.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Trainer username is too long: " + bytes.length + " bytes");
+        }
+        ByteBuffer record = ByteBuffer.allocate(Short.BYTES + bytes.length).putShort((short) bytes.length).put(bytes);
+        try {
+            file.write(record.flip(), file.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to trainer dictionary", e);
+        }
+    }
+
+    private void load(Path path) throws IOException {
+        long length = file.size();
+        if (length < HEADER_SIZE) {
+            file.truncate(0);
+            file.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT).flip(), 0);
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining() && file.read(buffer, buffer.position()) >= 0) {
+            // read the whole file
+        }
+        buffer.flip();
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+            throw new IllegalStateException("Unknown trainer dictionary format in " + path);
+        }
+        while (buffer.remaining() >= Short.BYTES) {
+            int recordLength = buffer.getShort(buffer.position());
+            if (recordLength <= 0 || Short.BYTES + recordLength > buffer.remaining()) {
+                break;
+            }
+            byte[] bytes = new byte[recordLength];
+            buffer.position(buffer.position() + Short.BYTES).get(bytes);
+            add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        if (buffer.position() < length) {
+            log.warn("Dropping torn tail of trainer dictionary {} at offset {}", path.getFileName(), buffer.position());
+            file.truncate(buffer.position());
+        }
+        log.info("Loaded {} trainer usernames from {}", size, path.getFileName());
+    }
+}
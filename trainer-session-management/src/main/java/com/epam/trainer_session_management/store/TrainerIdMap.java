@@ -0,0 +1,84 @@
+package com.epam.trainer_session_management.store;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Values indexed directly by {@link TrainerDictionary} ID. Lookups are a plain array read without hashing or boxing;
+ * inserts and growth are serialized on the instance monitor.
+ */
+public class TrainerIdMap<T> {
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private volatile AtomicReferenceArray<T> values = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private volatile int size;
+
+    public T get(int trainerId) {
+        AtomicReferenceArray<T> current = values;
+        return trainerId >= 0 && trainerId < current.length() ? current.get(trainerId) : null;
+    }
+
+    public T computeIfAbsent(int trainerId, IntFunction<T> factory) {
+        T value = get(trainerId);
+        return value != null ? value : putIfAbsent(trainerId, factory.apply(trainerId));
+    }
+
+    /**
+     * Stores {@code value} unless the ID already has one, and returns the value now held by the ID.
+     */
+    public synchronized T putIfAbsent(int trainerId, T value) {
+        T existing = get(trainerId);
+        if (existing != null) {
+            return existing;
+        }
+        growTo(trainerId);
+        values.set(trainerId, value);
+        size++;
+        return value;
+    }
+
+    public synchronized void put(int trainerId, T value) {
+        growTo(trainerId);
+        if (values.getAndSet(trainerId, value) == null) {
+            size++;
+        }
+    }
+
+    /**
+     * Visits every ID holding a value in ascending order; values added during the walk may be missed.
+     */
+    public void forEach(ObjIntConsumer<T> consumer) {
+        AtomicReferenceArray<T> current = values;
+        for (int trainerId = 0; trainerId < current.length(); trainerId++) {
+            T value = current.get(trainerId);
+            if (value != null) {
+                consumer.accept(value, trainerId);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void growTo(int trainerId) {
+        if (trainerId < 0) {
+            throw new IllegalArgumentException("Invalid trainer ID: " + trainerId);
+        }
+        AtomicReferenceArray<T> current = values;
+        if (trainerId < current.length()) {
+            return;
+        }
+        int capacity = current.length();
+        while (capacity <= trainerId) {
+            capacity *= 2;
+        }
+        AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        values = grown;
+    }
+}
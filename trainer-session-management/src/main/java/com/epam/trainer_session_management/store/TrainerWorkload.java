@@ -0,0 +1,25 @@
+package com.epam.trainer_session_management.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point-in-time copy of one trainer's record. {@code minutes[i]} holds the twelve month counters of
+ * {@code years[i]}; bit {@code month - 1} of {@code monthMasks[i]} is set when that month was recorded.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TrainerWorkload {
+
+    private final String trainerUsername;
+    private final String trainerFirstName;
+    private final String trainerLastName;
+    private final Boolean isActive;
+    private final long version;
+    private final long sequence;
+    private final int[] years;
+    private final int[] monthMasks;
+    private final int[][] minutes;
+}
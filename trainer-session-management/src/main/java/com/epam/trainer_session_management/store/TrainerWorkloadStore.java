@@ -0,0 +1,74 @@
+package com.epam.trainer_session_management.store;
+
+import java.util.function.Consumer;
+
+/**
+ * Primitive storage for trainer workload. Every trainer keeps, per year, twelve month counters of
+ * working minutes, so updates and lookups are index arithmetic instead of list scans.
+ * Months are 1-based ({@code 1 = JANUARY}), matching {@link java.time.LocalDate#getMonthValue()}.
+ * Trainers are addressed by their {@link TrainerDictionary} ID; copies carry the username resolved from it.
+ */
+public interface TrainerWorkloadStore {
+
+    /**
+     * Returned by lookups when the trainer never had the requested month recorded. Totals may be negative, so this
+     * lies outside any total the counters can reach.
+     */
+    int NO_DATA = Integer.MIN_VALUE;
+
+    /**
+     * Adds {@code deltaMinutes} to the month counter and returns the new total.
+     * Totals are plain sums and may drop below zero, so deltas give the same total in any order; readers clamp
+     * them at zero. Every call bumps the trainer's version and records
+     * {@code sequence} as the last journal sequence applied to the trainer.
+     */
+    int apply(int trainerId, String trainerFirstName, String trainerLastName, Boolean isActive,
+              int year, int month, int deltaMinutes, long sequence);
+
+    /**
+     * Returns the unclamped total of the month, or {@link #NO_DATA}.
+     */
+    int getMinutes(int trainerId, int year, int month);
+
+    boolean containsTrainer(int trainerId);
+
+    /**
+     * Returns the trainer's version, bumped by every applied delta, or {@code 0} when the trainer is unknown.
+     */
+    long getVersion(int trainerId);
+
+    /**
+     * Returns a consistent copy of the trainer's record, or {@code null} when the trainer is unknown.
+     */
+    TrainerWorkload get(int trainerId);
+
+    /**
+     * Returns the last journal sequence applied to the trainer, or {@code 0} when the trainer is unknown.
+     */
+    long getSequence(int trainerId);
+
+    /**
+     * Visits a copy of every trainer record; records are copied one at a time under their own lock.
+     */
+    void forEach(Consumer<TrainerWorkload> consumer);
+
+    /**
+     * Replaces the trainer's record with the given copy, registering its username when it is new.
+     */
+    void restore(TrainerWorkload trainerWorkload);
+
+    /**
+     * Moves the trainer's recorded years before {@code beforeYear} out of the hot month counters into a compressed
+     * cold tier and returns how many years were moved. Compacted years stay visible to every lookup and copy, and
+     * return to the hot counters when a delta arrives for them. Versions and sequences are left unchanged.
+     */
+    int compact(int trainerId, int beforeYear);
+
+    int size();
+
+    /**
+     * Returns an estimate of the memory the store holds, in bytes: heap for records kept on the heap, the mapped
+     * file sizes for tables kept off-heap. Compacted years count with their compressed size.
+     */
+    long footprintBytes();
+}
@@ -0,0 +1,41 @@
+package com.epam.trainer_session_management.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A delta that has just been applied to the store, together with the resulting month total and the wall-clock time
+ * it was recorded at.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class WorkloadChange {
+
+    private final long sequence;
+    private final int trainerId;
+    private final int epochDay;
+    private final int deltaMinutes;
+    private final int monthMinutes;
+    /**
+     * Epoch milliseconds the delta was recorded at; during replay, the timestamp of its journal record.
+     */
+    private final long timestamp;
+    /**
+     * Event ID the delta was journaled under, or {@code null} for corrections and coalesced changes.
+     */
+    private final String eventId;
+
+    public WorkloadChange(long sequence, int trainerId, int epochDay, int deltaMinutes, int monthMinutes,
+                          long timestamp) {
+        this(sequence, trainerId, epochDay, deltaMinutes, monthMinutes, timestamp, null);
+    }
+
+    /**
+     * Creates a change recorded now.
+     */
+    public WorkloadChange(long sequence, int trainerId, int epochDay, int deltaMinutes, int monthMinutes) {
+        this(sequence, trainerId, epochDay, deltaMinutes, monthMinutes, System.currentTimeMillis());
+    }
+}
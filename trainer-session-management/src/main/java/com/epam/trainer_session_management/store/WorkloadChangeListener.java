@@ -0,0 +1,13 @@
+package com.epam.trainer_session_management.store;
+
+/**
+ * Secondary view of the workload kept up to date from every applied delta, both live and during journal replay.
+ * <p>
+ * Replay may hand over changes the listener already holds from a snapshot, so implementations should ignore
+ * changes whose positive {@link WorkloadChange#getSequence() sequence} they have already seen for the trainer.
+ * Changes for one trainer arrive in order; changes for different trainers may arrive concurrently.
+ */
+public interface WorkloadChangeListener {
+
+    void onWorkloadChange(WorkloadChange change);
+}
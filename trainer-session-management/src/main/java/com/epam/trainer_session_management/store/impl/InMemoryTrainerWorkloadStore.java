@@ -0,0 +1,309 @@
+package com.epam.trainer_session_management.store.impl;
+
+import com.epam.trainer_session_management.store.CompactedYears;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerIdMap;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.workload.store", name = "type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTrainerWorkloadStore implements TrainerWorkloadStore {
+
+    private static final int MONTHS = 12;
+    private static final int YEAR_SLACK = 2;
+    // object header, fields and the two array headers of a record; a year row is a 12-int array plus its reference
+    private static final int RECORD_BYTES = 96;
+    private static final int YEAR_BYTES = 4 + 4;
+    private static final int MONTHS_BYTES = 16 + MONTHS * 4;
+    private static final int COMPACTED_BYTES = 16;
+
+    private final TrainerDictionary trainerDictionary;
+    private final TrainerIdMap<TrainerRecord> records = new TrainerIdMap<>();
+
+    @Override
+    public int apply(int trainerId, String trainerFirstName, String trainerLastName, Boolean isActive,
+                     int year, int month, int deltaMinutes, long sequence) {
+        TrainerRecord trainerRecord = records.get(trainerId);
+        if (trainerRecord == null) {
+            trainerRecord = records.computeIfAbsent(trainerId,
+                    key -> new TrainerRecord(trainerFirstName, trainerLastName, isActive, year));
+        }
+
+        int monthIndex = month - 1;
+        synchronized (trainerRecord) {
+            int[] months = trainerRecord.monthsOf(year);
+            int total = months[monthIndex] + deltaMinutes;
+            months[monthIndex] = total;
+            trainerRecord.monthMasks[year - trainerRecord.baseYear] |= 1 << monthIndex;
+            trainerRecord.version++;
+            trainerRecord.sequence = Math.max(trainerRecord.sequence, sequence);
+            return total;
+        }
+    }
+
+    @Override
+    public int getMinutes(int trainerId, int year, int month) {
+        TrainerRecord trainerRecord = records.get(trainerId);
+        if (trainerRecord == null || month < 1 || month > MONTHS) {
+            return NO_DATA;
+        }
+
+        int monthIndex = month - 1;
+        synchronized (trainerRecord) {
+            int offset = year - trainerRecord.baseYear;
+            if (offset >= 0 && offset < trainerRecord.minutes.length
+                    && (trainerRecord.monthMasks[offset] & (1 << monthIndex)) != 0) {
+                return trainerRecord.minutes[offset][monthIndex];
+            }
+            return trainerRecord.compacted == null ? NO_DATA
+                    : CompactedYears.decompress(trainerRecord.compacted).getMinutes(year, month);
+        }
+    }
+
+    @Override
+    public boolean containsTrainer(int trainerId) {
+        return records.get(trainerId) != null;
+    }
+
+    @Override
+    public long getVersion(int trainerId) {
+        TrainerRecord trainerRecord = records.get(trainerId);
+        if (trainerRecord == null) {
+            return 0L;
+        }
+        synchronized (trainerRecord) {
+            return trainerRecord.version;
+        }
+    }
+
+    @Override
+    public TrainerWorkload get(int trainerId) {
+        TrainerRecord trainerRecord = records.get(trainerId);
+        if (trainerRecord == null) {
+            return null;
+        }
+        synchronized (trainerRecord) {
+            return trainerRecord.copy(trainerDictionary.usernameOf(trainerId));
+        }
+    }
+
+    @Override
+    public long getSequence(int trainerId) {
+        TrainerRecord trainerRecord = records.get(trainerId);
+        if (trainerRecord == null) {
+            return 0L;
+        }
+        synchronized (trainerRecord) {
+            return trainerRecord.sequence;
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<TrainerWorkload> consumer) {
+        records.forEach((trainerRecord, trainerId) -> {
+            TrainerWorkload copy;
+            synchronized (trainerRecord) {
+                copy = trainerRecord.copy(trainerDictionary.usernameOf(trainerId));
+            }
+            consumer.accept(copy);
+        });
+    }
+
+    @Override
+    public void restore(TrainerWorkload trainerWorkload) {
+        int[] years = trainerWorkload.getYears();
+        TrainerRecord trainerRecord = new TrainerRecord(trainerWorkload.getTrainerFirstName(),
+                trainerWorkload.getTrainerLastName(), trainerWorkload.getIsActive(), years.length == 0 ? 0 : years[0]);
+        for (int i = 0; i < years.length; i++) {
+            int[] months = trainerRecord.monthsOf(years[i]);
+            System.arraycopy(trainerWorkload.getMinutes()[i], 0, months, 0, MONTHS);
+            trainerRecord.monthMasks[years[i] - trainerRecord.baseYear] = trainerWorkload.getMonthMasks()[i];
+        }
+        trainerRecord.version = trainerWorkload.getVersion();
+        trainerRecord.sequence = trainerWorkload.getSequence();
+        records.put(trainerDictionary.register(trainerWorkload.getTrainerUsername()), trainerRecord);
+    }
+
+    @Override
+    public int compact(int trainerId, int beforeYear) {
+        TrainerRecord trainerRecord = records.get(trainerId);
+        if (trainerRecord == null) {
+            return 0;
+        }
+        synchronized (trainerRecord) {
+            return trainerRecord.compact(beforeYear);
+        }
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public long footprintBytes() {
+        long[] bytes = new long[1];
+        records.forEach((trainerRecord, trainerId) -> {
+            synchronized (trainerRecord) {
+                bytes[0] += RECORD_BYTES + (long) YEAR_BYTES * trainerRecord.minutes.length;
+                for (int[] months : trainerRecord.minutes) {
+                    if (months != null) {
+                        bytes[0] += MONTHS_BYTES;
+                    }
+                }
+                if (trainerRecord.compacted != null) {
+                    bytes[0] += COMPACTED_BYTES + trainerRecord.compacted.length;
+                }
+            }
+        });
+        return bytes[0];
+    }
+
+    /**
+     * Year-indexed month counters of one trainer: {@code minutes[year - baseYear][month - 1]}. Years compacted out of
+     * that window are kept deflated in {@code compacted}; a year lives in exactly one of the two.
+     * All access is guarded by the record's monitor.
+     */
+    private static final class TrainerRecord {
+        private final String trainerFirstName;
+        private final String trainerLastName;
+        private final Boolean isActive;
+
+        private int baseYear;
+        private int[][] minutes;
+        private int[] monthMasks;
+        private long version;
+        private long sequence;
+        private byte[] compacted;
+
+        private TrainerRecord(String trainerFirstName, String trainerLastName, Boolean isActive, int firstYear) {
+            this.trainerFirstName = trainerFirstName;
+            this.trainerLastName = trainerLastName;
+            this.isActive = isActive;
+            this.baseYear = firstYear;
+            this.minutes = new int[1][];
+            this.monthMasks = new int[1];
+        }
+
+        /**
+         * Returns the month counters of the year, growing the year window when the year falls outside of it.
+         * Allocates only the first time a year is seen; a compacted year is moved back into the window instead.
+         */
+        private int[] monthsOf(int year) {
+            int offset = year - baseYear;
+            if (offset < 0 || offset >= minutes.length) {
+                growTo(year);
+                offset = year - baseYear;
+            }
+            int[] months = minutes[offset];
+            if (months == null) {
+                months = thaw(year, offset);
+                minutes[offset] = months;
+            }
+            return months;
+        }
+
+        private int[] thaw(int year, int offset) {
+            CompactedYears compactedYears = compacted == null ? null : CompactedYears.decompress(compacted);
+            int index = compactedYears == null ? -1 : compactedYears.indexOf(year);
+            if (index < 0) {
+                return new int[MONTHS];
+            }
+            monthMasks[offset] = compactedYears.monthMask(index);
+            compacted = compactedYears.size() == 1 ? null : compactedYears.without(index).compress();
+            return compactedYears.minutes(index);
+        }
+
+        /**
+         * Moves the recorded years before {@code beforeYear} into {@code compacted} and drops them from the window.
+         */
+        private int compact(int beforeYear) {
+            int end = Math.min(beforeYear - baseYear, minutes.length);
+            if (end <= 0) {
+                return 0;
+            }
+            int count = 0;
+            for (int offset = 0; offset < end; offset++) {
+                if (monthMasks[offset] != 0) {
+                    count++;
+                }
+            }
+            if (count > 0) {
+                int[] years = new int[count];
+                int[] masks = new int[count];
+                int[][] months = new int[count][];
+                for (int offset = 0, index = 0; offset < end; offset++) {
+                    if (monthMasks[offset] != 0) {
+                        years[index] = baseYear + offset;
+                        masks[index] = monthMasks[offset];
+                        months[index++] = minutes[offset];
+                    }
+                }
+                CompactedYears moved = new CompactedYears(years, masks, months);
+                compacted = (compacted == null ? moved : CompactedYears.decompress(compacted).union(moved)).compress();
+            }
+
+            if (end == minutes.length) {
+                baseYear = beforeYear;
+                minutes = new int[1][];
+                monthMasks = new int[1];
+            } else {
+                baseYear += end;
+                minutes = Arrays.copyOfRange(minutes, end, minutes.length);
+                monthMasks = Arrays.copyOfRange(monthMasks, end, monthMasks.length);
+            }
+            return count;
+        }
+
+        private void growTo(int year) {
+            int lastYear = baseYear + minutes.length - 1;
+            int newBase = year < baseYear ? year - YEAR_SLACK : baseYear;
+            int newLast = year > lastYear ? year + YEAR_SLACK : lastYear;
+
+            int[][] grownMinutes = new int[newLast - newBase + 1][];
+            int[] grownMasks = new int[grownMinutes.length];
+            System.arraycopy(minutes, 0, grownMinutes, baseYear - newBase, minutes.length);
+            System.arraycopy(monthMasks, 0, grownMasks, baseYear - newBase, monthMasks.length);
+
+            baseYear = newBase;
+            minutes = grownMinutes;
+            monthMasks = grownMasks;
+        }
+
+        private TrainerWorkload copy(String trainerUsername) {
+            int recordedYears = 0;
+            for (int mask : monthMasks) {
+                if (mask != 0) {
+                    recordedYears++;
+                }
+            }
+
+            int[] years = new int[recordedYears];
+            int[] masks = new int[recordedYears];
+            int[][] months = new int[recordedYears][];
+            int index = 0;
+            for (int offset = 0; offset < minutes.length; offset++) {
+                if (monthMasks[offset] != 0) {
+                    years[index] = baseYear + offset;
+                    masks[index] = monthMasks[offset];
+                    months[index] = minutes[offset].clone();
+                    index++;
+                }
+            }
+            CompactedYears all = new CompactedYears(years, masks, months);
+            if (compacted != null) {
+                all = CompactedYears.decompress(compacted).union(all);
+            }
+            return all.toTrainerWorkload(trainerUsername, trainerFirstName, trainerLastName, isActive, version,
+                    sequence);
+        }
+    }
+}
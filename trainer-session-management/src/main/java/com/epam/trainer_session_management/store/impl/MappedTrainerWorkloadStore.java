@@ -0,0 +1,813 @@
+package com.epam.trainer_session_management.store.impl;
+
+import com.epam.trainer_session_management.config.WorkloadStoreProperties;
+import com.epam.trainer_session_management.store.CompactedYears;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Off-heap store: every trainer and every trainer year lives in fixed-layout records of memory-mapped files, so
+ * the store keeps no per-trainer objects on the heap and a cleanly closed table is served again right after a restart.
+ * Only the month counters move off-heap: the username dictionary and the views fed by applied changes
+ * ({@link com.epam.trainer_session_management.index.DailyWorkloadIndex}, the monthly leaderboard, the workload
+ * history and the duration sketches) stay on the heap whichever store is selected, so the heap still grows with the
+ * number of trainers; the daily index alone takes about 1.5 KB per trainer-year.
+ * <ul>
+ *     <li>{@code trainers.tbl}: header, then one 40-byte record per {@link TrainerDictionary} ID
+ *     ({@code long version | long sequence | long namesOffset | int minYear | int maxYear | byte isActive |
+ *     byte present | 2 bytes padding | int compactedOffset}).</li>
+ *     <li>{@code years.tbl}: open-addressing table keyed by trainer ID and year, each 64-byte slot holding
+ *     {@code int trainerId + 1 | int year | int monthMask | int[12] minutes}. Compaction zeroes a slot's mask and
+ *     counters but keeps its key, so probing is unaffected; growth drops such slots.</li>
+ *     <li>{@code names.dat}: append-only first and last name of every trainer.</li>
+ *     <li>{@code cold.dat}: append-only {@code int length | bytes} blobs of deflated {@link CompactedYears}, the
+ *     cold tier of years compacted out of {@code years.tbl}. It is rewritten without superseded blobs once they
+ *     take up most of the file.</li>
+ * </ul>
+ * Usernames live in the dictionary, which is forced to disk before the table is marked clean; a clean table whose
+ * IDs run past the dictionary is discarded as well.
+ * Counter updates of existing slots run under the shared table lock and the trainer's stripe lock; inserts and
+ * table growth take the exclusive table lock. A table that was not closed cleanly is discarded on startup and
+ * refilled by snapshot and journal recovery.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.workload.store", name = "type", havingValue = "mapped")
+public class MappedTrainerWorkloadStore implements TrainerWorkloadStore {
+
+    private static final int MAGIC = 0x54534D54;
+    private static final int FORMAT = 3;
+    private static final int MONTHS = 12;
+    private static final int LOCK_STRIPES = 64;
+    private static final int MAX_LOAD_PERCENT = 70;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int FORMAT_OFFSET = 4;
+    private static final int CLEAN_OFFSET = 8;
+    private static final int TRAINER_COUNT_OFFSET = 12;
+    private static final int USED_YEAR_SLOTS_OFFSET = 16;
+    private static final int NAMES_END_OFFSET = 24;
+    private static final int TRAINER_SLOTS_OFFSET = 32;
+    private static final int COLD_END_OFFSET = 40;
+
+    private static final int TRAINER_SIZE = 40;
+    private static final int VERSION_OFFSET = 0;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int NAMES_OFFSET = 16;
+    private static final int MIN_YEAR_OFFSET = 24;
+    private static final int MAX_YEAR_OFFSET = 28;
+    private static final int ACTIVE_OFFSET = 32;
+    private static final int PRESENT_OFFSET = 33;
+    private static final int COMPACTED_OFFSET = 36;
+
+    private static final int YEAR_SLOT_SIZE = 64;
+    private static final int YEAR_OFFSET = 4;
+    private static final int MASK_OFFSET = 8;
+    private static final int MINUTES_OFFSET = 12;
+
+    private static final int NULL_STRING = 0xFFFF;
+
+    // blob offsets start past a reserved word, so 0 in COMPACTED_OFFSET means the trainer has no compacted years
+    private static final int COLD_START = 8;
+    private static final int COLD_REWRITE_MIN_BYTES = 1 << 20;
+
+    private final TrainerDictionary trainerDictionary;
+    private final Path trainersPath;
+    private final Path yearsPath;
+    private final Path namesPath;
+    private final Path coldPath;
+
+    private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock();
+    private final Object[] trainerLocks = new Object[LOCK_STRIPES];
+
+    private MappedByteBuffer trainers;
+    private MappedByteBuffer yearTable;
+    private MappedByteBuffer names;
+    private MappedByteBuffer cold;
+    private int trainerCount;
+    private int trainerSlots;
+    private int usedYearSlots;
+    private int namesEnd;
+    private int coldEnd;
+    private long liveColdBytes;
+
+    public MappedTrainerWorkloadStore(WorkloadStoreProperties properties, TrainerDictionary trainerDictionary) {
+        Path directory = Path.of(properties.getDirectory());
+        this.trainerDictionary = trainerDictionary;
+        this.trainersPath = directory.resolve("trainers.tbl");
+        this.yearsPath = directory.resolve("years.tbl");
+        this.namesPath = directory.resolve("names.dat");
+        this.coldPath = directory.resolve("cold.dat");
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            trainerLocks[i] = new Object();
+        }
+        open(directory, Math.max(1, properties.getInitialTrainers()), Math.max(1, properties.getInitialTrainerYears()));
+    }
+
+    @Override
+    public int apply(int trainerId, String trainerFirstName, String trainerLastName, Boolean isActive,
+                     int year, int month, int deltaMinutes, long sequence) {
+        if (month < 1 || month > MONTHS) {
+            throw new IllegalArgumentException("Invalid month: " + month);
+        }
+        tableLock.readLock().lock();
+        try {
+            int slot = isPresent(trainerId) ? findYear(trainerId, year) : -1;
+            // an emptied slot of a trainer with compacted years may have to be thawed first, which needs the write lock
+            if (slot >= 0 && (yearTable.getInt(slot * YEAR_SLOT_SIZE + MASK_OFFSET) != 0
+                    || trainers.getInt(recordOf(trainerId) + COMPACTED_OFFSET) == 0)) {
+                synchronized (lockOf(trainerId)) {
+                    return applyAt(trainerId, slot, month, deltaMinutes, sequence);
+                }
+            }
+        } finally {
+            tableLock.readLock().unlock();
+        }
+
+        tableLock.writeLock().lock();
+        try {
+            if (!isPresent(trainerId)) {
+                insertTrainer(trainerId, trainerFirstName, trainerLastName, isActive);
+            }
+            int slot = findYear(trainerId, year);
+            if (slot < 0) {
+                slot = insertYear(trainerId, year);
+            }
+            thaw(trainerId, slot, year);
+            return applyAt(trainerId, slot, month, deltaMinutes, sequence);
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int getMinutes(int trainerId, int year, int month) {
+        if (month < 1 || month > MONTHS) {
+            return NO_DATA;
+        }
+        tableLock.readLock().lock();
+        try {
+            if (!isPresent(trainerId)) {
+                return NO_DATA;
+            }
+            int slot = findYear(trainerId, year);
+            if (slot >= 0) {
+                int base = slot * YEAR_SLOT_SIZE;
+                synchronized (lockOf(trainerId)) {
+                    if ((yearTable.getInt(base + MASK_OFFSET) & (1 << (month - 1))) != 0) {
+                        return yearTable.getInt(base + MINUTES_OFFSET + (month - 1) * Integer.BYTES);
+                    }
+                }
+            }
+            CompactedYears compacted = readCompacted(trainerId);
+            return compacted == null ? NO_DATA : compacted.getMinutes(year, month);
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsTrainer(int trainerId) {
+        tableLock.readLock().lock();
+        try {
+            return isPresent(trainerId);
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getVersion(int trainerId) {
+        return readTrainerLong(trainerId, VERSION_OFFSET);
+    }
+
+    @Override
+    public TrainerWorkload get(int trainerId) {
+        tableLock.readLock().lock();
+        try {
+            return isPresent(trainerId) ? copy(trainerId) : null;
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getSequence(int trainerId) {
+        return readTrainerLong(trainerId, SEQUENCE_OFFSET);
+    }
+
+    @Override
+    public void forEach(Consumer<TrainerWorkload> consumer) {
+        for (int trainerId = 0; ; trainerId++) {
+            TrainerWorkload copy;
+            tableLock.readLock().lock();
+            try {
+                if (trainerId >= trainerSlots) {
+                    return;
+                }
+                copy = isPresent(trainerId) ? copy(trainerId) : null;
+            } finally {
+                tableLock.readLock().unlock();
+            }
+            if (copy != null) {
+                consumer.accept(copy);
+            }
+        }
+    }
+
+    @Override
+    public void restore(TrainerWorkload trainerWorkload) {
+        tableLock.writeLock().lock();
+        try {
+            int trainerId = trainerDictionary.register(trainerWorkload.getTrainerUsername());
+            if (!isPresent(trainerId)) {
+                insertTrainer(trainerId, trainerWorkload.getTrainerFirstName(),
+                        trainerWorkload.getTrainerLastName(), trainerWorkload.getIsActive());
+            } else {
+                clearYears(trainerId);
+                writeCompacted(trainerId, null);
+                TrainerWorkload current = copy(trainerId);
+                int record = recordOf(trainerId);
+                if (!Objects.equals(current.getTrainerFirstName(), trainerWorkload.getTrainerFirstName())
+                        || !Objects.equals(current.getTrainerLastName(), trainerWorkload.getTrainerLastName())) {
+                    trainers.putLong(record + NAMES_OFFSET, appendNames(trainerWorkload.getTrainerFirstName(),
+                            trainerWorkload.getTrainerLastName()));
+                }
+                trainers.put(record + ACTIVE_OFFSET, activeByte(trainerWorkload.getIsActive()));
+            }
+
+            int[] years = trainerWorkload.getYears();
+            for (int i = 0; i < years.length; i++) {
+                int slot = findYear(trainerId, years[i]);
+                if (slot < 0) {
+                    slot = insertYear(trainerId, years[i]);
+                }
+                coverYear(trainerId, years[i]);
+                int base = slot * YEAR_SLOT_SIZE;
+                yearTable.putInt(base + MASK_OFFSET, trainerWorkload.getMonthMasks()[i]);
+                for (int month = 0; month < MONTHS; month++) {
+                    yearTable.putInt(base + MINUTES_OFFSET + month * Integer.BYTES,
+                            trainerWorkload.getMinutes()[i][month]);
+                }
+            }
+            int record = recordOf(trainerId);
+            trainers.putLong(record + VERSION_OFFSET, trainerWorkload.getVersion());
+            trainers.putLong(record + SEQUENCE_OFFSET, trainerWorkload.getSequence());
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int compact(int trainerId, int beforeYear) {
+        tableLock.writeLock().lock();
+        try {
+            if (!isPresent(trainerId)) {
+                return 0;
+            }
+            int record = recordOf(trainerId);
+            int minYear = trainers.getInt(record + MIN_YEAR_OFFSET);
+            int maxYear = trainers.getInt(record + MAX_YEAR_OFFSET);
+            int lastYear = Math.min(maxYear, beforeYear - 1);
+            if (minYear > lastYear) {
+                return 0;
+            }
+
+            List<Integer> slots = new ArrayList<>();
+            for (int year = minYear; year <= lastYear; year++) {
+                int slot = findYear(trainerId, year);
+                if (slot >= 0 && yearTable.getInt(slot * YEAR_SLOT_SIZE + MASK_OFFSET) != 0) {
+                    slots.add(slot);
+                }
+            }
+            int[] years = new int[slots.size()];
+            int[] masks = new int[years.length];
+            int[][] minutes = new int[years.length][MONTHS];
+            for (int i = 0; i < years.length; i++) {
+                int base = slots.get(i) * YEAR_SLOT_SIZE;
+                years[i] = yearTable.getInt(base + YEAR_OFFSET);
+                masks[i] = yearTable.getInt(base + MASK_OFFSET);
+                for (int month = 0; month < MONTHS; month++) {
+                    minutes[i][month] = yearTable.getInt(base + MINUTES_OFFSET + month * Integer.BYTES);
+                }
+                for (int offset = MASK_OFFSET; offset < YEAR_SLOT_SIZE; offset += Integer.BYTES) {
+                    yearTable.putInt(base + offset, 0);
+                }
+            }
+            if (years.length > 0) {
+                CompactedYears moved = new CompactedYears(years, masks, minutes);
+                CompactedYears compacted = readCompacted(trainerId);
+                writeCompacted(trainerId, compacted == null ? moved : compacted.union(moved));
+            }
+
+            boolean hotYearsLeft = maxYear >= beforeYear;
+            trainers.putInt(record + MIN_YEAR_OFFSET, hotYearsLeft ? beforeYear : Integer.MAX_VALUE);
+            trainers.putInt(record + MAX_YEAR_OFFSET, hotYearsLeft ? maxYear : Integer.MIN_VALUE);
+            return years.length;
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        tableLock.readLock().lock();
+        try {
+            return trainerCount;
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long footprintBytes() {
+        tableLock.readLock().lock();
+        try {
+            return (long) trainers.capacity() + yearTable.capacity() + names.capacity() + cold.capacity();
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces every table to disk and marks the table as cleanly closed, so the next start serves it as is.
+     */
+    @PreDestroy
+    public void close() {
+        tableLock.writeLock().lock();
+        try {
+            trainerDictionary.force();
+            names.force();
+            cold.force();
+            yearTable.force();
+            trainers.force();
+            trainers.putInt(CLEAN_OFFSET, 1);
+            trainers.force();
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    private int applyAt(int trainerId, int slot, int month, int deltaMinutes, long sequence) {
+        int base = slot * YEAR_SLOT_SIZE;
+        int offset = base + MINUTES_OFFSET + (month - 1) * Integer.BYTES;
+        int total = yearTable.getInt(offset) + deltaMinutes;
+        yearTable.putInt(offset, total);
+        yearTable.putInt(base + MASK_OFFSET, yearTable.getInt(base + MASK_OFFSET) | 1 << (month - 1));
+
+        int record = recordOf(trainerId);
+        trainers.putLong(record + VERSION_OFFSET, trainers.getLong(record + VERSION_OFFSET) + 1);
+        trainers.putLong(record + SEQUENCE_OFFSET, Math.max(trainers.getLong(record + SEQUENCE_OFFSET), sequence));
+        return total;
+    }
+
+    private long readTrainerLong(int trainerId, int fieldOffset) {
+        tableLock.readLock().lock();
+        try {
+            if (!isPresent(trainerId)) {
+                return 0L;
+            }
+            synchronized (lockOf(trainerId)) {
+                return trainers.getLong(recordOf(trainerId) + fieldOffset);
+            }
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the trainer's recorded years; the caller holds the table lock.
+     */
+    private TrainerWorkload copy(int trainerId) {
+        int record = recordOf(trainerId);
+        int namesOffset = (int) trainers.getLong(record + NAMES_OFFSET);
+        String firstName = readString(namesOffset);
+        String lastName = readString(skipString(namesOffset));
+        byte active = trainers.get(record + ACTIVE_OFFSET);
+
+        synchronized (lockOf(trainerId)) {
+            List<Integer> slots = new ArrayList<>();
+            int maxYear = trainers.getInt(record + MAX_YEAR_OFFSET);
+            for (int year = trainers.getInt(record + MIN_YEAR_OFFSET); year <= maxYear; year++) {
+                int slot = findYear(trainerId, year);
+                if (slot >= 0 && yearTable.getInt(slot * YEAR_SLOT_SIZE + MASK_OFFSET) != 0) {
+                    slots.add(slot);
+                }
+            }
+
+            int[] years = new int[slots.size()];
+            int[] masks = new int[years.length];
+            int[][] minutes = new int[years.length][MONTHS];
+            for (int i = 0; i < years.length; i++) {
+                int base = slots.get(i) * YEAR_SLOT_SIZE;
+                years[i] = yearTable.getInt(base + YEAR_OFFSET);
+                masks[i] = yearTable.getInt(base + MASK_OFFSET);
+                for (int month = 0; month < MONTHS; month++) {
+                    minutes[i][month] = yearTable.getInt(base + MINUTES_OFFSET + month * Integer.BYTES);
+                }
+            }
+            CompactedYears all = new CompactedYears(years, masks, minutes);
+            CompactedYears compacted = readCompacted(trainerId);
+            if (compacted != null) {
+                all = compacted.union(all);
+            }
+            return all.toTrainerWorkload(trainerDictionary.usernameOf(trainerId), firstName, lastName,
+                    active == 2 ? null : active == 1, trainers.getLong(record + VERSION_OFFSET),
+                    trainers.getLong(record + SEQUENCE_OFFSET));
+        }
+    }
+
+    private void clearYears(int trainerId) {
+        int record = recordOf(trainerId);
+        int maxYear = trainers.getInt(record + MAX_YEAR_OFFSET);
+        for (int year = trainers.getInt(record + MIN_YEAR_OFFSET); year <= maxYear; year++) {
+            int slot = findYear(trainerId, year);
+            if (slot >= 0) {
+                int base = slot * YEAR_SLOT_SIZE;
+                for (int offset = MASK_OFFSET; offset < YEAR_SLOT_SIZE; offset += Integer.BYTES) {
+                    yearTable.putInt(base + offset, 0);
+                }
+            }
+        }
+    }
+
+    private boolean isPresent(int trainerId) {
+        return trainerId >= 0 && trainerId < trainerSlots && trainers.get(recordOf(trainerId) + PRESENT_OFFSET) == 1;
+    }
+
+    private void insertTrainer(int trainerId, String trainerFirstName, String trainerLastName, Boolean isActive) {
+        if (trainerId < 0) {
+            throw new IllegalArgumentException("Invalid trainer ID: " + trainerId);
+        }
+        if (recordOf(trainerId) + TRAINER_SIZE > (long) trainers.capacity()) {
+            long capacity = trainers.capacity() - HEADER_SIZE;
+            while (HEADER_SIZE + capacity < recordOf(trainerId) + (long) TRAINER_SIZE) {
+                capacity *= 2;
+            }
+            trainers = map(trainersPath, HEADER_SIZE + capacity);
+        }
+
+        int record = recordOf(trainerId);
+        trainers.putLong(record + VERSION_OFFSET, 0L);
+        trainers.putLong(record + SEQUENCE_OFFSET, 0L);
+        trainers.putLong(record + NAMES_OFFSET, appendNames(trainerFirstName, trainerLastName));
+        trainers.putInt(record + MIN_YEAR_OFFSET, Integer.MAX_VALUE);
+        trainers.putInt(record + MAX_YEAR_OFFSET, Integer.MIN_VALUE);
+        trainers.put(record + ACTIVE_OFFSET, activeByte(isActive));
+        trainers.put(record + PRESENT_OFFSET, (byte) 1);
+        trainers.putInt(record + COMPACTED_OFFSET, 0);
+
+        trainerCount++;
+        trainerSlots = Math.max(trainerSlots, trainerId + 1);
+        trainers.putInt(TRAINER_COUNT_OFFSET, trainerCount);
+        trainers.putInt(TRAINER_SLOTS_OFFSET, trainerSlots);
+    }
+
+    private int findYear(int trainerId, int year) {
+        int mask = yearTable.capacity() / YEAR_SLOT_SIZE - 1;
+        for (int index = hashOf(trainerId, year) & mask; ; index = (index + 1) & mask) {
+            int base = index * YEAR_SLOT_SIZE;
+            int reference = yearTable.getInt(base);
+            if (reference == 0) {
+                return -1;
+            }
+            if (reference == trainerId + 1 && yearTable.getInt(base + YEAR_OFFSET) == year) {
+                return index;
+            }
+        }
+    }
+
+    private int insertYear(int trainerId, int year) {
+        if (percentOf(usedYearSlots + 1, yearTable.capacity() / YEAR_SLOT_SIZE) > MAX_LOAD_PERCENT) {
+            yearTable = rehashYears(yearTable.capacity() / YEAR_SLOT_SIZE * 2);
+        }
+        int slot = putYear(yearTable, trainerId, year);
+        usedYearSlots++;
+        trainers.putInt(USED_YEAR_SLOTS_OFFSET, usedYearSlots);
+
+        coverYear(trainerId, year);
+        return slot;
+    }
+
+    private void coverYear(int trainerId, int year) {
+        int record = recordOf(trainerId);
+        trainers.putInt(record + MIN_YEAR_OFFSET, Math.min(trainers.getInt(record + MIN_YEAR_OFFSET), year));
+        trainers.putInt(record + MAX_YEAR_OFFSET, Math.max(trainers.getInt(record + MAX_YEAR_OFFSET), year));
+    }
+
+    /**
+     * Moves a compacted year back into its emptied slot; the caller holds the exclusive table lock.
+     */
+    private void thaw(int trainerId, int slot, int year) {
+        int base = slot * YEAR_SLOT_SIZE;
+        CompactedYears compacted = yearTable.getInt(base + MASK_OFFSET) == 0 ? readCompacted(trainerId) : null;
+        int index = compacted == null ? -1 : compacted.indexOf(year);
+        if (index < 0) {
+            return;
+        }
+        yearTable.putInt(base + MASK_OFFSET, compacted.monthMask(index));
+        for (int month = 0; month < MONTHS; month++) {
+            yearTable.putInt(base + MINUTES_OFFSET + month * Integer.BYTES, compacted.minutes(index)[month]);
+        }
+        coverYear(trainerId, year);
+        writeCompacted(trainerId, compacted.without(index));
+    }
+
+    private CompactedYears readCompacted(int trainerId) {
+        int offset = trainers.getInt(recordOf(trainerId) + COMPACTED_OFFSET);
+        if (offset == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[cold.getInt(offset)];
+        cold.get(offset + Integer.BYTES, bytes);
+        return CompactedYears.decompress(bytes);
+    }
+
+    /**
+     * Appends the trainer's compacted years as a new blob, or clears them when there are none; the caller holds the
+     * exclusive table lock.
+     */
+    private void writeCompacted(int trainerId, CompactedYears compacted) {
+        int record = recordOf(trainerId);
+        int previous = trainers.getInt(record + COMPACTED_OFFSET);
+        if (previous != 0) {
+            liveColdBytes -= Integer.BYTES + cold.getInt(previous);
+        }
+        if (compacted == null || compacted.size() == 0) {
+            trainers.putInt(record + COMPACTED_OFFSET, 0);
+            return;
+        }
+
+        byte[] bytes = compacted.compress();
+        int length = Integer.BYTES + bytes.length;
+        if ((long) coldEnd + length > cold.capacity()) {
+            cold = map(coldPath, Math.max((long) cold.capacity() * 2, (long) coldEnd + length));
+        }
+        cold.putInt(coldEnd, bytes.length);
+        cold.put(coldEnd + Integer.BYTES, bytes);
+        trainers.putInt(record + COMPACTED_OFFSET, coldEnd);
+        coldEnd += length;
+        liveColdBytes += length;
+        trainers.putLong(COLD_END_OFFSET, coldEnd);
+
+        if (coldEnd > COLD_REWRITE_MIN_BYTES && coldEnd - COLD_START > 2 * liveColdBytes) {
+            rewriteCold();
+        }
+    }
+
+    private void rewriteCold() {
+        Path temporary = temporaryOf(coldPath);
+        MappedByteBuffer rewritten = map(temporary, Math.max(COLD_REWRITE_MIN_BYTES, 2 * liveColdBytes));
+        int end = COLD_START;
+        for (int trainerId = 0; trainerId < trainerSlots; trainerId++) {
+            int record = recordOf(trainerId);
+            int offset = isPresent(trainerId) ? trainers.getInt(record + COMPACTED_OFFSET) : 0;
+            if (offset != 0) {
+                int length = Integer.BYTES + cold.getInt(offset);
+                rewritten.put(end, cold, offset, length);
+                trainers.putInt(record + COMPACTED_OFFSET, end);
+                end += length;
+            }
+        }
+        cold = replace(temporary, coldPath, rewritten);
+        coldEnd = end;
+        trainers.putLong(COLD_END_OFFSET, coldEnd);
+        log.info("Rewrote cold workload tier to {} bytes", coldEnd);
+    }
+
+    private static int putYear(MappedByteBuffer table, int trainerId, int year) {
+        int mask = table.capacity() / YEAR_SLOT_SIZE - 1;
+        int slot = hashOf(trainerId, year) & mask;
+        while (table.getInt(slot * YEAR_SLOT_SIZE) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table.putInt(slot * YEAR_SLOT_SIZE, trainerId + 1);
+        table.putInt(slot * YEAR_SLOT_SIZE + YEAR_OFFSET, year);
+        return slot;
+    }
+
+    /**
+     * Copies every slot holding months into a table of {@code slots} slots; emptied slots are dropped and no longer
+     * count towards the load.
+     */
+    private MappedByteBuffer rehashYears(int slots) {
+        Path temporary = temporaryOf(yearsPath);
+        MappedByteBuffer grown = map(temporary, (long) slots * YEAR_SLOT_SIZE);
+        usedYearSlots = 0;
+        for (int base = 0; base < yearTable.capacity(); base += YEAR_SLOT_SIZE) {
+            int reference = yearTable.getInt(base);
+            if (reference != 0 && yearTable.getInt(base + MASK_OFFSET) != 0) {
+                usedYearSlots++;
+                int slot = putYear(grown, reference - 1, yearTable.getInt(base + YEAR_OFFSET));
+                grown.put(slot * YEAR_SLOT_SIZE + MASK_OFFSET,
+                        yearTable.slice(base + MASK_OFFSET, YEAR_SLOT_SIZE - MASK_OFFSET), 0,
+                        YEAR_SLOT_SIZE - MASK_OFFSET);
+            }
+        }
+        return replace(temporary, yearsPath, grown);
+    }
+
+    private int appendNames(String trainerFirstName, String trainerLastName) {
+        byte[] firstName = trainerFirstName == null ? null : bytesOf(trainerFirstName);
+        byte[] lastName = trainerLastName == null ? null : bytesOf(trainerLastName);
+        int length = 2 * Short.BYTES + (firstName == null ? 0 : firstName.length)
+                + (lastName == null ? 0 : lastName.length);
+        if (namesEnd + length > names.capacity()) {
+            names = map(namesPath, Math.max((long) names.capacity() * 2, (long) namesEnd + length));
+        }
+
+        int offset = namesEnd;
+        int position = putString(offset, firstName);
+        namesEnd = putString(position, lastName);
+        trainers.putLong(NAMES_END_OFFSET, namesEnd);
+        return offset;
+    }
+
+    private int putString(int offset, byte[] value) {
+        if (value == null) {
+            names.putShort(offset, (short) NULL_STRING);
+            return offset + Short.BYTES;
+        }
+        names.putShort(offset, (short) value.length);
+        names.put(offset + Short.BYTES, value);
+        return offset + Short.BYTES + value.length;
+    }
+
+    private String readString(int offset) {
+        int length = names.getShort(offset) & 0xFFFF;
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        names.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int skipString(int offset) {
+        int length = names.getShort(offset) & 0xFFFF;
+        return offset + Short.BYTES + (length == NULL_STRING ? 0 : length);
+    }
+
+    private void open(Path directory, int initialTrainers, int initialTrainerYears) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create workload store directory " + directory, e);
+        }
+
+        if (isCleanTable()) {
+            trainers = map(trainersPath, fileSize(trainersPath));
+            yearTable = map(yearsPath, fileSize(yearsPath));
+            names = map(namesPath, fileSize(namesPath));
+            cold = map(coldPath, fileSize(coldPath));
+            trainerCount = trainers.getInt(TRAINER_COUNT_OFFSET);
+            trainerSlots = trainers.getInt(TRAINER_SLOTS_OFFSET);
+            usedYearSlots = trainers.getInt(USED_YEAR_SLOTS_OFFSET);
+            namesEnd = (int) trainers.getLong(NAMES_END_OFFSET);
+            coldEnd = (int) trainers.getLong(COLD_END_OFFSET);
+            for (int trainerId = 0; trainerId < trainerSlots; trainerId++) {
+                int offset = isPresent(trainerId) ? trainers.getInt(recordOf(trainerId) + COMPACTED_OFFSET) : 0;
+                if (offset != 0) {
+                    liveColdBytes += Integer.BYTES + cold.getInt(offset);
+                }
+            }
+            log.info("Opened workload table with {} trainers and {} trainer years", trainerCount, usedYearSlots);
+        } else {
+            for (Path path : List.of(trainersPath, yearsPath, namesPath, coldPath)) {
+                delete(path);
+            }
+            trainers = map(trainersPath, HEADER_SIZE + (long) initialTrainers * TRAINER_SIZE);
+            yearTable = map(yearsPath, (long) powerOfTwoAtLeast(initialTrainerYears * 2) * YEAR_SLOT_SIZE);
+            names = map(namesPath, (long) initialTrainers * 32);
+            cold = map(coldPath, (long) initialTrainers * 16);
+            coldEnd = COLD_START;
+            trainers.putInt(MAGIC_OFFSET, MAGIC);
+            trainers.putInt(FORMAT_OFFSET, FORMAT);
+            trainers.putLong(COLD_END_OFFSET, coldEnd);
+            log.info("Created empty workload table in {}", directory);
+        }
+
+        // until close() completes, a crash leaves the table marked dirty and recovery starts from scratch
+        trainers.putInt(CLEAN_OFFSET, 0);
+        trainers.force();
+    }
+
+    private boolean isCleanTable() {
+        if (!Files.isRegularFile(trainersPath) || !Files.isRegularFile(yearsPath) || !Files.isRegularFile(namesPath)
+                || !Files.isRegularFile(coldPath)) {
+            return false;
+        }
+        MappedByteBuffer header = map(trainersPath, HEADER_SIZE);
+        boolean clean = header.getInt(MAGIC_OFFSET) == MAGIC && header.getInt(FORMAT_OFFSET) == FORMAT
+                && header.getInt(CLEAN_OFFSET) == 1;
+        if (!clean) {
+            log.warn("Workload table in {} was not closed cleanly, discarding it", trainersPath.getParent());
+        } else if (header.getInt(TRAINER_SLOTS_OFFSET) > trainerDictionary.size()) {
+            log.warn("Workload table in {} references trainers missing from the dictionary, discarding it",
+                    trainersPath.getParent());
+            clean = false;
+        }
+        return clean;
+    }
+
+    private static MappedByteBuffer map(Path path, long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Workload table file " + path + " would exceed 2 GB");
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map workload table file " + path, e);
+        }
+    }
+
+    private static MappedByteBuffer replace(Path temporary, Path target, MappedByteBuffer grown) {
+        grown.force();
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replace workload table file " + target, e);
+        }
+        return grown;
+    }
+
+    private static Path temporaryOf(Path path) {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        delete(temporary);
+        return temporary;
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete workload table file " + path, e);
+        }
+    }
+
+    private static long fileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read size of workload table file " + path, e);
+        }
+    }
+
+    private Object lockOf(int trainerId) {
+        return trainerLocks[trainerId & (LOCK_STRIPES - 1)];
+    }
+
+    private static int recordOf(int trainerId) {
+        return HEADER_SIZE + trainerId * TRAINER_SIZE;
+    }
+
+    private static byte activeByte(Boolean isActive) {
+        return (byte) (isActive == null ? 2 : isActive ? 1 : 0);
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int percentOf(long used, long capacity) {
+        return (int) (used * 100 / capacity);
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static int hashOf(int trainerId, int year) {
+        return mix(trainerId * 31 + year);
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return (hash ^ (hash >>> 16)) & Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,155 @@
+package com.epam.trainer_session_management.stream;
+
+import com.epam.trainer_session_management.config.WorkloadStreamProperties;
+import com.epam.trainer_session_management.dto.WorkloadChangeEvent;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.WorkloadChangeListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans applied workload changes out to stream subscribers. The workload stripe only buffers the change in each
+ * matching subscription and, at most once per subscriber, hands a delivery to the delivery pool; it never waits on a
+ * client. Subscribers whose buffer overflows are dropped and have to reconnect.
+ */
+@Slf4j
+@Component
+public class WorkloadChangeBroadcaster implements WorkloadChangeListener, MeterBinder {
+
+    private static final float MINUTES_PER_HOUR = 60.0F;
+
+    private final TrainerDictionary trainerDictionary;
+    private final int bufferSize;
+    private final ExecutorService deliveryExecutor;
+    private final List<WorkloadSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public WorkloadChangeBroadcaster(TrainerDictionary trainerDictionary, WorkloadStreamProperties properties) {
+        this.trainerDictionary = trainerDictionary;
+        this.bufferSize = Math.max(1, properties.getBufferSize());
+        AtomicInteger threads = new AtomicInteger();
+        int deliveryThreads = Math.max(1, properties.getDeliveryThreads());
+        // Unbounded queue, but each subscription has at most one delivery queued or running
+        this.deliveryExecutor = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "workload-stream-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Starts streaming the changes of one trainer, or of every trainer for {@link WorkloadSubscription#ALL_TRAINERS}.
+     */
+    public WorkloadSubscription subscribe(int trainerId, WorkloadEventSink sink) {
+        WorkloadSubscription subscription = new WorkloadSubscription(trainerId, bufferSize, sink);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Stops a subscription whose client went away; the sink is not completed again.
+     */
+    public void unsubscribe(WorkloadSubscription subscription) {
+        subscription.close();
+        subscriptions.remove(subscription);
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void onWorkloadChange(WorkloadChange change) {
+        for (WorkloadSubscription subscription : subscriptions) {
+            if (!subscription.matches(change.getTrainerId())) {
+                continue;
+            }
+            switch (subscription.offer(change)) {
+                case SCHEDULE -> deliveryExecutor.execute(() -> deliver(subscription));
+                case COALESCED -> coalesced.incrementAndGet();
+                case REJECTED -> drop(subscription, "buffer full");
+                case QUEUED -> {
+                    // picked up by the delivery already scheduled
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (WorkloadSubscription subscription : subscriptions) {
+            unsubscribe(subscription);
+            subscription.sink().complete();
+        }
+        deliveryExecutor.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("workload.stream.subscribers", this, WorkloadChangeBroadcaster::subscriberCount)
+                .description("Open workload stream subscriptions")
+                .register(registry);
+        FunctionCounter.builder("workload.stream.coalesced", coalesced, AtomicLong::get)
+                .description("Workload changes merged into a change still pending for the same subscriber and month")
+                .register(registry);
+        FunctionCounter.builder("workload.stream.dropped", dropped, AtomicLong::get)
+                .description("Subscribers dropped because they fell behind or their connection failed")
+                .register(registry);
+    }
+
+    private void deliver(WorkloadSubscription subscription) {
+        List<WorkloadChange> changes;
+        while (!(changes = subscription.take()).isEmpty()) {
+            for (WorkloadChange change : changes) {
+                try {
+                    subscription.sink().send(toEvent(change));
+                } catch (IOException | RuntimeException e) {
+                    drop(subscription, e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    private void drop(WorkloadSubscription subscription, String reason) {
+        if (!subscription.close()) {
+            return;
+        }
+        subscriptions.remove(subscription);
+        dropped.incrementAndGet();
+        log.info("Dropping workload stream subscriber: {}", reason);
+        // Completing may touch the connection, so it never runs on the workload stripe
+        deliveryExecutor.execute(() -> subscription.sink().complete());
+    }
+
+    private WorkloadChangeEvent toEvent(WorkloadChange change) {
+        LocalDate date = LocalDate.ofEpochDay(change.getEpochDay());
+        return WorkloadChangeEvent.builder()
+                .sequence(change.getSequence())
+                .trainerUsername(trainerDictionary.usernameOf(change.getTrainerId()))
+                .year(String.valueOf(date.getYear()))
+                .month(date.getMonth().name())
+                .workingHours(Math.max(0, change.getMonthMinutes()) / MINUTES_PER_HOUR)
+                .deltaHours(change.getDeltaMinutes() / MINUTES_PER_HOUR)
+                .build();
+    }
+}
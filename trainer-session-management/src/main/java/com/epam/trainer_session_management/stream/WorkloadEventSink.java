@@ -0,0 +1,18 @@
+package com.epam.trainer_session_management.stream;
+
+import com.epam.trainer_session_management.dto.WorkloadChangeEvent;
+
+import java.io.IOException;
+
+/**
+ * Client end of a workload stream. Calls for one sink never overlap, but may come from different delivery threads.
+ */
+public interface WorkloadEventSink {
+
+    void send(WorkloadChangeEvent event) throws IOException;
+
+    /**
+     * Ends the stream after the subscription was dropped or the broadcaster shut down.
+     */
+    void complete();
+}
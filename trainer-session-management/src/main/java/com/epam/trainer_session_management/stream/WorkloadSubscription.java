@@ -0,0 +1,116 @@
+package com.epam.trainer_session_management.stream;
+
+import com.epam.trainer_session_management.store.WorkloadChange;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * One subscriber's bounded buffer of pending changes. Pending changes are keyed by trainer-month, so a month that
+ * changes again before the client has read it is coalesced into a single change carrying the latest total and the
+ * summed delta. A subscriber with more than {@code capacity} distinct pending months is too slow and overflows.
+ */
+public class WorkloadSubscription {
+
+    /**
+     * Trainer ID of a subscription that receives the changes of every trainer.
+     */
+    public static final int ALL_TRAINERS = -1;
+
+    enum Offer {
+        /**
+         * Merged into a pending change of the same month; a delivery is already scheduled.
+         */
+        COALESCED,
+        /**
+         * Buffered behind a delivery that is already scheduled.
+         */
+        QUEUED,
+        /**
+         * Buffered, and the caller must schedule a delivery.
+         */
+        SCHEDULE,
+        /**
+         * The buffer is full or the subscription is closed; nothing was buffered.
+         */
+        REJECTED
+    }
+
+    private final int trainerId;
+    private final int capacity;
+    private final WorkloadEventSink sink;
+
+    private LinkedHashMap<Long, WorkloadChange> pending = new LinkedHashMap<>();
+    private boolean scheduled;
+    private boolean closed;
+
+    WorkloadSubscription(int trainerId, int capacity, WorkloadEventSink sink) {
+        this.trainerId = trainerId;
+        this.capacity = capacity;
+        this.sink = sink;
+    }
+
+    boolean matches(int changedTrainerId) {
+        return trainerId == ALL_TRAINERS || trainerId == changedTrainerId;
+    }
+
+    WorkloadEventSink sink() {
+        return sink;
+    }
+
+    synchronized Offer offer(WorkloadChange change) {
+        if (closed) {
+            return Offer.REJECTED;
+        }
+        Long key = keyOf(change);
+        WorkloadChange previous = pending.get(key);
+        if (previous != null) {
+            pending.put(key, new WorkloadChange(change.getSequence(), change.getTrainerId(), change.getEpochDay(),
+                    previous.getDeltaMinutes() + change.getDeltaMinutes(), change.getMonthMinutes(),
+                    change.getTimestamp()));
+            return Offer.COALESCED;
+        }
+        if (pending.size() >= capacity) {
+            return Offer.REJECTED;
+        }
+        pending.put(key, change);
+        if (scheduled) {
+            return Offer.QUEUED;
+        }
+        scheduled = true;
+        return Offer.SCHEDULE;
+    }
+
+    /**
+     * Hands over everything pending, oldest month first. An empty result ends the scheduled delivery, so the next
+     * offer schedules a new one.
+     */
+    synchronized List<WorkloadChange> take() {
+        if (pending.isEmpty() || closed) {
+            scheduled = false;
+            return List.of();
+        }
+        List<WorkloadChange> changes = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        return changes;
+    }
+
+    /**
+     * Closes the subscription and returns whether it was still open.
+     */
+    synchronized boolean close() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        pending = new LinkedHashMap<>();
+        return true;
+    }
+
+    private static Long keyOf(WorkloadChange change) {
+        int epochMonth = (int) LocalDate.ofEpochDay(change.getEpochDay()).withDayOfMonth(1).toEpochDay();
+        return ((long) change.getTrainerId() << 32) | (epochMonth & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,56 @@
+package com.epam.trainer_session_management.compaction;
+
+import com.epam.trainer_session_management.config.WorkloadCompactionProperties;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WorkloadCompactorTest {
+
+    @Test
+    @DisplayName("Should compact every trainer's years before the retention window")
+    void shouldCompactYearsBeforeRetentionWindow() {
+        TrainerDictionary dictionary = new TrainerDictionary();
+        InMemoryTrainerWorkloadStore store = new InMemoryTrainerWorkloadStore(dictionary);
+        int anna = dictionary.register("anna");
+        int ben = dictionary.register("ben");
+        for (int year = 2018; year <= 2026; year++) {
+            store.apply(anna, "Anna", "A", true, year, 1, 60, year);
+        }
+        store.apply(ben, "Ben", "B", true, 2025, 2, 30, 1L);
+        WorkloadCompactionProperties properties = new WorkloadCompactionProperties();
+        properties.setRetentionYears(2);
+
+        WorkloadCompactor compactor = new WorkloadCompactor(properties, dictionary, store,
+                new DailyWorkloadIndex(dictionary), new WorkloadHistory(dictionary), new DurationSketches(dictionary),
+                () -> 2026);
+
+        assertEquals(7, compactor.compact());
+        assertEquals(0, compactor.compact());
+        assertEquals(60, store.getMinutes(anna, 2018, 1));
+        assertEquals(30, store.getMinutes(ben, 2025, 2));
+        TrainerWorkload copy = store.get(anna);
+        assertArrayEquals(new int[]{2018, 2019, 2020, 2021, 2022, 2023, 2024, 2025, 2026}, copy.getYears());
+    }
+
+    @Test
+    @DisplayName("Should reject a retention window without years")
+    void shouldRejectEmptyRetention() {
+        WorkloadCompactionProperties properties = new WorkloadCompactionProperties();
+        properties.setRetentionYears(0);
+        TrainerDictionary dictionary = new TrainerDictionary();
+
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadCompactor(properties, dictionary,
+                new InMemoryTrainerWorkloadStore(dictionary), new DailyWorkloadIndex(dictionary),
+                new WorkloadHistory(dictionary), new DurationSketches(dictionary), () -> 2026));
+    }
+}
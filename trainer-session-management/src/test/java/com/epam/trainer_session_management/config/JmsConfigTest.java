@@ -0,0 +1,55 @@
+package com.epam.trainer_session_management.config;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.RedeliveryPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JmsConfigTest {
+
+    private final JmsConfig jmsConfig = new JmsConfig();
+
+    @Test
+    @DisplayName("Should back off redeliveries exponentially and leave the broker one attempt past the listener")
+    void shouldBackOffRedeliveries() {
+        ListenerRedeliveryProperties properties = new ListenerRedeliveryProperties();
+        properties.setMaxRedeliveries(4);
+        properties.setInitialDelay(Duration.ofMillis(500));
+        properties.setMultiplier(3.0);
+        properties.setMaxDelay(Duration.ofSeconds(20));
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory();
+
+        jmsConfig.redeliveryPolicyCustomizer(properties).customize(connectionFactory);
+
+        RedeliveryPolicy policy = connectionFactory.getRedeliveryPolicy();
+        assertEquals(5, policy.getMaximumRedeliveries());
+        assertEquals(500L, policy.getInitialRedeliveryDelay());
+        assertTrue(policy.isUseExponentialBackOff());
+        assertEquals(3.0, policy.getBackOffMultiplier());
+        assertEquals(20_000L, policy.getMaximumRedeliveryDelay());
+        // 500 ms, then 1.5 s, 4.5 s and 13.5 s, capped at the maximum after that
+        assertEquals(1_500L, policy.getNextRedeliveryDelay(500L));
+        assertEquals(20_000L, policy.getNextRedeliveryDelay(13_500L));
+    }
+
+    @Test
+    @DisplayName("Should redeliver at a fixed delay when the multiplier does not grow it")
+    void shouldRedeliverAtFixedDelay() {
+        ListenerRedeliveryProperties properties = new ListenerRedeliveryProperties();
+        properties.setMultiplier(1.0);
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory();
+
+        jmsConfig.redeliveryPolicyCustomizer(properties).customize(connectionFactory);
+
+        RedeliveryPolicy policy = connectionFactory.getRedeliveryPolicy();
+        assertFalse(policy.isUseExponentialBackOff());
+        assertEquals(7, policy.getMaximumRedeliveries());
+        assertEquals(1_000L, policy.getNextRedeliveryDelay(1_000L));
+    }
+}
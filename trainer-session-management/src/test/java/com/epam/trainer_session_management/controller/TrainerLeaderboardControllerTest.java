@@ -0,0 +1,68 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.LeaderboardEntryResponse;
+import com.epam.trainer_session_management.dto.LeaderboardResponse;
+import com.epam.trainer_session_management.handler.GlobalExceptionHandler;
+import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TrainerLeaderboardControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TrainerWorkingHoursService trainerWorkingHoursService;
+
+    @InjectMocks
+    private TrainerLeaderboardController trainerLeaderboardController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(trainerLeaderboardController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getLeaderboard_ShouldReturnTopTrainers() throws Exception {
+        when(trainerWorkingHoursService.getLeaderboard("2024", "MARCH", 2))
+                .thenReturn(LeaderboardResponse.builder()
+                        .year("2024")
+                        .month("MARCH")
+                        .trainerCount(5)
+                        .trainers(List.of(
+                                LeaderboardEntryResponse.builder().rank(1).trainerUsername("jane.smith").workingHours(12.0f).build(),
+                                LeaderboardEntryResponse.builder().rank(2).trainerUsername("john.doe").workingHours(8.5f).build()))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/leaderboard/2024/MARCH").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainerCount").value(5))
+                .andExpect(jsonPath("$.trainers[0].trainerUsername").value("jane.smith"))
+                .andExpect(jsonPath("$.trainers[1].rank").value(2));
+    }
+
+    @Test
+    void getTrainerRank_WithInvalidMonth_ShouldReturnBadRequest() throws Exception {
+        when(trainerWorkingHoursService.getTrainerRank("john.doe", "2024", "SMARCH"))
+                .thenThrow(new IllegalArgumentException("Invalid month: SMARCH"));
+
+        mockMvc.perform(get("/api/v1/leaderboard/2024/SMARCH/john.doe"))
+                .andExpect(status().isBadRequest());
+    }
+}
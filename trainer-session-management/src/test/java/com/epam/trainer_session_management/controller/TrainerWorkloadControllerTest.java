@@ -0,0 +1,172 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.MonthWorkloadResponse;
+import com.epam.trainer_session_management.dto.TrainerDurationStatsResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchRequest;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRangeResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadSummaryResponse;
+import com.epam.trainer_session_management.dto.YearWorkloadResponse;
+import com.epam.trainer_session_management.exception.WorkloadNotFoundException;
+import com.epam.trainer_session_management.handler.GlobalExceptionHandler;
+import com.epam.trainer_session_management.service.TrainerWorkingHoursService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TrainerWorkloadControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TrainerWorkingHoursService trainerWorkingHoursService;
+
+    @InjectMocks
+    private TrainerWorkloadController trainerWorkloadController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(trainerWorkloadController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getTrainerMonthWorkload_ShouldReturnHoursWithETag() throws Exception {
+        when(trainerWorkingHoursService.getTrainerWorkloadTag("john.doe")).thenReturn("7");
+        when(trainerWorkingHoursService.getTrainerWorkingHours("john.doe", "2024", "MARCH"))
+                .thenReturn(TrainerWorkloadResponse.builder()
+                        .trainerUsername("john.doe")
+                        .year("2024")
+                        .month("MARCH")
+                        .workingHours(2.0f)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/workload/john.doe/2024/MARCH"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(jsonPath("$.month").value("MARCH"))
+                .andExpect(jsonPath("$.workingHours").value(2.0));
+    }
+
+    @Test
+    void getTrainerMonthDurations_ShouldReturnPercentilesWithETag() throws Exception {
+        when(trainerWorkingHoursService.getTrainerDurationStatsTag("john.doe")).thenReturn("7");
+        when(trainerWorkingHoursService.getTrainerDurationStats("john.doe", "2024", "MARCH"))
+                .thenReturn(TrainerDurationStatsResponse.builder()
+                        .trainerUsername("john.doe")
+                        .year("2024")
+                        .month("MARCH")
+                        .sessions(12L)
+                        .p50(60.0f)
+                        .p90(90.0f)
+                        .p99(120.0f)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/workload/john.doe/2024/MARCH/durations"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(jsonPath("$.sessions").value(12))
+                .andExpect(jsonPath("$.p90").value(90.0));
+    }
+
+    @Test
+    void getTrainerYearWorkload_ShouldReturnAllMonths() throws Exception {
+        when(trainerWorkingHoursService.getTrainerWorkloadTag("john.doe")).thenReturn("3");
+        when(trainerWorkingHoursService.getTrainerWorkloadSummary("john.doe", "2024"))
+                .thenReturn(TrainerWorkloadSummaryResponse.builder()
+                        .trainerUsername("john.doe")
+                        .years(List.of(YearWorkloadResponse.builder()
+                                .year("2024")
+                                .workingHours(1.5f)
+                                .months(List.of(MonthWorkloadResponse.builder().month("JANUARY").workingHours(1.5f).build()))
+                                .build()))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/workload/john.doe/2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.years[0].year").value("2024"))
+                .andExpect(jsonPath("$.years[0].months[0].month").value("JANUARY"));
+    }
+
+    @Test
+    void getTrainerRangeWorkload_ShouldReturnHoursBetweenDates() throws Exception {
+        when(trainerWorkingHoursService.getTrainerWorkloadTag("john.doe")).thenReturn("4");
+        when(trainerWorkingHoursService.getTrainerWorkingHoursBetween("john.doe",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(TrainerWorkloadRangeResponse.builder()
+                        .trainerUsername("john.doe")
+                        .from("2024-01-01")
+                        .to("2024-03-31")
+                        .workingHours(12.5f)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/workload/john.doe/range")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workingHours").value(12.5));
+    }
+
+    @Test
+    void getTrainerWorkloadBatch_ShouldReturnColumnarHours() throws Exception {
+        when(trainerWorkingHoursService.getTrainerWorkloadBatch(any(TrainerWorkloadBatchRequest.class)))
+                .thenReturn(TrainerWorkloadBatchResponse.builder()
+                        .months(List.of("2024-01", "2024-02"))
+                        .trainerUsernames(List.of("john.doe"))
+                        .trainerIds(new int[]{5})
+                        .workingHours(new float[][]{{1.5f, 0f}})
+                        .missingTrainerUsernames(List.of("ghost"))
+                        .build());
+
+        mockMvc.perform(post("/api/v1/workload/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"trainerUsernames\":[\"john.doe\",\"ghost\"],"
+                                + "\"from\":\"2024-01\",\"to\":\"2024-02\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainerIds[0]").value(5))
+                .andExpect(jsonPath("$.workingHours[0][0]").value(1.5))
+                .andExpect(jsonPath("$.missingTrainerUsernames[0]").value("ghost"));
+    }
+
+    @Test
+    void getTrainerWorkload_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        when(trainerWorkingHoursService.getTrainerWorkloadTag("john.doe")).thenReturn("7");
+
+        mockMvc.perform(get("/api/v1/workload/john.doe").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified());
+
+        verify(trainerWorkingHoursService, never()).getTrainerWorkloadSummary("john.doe");
+    }
+
+    @Test
+    void getTrainerWorkload_WithUnknownTrainer_ShouldReturnNotFound() throws Exception {
+        when(trainerWorkingHoursService.getTrainerWorkloadTag("ghost"))
+                .thenThrow(new WorkloadNotFoundException("Trainer not found: ghost"));
+
+        mockMvc.perform(get("/api/v1/workload/ghost"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Trainer not found: ghost"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.epam.trainer_session_management.controller;
+
+import com.epam.trainer_session_management.dto.WorkloadReplayResponse;
+import com.epam.trainer_session_management.enums.ReplaySource;
+import com.epam.trainer_session_management.exception.WorkloadOperationInProgressException;
+import com.epam.trainer_session_management.handler.GlobalExceptionHandler;
+import com.epam.trainer_session_management.service.WorkloadReplayService;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadReplayControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private WorkloadReplayService workloadReplayService;
+
+    @InjectMocks
+    private WorkloadReplayController workloadReplayController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(workloadReplayController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void replay_ShouldReturnCounts() throws Exception {
+        when(workloadReplayService.replay(ReplaySource.DEAD_LETTER, 50))
+                .thenReturn(WorkloadReplayResponse.builder()
+                        .source("dead-letter")
+                        .replayed(48)
+                        .parked(2)
+                        .durationMillis(120L)
+                        .build());
+
+        mockMvc.perform(post("/api/v1/workload/replay").param("source", "dead-letter").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.replayed").value(48))
+                .andExpect(jsonPath("$.parked").value(2));
+    }
+
+    @Test
+    void replay_WhileAnotherReplayRuns_ShouldReturnConflict() throws Exception {
+        when(workloadReplayService.replay(ReplaySource.PARKING, 1000))
+                .thenThrow(new WorkloadOperationInProgressException("A workload replay is already running"));
+
+        mockMvc.perform(post("/api/v1/workload/replay"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorMessage").value("A workload replay is already running"));
+    }
+
+    @Test
+    void replay_WithUnexpectedState_ShouldNotReturnConflict() {
+        when(workloadReplayService.replay(ReplaySource.PARKING, 1000))
+                .thenThrow(new IllegalStateException("Workload journal is not open"));
+
+        // left to the container as a server error rather than reported as a conflicting request
+        assertThrows(ServletException.class, () -> mockMvc.perform(post("/api/v1/workload/replay")));
+    }
+}
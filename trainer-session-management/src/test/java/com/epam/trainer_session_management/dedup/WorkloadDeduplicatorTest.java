@@ -0,0 +1,81 @@
+package com.epam.trainer_session_management.dedup;
+
+import com.epam.trainer_session_management.config.WorkloadDedupProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadDeduplicatorTest {
+
+    private long now;
+    private WorkloadDedupProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        now = 1_000_000L;
+        properties = new WorkloadDedupProperties();
+        properties.setCapacity(1_000);
+        properties.setWindow(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Should report an event as duplicate only after it was recorded")
+    void shouldDetectRecordedEvent() {
+        WorkloadDeduplicator deduplicator = new WorkloadDeduplicator(properties, () -> now);
+
+        assertFalse(deduplicator.isDuplicate("event-1"));
+        deduplicator.record("event-1");
+
+        assertTrue(deduplicator.isDuplicate("event-1"));
+        assertFalse(deduplicator.isDuplicate("event-2"));
+        assertFalse(deduplicator.isDuplicate(null));
+    }
+
+    @Test
+    @DisplayName("Should forget events older than the window")
+    void shouldExpireOldEvents() {
+        WorkloadDeduplicator deduplicator = new WorkloadDeduplicator(properties, () -> now);
+        deduplicator.record("event-1");
+
+        now += Duration.ofMinutes(9).toMillis();
+        assertTrue(deduplicator.isDuplicate("event-1"));
+
+        now += Duration.ofMinutes(2).toMillis();
+        assertFalse(deduplicator.isDuplicate("event-1"));
+        assertEquals(0, deduplicator.size());
+    }
+
+    @Test
+    @DisplayName("Should keep a fixed number of IDs and still find every retained one")
+    void shouldEvictOldestWhenFull() {
+        WorkloadDeduplicator deduplicator = new WorkloadDeduplicator(properties, () -> now);
+        UUID[] ids = new UUID[5_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID();
+            deduplicator.record(ids[i].toString());
+        }
+
+        assertEquals(1_000, deduplicator.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i >= ids.length - 1_000, deduplicator.isDuplicate(ids[i].toString()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should never drop events when disabled")
+    void shouldPassEverythingWhenDisabled() {
+        properties.setEnabled(false);
+        WorkloadDeduplicator deduplicator = new WorkloadDeduplicator(properties, () -> now);
+
+        deduplicator.record("event-1");
+
+        assertFalse(deduplicator.isDuplicate("event-1"));
+    }
+}
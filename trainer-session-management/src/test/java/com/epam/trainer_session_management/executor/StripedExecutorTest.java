@@ -0,0 +1,131 @@
+package com.epam.trainer_session_management.executor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedExecutorTest {
+
+    private StripedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new StripedExecutor("test-stripe", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should keep submission order for items sharing a key")
+    void shouldKeepOrderPerKey() {
+        List<int[]> items = new ArrayList<>();
+        IntStream.range(0, 10_000).forEach(i -> items.add(new int[]{i % 17, i}));
+        Map<Integer, List<Integer>> seen = new ConcurrentHashMap<>();
+
+        executor.executeAll(items, item -> "trainer-" + item[0],
+                item -> seen.computeIfAbsent(item[0], key -> Collections.synchronizedList(new ArrayList<>())).add(item[1]));
+
+        assertEquals(17, seen.size());
+        seen.forEach((key, values) -> {
+            for (int i = 1; i < values.size(); i++) {
+                assertEquals(values.get(i - 1) + 17, values.get(i));
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should map a key to the same stripe every time")
+    void shouldMapKeyToStableStripe() {
+        int stripe = executor.stripeOf("john.doe");
+
+        assertEquals(stripe, executor.stripeOf("john.doe"));
+        assertEquals(4, executor.stripes());
+    }
+
+    @Test
+    @DisplayName("Should rethrow failures after every stripe has finished")
+    void shouldPropagateFailure() {
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        assertThrows(CompletionException.class, () -> executor.executeAll(List.of("a", "b", "c", "d", "e"), item -> item,
+                item -> {
+                    if (item.equals("c")) {
+                        throw new IllegalStateException("boom");
+                    }
+                    processed.add(item);
+                }));
+        assertEquals(4, processed.size());
+    }
+
+    @Test
+    @DisplayName("Should run a call after the tasks already queued for its key and rethrow its failure as thrown")
+    void shouldOrderCallWithQueuedTasks() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        executor.submit("john.doe", () -> {
+            sleep(50);
+            order.add("queued");
+        });
+
+        String result = executor.call("john.doe", () -> {
+            order.add("call");
+            return executor.call("john.doe", () -> "nested");
+        });
+
+        assertEquals("nested", result);
+        assertEquals(List.of("queued", "call"), order);
+        assertThrows(IllegalArgumentException.class, () -> executor.call("john.doe", () -> {
+            throw new IllegalArgumentException("poison");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should report the last sampled utilization however often the gauge is read")
+    void shouldReportLastSampledUtilization() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+        String key = "john.doe";
+        Gauge gauge = registry.get("workload.stripe.utilization")
+                .tag("stripe", String.valueOf(executor.stripeOf(key)))
+                .gauge();
+
+        executor.call(key, () -> {
+            sleep(100);
+            return null;
+        });
+        executor.sampleUtilization();
+        double sampled = gauge.value();
+
+        assertTrue(sampled > 0.0);
+        assertEquals(sampled, gauge.value());
+        sleep(20);
+        assertEquals(sampled, gauge.value());
+        executor.sampleUtilization();
+        assertEquals(0.0, gauge.value());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
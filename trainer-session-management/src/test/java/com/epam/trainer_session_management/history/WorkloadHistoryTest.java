@@ -0,0 +1,180 @@
+package com.epam.trainer_session_management.history;
+
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadHistoryTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private TrainerDictionary dictionary;
+    private WorkloadHistory history;
+    private int anna;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        history = new WorkloadHistory(dictionary);
+        anna = dictionary.register("anna");
+    }
+
+    @Test
+    @DisplayName("Should answer the hours of a month as they stood before a late DELETE")
+    void shouldAnswerBeforeLateDelete() {
+        history.onWorkloadChange(change(1, anna, LocalDate.of(2024, 3, 4), 120, START));
+        history.onWorkloadChange(change(2, anna, LocalDate.of(2024, 3, 9), 60, START + 1_000));
+        history.onWorkloadChange(change(3, anna, LocalDate.of(2024, 4, 1), 30, START + 2_000));
+        history.onWorkloadChange(change(4, anna, LocalDate.of(2024, 3, 4), -120, START + 3_000));
+
+        assertEquals(0, history.minutesAsOf(anna, 2024, 3, START - 1));
+        assertEquals(120, history.minutesAsOf(anna, 2024, 3, START));
+        assertEquals(180, history.minutesAsOf(anna, 2024, 3, START + 2_999));
+        assertEquals(60, history.minutesAsOf(anna, 2024, 3, START + 3_000));
+        assertEquals(30, history.minutesAsOf(anna, 2024, 4, Long.MAX_VALUE));
+        assertEquals(0, history.minutesAsOf(dictionary.register("ben"), 2024, 3, Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should match a full replay at every point across many checkpoints")
+    void shouldMatchReplayAcrossCheckpoints() {
+        Random random = new Random(7);
+        int events = WorkloadHistory.CHECKPOINT_INTERVAL * 20 + 17;
+        long[] timestamps = new long[events];
+        int[] days = new int[events];
+        int[] deltas = new int[events];
+        long timestamp = START;
+        for (int i = 0; i < events; i++) {
+            timestamp += random.nextInt(3) * 1_000L;
+            timestamps[i] = timestamp;
+            days[i] = (int) LocalDate.of(2023, 1, 1).plusDays(random.nextInt(730)).toEpochDay();
+            deltas[i] = random.nextInt(200) - 60;
+            history.onWorkloadChange(change(i + 1, anna, LocalDate.ofEpochDay(days[i]), deltas[i], timestamps[i]));
+        }
+
+        for (int probe = 0; probe < 200; probe++) {
+            long asOf = START + random.nextInt((int) (timestamp - START) + 2_000) - 1_000;
+            LocalDate month = LocalDate.of(2023, 1, 1).plusMonths(random.nextInt(24));
+            assertEquals(replay(month, asOf, timestamps, days, deltas),
+                    history.minutesAsOf(anna, month.getYear(), month.getMonthValue(), asOf));
+        }
+        assertEquals(events, history.eventCount(anna));
+    }
+
+    @Test
+    @DisplayName("Should keep answering after a clock step back and a snapshot round trip")
+    void shouldSurviveClockStepBackAndSnapshot() throws IOException {
+        LocalDate march = LocalDate.of(2024, 3, 4);
+        for (int i = 0; i < WorkloadHistory.CHECKPOINT_INTERVAL + 5; i++) {
+            history.onWorkloadChange(change(i + 1, anna, march, 10, START + i * 1_000L));
+        }
+        history.onWorkloadChange(change(500, anna, march, 10, START));
+        // already seen, as during a journal replay over a restored section
+        history.onWorkloadChange(change(3, anna, march, 10, START + 999_999));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        history.writeSection(new DataOutputStream(bytes));
+        TrainerDictionary restoredDictionary = new TrainerDictionary();
+        restoredDictionary.register("ben");
+        WorkloadHistory restored = new WorkloadHistory(restoredDictionary);
+        restored.readSection(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        int restoredAnna = restoredDictionary.find("anna");
+
+        for (WorkloadHistory subject : new WorkloadHistory[]{history, restored}) {
+            int trainerId = subject == history ? anna : restoredAnna;
+            assertEquals(WorkloadHistory.CHECKPOINT_INTERVAL + 6, subject.eventCount(trainerId));
+            assertEquals(100, subject.minutesAsOf(trainerId, 2024, 3, START + 9_000));
+            assertEquals((WorkloadHistory.CHECKPOINT_INTERVAL + 6) * 10,
+                    subject.minutesAsOf(trainerId, 2024, 3, Long.MAX_VALUE));
+        }
+        restored.onWorkloadChange(change(501, restoredAnna, march, 10, START + 2_000_000));
+        assertEquals((WorkloadHistory.CHECKPOINT_INTERVAL + 7) * 10,
+                restored.minutesAsOf(restoredAnna, 2024, 3, Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should match a full replay after compacting old months, including late changes to them")
+    void shouldMatchReplayAfterCompaction() {
+        Random random = new Random(13);
+        int events = WorkloadHistory.CHECKPOINT_INTERVAL * 20 + 17;
+        long[] timestamps = new long[events];
+        int[] days = new int[events];
+        int[] deltas = new int[events];
+        long timestamp = START;
+        for (int i = 0; i < events; i++) {
+            if (i == events / 2) {
+                assertEquals(12, history.compact(anna, 2024));
+                assertEquals(0, history.compact(anna, 2024));
+            }
+            timestamp += random.nextInt(3) * 1_000L;
+            timestamps[i] = timestamp;
+            days[i] = (int) LocalDate.of(2023, 1, 1).plusDays(random.nextInt(730)).toEpochDay();
+            deltas[i] = random.nextInt(200) - 60;
+            history.onWorkloadChange(change(i + 1, anna, LocalDate.ofEpochDay(days[i]), deltas[i], timestamps[i]));
+        }
+
+        for (int probe = 0; probe < 300; probe++) {
+            long asOf = START + random.nextInt((int) (timestamp - START) + 2_000) - 1_000;
+            LocalDate month = LocalDate.of(2023, 1, 1).plusMonths(random.nextInt(24));
+            assertEquals(replay(month, asOf, timestamps, days, deltas),
+                    history.minutesAsOf(anna, month.getYear(), month.getMonthValue(), asOf));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop copying compacted months into every new checkpoint")
+    void shouldShrinkCheckpointsOfCompactedMonths() {
+        WorkloadHistory uncompacted = new WorkloadHistory(dictionary);
+        int events = 0;
+        for (int month = 1; month <= 12; month++) {
+            events++;
+            WorkloadChange change = change(events, anna, LocalDate.of(2023, month, 1), month, START + events);
+            history.onWorkloadChange(change);
+            uncompacted.onWorkloadChange(change);
+        }
+        history.compact(anna, 2024);
+        for (int i = 0; i < WorkloadHistory.CHECKPOINT_INTERVAL * 10; i++) {
+            events++;
+            WorkloadChange change = change(events, anna, LocalDate.of(2025, 1, 1).plusDays(i % 365), 30,
+                    START + events);
+            history.onWorkloadChange(change);
+            uncompacted.onWorkloadChange(change);
+        }
+
+        assertTrue(history.footprintBytes() < uncompacted.footprintBytes());
+        for (int month = 1; month <= 12; month++) {
+            assertEquals(month, history.minutesAsOf(anna, 2023, month, Long.MAX_VALUE));
+            assertEquals(month, history.minutesAsOf(anna, 2023, month, START + 20));
+        }
+    }
+
+    private static int replay(LocalDate month, long asOf, long[] timestamps, int[] days, int[] deltas) {
+        Map<Integer, Integer> totals = new HashMap<>();
+        for (int i = 0; i < timestamps.length && timestamps[i] <= asOf; i++) {
+            LocalDate day = LocalDate.ofEpochDay(days[i]);
+            int key = day.getYear() * 12 + day.getMonthValue();
+            totals.merge(key, deltas[i], Integer::sum);
+        }
+        return Math.max(0, totals.getOrDefault(month.getYear() * 12 + month.getMonthValue(), 0));
+    }
+
+    private static WorkloadChange change(long sequence, int trainerId, LocalDate date, int deltaMinutes,
+                                         long timestamp) {
+        return new WorkloadChange(sequence, trainerId, (int) date.toEpochDay(), deltaMinutes, 0, timestamp);
+    }
+}
@@ -0,0 +1,127 @@
+package com.epam.trainer_session_management.index;
+
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DailyWorkloadIndexTest {
+
+    private TrainerDictionary dictionary;
+    private DailyWorkloadIndex index;
+    private int trainerId;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        index = new DailyWorkloadIndex(dictionary);
+        trainerId = dictionary.register("john.doe");
+    }
+
+    @Test
+    @DisplayName("Should match a linear scan for random ranges")
+    void shouldMatchLinearScan() {
+        LocalDate start = LocalDate.of(2022, 1, 1);
+        int[] days = new int[3 * 366];
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            int offset = random.nextInt(days.length);
+            int delta = random.nextInt(120) - 30;
+            days[offset] += delta;
+            index.onWorkloadChange(change(i + 1, start.plusDays(offset), delta));
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            int from = random.nextInt(days.length);
+            int to = from + random.nextInt(days.length - from);
+            long expected = 0;
+            for (int day = from; day <= to; day++) {
+                expected += days[day];
+            }
+            assertEquals(Math.max(0L, expected), index.sumMinutes(trainerId, start.plusDays(from), start.plusDays(to)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore changes it has already seen")
+    void shouldIgnoreReplayedChanges() {
+        index.onWorkloadChange(change(5, LocalDate.of(2024, 5, 1), 60));
+        index.onWorkloadChange(change(5, LocalDate.of(2024, 5, 1), 60));
+        index.onWorkloadChange(change(3, LocalDate.of(2024, 5, 1), 60));
+
+        assertEquals(60, index.sumMinutes(trainerId, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 1)));
+    }
+
+    @Test
+    @DisplayName("Should survive a write and read of its snapshot section")
+    void shouldRoundTripSection() throws IOException {
+        index.onWorkloadChange(change(1, LocalDate.of(2023, 12, 31), 45));
+        index.onWorkloadChange(change(2, LocalDate.of(2024, 2, 29), 30));
+        index.onWorkloadChange(change(3, LocalDate.of(2024, 12, 31), 15));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeSection(new DataOutputStream(bytes));
+        TrainerDictionary restoredDictionary = new TrainerDictionary();
+        restoredDictionary.register("jane.smith");
+        DailyWorkloadIndex restored = new DailyWorkloadIndex(restoredDictionary);
+        restored.readSection(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        int restoredId = restoredDictionary.find("john.doe");
+
+        assertEquals(90, restored.sumMinutes(restoredId, LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertEquals(30, restored.sumMinutes(restoredId, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)));
+        restored.onWorkloadChange(new WorkloadChange(3, restoredId, (int) LocalDate.of(2024, 12, 31).toEpochDay(),
+                15, 0));
+        assertEquals(15, restored.sumMinutes(restoredId, LocalDate.of(2024, 12, 31), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    @DisplayName("Should keep answering for compacted years, after a late change and a snapshot round trip")
+    void shouldAnswerForCompactedYears() throws IOException {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        int[] days = new int[5 * 366];
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            int offset = random.nextInt(days.length);
+            int delta = random.nextInt(120) - 30;
+            days[offset] += delta;
+            index.onWorkloadChange(change(i + 1, start.plusDays(offset), delta));
+        }
+
+        assertEquals(3, index.compact(trainerId, 2023));
+        assertEquals(0, index.compact(trainerId, 2023));
+        int late = (int) (LocalDate.of(2021, 6, 1).toEpochDay() - start.toEpochDay());
+        days[late] += 45;
+        index.onWorkloadChange(change(5_000, start.plusDays(late), 45));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeSection(new DataOutputStream(bytes));
+        DailyWorkloadIndex restored = new DailyWorkloadIndex(dictionary);
+        restored.readSection(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(days.length);
+            int to = from + random.nextInt(days.length - from);
+            long expected = 0;
+            for (int day = from; day <= to; day++) {
+                expected += days[day];
+            }
+            assertEquals(Math.max(0L, expected), index.sumMinutes(trainerId, start.plusDays(from), start.plusDays(to)));
+            assertEquals(Math.max(0L, expected),
+                    restored.sumMinutes(trainerId, start.plusDays(from), start.plusDays(to)));
+        }
+    }
+
+    private WorkloadChange change(long sequence, LocalDate date, int deltaMinutes) {
+        return new WorkloadChange(sequence, trainerId, (int) date.toEpochDay(), deltaMinutes, 0);
+    }
+}
@@ -0,0 +1,138 @@
+package com.epam.trainer_session_management.index;
+
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonthlyLeaderboardTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2024, 3, 10);
+
+    private TrainerDictionary dictionary;
+    private MonthlyLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        leaderboard = new MonthlyLeaderboard(dictionary);
+    }
+
+    @Test
+    @DisplayName("Should share ranks between trainers with equal minutes")
+    void shouldRankWithTies() {
+        leaderboard.onWorkloadChange(change("anna", MARCH, 120));
+        leaderboard.onWorkloadChange(change("ben", MARCH, 60));
+        leaderboard.onWorkloadChange(change("carl", MARCH, 120));
+        leaderboard.onWorkloadChange(change("dora", MARCH, 30));
+
+        List<RankedTrainer> top = leaderboard.top(2024, 3, 3);
+
+        assertEquals(List.of("anna", "carl", "ben"),
+                top.stream().map(trainer -> dictionary.usernameOf(trainer.getTrainerId())).toList());
+        assertEquals(List.of(1, 1, 3), top.stream().map(RankedTrainer::getRank).toList());
+        assertEquals(4, leaderboard.rankOf(dictionary.find("dora"), 2024, 3).getRank());
+        assertNull(leaderboard.rankOf(dictionary.find("dora"), 2024, 4));
+    }
+
+    @Test
+    @DisplayName("Should follow month totals as they change, including very large ones")
+    void shouldTrackUpdatedTotals() {
+        leaderboard.onWorkloadChange(change("anna", MARCH, 100));
+        leaderboard.onWorkloadChange(change("ben", MARCH, 200));
+        leaderboard.onWorkloadChange(change("anna", MARCH, 50_000));
+
+        assertEquals(1, leaderboard.rankOf(dictionary.find("anna"), 2024, 3).getRank());
+        assertEquals(2, leaderboard.rankOf(dictionary.find("ben"), 2024, 3).getRank());
+        assertEquals(2, leaderboard.trainerCount(2024, 3));
+    }
+
+    @Test
+    @DisplayName("Should rank month totals near the int range without sizing anything by them")
+    void shouldRankExtremeTotals() {
+        leaderboard.onWorkloadChange(change("anna", MARCH, Integer.MAX_VALUE));
+        leaderboard.onWorkloadChange(change("ben", MARCH, Integer.MAX_VALUE - 1));
+        leaderboard.onWorkloadChange(change("carl", MARCH, Integer.MAX_VALUE));
+        leaderboard.onWorkloadChange(change("dora", MARCH, -5));
+
+        assertEquals(1, leaderboard.rankOf(dictionary.find("carl"), 2024, 3).getRank());
+        assertEquals(3, leaderboard.rankOf(dictionary.find("ben"), 2024, 3).getRank());
+        assertEquals(0, leaderboard.rankOf(dictionary.find("dora"), 2024, 3).getMinutes());
+        assertEquals(List.of(1, 1, 3, 4), leaderboard.top(2024, 3, 10).stream().map(RankedTrainer::getRank).toList());
+
+        leaderboard.onWorkloadChange(change("anna", MARCH, 10));
+
+        assertEquals(3, leaderboard.rankOf(dictionary.find("anna"), 2024, 3).getRank());
+        assertEquals(4, leaderboard.trainerCount(2024, 3));
+    }
+
+    @Test
+    @DisplayName("Should stay consistent under concurrent updates from many threads")
+    void shouldStayConsistentUnderConcurrency() throws InterruptedException {
+        int[] finalMinutes = new int[200];
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread;
+            executor.execute(() -> {
+                Random random = new Random(offset);
+                for (int trainer = offset; trainer < finalMinutes.length; trainer += 8) {
+                    for (int update = 0; update < 50; update++) {
+                        finalMinutes[trainer] = random.nextInt(5_000);
+                        leaderboard.onWorkloadChange(change("trainer-" + trainer, MARCH, finalMinutes[trainer]));
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (int trainer = 0; trainer < finalMinutes.length; trainer++) {
+            int better = 0;
+            for (int minutes : finalMinutes) {
+                if (minutes > finalMinutes[trainer]) {
+                    better++;
+                }
+            }
+            assertEquals(better + 1, leaderboard.rankOf(dictionary.find("trainer-" + trainer), 2024, 3).getRank());
+        }
+        assertEquals(finalMinutes.length, leaderboard.top(2024, 3, 1_000).size());
+    }
+
+    @Test
+    @DisplayName("Should survive a write and read of its snapshot section")
+    void shouldRoundTripSection() throws IOException {
+        leaderboard.onWorkloadChange(change("anna", MARCH, 120));
+        leaderboard.onWorkloadChange(change("ben", LocalDate.of(2023, 12, 1), 60));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        leaderboard.writeSection(new DataOutputStream(bytes));
+        TrainerDictionary restoredDictionary = new TrainerDictionary();
+        restoredDictionary.register("ben");
+        MonthlyLeaderboard restored = new MonthlyLeaderboard(restoredDictionary);
+        restored.readSection(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(120, restored.rankOf(restoredDictionary.find("anna"), 2024, 3).getMinutes());
+        assertEquals(60, restored.top(2023, 12, 5).get(0).getMinutes());
+    }
+
+    private WorkloadChange change(String trainerUsername, LocalDate date, int monthMinutes) {
+        return new WorkloadChange(0L, dictionary.register(trainerUsername), (int) date.toEpochDay(), 0, monthMinutes);
+    }
+}
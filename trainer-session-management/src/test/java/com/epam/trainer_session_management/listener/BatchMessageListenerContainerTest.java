@@ -0,0 +1,128 @@
+package com.epam.trainer_session_management.listener;
+
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.listener.SessionAwareMessageListener;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchMessageListenerContainerTest {
+
+    private static final Object INVOKER = new Object();
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private MessageConsumer consumer;
+
+    @Mock
+    private BatchMessageListener batchMessageListener;
+
+    @Mock
+    private SessionAwareMessageListener<Message> singleMessageListener;
+
+    private BatchMessageListenerContainer container;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        container = new BatchMessageListenerContainer() {
+            // the invoker bookkeeping belongs to the real consumer threads
+            @Override
+            protected void messageReceived(Object invoker, Session session) {
+            }
+
+            @Override
+            protected void noMessageReceived(Object invoker, Session session) {
+            }
+        };
+        container.setConnectionFactory(mock(ConnectionFactory.class));
+        container.setSessionTransacted(true);
+        container.setAcceptMessagesWhileStopping(true);
+        container.setMessageListener(singleMessageListener);
+        container.setBatchMessageListener(batchMessageListener);
+        container.setBatchSize(10);
+        container.setBatchTimeoutMillis(0);
+        when(session.getTransacted()).thenReturn(true);
+    }
+
+    @Test
+    void doReceiveAndExecute_WithRedeliveredFirstMessage_ShouldHandleItAlone() throws Exception {
+        Message redelivered = message(true);
+        when(consumer.receive(anyLong())).thenReturn(redelivered);
+
+        container.doReceiveAndExecute(INVOKER, session, consumer, null);
+
+        verify(singleMessageListener).onMessage(redelivered, session);
+        verify(consumer, never()).receiveNoWait();
+        verify(batchMessageListener, never()).onMessages(any(), any());
+        verify(session).commit();
+    }
+
+    @Test
+    void doReceiveAndExecute_WithRedeliveredMessageWhileDraining_ShouldEndBatchAndHandleItAlone() throws Exception {
+        Message first = message(false);
+        Message second = message(false);
+        Message redelivered = message(true);
+        when(consumer.receive(anyLong())).thenReturn(first);
+        when(consumer.receiveNoWait()).thenReturn(second, redelivered);
+
+        container.doReceiveAndExecute(INVOKER, session, consumer, null);
+
+        verify(singleMessageListener).onMessage(redelivered, session);
+        verify(batchMessageListener).onMessages(List.of(first, second), session);
+        verify(consumer, times(2)).receiveNoWait();
+        verify(session).commit();
+    }
+
+    @Test
+    void doReceiveAndExecute_AfterFailedBatch_ShouldHandleEveryRedeliveredMessageAlone() throws Exception {
+        Message first = message(false);
+        Message second = message(false);
+        when(consumer.receive(anyLong())).thenReturn(first);
+        when(consumer.receiveNoWait()).thenReturn(second, null);
+        doThrow(new IllegalStateException("boom")).when(batchMessageListener).onMessages(any(), any());
+
+        container.doReceiveAndExecute(INVOKER, session, consumer, null);
+
+        verify(session).rollback();
+        verify(session, never()).commit();
+
+        // the broker hands the rolled-back messages back flagged as redelivered, to whichever consumer asks first
+        Message firstAgain = message(true);
+        Message secondAgain = message(true);
+        when(consumer.receive(anyLong())).thenReturn(firstAgain, secondAgain);
+
+        container.doReceiveAndExecute(INVOKER, session, consumer, null);
+        container.doReceiveAndExecute(INVOKER, session, consumer, null);
+
+        verify(singleMessageListener).onMessage(firstAgain, session);
+        verify(singleMessageListener).onMessage(secondAgain, session);
+        verify(batchMessageListener, times(1)).onMessages(any(), any());
+        verify(session, times(2)).commit();
+    }
+
+    private static Message message(boolean redelivered) throws JMSException {
+        Message message = mock(Message.class);
+        when(message.getJMSRedelivered()).thenReturn(redelivered);
+        return message;
+    }
+}
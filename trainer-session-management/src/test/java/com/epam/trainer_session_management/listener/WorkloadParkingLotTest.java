@@ -0,0 +1,179 @@
+package com.epam.trainer_session_management.listener;
+
+import com.epam.trainer_session_management.config.ListenerRedeliveryProperties;
+import com.epam.trainer_session_management.config.ParkingLotProperties;
+import com.epam.trainer_session_management.metrics.MessageMetrics;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.MapMessage;
+import jakarta.jms.MessageFormatException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.support.converter.MessageConversionException;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadParkingLotTest {
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private MessageProducer producer;
+
+    @Mock
+    private MessageMetrics messageMetrics;
+
+    private WorkloadParkingLot parkingLot;
+
+    @BeforeEach
+    void setUp() {
+        ListenerRedeliveryProperties redeliveryProperties = new ListenerRedeliveryProperties();
+        redeliveryProperties.setMaxRedeliveries(6);
+        parkingLot = new WorkloadParkingLot(new ParkingLotProperties(), redeliveryProperties, messageMetrics);
+    }
+
+    @Test
+    void isPoison_ShouldOnlyClassifyFailuresARedeliveryCannotFix() {
+        assertTrue(WorkloadParkingLot.isPoison(new IllegalArgumentException("Trainer username is required")));
+        assertTrue(WorkloadParkingLot.isPoison(new MessageConversionException("Unreadable body")));
+        assertTrue(WorkloadParkingLot.isPoison(new MessageFormatException("Not a text message")));
+        assertFalse(WorkloadParkingLot.isPoison(new IllegalStateException("Workload journal is not open")));
+        assertFalse(WorkloadParkingLot.isPoison(new JMSException("Connection lost")));
+    }
+
+    @Test
+    void shouldPark_WithPoisonFailure_ShouldParkOnFirstDelivery() throws JMSException {
+        TextMessage message = mock(TextMessage.class);
+
+        assertTrue(parkingLot.shouldPark(message, new IllegalArgumentException("Trainer username is required")));
+        // classified by the failure alone, however often the message was delivered
+        verify(message, never()).getIntProperty(anyString());
+    }
+
+    @Test
+    void shouldPark_WithTransientFailure_ShouldParkOnlyTheLastAttempt() throws JMSException {
+        TextMessage sixth = mock(TextMessage.class);
+        when(sixth.propertyExists("JMSXDeliveryCount")).thenReturn(true);
+        when(sixth.getIntProperty("JMSXDeliveryCount")).thenReturn(6);
+        TextMessage seventh = mock(TextMessage.class);
+        when(seventh.propertyExists("JMSXDeliveryCount")).thenReturn(true);
+        when(seventh.getIntProperty("JMSXDeliveryCount")).thenReturn(7);
+        RuntimeException failure = new IllegalStateException("Workload journal is not open");
+
+        assertFalse(parkingLot.shouldPark(sixth, failure));
+        assertTrue(parkingLot.shouldPark(seventh, failure));
+    }
+
+    @Test
+    void shouldPark_WithoutDeliveryCount_ShouldCountARedeliveryAsSecondDelivery() throws JMSException {
+        TextMessage redelivered = mock(TextMessage.class);
+        when(redelivered.getJMSRedelivered()).thenReturn(true);
+        ListenerRedeliveryProperties oneRedelivery = new ListenerRedeliveryProperties();
+        oneRedelivery.setMaxRedeliveries(1);
+        WorkloadParkingLot strictParkingLot = new WorkloadParkingLot(new ParkingLotProperties(), oneRedelivery,
+                messageMetrics);
+
+        assertTrue(strictParkingLot.shouldPark(redelivered, new IllegalStateException("Store is full")));
+        assertFalse(parkingLot.shouldPark(redelivered, new IllegalStateException("Store is full")));
+    }
+
+    @Test
+    void park_ShouldCopyBodyPropertiesAndGroupToParkingQueue() throws JMSException {
+        TextMessage message = mock(TextMessage.class);
+        when(message.getText()).thenReturn("{\"trainerUsername\":\"\"}");
+        when(message.getPropertyNames()).thenReturn(Collections.enumeration(
+                List.of("eventId", "_type", "JMSXGroupID", "JMSXDeliveryCount")));
+        when(message.getObjectProperty("eventId")).thenReturn("evt-1");
+        when(message.getObjectProperty("_type")).thenReturn("TrainerWorkloadRequest");
+        when(message.propertyExists("JMSXGroupID")).thenReturn(true);
+        when(message.getStringProperty("JMSXGroupID")).thenReturn("jane.smith");
+        when(message.getJMSCorrelationID()).thenReturn("tx-7");
+        when(message.getJMSType()).thenReturn("workload");
+        when(message.getJMSPriority()).thenReturn(4);
+        TextMessage copy = mock(TextMessage.class);
+        Queue parkingQueue = mock(Queue.class);
+        when(session.createTextMessage("{\"trainerUsername\":\"\"}")).thenReturn(copy);
+        when(session.createQueue("trainer.workload.parking")).thenReturn(parkingQueue);
+        when(session.createProducer(parkingQueue)).thenReturn(producer);
+
+        parkingLot.park(session, message, new IllegalArgumentException("Trainer username is required"));
+
+        verify(copy).setObjectProperty("eventId", "evt-1");
+        verify(copy).setObjectProperty("_type", "TrainerWorkloadRequest");
+        verify(copy, never()).setObjectProperty(eq("JMSXGroupID"), any());
+        verify(copy, never()).setObjectProperty(eq("JMSXDeliveryCount"), any());
+        verify(copy).setStringProperty("JMSXGroupID", "jane.smith");
+        verify(copy).setJMSCorrelationID("tx-7");
+        verify(copy).setJMSType("workload");
+        verify(copy).setStringProperty(WorkloadParkingLot.PARKED_REASON, "Trainer username is required");
+        verify(copy).setStringProperty(WorkloadParkingLot.PARKED_EXCEPTION, IllegalArgumentException.class.getName());
+        verify(copy).setLongProperty(eq(WorkloadParkingLot.PARKED_AT), anyLong());
+        verify(copy).setIntProperty(WorkloadParkingLot.PARKED_DELIVERIES, 1);
+        verify(producer).send(copy, DeliveryMode.PERSISTENT, 4, 0L);
+        verify(producer).close();
+        verify(messageMetrics).parked("poison");
+    }
+
+    @Test
+    void park_WithBytesMessage_ShouldCopyTheWholeBody() throws JMSException {
+        byte[] body = {1, 2, 3};
+        BytesMessage message = mock(BytesMessage.class);
+        when(message.getBodyLength()).thenReturn((long) body.length);
+        when(message.getPropertyNames()).thenReturn(Collections.emptyEnumeration());
+        when(message.getJMSPriority()).thenReturn(4);
+        doAnswer(invocation -> {
+            byte[] target = invocation.getArgument(0);
+            System.arraycopy(body, 0, target, 0, body.length);
+            return body.length;
+        }).when(message).readBytes(any(byte[].class));
+        BytesMessage copy = mock(BytesMessage.class);
+        Queue parkingQueue = mock(Queue.class);
+        when(session.createBytesMessage()).thenReturn(copy);
+        when(session.createQueue("trainer.workload.parking")).thenReturn(parkingQueue);
+        when(session.createProducer(parkingQueue)).thenReturn(producer);
+
+        parkingLot.park(session, message, new IllegalStateException("Store is full"), "exhausted");
+
+        verify(message).reset();
+        verify(copy).writeBytes(aryEq(body));
+        verify(copy, never()).setStringProperty(eq("JMSXGroupID"), anyString());
+        verify(producer).send(copy, DeliveryMode.PERSISTENT, 4, 0L);
+        verify(messageMetrics).parked("exhausted");
+    }
+
+    @Test
+    void park_WithUnsupportedMessageType_ShouldSendNothing() throws JMSException {
+        MapMessage message = mock(MapMessage.class);
+
+        assertThrows(MessageFormatException.class,
+                () -> parkingLot.park(session, message, new IllegalArgumentException("Unreadable")));
+
+        verify(session, never()).createProducer(any());
+        verify(messageMetrics, never()).parked(anyString());
+    }
+}
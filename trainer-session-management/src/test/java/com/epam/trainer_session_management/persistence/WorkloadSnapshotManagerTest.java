@@ -0,0 +1,273 @@
+package com.epam.trainer_session_management.persistence;
+
+import com.epam.trainer_session_management.config.WorkloadDedupProperties;
+import com.epam.trainer_session_management.config.WorkloadPersistenceProperties;
+import com.epam.trainer_session_management.dedup.WorkloadDeduplicator;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.enums.ActionType;
+import com.epam.trainer_session_management.executor.StripedExecutor;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.index.MonthlyLeaderboard;
+import com.epam.trainer_session_management.persistence.impl.MappedWorkloadJournal;
+import com.epam.trainer_session_management.service.impl.TrainerWorkingHoursServiceImpl;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadSnapshotManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private WorkloadPersistenceProperties properties;
+    private TrainerDictionary dictionary;
+    private StripedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        properties = new WorkloadPersistenceProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofKilobytes(4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover journal records written after the last snapshot")
+    void shouldRecoverSnapshotAndJournalTail() {
+        MappedWorkloadJournal journal = new MappedWorkloadJournal(properties);
+        InMemoryTrainerWorkloadStore store = new InMemoryTrainerWorkloadStore(dictionary);
+        WorkloadSnapshotManager manager = start(journal, dictionary, store);
+
+        for (int i = 0; i < 200; i++) {
+            apply(journal, store, "john.doe", LocalDate.of(2024, 3, 1 + i % 28), 10);
+        }
+        apply(journal, store, "john.doe", LocalDate.of(2024, 3, 15), -500);
+        manager.snapshot();
+        apply(journal, store, "john.doe", LocalDate.of(2024, 3, 20), 30);
+        apply(journal, store, "jane.smith", LocalDate.of(2023, 12, 31), 45);
+        journal.flush();
+
+        // a restart starts from an empty dictionary, so the jane.smith ID may differ from before
+        TrainerDictionary restarted = new TrainerDictionary();
+        InMemoryTrainerWorkloadStore recovered = new InMemoryTrainerWorkloadStore(restarted);
+        start(new MappedWorkloadJournal(properties), restarted, recovered);
+
+        assertEquals(2, recovered.size());
+        assertEquals(1530, recovered.getMinutes(restarted.find("john.doe"), 2024, 3));
+        assertEquals(45, recovered.getMinutes(restarted.find("jane.smith"), 2023, 12));
+        assertEquals(store.getSequence(dictionary.find("john.doe")),
+                recovered.getSequence(restarted.find("john.doe")));
+    }
+
+    @Test
+    @DisplayName("Should replay the whole journal when no snapshot was taken")
+    void shouldRecoverFromJournalOnly() {
+        MappedWorkloadJournal journal = new MappedWorkloadJournal(properties);
+        InMemoryTrainerWorkloadStore store = new InMemoryTrainerWorkloadStore(dictionary);
+        journal.open(1L);
+
+        apply(journal, store, "bob.wilson", LocalDate.of(2024, 4, 10), 60);
+        apply(journal, store, "bob.wilson", LocalDate.of(2024, 4, 11), -90);
+        apply(journal, store, "bob.wilson", LocalDate.of(2024, 4, 12), 15);
+        journal.flush();
+
+        TrainerDictionary restarted = new TrainerDictionary();
+        InMemoryTrainerWorkloadStore recovered = new InMemoryTrainerWorkloadStore(restarted);
+        start(new MappedWorkloadJournal(properties), restarted, recovered);
+
+        // the store keeps the plain sum; readers clamp it
+        assertEquals(-15, recovered.getMinutes(restarted.find("bob.wilson"), 2024, 4));
+        assertEquals(TrainerWorkloadStore.NO_DATA, recovered.getMinutes(restarted.find("bob.wilson"), 2024, 5));
+    }
+
+    @Test
+    @DisplayName("Should restore the daily index from the snapshot section and the journal tail")
+    void shouldRecoverDailyIndex() {
+        MappedWorkloadJournal journal = new MappedWorkloadJournal(properties);
+        InMemoryTrainerWorkloadStore store = new InMemoryTrainerWorkloadStore(dictionary);
+        DailyWorkloadIndex dailyWorkloadIndex = new DailyWorkloadIndex(dictionary);
+        WorkloadSnapshotManager manager = start(journal, dictionary, store, dailyWorkloadIndex);
+
+        apply(journal, store, dailyWorkloadIndex, "john.doe", LocalDate.of(2024, 3, 1), 60);
+        apply(journal, store, dailyWorkloadIndex, "john.doe", LocalDate.of(2024, 3, 2), 45);
+        manager.snapshot();
+        apply(journal, store, dailyWorkloadIndex, "john.doe", LocalDate.of(2024, 3, 2), 15);
+        apply(journal, store, dailyWorkloadIndex, "john.doe", LocalDate.of(2024, 3, 5), 30);
+        journal.flush();
+
+        TrainerDictionary restarted = new TrainerDictionary();
+        DailyWorkloadIndex recovered = new DailyWorkloadIndex(restarted);
+        start(new MappedWorkloadJournal(properties), restarted, new InMemoryTrainerWorkloadStore(restarted), recovered);
+
+        int trainerId = restarted.find("john.doe");
+        assertEquals(120, recovered.sumMinutes(trainerId, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 2)));
+        assertEquals(150, recovered.sumMinutes(trainerId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    @DisplayName("Should re-seed the deduplicator with event IDs from the journal")
+    void shouldRecoverEventIds() {
+        MappedWorkloadJournal journal = new MappedWorkloadJournal(properties);
+        journal.open(1L);
+        journal.append("event-1", "bob.wilson", null, null, true, (int) LocalDate.of(2024, 4, 10).toEpochDay(), 60);
+        journal.complete();
+        journal.flush();
+
+        WorkloadDeduplicator deduplicator = new WorkloadDeduplicator(new WorkloadDedupProperties());
+        new WorkloadSnapshotManager(properties, new MappedWorkloadJournal(properties), dictionary,
+                new InMemoryTrainerWorkloadStore(dictionary), deduplicator, List.of(), List.of(),
+                new SimpleMeterRegistry()).recover();
+
+        assertTrue(deduplicator.isDuplicate("event-1"));
+    }
+
+    @Test
+    @DisplayName("Should not replay a delta the store refused, however often its message was redelivered")
+    void shouldSkipAbortedRecordsOnRecovery() {
+        MappedWorkloadJournal journal = new MappedWorkloadJournal(properties);
+        AtomicInteger failuresLeft = new AtomicInteger(2);
+        InMemoryTrainerWorkloadStore store = new InMemoryTrainerWorkloadStore(dictionary) {
+            @Override
+            public int apply(int trainerId, String trainerFirstName, String trainerLastName, Boolean isActive,
+                             int year, int month, int deltaMinutes, long sequence) {
+                if (failuresLeft.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Workload store would exceed 2 GB");
+                }
+                return super.apply(trainerId, trainerFirstName, trainerLastName, isActive, year, month,
+                        deltaMinutes, sequence);
+            }
+        };
+        journal.open(1L);
+        TrainerWorkingHoursServiceImpl service = service(journal, store);
+        TrainerWorkloadRequest request = TrainerWorkloadRequest.builder()
+                .eventId("event-1")
+                .trainerUsername("bob.wilson")
+                .isActive(true)
+                .trainingDate(Date.from(LocalDate.of(2024, 4, 10).atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                .trainingDuration(60)
+                .actionType(ActionType.ADD)
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> service.calculateAndSave(request));
+        assertThrows(IllegalStateException.class, () -> service.calculateAndSave(request));
+        service.calculateAndSave(request);
+        journal.flush();
+
+        TrainerDictionary restarted = new TrainerDictionary();
+        InMemoryTrainerWorkloadStore recovered = new InMemoryTrainerWorkloadStore(restarted);
+        start(new MappedWorkloadJournal(properties), restarted, recovered);
+
+        assertEquals(60, recovered.getMinutes(restarted.find("bob.wilson"), 2024, 4));
+    }
+
+    @Test
+    @DisplayName("Should replay a repeated event ID only once")
+    void shouldSkipRepeatedEventIdsOnRecovery() {
+        MappedWorkloadJournal journal = new MappedWorkloadJournal(properties);
+        journal.open(1L);
+        for (int i = 0; i < 3; i++) {
+            journal.append("event-1", "bob.wilson", null, null, true, (int) LocalDate.of(2024, 4, 10).toEpochDay(),
+                    60);
+            journal.complete();
+        }
+        journal.flush();
+
+        InMemoryTrainerWorkloadStore recovered = new InMemoryTrainerWorkloadStore(dictionary);
+        start(new MappedWorkloadJournal(properties), dictionary, recovered);
+
+        assertEquals(60, recovered.getMinutes(dictionary.find("bob.wilson"), 2024, 4));
+    }
+
+    @Test
+    @DisplayName("Should refuse a field its length prefix cannot hold without writing or holding anything")
+    void shouldRefuseOversizedFields() {
+        MappedWorkloadJournal journal = new MappedWorkloadJournal(properties);
+        journal.open(1L);
+        int epochDay = (int) LocalDate.of(2024, 4, 10).toEpochDay();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> journal.append(null, "bob.wilson", null, "x".repeat(70_000), true, epochDay, 60));
+        // a held append barrier would block the rollover forever
+        assertEquals(1L, assertTimeoutPreemptively(Duration.ofSeconds(5), journal::rollover));
+        assertEquals(1L, journal.append(null, "bob.wilson", null, null, true, epochDay, 30));
+        journal.complete();
+        journal.flush();
+
+        InMemoryTrainerWorkloadStore recovered = new InMemoryTrainerWorkloadStore(dictionary);
+        start(new MappedWorkloadJournal(properties), dictionary, recovered);
+
+        assertEquals(30, recovered.getMinutes(dictionary.find("bob.wilson"), 2024, 4));
+    }
+
+    private TrainerWorkingHoursServiceImpl service(MappedWorkloadJournal journal, TrainerWorkloadStore store) {
+        executor = new StripedExecutor("test-stripe", 2);
+        return new TrainerWorkingHoursServiceImpl(dictionary, store, journal, executor,
+                new WorkloadDeduplicator(new WorkloadDedupProperties()), new DailyWorkloadIndex(dictionary),
+                new MonthlyLeaderboard(dictionary), new WorkloadHistory(dictionary), new DurationSketches(dictionary),
+                List.of(), Optional.empty());
+    }
+
+    private WorkloadSnapshotManager start(MappedWorkloadJournal journal, TrainerDictionary trainerDictionary,
+                                          InMemoryTrainerWorkloadStore store) {
+        return start(journal, trainerDictionary, store, new DailyWorkloadIndex(trainerDictionary));
+    }
+
+    private WorkloadSnapshotManager start(MappedWorkloadJournal journal, TrainerDictionary trainerDictionary,
+                                          InMemoryTrainerWorkloadStore store, DailyWorkloadIndex dailyWorkloadIndex) {
+        WorkloadSnapshotManager manager = new WorkloadSnapshotManager(properties, journal, trainerDictionary, store,
+                new WorkloadDeduplicator(new WorkloadDedupProperties()), List.of(dailyWorkloadIndex),
+                List.of(dailyWorkloadIndex), new SimpleMeterRegistry());
+        manager.recover();
+        return manager;
+    }
+
+    private void apply(MappedWorkloadJournal journal, InMemoryTrainerWorkloadStore store,
+                       String username, LocalDate date, int deltaMinutes) {
+        apply(journal, store, new DailyWorkloadIndex(dictionary), username, date, deltaMinutes);
+    }
+
+    private void apply(MappedWorkloadJournal journal, InMemoryTrainerWorkloadStore store,
+                       DailyWorkloadIndex dailyWorkloadIndex, String username, LocalDate date, int deltaMinutes) {
+        int trainerId = dictionary.register(username);
+        long sequence = journal.append(null, username, null, null, true, (int) date.toEpochDay(), deltaMinutes);
+        try {
+            int monthMinutes = store.apply(trainerId, null, null, true, date.getYear(), date.getMonthValue(),
+                    deltaMinutes, sequence);
+            dailyWorkloadIndex.onWorkloadChange(new WorkloadChange(sequence, trainerId, (int) date.toEpochDay(),
+                    deltaMinutes, monthMinutes));
+        } finally {
+            journal.complete();
+        }
+    }
+}
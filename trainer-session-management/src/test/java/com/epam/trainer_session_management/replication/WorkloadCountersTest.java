@@ -0,0 +1,112 @@
+package com.epam.trainer_session_management.replication;
+
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class WorkloadCountersTest {
+
+    private TrainerDictionary dictionary;
+    private WorkloadCounters counters;
+    private int anna;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        counters = new WorkloadCounters(dictionary, "a");
+        anna = dictionary.register("anna");
+    }
+
+    @Test
+    @DisplayName("Should count additions and removals under the replica that recorded them")
+    void shouldCountByOrigin() {
+        counters.onWorkloadChange(change(1, anna, LocalDate.of(2024, 3, 4), 120, "evt-1"));
+        counters.onWorkloadChange(change(2, anna, LocalDate.of(2024, 3, 4), -30, null));
+        counters.onWorkloadChange(change(3, anna, LocalDate.of(2024, 3, 9), 45, WorkloadCounters.originEventId("b")));
+        counters.onWorkloadChange(change(4, anna, LocalDate.of(2024, 3, 9), -60, WorkloadCounters.originEventId("b")));
+
+        assertArrayEquals(new long[]{120, 30}, counters.countsOf(anna, LocalDate.of(2024, 3, 4), "a"));
+        assertArrayEquals(new long[]{45, 60}, counters.countsOf(anna, LocalDate.of(2024, 3, 9), "b"));
+        assertArrayEquals(new long[]{0, 0}, counters.countsOf(anna, LocalDate.of(2024, 3, 9), "a"));
+        assertArrayEquals(new long[]{0, 0}, counters.countsOf(anna, LocalDate.of(2024, 4, 4), "a"));
+        // merged minutes never advance the local clock
+        assertEquals(2L, counters.version());
+    }
+
+    @Test
+    @DisplayName("Should list local cells changed after a version, oldest change first")
+    void shouldListChangedCells() {
+        int ben = dictionary.register("ben");
+        counters.onWorkloadChange(change(1, anna, LocalDate.of(2024, 3, 4), 120, "evt-1"));
+        counters.onWorkloadChange(change(1, ben, LocalDate.of(2024, 1, 2), 60, "evt-2"));
+        counters.onWorkloadChange(change(2, anna, LocalDate.of(2024, 4, 4), 30, "evt-3"));
+        counters.onWorkloadChange(change(3, anna, LocalDate.of(2024, 3, 4), -20, "evt-4"));
+        counters.onWorkloadChange(change(2, ben, LocalDate.of(2024, 2, 2), 15, WorkloadCounters.originEventId("b")));
+
+        List<WorkloadCounters.LocalCell> changed = counters.changedAfter(2L);
+
+        assertEquals(2, changed.size());
+        assertEquals(new WorkloadCounters.LocalCell(anna, LocalDate.of(2024, 4, 4), 30, 0, 3L), changed.get(0));
+        assertEquals(new WorkloadCounters.LocalCell(anna, LocalDate.of(2024, 3, 4), 120, 20, 4L), changed.get(1));
+        assertEquals(3, counters.changedAfter(0L).size());
+    }
+
+    @Test
+    @DisplayName("Should digest the counts alone, whatever order they were recorded in")
+    void shouldDigestCountsOnly() {
+        WorkloadCounters other = new WorkloadCounters(dictionary, "b");
+        counters.onWorkloadChange(change(1, anna, LocalDate.of(2024, 3, 4), 120, "evt-1"));
+        counters.onWorkloadChange(change(2, anna, LocalDate.of(2024, 3, 9), 45, WorkloadCounters.originEventId("b")));
+        other.onWorkloadChange(change(1, anna, LocalDate.of(2024, 3, 9), 45, "evt-2"));
+        other.onWorkloadChange(change(2, anna, LocalDate.of(2024, 3, 4), 120, WorkloadCounters.originEventId("a")));
+
+        assertEquals(counters.digestOf(anna), other.digestOf(anna));
+
+        other.onWorkloadChange(change(3, anna, LocalDate.of(2024, 3, 9), -45, "evt-3"));
+
+        assertNotEquals(counters.digestOf(anna), other.digestOf(anna));
+        assertEquals(0L, counters.digestOf(dictionary.register("ben")));
+    }
+
+    @Test
+    @DisplayName("Should skip replayed changes and keep its counts and clock across a snapshot")
+    void shouldRoundTripSection() throws IOException {
+        counters.onWorkloadChange(change(1, anna, LocalDate.of(2024, 3, 4), 120, "evt-1"));
+        counters.onWorkloadChange(change(2, anna, LocalDate.of(2024, 3, 1), 45, WorkloadCounters.originEventId("b")));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        counters.writeSection(new DataOutputStream(bytes));
+        TrainerDictionary restoredDictionary = new TrainerDictionary();
+        restoredDictionary.register("ben");
+        WorkloadCounters restored = new WorkloadCounters(restoredDictionary, "a");
+        restored.readSection(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        int restoredAnna = restoredDictionary.find("anna");
+        // already in the section, as during a journal replay
+        restored.onWorkloadChange(change(2, restoredAnna, LocalDate.of(2024, 3, 1), 45,
+                WorkloadCounters.originEventId("b")));
+        restored.onWorkloadChange(change(3, restoredAnna, LocalDate.of(2024, 3, 4), -15, "evt-3"));
+
+        assertArrayEquals(new long[]{120, 15}, restored.countsOf(restoredAnna, LocalDate.of(2024, 3, 4), "a"));
+        assertArrayEquals(new long[]{45, 0}, restored.countsOf(restoredAnna, LocalDate.of(2024, 3, 1), "b"));
+        assertEquals(2L, restored.version());
+    }
+
+    private static WorkloadChange change(long sequence, int trainerId, LocalDate date, int deltaMinutes,
+                                         String eventId) {
+        return new WorkloadChange(sequence, trainerId, (int) date.toEpochDay(), deltaMinutes, 0, 0L, eventId);
+    }
+}
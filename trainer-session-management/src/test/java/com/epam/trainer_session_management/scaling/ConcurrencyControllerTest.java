@@ -0,0 +1,74 @@
+package com.epam.trainer_session_management.scaling;
+
+import com.epam.trainer_session_management.config.ListenerScalingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrencyControllerTest {
+
+    private ListenerScalingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ListenerScalingProperties();
+        properties.setMinConcurrency(1);
+        properties.setMaxConcurrency(4);
+        properties.setMessagesPerConsumer(100);
+        properties.setMaxLag(Duration.ofSeconds(10));
+        properties.setScaleUpSamples(2);
+        properties.setScaleDownSamples(3);
+    }
+
+    @Test
+    @DisplayName("Should scale up to the backlog target only after consecutive samples ask for it")
+    void shouldScaleUpWithHysteresis() {
+        ConcurrencyController controller = new ConcurrencyController(properties);
+
+        assertEquals(1, controller.update(350, Duration.ZERO));
+        assertEquals(1, controller.update(0, Duration.ZERO));
+        assertEquals(1, controller.update(350, Duration.ZERO));
+        assertEquals(4, controller.update(350, Duration.ZERO));
+        assertEquals(4, controller.update(10_000, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should scale down one consumer at a time after a quiet streak")
+    void shouldScaleDownGradually() {
+        ConcurrencyController controller = new ConcurrencyController(properties);
+        controller.update(400, Duration.ZERO);
+        controller.update(400, Duration.ZERO);
+
+        assertEquals(4, controller.update(0, Duration.ZERO));
+        assertEquals(4, controller.update(0, Duration.ZERO));
+        assertEquals(3, controller.update(0, Duration.ZERO));
+        assertEquals(3, controller.update(400, Duration.ZERO));
+        assertEquals(3, controller.update(0, Duration.ZERO));
+        assertEquals(3, controller.update(0, Duration.ZERO));
+        assertEquals(2, controller.update(0, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should add a consumer when the oldest message is too old despite a small backlog")
+    void shouldScaleUpOnLag() {
+        ConcurrencyController controller = new ConcurrencyController(properties);
+
+        controller.update(5, Duration.ofMinutes(1));
+        assertEquals(2, controller.update(5, Duration.ofMinutes(1)));
+        controller.update(5, Duration.ofMinutes(1));
+        assertEquals(3, controller.update(5, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("Should reject bounds where the maximum is below the minimum")
+    void shouldRejectInvalidBounds() {
+        properties.setMinConcurrency(5);
+
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyController(properties));
+    }
+}
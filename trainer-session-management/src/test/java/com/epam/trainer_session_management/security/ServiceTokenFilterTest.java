@@ -0,0 +1,101 @@
+package com.epam.trainer_session_management.security;
+
+import com.epam.trainer_session_management.config.ServiceTokenProperties;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ServiceTokenFilterTest {
+
+    private ServiceTokenProperties properties;
+    private ServiceTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ServiceTokenProperties();
+        properties.setServiceToken("s3cret");
+        filter = new ServiceTokenFilter(properties);
+    }
+
+    @Test
+    void doFilter_WithMatchingToken_ShouldPassTheRequestOn() throws ServletException, IOException {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("PUT", "/api/v1/shards/3/workload", "s3cret"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_WithMissingOrWrongToken_ShouldAnswerForbidden() throws ServletException, IOException {
+        for (String token : new String[]{null, "", "s3cre", "s3cret2"}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request("POST", "/api/v1/replication/deltas", token), response, chain);
+
+            assertEquals(403, response.getStatus());
+            assertNull(chain.getRequest());
+        }
+    }
+
+    @Test
+    void doFilter_WithoutConfiguredToken_ShouldRefuseEveryServiceRequest() throws ServletException, IOException {
+        properties.setServiceToken(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("GET", "/api/v1/shards/3/workload", ""), response, new MockFilterChain());
+
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    void doFilter_OnAdminOperations_ShouldAskForTheToken() throws ServletException, IOException {
+        MockHttpServletResponse rebuild = new MockHttpServletResponse();
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        MockHttpServletResponse authorizedReplay = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "/api/v1/workload/rebuild", null), rebuild, new MockFilterChain());
+        filter.doFilter(request("POST", "/api/v1/workload/replay", "wrong"), replay, new MockFilterChain());
+        filter.doFilter(request("POST", "/api/v1/workload/replay", "s3cret"), authorizedReplay, new MockFilterChain());
+
+        assertEquals(403, rebuild.getStatus());
+        assertEquals(403, replay.getStatus());
+        assertEquals(200, authorizedReplay.getStatus());
+    }
+
+    @Test
+    void doFilter_OnOtherPaths_ShouldNotAskForAToken() throws ServletException, IOException {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("GET", "/api/v1/workload/jane.smith", null), response, chain);
+        // a trainer may well be called "rebuild"
+        MockFilterChain trainerChain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/v1/workload/rebuild", null), new MockHttpServletResponse(), trainerChain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertNotNull(trainerChain.getRequest());
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        if (token != null) {
+            request.addHeader(ServiceTokenFilter.SERVICE_TOKEN_HEADER, token);
+        }
+        return request;
+    }
+}
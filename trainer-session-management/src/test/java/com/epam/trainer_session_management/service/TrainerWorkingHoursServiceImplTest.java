@@ -1,39 +1,66 @@
 package com.epam.trainer_session_management.service;
 
 
+import com.epam.trainer_session_management.config.WorkloadDedupProperties;
+import com.epam.trainer_session_management.dedup.WorkloadDeduplicator;
+import com.epam.trainer_session_management.dto.TrainerDurationStatsResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadAsOfResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchRequest;
+import com.epam.trainer_session_management.dto.TrainerWorkloadBatchResponse;
 import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
 import com.epam.trainer_session_management.dto.TrainerWorkloadResponse;
+import com.epam.trainer_session_management.dto.TrainerWorkloadSummaryResponse;
+import com.epam.trainer_session_management.dto.YearWorkloadResponse;
 import com.epam.trainer_session_management.enums.ActionType;
+import com.epam.trainer_session_management.exception.WorkloadNotFoundException;
+import com.epam.trainer_session_management.executor.StripedExecutor;
+import com.epam.trainer_session_management.dto.LeaderboardResponse;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.index.MonthlyLeaderboard;
+import com.epam.trainer_session_management.persistence.impl.NoOpWorkloadJournal;
 import com.epam.trainer_session_management.service.impl.TrainerWorkingHoursServiceImpl;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkload;
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class TrainerWorkingHoursServiceImplTest {
 
     private TrainerWorkingHoursServiceImpl service;
+    private StripedExecutor executor;
 
     @BeforeEach
     void setUp() {
-        service = new TrainerWorkingHoursServiceImpl();
-        clearTrainerWorkloadMap();
+        executor = new StripedExecutor("test-stripe", 4);
+        TrainerDictionary dictionary = new TrainerDictionary();
+        DailyWorkloadIndex dailyWorkloadIndex = new DailyWorkloadIndex(dictionary);
+        MonthlyLeaderboard monthlyLeaderboard = new MonthlyLeaderboard(dictionary);
+        WorkloadHistory workloadHistory = new WorkloadHistory(dictionary);
+        DurationSketches durationSketches = new DurationSketches(dictionary);
+        service = new TrainerWorkingHoursServiceImpl(dictionary, new InMemoryTrainerWorkloadStore(dictionary),
+                new NoOpWorkloadJournal(), executor, new WorkloadDeduplicator(new WorkloadDedupProperties()),
+                dailyWorkloadIndex, monthlyLeaderboard, workloadHistory, durationSketches,
+                List.of(dailyWorkloadIndex, monthlyLeaderboard, workloadHistory, durationSketches),
+                Optional.empty());
     }
 
-    private void clearTrainerWorkloadMap() {
-
-        try {
-            var field = TrainerWorkingHoursServiceImpl.class.getDeclaredField("TRAINER_WORKLOAD_MAP");
-            field.setAccessible(true);
-            ((java.util.Map<?, ?>) field.get(null)).clear();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to clear trainer workload map", e);
-        }
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
     }
 
     @Test
@@ -266,6 +293,241 @@ class TrainerWorkingHoursServiceImplTest {
         assertEquals(1.5f, response.getWorkingHours());
     }
 
+    @Test
+    @DisplayName("Should apply every request of a batch in order")
+    void shouldApplyBatchInOrder() {
+
+        service.calculateAndSaveAll(List.of(
+                createWorkloadRequest("kate.moore", "Kate", "Moore", true,
+                        createDate(2024, 10, 1), 60, ActionType.ADD),
+                createWorkloadRequest("kate.moore", "Kate", "Moore", true,
+                        createDate(2024, 10, 2), 120, ActionType.DELETE),
+                createWorkloadRequest("kate.moore", "Kate", "Moore", true,
+                        createDate(2024, 10, 3), 30, ActionType.ADD),
+                createWorkloadRequest("liam.clark", "Liam", "Clark", true,
+                        createDate(2024, 10, 3), 90, ActionType.ADD)
+        ));
+
+        // 60 - 120 + 30 in any order; the month is clamped only when read
+        assertEquals(0.0f, service.getTrainerWorkingHours("kate.moore", "2024", "OCTOBER").getWorkingHours());
+        assertEquals(1.5f, service.getTrainerWorkingHours("liam.clark", "2024", "OCTOBER").getWorkingHours());
+    }
+
+    @Test
+    @DisplayName("Should ignore a redelivered event with the same event ID")
+    void shouldIgnoreRedeliveredEvent() {
+
+        TrainerWorkloadRequest request = createWorkloadRequest(
+                "mia.hall", "Mia", "Hall", true,
+                createDate(2024, 11, 5), 90, ActionType.ADD
+        );
+        request.setEventId("5f0c2f8e-8a3c-4c52-9f0e-2b7f4d1a6e11");
+
+        service.calculateAndSave(request);
+        TrainerWorkloadResponse response = service.calculateAndSave(request);
+        service.calculateAndSaveAll(List.of(request));
+
+        assertEquals(1.5f, response.getWorkingHours());
+        assertEquals(1.5f, service.getTrainerWorkingHours("mia.hall", "2024", "NOVEMBER").getWorkingHours());
+    }
+
+    @Test
+    @DisplayName("Should return all twelve months of a year")
+    void shouldReturnYearSummary() {
+
+        service.calculateAndSave(createWorkloadRequest("noah.lee", "Noah", "Lee", true,
+                createDate(2024, 2, 10), 60, ActionType.ADD));
+        service.calculateAndSave(createWorkloadRequest("noah.lee", "Noah", "Lee", true,
+                createDate(2024, 5, 10), 90, ActionType.ADD));
+        service.calculateAndSave(createWorkloadRequest("noah.lee", "Noah", "Lee", true,
+                createDate(2025, 1, 10), 30, ActionType.ADD));
+
+        TrainerWorkloadSummaryResponse summary = service.getTrainerWorkloadSummary("noah.lee", "2024");
+
+        assertEquals("Noah", summary.getTrainerFirstName());
+        assertEquals(1, summary.getYears().size());
+        YearWorkloadResponse year = summary.getYears().get(0);
+        assertEquals("2024", year.getYear());
+        assertEquals(2.5f, year.getWorkingHours());
+        assertEquals(12, year.getMonths().size());
+        assertEquals("FEBRUARY", year.getMonths().get(1).getMonth());
+        assertEquals(1.0f, year.getMonths().get(1).getWorkingHours());
+        assertEquals(0.0f, year.getMonths().get(2).getWorkingHours());
+        assertEquals(2, service.getTrainerWorkloadSummary("noah.lee").getYears().size());
+    }
+
+    @Test
+    @DisplayName("Should answer a multi-trainer month range as one columnar response")
+    void shouldReturnBatchWorkload() {
+
+        service.calculateAndSaveAll(List.of(
+                createWorkloadRequest("paul.ray", "Paul", "Ray", true, createDate(2024, 11, 3), 60, ActionType.ADD),
+                createWorkloadRequest("paul.ray", "Paul", "Ray", true, createDate(2025, 2, 3), 90, ActionType.ADD),
+                createWorkloadRequest("rita.moss", "Rita", "Moss", true, createDate(2024, 12, 3), 30, ActionType.ADD),
+                createWorkloadRequest("rita.moss", "Rita", "Moss", true, createDate(2024, 9, 3), 30, ActionType.ADD)));
+
+        TrainerWorkloadBatchResponse batch = service.getTrainerWorkloadBatch(TrainerWorkloadBatchRequest.builder()
+                .trainerUsernames(List.of("rita.moss", "nobody", "paul.ray"))
+                .from("2024-11")
+                .to("2025-02")
+                .build());
+
+        assertEquals(List.of("2024-11", "2024-12", "2025-01", "2025-02"), batch.getMonths());
+        assertEquals(List.of("rita.moss", "paul.ray"), batch.getTrainerUsernames());
+        assertEquals(List.of("nobody"), batch.getMissingTrainerUsernames());
+        assertEquals(2, batch.getTrainerIds().length);
+        assertArrayEquals(new float[]{0f, 0.5f, 0f, 0f}, batch.getWorkingHours()[0]);
+        assertArrayEquals(new float[]{1.0f, 0f, 0f, 1.5f}, batch.getWorkingHours()[1]);
+
+        TrainerWorkloadBatchResponse year = service.getTrainerWorkloadBatch(TrainerWorkloadBatchRequest.builder()
+                .trainerUsernames(List.of("rita.moss"))
+                .year("2024")
+                .build());
+        assertEquals(12, year.getMonths().size());
+        assertEquals(0.5f, year.getWorkingHours()[0][8]);
+        assertThrows(IllegalArgumentException.class, () -> service.getTrainerWorkloadBatch(
+                TrainerWorkloadBatchRequest.builder().trainerUsernames(List.of("rita.moss"))
+                        .from("2025-01").to("2024-01").build()));
+    }
+
+    @Test
+    @DisplayName("Should answer hours as recorded before a later delete")
+    void shouldReturnHoursAsOf() throws InterruptedException {
+
+        service.calculateAndSave(createWorkloadRequest("sara.fox", "Sara", "Fox", true,
+                createDate(2024, 3, 5), 120, ActionType.ADD));
+        Instant beforeDelete = Instant.now();
+        Thread.sleep(5);
+        service.calculateAndSave(createWorkloadRequest("sara.fox", "Sara", "Fox", true,
+                createDate(2024, 3, 5), 120, ActionType.DELETE));
+
+        TrainerWorkloadAsOfResponse asOf = service.getTrainerWorkingHoursAsOf("sara.fox", "2024", "3", beforeDelete);
+
+        assertEquals("MARCH", asOf.getMonth());
+        assertEquals(2.0f, asOf.getWorkingHours());
+        assertEquals(0.0f, asOf.getCurrentWorkingHours());
+        assertEquals(0.0f, service.getTrainerWorkingHoursAsOf("sara.fox", "2024", "MARCH",
+                beforeDelete.minusSeconds(60)).getWorkingHours());
+    }
+
+    @Test
+    @DisplayName("Should report session duration percentiles and take deleted sessions out")
+    void shouldReturnDurationStats() {
+
+        int[] durations = {30, 45, 60, 60, 90};
+        for (int i = 0; i < durations.length; i++) {
+            TrainerWorkloadRequest request = createWorkloadRequest("nina.gray", "Nina", "Gray", true,
+                    createDate(2024, 4, i + 1), durations[i], ActionType.ADD);
+            request.setEventId("session-" + i);
+            service.calculateAndSave(request);
+        }
+        TrainerWorkloadRequest delete = createWorkloadRequest("nina.gray", "Nina", "Gray", true,
+                createDate(2024, 4, 5), 90, ActionType.DELETE);
+        delete.setEventId("session-delete");
+        service.calculateAndSave(delete);
+
+        TrainerDurationStatsResponse stats = service.getTrainerDurationStats("nina.gray", "2024", "APRIL");
+
+        assertEquals(4L, stats.getSessions());
+        assertEquals(45.0f, stats.getP50(), 45.0f * 0.05f);
+        assertEquals(60.0f, stats.getP99(), 60.0f * 0.05f);
+        assertThrows(WorkloadNotFoundException.class,
+                () -> service.getTrainerDurationStats("nina.gray", "2024", "MAY"));
+    }
+
+    @Test
+    @DisplayName("Should report a missing year and bump the version on every update")
+    void shouldTrackVersionAndMissingYear() {
+
+        service.calculateAndSave(createWorkloadRequest("olivia.king", "Olivia", "King", true,
+                createDate(2024, 6, 1), 60, ActionType.ADD));
+        long version = service.getTrainerWorkloadVersion("olivia.king");
+        service.calculateAndSave(createWorkloadRequest("olivia.king", "Olivia", "King", true,
+                createDate(2024, 6, 2), 60, ActionType.ADD));
+
+        assertTrue(service.getTrainerWorkloadVersion("olivia.king") > version);
+        assertThrows(WorkloadNotFoundException.class, () -> service.getTrainerWorkloadSummary("olivia.king", "2023"));
+        assertThrows(WorkloadNotFoundException.class, () -> service.getTrainerWorkloadVersion("nobody"));
+        assertEquals(Long.toString(service.getTrainerWorkloadVersion("olivia.king")),
+                service.getTrainerWorkloadTag("olivia.king"));
+        assertThrows(WorkloadNotFoundException.class, () -> service.getTrainerWorkloadTag("nobody"));
+    }
+
+    @Test
+    @DisplayName("Should total hours over an arbitrary date range")
+    void shouldSumHoursBetweenDates() {
+
+        service.calculateAndSaveAll(List.of(
+                createWorkloadRequest("paul.young", "Paul", "Young", true,
+                        createDate(2023, 12, 30), 60, ActionType.ADD),
+                createWorkloadRequest("paul.young", "Paul", "Young", true,
+                        createDate(2024, 1, 2), 30, ActionType.ADD),
+                createWorkloadRequest("paul.young", "Paul", "Young", true,
+                        createDate(2024, 1, 20), 90, ActionType.ADD),
+                createWorkloadRequest("paul.young", "Paul", "Young", true,
+                        createDate(2024, 1, 20), 30, ActionType.DELETE)
+        ));
+
+        assertEquals(1.5f, service.getTrainerWorkingHoursBetween("paul.young",
+                LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 10)).getWorkingHours());
+        assertEquals(2.5f, service.getTrainerWorkingHoursBetween("paul.young",
+                LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31)).getWorkingHours());
+        assertEquals(0.0f, service.getTrainerWorkingHoursBetween("paul.young",
+                LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 19)).getWorkingHours());
+        assertThrows(IllegalArgumentException.class, () -> service.getTrainerWorkingHoursBetween("paul.young",
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Should rank trainers by monthly hours")
+    void shouldRankTrainersByMonthlyHours() {
+
+        service.calculateAndSaveAll(List.of(
+                createWorkloadRequest("quinn.adams", "Quinn", "Adams", true,
+                        createDate(2024, 9, 1), 60, ActionType.ADD),
+                createWorkloadRequest("rose.baker", "Rose", "Baker", true,
+                        createDate(2024, 9, 2), 120, ActionType.ADD),
+                createWorkloadRequest("sam.carter", "Sam", "Carter", true,
+                        createDate(2024, 9, 3), 60, ActionType.ADD),
+                createWorkloadRequest("rose.baker", "Rose", "Baker", true,
+                        createDate(2024, 9, 4), 90, ActionType.DELETE)
+        ));
+
+        LeaderboardResponse leaderboard = service.getLeaderboard("2024", "SEPTEMBER", 2);
+
+        assertEquals(3, leaderboard.getTrainerCount());
+        assertEquals(2, leaderboard.getTrainers().size());
+        assertEquals("quinn.adams", leaderboard.getTrainers().get(0).getTrainerUsername());
+        assertEquals(1, leaderboard.getTrainers().get(1).getRank());
+        assertEquals(3, service.getTrainerRank("rose.baker", "2024", "9").getRank());
+        assertThrows(WorkloadNotFoundException.class, () -> service.getTrainerRank("rose.baker", "2024", "10"));
+    }
+
+    @Test
+    @DisplayName("Should reconcile trainers to their target months")
+    void shouldReconcileTrainersToTargets() {
+
+        service.calculateAndSaveAll(List.of(
+                createWorkloadRequest("tina.hall", "Tina", "Hall", true,
+                        createDate(2024, 5, 10), 60, ActionType.ADD),
+                createWorkloadRequest("tina.hall", "Tina", "Hall", true,
+                        createDate(2024, 6, 10), 90, ActionType.ADD),
+                createWorkloadRequest("tina.hall", "Tina", "Hall", true,
+                        createDate(2023, 1, 10), 30, ActionType.ADD)
+        ));
+        TrainerWorkload target = new TrainerWorkload("tina.hall", "Tina", "Hall", true, 0L, 0L,
+                new int[]{2024}, new int[]{(1 << 4) | (1 << 6)}, new int[][]{{0, 0, 0, 0, 60, 0, 120, 0, 0, 0, 0, 0}});
+
+        assertEquals(3, service.reconcileAll(List.of(target)));
+        assertEquals(1.0f, service.getTrainerWorkingHours("tina.hall", "2024", "5").getWorkingHours());
+        assertEquals(0.0f, service.getTrainerWorkingHours("tina.hall", "2024", "6").getWorkingHours());
+        assertEquals(2.0f, service.getTrainerWorkingHours("tina.hall", "2024", "7").getWorkingHours());
+        assertEquals(0.0f, service.getTrainerWorkingHours("tina.hall", "2023", "1").getWorkingHours());
+        assertEquals(3.0f, service.getTrainerWorkingHoursBetween("tina.hall",
+                LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31)).getWorkingHours());
+        assertEquals(0, service.reconcileAll(List.of(target)));
+    }
+
     // Helper methods
     private TrainerWorkloadRequest createWorkloadRequest(String username, String firstName, String lastName,
                                                          Boolean isActive, Date trainingDate, Integer duration,
@@ -0,0 +1,73 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.enums.ExportFormat;
+import com.epam.trainer_session_management.service.impl.WorkloadExportServiceImpl;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WorkloadExportServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private WorkloadExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        TrainerDictionary dictionary = new TrainerDictionary();
+        InMemoryTrainerWorkloadStore store = new InMemoryTrainerWorkloadStore(dictionary);
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 90, 0L);
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 4, 30, 0L);
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2023, 3, 60, 0L);
+        store.apply(dictionary.register("jane.smith"), "Jane", "Smith, Jr.", false, 2024, 3, 120, 0L);
+        exportService = new WorkloadExportServiceImpl(store, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line for every recorded month")
+    void shouldExportNdjson() throws IOException {
+        String[] lines = export(ExportFormat.NDJSON, null, null).split("\n");
+
+        assertEquals(4, lines.length);
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            if (row.get("trainerUsername").asText().equals("jane.smith")) {
+                assertEquals("MARCH", row.get("month").asText());
+                assertEquals(2.0, row.get("workingHours").asDouble());
+                assertEquals(false, row.get("isActive").asBoolean());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should filter CSV rows by year and month and quote fields with commas")
+    void shouldExportFilteredCsv() throws IOException {
+        String[] lines = export(ExportFormat.CSV, 2024, 3).split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("trainerUsername,trainerFirstName,trainerLastName,isActive,year,month,workingHours", lines[0]);
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].startsWith("jane.smith")) {
+                assertEquals("jane.smith,Jane,\"Smith, Jr.\",false,2024,MARCH,2.0", lines[i]);
+            } else {
+                assertEquals("john.doe,John,Doe,true,2024,MARCH,1.5", lines[i]);
+            }
+        }
+    }
+
+    private String export(ExportFormat format, Integer year, Integer month) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportService.exportWorkload(format, year, month, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
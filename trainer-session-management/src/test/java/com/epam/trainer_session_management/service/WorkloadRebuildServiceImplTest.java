@@ -0,0 +1,175 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.config.WorkloadDedupProperties;
+import com.epam.trainer_session_management.config.ServiceTokenProperties;
+import com.epam.trainer_session_management.config.WorkloadRebuildProperties;
+import com.epam.trainer_session_management.config.WorkloadReplicationProperties;
+import com.epam.trainer_session_management.dedup.WorkloadDeduplicator;
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+import com.epam.trainer_session_management.exception.WorkloadRebuildException;
+import com.epam.trainer_session_management.exception.WorkloadRebuildRefusedException;
+import com.epam.trainer_session_management.executor.StripedExecutor;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.listener.TrainerHoursMessageListener;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.index.MonthlyLeaderboard;
+import com.epam.trainer_session_management.persistence.impl.NoOpWorkloadJournal;
+import com.epam.trainer_session_management.service.impl.TrainerWorkingHoursServiceImpl;
+import com.epam.trainer_session_management.service.impl.WorkloadRebuildServiceImpl;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkloadRebuildServiceImplTest {
+
+    private TrainerDictionary dictionary;
+    private InMemoryTrainerWorkloadStore store;
+    private StripedExecutor executor;
+    private TrainerWorkingHoursServiceImpl workingHoursService;
+    private WorkloadRebuildProperties properties;
+    private WorkloadRebuildServiceImpl rebuildService;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        store = new InMemoryTrainerWorkloadStore(dictionary);
+        executor = new StripedExecutor("test-stripe", 4);
+        DailyWorkloadIndex dailyWorkloadIndex = new DailyWorkloadIndex(dictionary);
+        MonthlyLeaderboard monthlyLeaderboard = new MonthlyLeaderboard(dictionary);
+        WorkloadHistory workloadHistory = new WorkloadHistory(dictionary);
+        DurationSketches durationSketches = new DurationSketches(dictionary);
+        workingHoursService = new TrainerWorkingHoursServiceImpl(dictionary, store,
+                new NoOpWorkloadJournal(), executor, new WorkloadDeduplicator(new WorkloadDedupProperties()),
+                dailyWorkloadIndex, monthlyLeaderboard, workloadHistory, durationSketches,
+                List.of(dailyWorkloadIndex, monthlyLeaderboard, workloadHistory, durationSketches),
+                Optional.empty());
+
+        properties = new WorkloadRebuildProperties();
+        properties.setBatchSize(2);
+        rebuildService = new WorkloadRebuildServiceImpl(null, new ObjectMapper(), workingHoursService, store,
+                properties, new ServiceTokenProperties(), new WorkloadReplicationProperties(), Optional.empty(),
+                Optional.empty(), Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should replace drifted months and zero trainers missing from the source")
+    void shouldRebuildFromMonthlyTotals() throws IOException {
+        store.apply(dictionary.register("ann.lee"), "Ann", "Lee", true, 2024, 1, 30, 0L);
+        store.apply(dictionary.register("ben.ray"), "Ben", "Ray", true, 2024, 1, 45, 0L);
+        store.apply(dictionary.register("zoe.kim"), "Zoe", "Kim", true, 2024, 2, 90, 0L);
+
+        WorkloadRebuildResponse response = rebuildService.rebuild(source(
+                row("ann.lee", 2024, 1, 60),
+                row("ann.lee", 2024, 2, 15),
+                row("ben.ray", 2024, 1, 45),
+                row("cal.fox", 2023, 12, 120)));
+
+        assertEquals(3, response.getTrainers());
+        assertEquals(4L, response.getMonths());
+        assertEquals(4, response.getCorrectedMonths());
+        assertEquals(60, store.getMinutes(dictionary.find("ann.lee"), 2024, 1));
+        assertEquals(15, store.getMinutes(dictionary.find("ann.lee"), 2024, 2));
+        assertEquals(45, store.getMinutes(dictionary.find("ben.ray"), 2024, 1));
+        assertEquals(120, store.getMinutes(dictionary.find("cal.fox"), 2023, 12));
+        assertEquals(0, store.getMinutes(dictionary.find("zoe.kim"), 2024, 2));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("ann.lee"), 2024, 3));
+    }
+
+    @Test
+    @DisplayName("Should reject a source that is not ordered by trainer")
+    void shouldRejectUnorderedSource() {
+        assertThrows(WorkloadRebuildException.class, () -> rebuildService.rebuild(source(
+                row("ann.lee", 2024, 1, 60),
+                row("ben.ray", 2024, 1, 45),
+                row("ann.lee", 2024, 2, 15))));
+    }
+
+    @Test
+    @DisplayName("Should stop the workload listener for a full rebuild only and start it again afterwards")
+    void shouldStopListenerDuringFullRebuild() throws IOException {
+        JmsListenerEndpointRegistry registry = mock(JmsListenerEndpointRegistry.class);
+        DefaultMessageListenerContainer container = mock(DefaultMessageListenerContainer.class);
+        when(registry.getListenerContainer(TrainerHoursMessageListener.LISTENER_ID)).thenReturn(container);
+        when(container.isRunning()).thenReturn(true);
+        doAnswer(invocation -> {
+            // nothing was reconciled before the listener stopped
+            assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.register("ann.lee"), 2024, 1));
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(container).stop(any(Runnable.class));
+        WorkloadRebuildServiceImpl stoppingService = new WorkloadRebuildServiceImpl(null, new ObjectMapper(),
+                workingHoursService, store, properties, new ServiceTokenProperties(),
+                new WorkloadReplicationProperties(), Optional.empty(), Optional.empty(), Optional.of(registry));
+
+        stoppingService.rebuild(source(row("ann.lee", 2024, 1, 60)));
+
+        InOrder inOrder = inOrder(container);
+        inOrder.verify(container).stop(any(Runnable.class));
+        inOrder.verify(container).start();
+        assertEquals(60, store.getMinutes(dictionary.find("ann.lee"), 2024, 1));
+
+        stoppingService.rebuild(source(row("ann.lee", 2024, 1, 90)), username -> true);
+
+        verify(container, times(1)).stop(any(Runnable.class));
+        assertEquals(90, store.getMinutes(dictionary.find("ann.lee"), 2024, 1));
+    }
+
+    @Test
+    @DisplayName("Should refuse to rebuild an active-active replica")
+    void shouldRefuseRebuildWhileReplicated() {
+        store.apply(dictionary.register("ann.lee"), "Ann", "Lee", true, 2024, 1, 30, 0L);
+        WorkloadReplicationProperties replicationProperties = new WorkloadReplicationProperties();
+        replicationProperties.setEnabled(true);
+        WorkloadRebuildServiceImpl replicatedService = new WorkloadRebuildServiceImpl(null, new ObjectMapper(),
+                workingHoursService, store, properties, new ServiceTokenProperties(), replicationProperties,
+                Optional.empty(), Optional.empty(), Optional.empty());
+
+        assertThrows(WorkloadRebuildRefusedException.class,
+                () -> replicatedService.rebuild(source(row("ann.lee", 2024, 1, 60))));
+        assertThrows(WorkloadRebuildRefusedException.class,
+                () -> replicatedService.rebuild(source(row("ann.lee", 2024, 1, 60)), username -> true));
+        assertThrows(WorkloadRebuildRefusedException.class, replicatedService::rebuild);
+        assertEquals(30, store.getMinutes(dictionary.find("ann.lee"), 2024, 1));
+    }
+
+    private static String row(String trainerUsername, int year, int month, long trainingDuration) {
+        return "{\"trainerUsername\":\"" + trainerUsername + "\",\"trainerFirstName\":\"First\","
+                + "\"trainerLastName\":\"Last\",\"isActive\":true,\"year\":" + year + ",\"month\":" + month
+                + ",\"trainingDuration\":" + trainingDuration + "}";
+    }
+
+    private static InputStream source(String... rows) {
+        return new ByteArrayInputStream((String.join("\n", rows) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
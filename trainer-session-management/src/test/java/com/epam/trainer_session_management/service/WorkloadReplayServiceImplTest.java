@@ -0,0 +1,144 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.config.ParkingLotProperties;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplayResponse;
+import com.epam.trainer_session_management.enums.ReplaySource;
+import com.epam.trainer_session_management.listener.WorkloadMessageReader;
+import com.epam.trainer_session_management.listener.WorkloadParkingLot;
+import com.epam.trainer_session_management.metrics.MessageMetrics;
+import com.epam.trainer_session_management.service.impl.WorkloadReplayServiceImpl;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadReplayServiceImplTest {
+
+    @Mock
+    private TrainerWorkingHoursService trainerWorkingHoursService;
+
+    @Mock
+    private WorkloadMessageReader workloadMessageReader;
+
+    @Mock
+    private WorkloadParkingLot workloadParkingLot;
+
+    @Mock
+    private MessageMetrics messageMetrics;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private MessageConsumer consumer;
+
+    private WorkloadReplayServiceImpl replayService;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        ParkingLotProperties properties = new ParkingLotProperties();
+        properties.setReplayBatchSize(2);
+        properties.setReplayRate(Integer.MAX_VALUE);
+        replayService = new WorkloadReplayServiceImpl(trainerWorkingHoursService, workloadMessageReader,
+                workloadParkingLot, messageMetrics, properties, connectionFactory);
+
+        Queue parkingQueue = mock(Queue.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        // the session is opened with whichever createSession variant the template picks
+        lenient().when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        lenient().when(connection.createSession(anyInt())).thenReturn(session);
+        lenient().when(session.getTransacted()).thenReturn(true);
+        when(session.createQueue("trainer.workload.parking")).thenReturn(parkingQueue);
+        when(session.createConsumer(parkingQueue)).thenReturn(consumer);
+    }
+
+    @Test
+    void replay_ShouldApplyReadableMessagesAndParkTheOthersAgain() throws JMSException {
+        Message readable = mock(Message.class);
+        Message unreadable = mock(Message.class);
+        TrainerWorkloadRequest request = TrainerWorkloadRequest.builder().trainerUsername("jane.smith").build();
+        IllegalArgumentException failure = new IllegalArgumentException("Trainer username is required");
+        when(consumer.receive(anyLong())).thenReturn(readable, unreadable, null);
+        when(workloadMessageReader.read(readable)).thenReturn(request);
+        when(workloadMessageReader.read(unreadable)).thenThrow(failure);
+
+        WorkloadReplayResponse response = replayService.replay(ReplaySource.PARKING, 10);
+
+        assertEquals("parking", response.getSource());
+        assertEquals(1, response.getReplayed());
+        assertEquals(1, response.getParked());
+        verify(workloadParkingLot).park(session, unreadable, failure, "replay");
+        verify(trainerWorkingHoursService).calculateAndSaveAll(List.of(request));
+        // the second batch found the queue empty, applied nothing and ended the replay
+        verify(trainerWorkingHoursService).calculateAndSaveAll(List.of());
+        verify(session, times(2)).commit();
+        verify(messageMetrics).replayed("parking", 1);
+        verify(messageMetrics).replayed("parking", 0);
+    }
+
+    @Test
+    void replay_WhenABatchOnlyParksAgain_ShouldStopBeforeTakingTheParkedCopies() throws JMSException {
+        Message first = mock(Message.class);
+        Message second = mock(Message.class);
+        when(consumer.receive(anyLong())).thenReturn(first, second);
+        when(workloadMessageReader.read(any())).thenThrow(new IllegalArgumentException("Trainer username is required"));
+
+        WorkloadReplayResponse response = replayService.replay(ReplaySource.PARKING, 10);
+
+        assertEquals(0, response.getReplayed());
+        assertEquals(2, response.getParked());
+        verify(consumer, times(2)).receive(anyLong());
+        verify(workloadParkingLot, times(2)).park(any(), any(), any(), anyString());
+        verify(session).commit();
+    }
+
+    @Test
+    void replay_WithFailingBatch_ShouldRollItBackAndStop() throws JMSException {
+        Message message = mock(Message.class);
+        TrainerWorkloadRequest request = TrainerWorkloadRequest.builder().trainerUsername("jane.smith").build();
+        when(consumer.receive(anyLong())).thenReturn(message, (Message) null);
+        when(workloadMessageReader.read(message)).thenReturn(request);
+        doThrow(new IllegalStateException("Workload journal is not open"))
+                .when(trainerWorkingHoursService).calculateAndSaveAll(anyList());
+
+        assertThrows(IllegalStateException.class, () -> replayService.replay(ReplaySource.PARKING, 10));
+
+        verify(session).rollback();
+        verify(session, never()).commit();
+        verify(consumer).close();
+    }
+}
@@ -0,0 +1,189 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.config.WorkloadDedupProperties;
+import com.epam.trainer_session_management.config.WorkloadReplicationProperties;
+import com.epam.trainer_session_management.dedup.WorkloadDeduplicator;
+import com.epam.trainer_session_management.dto.TrainerWorkloadRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplicationRequest;
+import com.epam.trainer_session_management.dto.WorkloadReplicationResponse;
+import com.epam.trainer_session_management.enums.ActionType;
+import com.epam.trainer_session_management.executor.StripedExecutor;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.index.MonthlyLeaderboard;
+import com.epam.trainer_session_management.persistence.impl.NoOpWorkloadJournal;
+import com.epam.trainer_session_management.replication.WorkloadCounters;
+import com.epam.trainer_session_management.service.impl.TrainerWorkingHoursServiceImpl;
+import com.epam.trainer_session_management.service.impl.WorkloadReplicationServiceImpl;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WorkloadReplicationServiceImplTest {
+
+    private final List<StripedExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(StripedExecutor::shutdown);
+    }
+
+    @Test
+    @DisplayName("Should converge on the same totals whatever order and however often replicas exchange")
+    void shouldConvergeRegardlessOfExchangeOrder() {
+        Replica a = new Replica("a");
+        Replica b = new Replica("b");
+        Replica c = new Replica("c");
+        a.record("evt-1", "ann.lee", true, ActionType.ADD, LocalDate.of(2024, 3, 4), 60);
+        b.record("evt-2", "ann.lee", true, ActionType.DELETE, LocalDate.of(2024, 3, 4), 90);
+        c.record("evt-3", "ann.lee", true, ActionType.ADD, LocalDate.of(2024, 3, 9), 45);
+        b.record("evt-4", "ben.ray", true, ActionType.ADD, LocalDate.of(2024, 1, 2), 30);
+
+        // a hears from b before c, c hears from b only after b's old state arrived twice
+        WorkloadReplicationRequest fromB = b.service.collect(0L, 100);
+        a.service.merge(fromB);
+        a.service.merge(c.service.collect(0L, 100));
+        b.service.merge(a.service.collect(0L, 100));
+        b.service.merge(c.service.collect(0L, 100));
+        c.service.merge(a.service.collect(0L, 100));
+        c.service.merge(fromB);
+        c.service.merge(fromB);
+
+        for (Replica replica : List.of(a, b, c)) {
+            // a clamped running total would end at 45 or 15 depending on arrival order
+            assertEquals(15, replica.minutes("ann.lee", 2024, 3));
+            assertEquals(30, replica.minutes("ben.ray", 2024, 1));
+            assertEquals(0.25F, replica.workingHours.getTrainerWorkingHours("ann.lee", "2024", "3")
+                    .getWorkingHours());
+        }
+        // replicas holding the same hours hand out the same tag, whatever their local versions
+        assertEquals(a.workingHours.getTrainerWorkloadTag("ann.lee"), b.workingHours.getTrainerWorkloadTag("ann.lee"));
+        assertEquals(a.workingHours.getTrainerWorkloadTag("ann.lee"), c.workingHours.getTrainerWorkloadTag("ann.lee"));
+        assertNotEquals(a.workingHours.getTrainerWorkloadTag("ann.lee"),
+                a.workingHours.getTrainerWorkloadTag("ben.ray"));
+        assertNotEquals(a.workingHours.getTrainerDurationStatsTag("ann.lee"),
+                b.workingHours.getTrainerDurationStatsTag("ann.lee"));
+    }
+
+    @Test
+    @DisplayName("Should ship only what changed since the acknowledged version, in bounded exchanges")
+    void shouldShipChangesInBoundedExchanges() {
+        Replica a = new Replica("a");
+        Replica b = new Replica("b");
+        a.record("evt-1", "ann.lee", true, ActionType.ADD, LocalDate.of(2024, 3, 4), 60);
+        a.record("evt-2", "ann.lee", true, ActionType.ADD, LocalDate.of(2024, 4, 4), 30);
+        a.record("evt-3", "ben.ray", true, ActionType.ADD, LocalDate.of(2024, 4, 4), 20);
+
+        WorkloadReplicationRequest first = a.service.collect(0L, 2);
+        WorkloadReplicationResponse firstResponse = b.service.merge(first);
+        a.record("evt-4", "ann.lee", true, ActionType.DELETE, LocalDate.of(2024, 3, 5), 15);
+        WorkloadReplicationRequest second = a.service.collect(firstResponse.getMergedVersion(), 2);
+        WorkloadReplicationResponse secondResponse = b.service.merge(second);
+
+        assertEquals(2, first.getCells().size());
+        assertEquals(2L, firstResponse.getMergedVersion());
+        assertEquals(2, second.getCells().size());
+        assertEquals(4L, secondResponse.getMergedVersion());
+        assertEquals(0, a.service.collect(secondResponse.getMergedVersion(), 2).getCells().size());
+        assertEquals(45, b.minutes("ann.lee", 2024, 3));
+        assertEquals(30, b.minutes("ann.lee", 2024, 4));
+        assertEquals(20, b.minutes("ben.ray", 2024, 4));
+    }
+
+    @Test
+    @DisplayName("Should book merged minutes on the day they were recorded for")
+    void shouldMergeOntoRecordedDays() {
+        Replica a = new Replica("a");
+        Replica b = new Replica("b");
+        a.record("evt-1", "ann.lee", true, ActionType.ADD, LocalDate.of(2024, 3, 4), 60);
+        a.record("evt-2", "ann.lee", true, ActionType.ADD, LocalDate.of(2024, 3, 20), 30);
+        b.record("evt-3", "ann.lee", true, ActionType.ADD, LocalDate.of(2024, 3, 12), 45);
+
+        a.service.merge(b.service.collect(0L, 100));
+        b.service.merge(a.service.collect(0L, 100));
+
+        for (Replica replica : List.of(a, b)) {
+            assertEquals(0, replica.dayMinutes("ann.lee", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3)));
+            assertEquals(105, replica.dayMinutes("ann.lee", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 15)));
+            assertEquals(75, replica.dayMinutes("ann.lee", LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 31)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should send the sender back to what it has merged when an exchange went missing")
+    void shouldRewindOnMissedExchange() {
+        Replica a = new Replica("a");
+        Replica b = new Replica("b");
+        a.record("evt-1", "ann.lee", true, ActionType.ADD, LocalDate.of(2024, 3, 4), 60);
+        a.record("evt-2", "ben.ray", true, ActionType.ADD, LocalDate.of(2024, 3, 4), 30);
+
+        WorkloadReplicationResponse response = b.service.merge(a.service.collect(1L, 100));
+
+        assertEquals(0L, response.getMergedVersion());
+        assertEquals(TrainerWorkloadStore.NO_DATA, b.minutes("ben.ray", 2024, 3));
+        assertThrows(IllegalArgumentException.class, () -> a.service.merge(a.service.collect(0L, 100)));
+    }
+
+    private final class Replica {
+        private final TrainerDictionary dictionary = new TrainerDictionary();
+        private final TrainerWorkloadStore store = new InMemoryTrainerWorkloadStore(dictionary);
+        private final TrainerWorkingHoursService workingHours;
+        private final DailyWorkloadIndex dailyWorkloadIndex;
+        private final WorkloadReplicationService service;
+
+        private Replica(String replicaId) {
+            StripedExecutor executor = new StripedExecutor("test-stripe", 2);
+            executors.add(executor);
+            dailyWorkloadIndex = new DailyWorkloadIndex(dictionary);
+            MonthlyLeaderboard monthlyLeaderboard = new MonthlyLeaderboard(dictionary);
+            WorkloadHistory workloadHistory = new WorkloadHistory(dictionary);
+            DurationSketches durationSketches = new DurationSketches(dictionary);
+            WorkloadReplicationProperties properties = new WorkloadReplicationProperties();
+            properties.setReplicaId(replicaId);
+            WorkloadCounters counters = new WorkloadCounters(dictionary, properties);
+            workingHours = new TrainerWorkingHoursServiceImpl(dictionary, store, new NoOpWorkloadJournal(), executor,
+                    new WorkloadDeduplicator(new WorkloadDedupProperties()), dailyWorkloadIndex, monthlyLeaderboard,
+                    workloadHistory, durationSketches,
+                    List.of(dailyWorkloadIndex, monthlyLeaderboard, workloadHistory, durationSketches, counters),
+                    Optional.of(counters));
+            service = new WorkloadReplicationServiceImpl(counters, workingHours, dictionary, store);
+        }
+
+        private void record(String eventId, String trainerUsername, boolean isActive, ActionType actionType,
+                            LocalDate date, int minutes) {
+            workingHours.calculateAndSave(TrainerWorkloadRequest.builder()
+                    .eventId(eventId)
+                    .trainerUsername(trainerUsername)
+                    .trainerFirstName("First")
+                    .trainerLastName("Last")
+                    .isActive(isActive)
+                    .actionType(actionType)
+                    .trainingDate(Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                    .trainingDuration(minutes)
+                    .build());
+        }
+
+        private int minutes(String trainerUsername, int year, int month) {
+            return store.getMinutes(dictionary.register(trainerUsername), year, month);
+        }
+
+        private long dayMinutes(String trainerUsername, LocalDate from, LocalDate to) {
+            return dailyWorkloadIndex.sumMinutes(dictionary.register(trainerUsername), from, to);
+        }
+    }
+}
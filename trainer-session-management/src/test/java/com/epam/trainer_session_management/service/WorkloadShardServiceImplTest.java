@@ -0,0 +1,112 @@
+package com.epam.trainer_session_management.service;
+
+import com.epam.trainer_session_management.config.WorkloadDedupProperties;
+import com.epam.trainer_session_management.config.ServiceTokenProperties;
+import com.epam.trainer_session_management.config.WorkloadRebuildProperties;
+import com.epam.trainer_session_management.config.WorkloadReplicationProperties;
+import com.epam.trainer_session_management.dedup.WorkloadDeduplicator;
+import com.epam.trainer_session_management.dto.WorkloadRebuildResponse;
+import com.epam.trainer_session_management.executor.StripedExecutor;
+import com.epam.trainer_session_management.history.WorkloadHistory;
+import com.epam.trainer_session_management.index.DailyWorkloadIndex;
+import com.epam.trainer_session_management.index.MonthlyLeaderboard;
+import com.epam.trainer_session_management.persistence.impl.NoOpWorkloadJournal;
+import com.epam.trainer_session_management.service.impl.TrainerWorkingHoursServiceImpl;
+import com.epam.trainer_session_management.service.impl.WorkloadRebuildServiceImpl;
+import com.epam.trainer_session_management.service.impl.WorkloadShardServiceImpl;
+import com.epam.trainer_session_management.sharding.WorkloadShardRouter;
+import com.epam.trainer_session_management.stats.DurationSketches;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.TrainerWorkloadStore;
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WorkloadShardServiceImplTest {
+
+    // ann.lee, zoe.kim and eve.lam hash to partition 2 of 8, ben.ray to partition 1
+    private static final int PARTITIONS = 8;
+    private static final int PARTITION = 2;
+
+    private final List<StripedExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(StripedExecutor::shutdown);
+    }
+
+    @Test
+    @DisplayName("Should hand one partition over and leave the others alone")
+    void shouldHandPartitionOver() throws IOException {
+        Instance source = new Instance("a:8766");
+        source.store.apply(source.dictionary.register("ann.lee"), "Ann", "Lee", true, 2024, 1, 60, 0L);
+        source.store.apply(source.dictionary.find("ann.lee"), "Ann", "Lee", true, 2024, 2, 15, 0L);
+        source.store.apply(source.dictionary.register("zoe.kim"), "Zoe", "Kim", false, 2023, 12, 90, 0L);
+        source.store.apply(source.dictionary.register("ben.ray"), "Ben", "Ray", true, 2024, 1, 45, 0L);
+        Instance target = new Instance("b:8766");
+        target.store.apply(target.dictionary.register("ann.lee"), "Ann", "Lee", true, 2024, 1, 20, 0L);
+        target.store.apply(target.dictionary.register("eve.lam"), "Eve", "Lam", true, 2024, 3, 30, 0L);
+        target.store.apply(target.dictionary.register("ben.ray"), "Ben", "Ray", true, 2024, 1, 10, 0L);
+
+        ByteArrayOutputStream handoff = new ByteArrayOutputStream();
+        source.shardService.exportPartition(PARTITION, handoff);
+        WorkloadRebuildResponse response = target.shardService.importPartition(PARTITION,
+                new ByteArrayInputStream(handoff.toByteArray()));
+
+        assertEquals(2, response.getTrainers());
+        assertEquals(3L, response.getMonths());
+        assertEquals(60, target.store.getMinutes(target.dictionary.find("ann.lee"), 2024, 1));
+        assertEquals(15, target.store.getMinutes(target.dictionary.find("ann.lee"), 2024, 2));
+        assertEquals(90, target.store.getMinutes(target.dictionary.find("zoe.kim"), 2023, 12));
+        assertEquals(false, target.store.get(target.dictionary.find("zoe.kim")).getIsActive());
+        assertEquals(0, target.store.getMinutes(target.dictionary.find("eve.lam"), 2024, 3));
+        assertEquals(10, target.store.getMinutes(target.dictionary.find("ben.ray"), 2024, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a partition outside the ring")
+    void shouldRejectUnknownPartition() {
+        Instance instance = new Instance("a:8766");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.shardService.exportPartition(PARTITIONS, new ByteArrayOutputStream()));
+    }
+
+    private final class Instance {
+        private final TrainerDictionary dictionary = new TrainerDictionary();
+        private final TrainerWorkloadStore store = new InMemoryTrainerWorkloadStore(dictionary);
+        private final WorkloadShardService shardService;
+
+        private Instance(String instanceId) {
+            StripedExecutor executor = new StripedExecutor("test-stripe", 2);
+            executors.add(executor);
+            DailyWorkloadIndex dailyWorkloadIndex = new DailyWorkloadIndex(dictionary);
+            MonthlyLeaderboard monthlyLeaderboard = new MonthlyLeaderboard(dictionary);
+            WorkloadHistory workloadHistory = new WorkloadHistory(dictionary);
+            DurationSketches durationSketches = new DurationSketches(dictionary);
+            TrainerWorkingHoursServiceImpl workingHoursService = new TrainerWorkingHoursServiceImpl(dictionary,
+                    store, new NoOpWorkloadJournal(), executor, new WorkloadDeduplicator(new WorkloadDedupProperties()),
+                    dailyWorkloadIndex, monthlyLeaderboard, workloadHistory, durationSketches,
+                    List.of(dailyWorkloadIndex, monthlyLeaderboard, workloadHistory, durationSketches),
+                    Optional.empty());
+            WorkloadShardRouter router = new WorkloadShardRouter(PARTITIONS, 16, instanceId);
+            ObjectMapper objectMapper = new ObjectMapper();
+            WorkloadRebuildServiceImpl rebuildService = new WorkloadRebuildServiceImpl(null, objectMapper,
+                    workingHoursService, store, new WorkloadRebuildProperties(), new ServiceTokenProperties(),
+                    new WorkloadReplicationProperties(), Optional.empty(), Optional.of(router), Optional.empty());
+            shardService = new WorkloadShardServiceImpl(store, rebuildService, router, objectMapper);
+        }
+    }
+}
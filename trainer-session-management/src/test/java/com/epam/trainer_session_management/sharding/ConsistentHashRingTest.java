@@ -0,0 +1,68 @@
+package com.epam.trainer_session_management.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final int PARTITIONS = 256;
+    private static final int VIRTUAL_NODES = 128;
+
+    @Test
+    @DisplayName("Should assign partitions the same way whatever order the members are listed in")
+    void shouldAssignIndependentlyOfMemberOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a:8766", "b:8766", "c:8766"), VIRTUAL_NODES);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c:8766", "a:8766", "b:8766"), VIRTUAL_NODES);
+
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            assertEquals(ring.ownerOf(partition), reordered.ownerOf(partition));
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread partitions roughly evenly over the members")
+    void shouldSpreadPartitions() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a:8766", "b:8766", "c:8766", "d:8766"),
+                VIRTUAL_NODES);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            owned.merge(ring.ownerOf(partition), 1, Integer::sum);
+        }
+
+        assertEquals(4, owned.size());
+        owned.values().forEach(count -> assertTrue(count > PARTITIONS / 8 && count < PARTITIONS / 2,
+                "Uneven share: " + owned));
+    }
+
+    @Test
+    @DisplayName("Should only move partitions to a joining member")
+    void shouldOnlyMovePartitionsToJoiningMember() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a:8766", "b:8766", "c:8766"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a:8766", "b:8766", "c:8766", "d:8766"),
+                VIRTUAL_NODES);
+
+        int moved = 0;
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            if (!before.ownerOf(partition).equals(after.ownerOf(partition))) {
+                assertEquals("d:8766", after.ownerOf(partition));
+                moved++;
+            }
+        }
+        assertTrue(moved > 0 && moved < PARTITIONS / 2, "Moved " + moved);
+    }
+
+    @Test
+    @DisplayName("Should have no owner on an empty ring")
+    void shouldHaveNoOwnerWhenEmpty() {
+        assertNull(new ConsistentHashRing(List.of(), VIRTUAL_NODES).ownerOf(0));
+    }
+}
@@ -0,0 +1,20 @@
+package com.epam.trainer_session_management.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShardForwardingFilterTest {
+
+    @Test
+    @DisplayName("Should take the trainer username from the path, keeping '+' literal")
+    void shouldDecodeUsernameAsPathSegment() {
+        assertEquals("jane.smith", ShardForwardingFilter.trainerUsername("/api/v1/workload/jane.smith/2024/3"));
+        assertEquals("jane+smith", ShardForwardingFilter.trainerUsername("/api/v1/workload/jane+smith"));
+        assertEquals("jane smith", ShardForwardingFilter.trainerUsername("/api/v1/workload/jane%20smith/summary"));
+        assertNull(ShardForwardingFilter.trainerUsername("/api/v1/workload/"));
+        assertNull(ShardForwardingFilter.trainerUsername("/api/v1/leaderboard/2024/3"));
+    }
+}
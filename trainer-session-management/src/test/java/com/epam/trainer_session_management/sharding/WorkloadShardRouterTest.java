@@ -0,0 +1,30 @@
+package com.epam.trainer_session_management.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadShardRouterTest {
+
+    @Test
+    @DisplayName("Should serve every partition until the ring has been refreshed")
+    void shouldServeEverythingAlone() {
+        WorkloadShardRouter router = new WorkloadShardRouter(16, 16, "a:8766");
+
+        for (int partition = 0; partition < 16; partition++) {
+            assertTrue(router.isOwner(partition));
+            assertTrue(router.isServing(partition));
+        }
+        assertTrue(router.servingInstance("ann.lee").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should place a trainer in the partition gym-crm publishes it to")
+    void shouldPartitionLikeProducer() {
+        WorkloadShardRouter router = new WorkloadShardRouter(64, 16, "a:8766");
+
+        assertEquals(WorkloadPartitioner.partitionOf("john.doe", 64), router.partitionOf("john.doe"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.epam.trainer_session_management.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.1, 0.5, 0.9, 0.99, 1.0};
+
+    @Test
+    @DisplayName("Should answer every quantile within the relative accuracy in a few hundred bytes")
+    void shouldStayWithinRelativeAccuracy() {
+        Random random = new Random(11);
+        int[] durations = new int[10_000];
+        DurationSketch sketch = new DurationSketch();
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = 1 + (int) Math.exp(random.nextGaussian() * 0.8 + 4.0) % DurationSketch.MAX_MINUTES;
+            sketch.add(durations[i], 1);
+        }
+        Arrays.sort(durations);
+
+        assertEquals(durations.length, sketch.count());
+        for (double quantile : QUANTILES) {
+            int exact = durations[(int) (quantile * (durations.length - 1))];
+            assertEquals(exact, sketch.quantile(quantile), exact * DurationSketch.RELATIVE_ACCURACY_PERCENT / 100.0);
+        }
+        assertTrue(DurationSketch.BUCKETS * Integer.BYTES <= 256, "buckets: " + DurationSketch.BUCKETS);
+    }
+
+    @Test
+    @DisplayName("Should answer short durations exactly")
+    void shouldAnswerShortDurationsExactly() {
+        for (int minutes = 1; minutes <= 9; minutes++) {
+            DurationSketch sketch = new DurationSketch();
+            sketch.add(minutes, 3);
+
+            assertEquals(minutes, sketch.quantile(0.5));
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge into the sketch of all sessions in any order")
+    void shouldMergeLikeUnion() {
+        Random random = new Random(3);
+        DurationSketch all = new DurationSketch();
+        DurationSketch left = new DurationSketch();
+        DurationSketch right = new DurationSketch();
+        for (int i = 0; i < 2_000; i++) {
+            int minutes = 15 + random.nextInt(240);
+            all.add(minutes, 1);
+            (i % 3 == 0 ? left : right).add(minutes, 1);
+        }
+        DurationSketch leftFirst = left.copy();
+        leftFirst.merge(right);
+        DurationSketch rightFirst = right.copy();
+        rightFirst.merge(left);
+
+        for (double quantile : QUANTILES) {
+            assertEquals(all.quantile(quantile), leftFirst.quantile(quantile));
+            assertEquals(all.quantile(quantile), rightFirst.quantile(quantile));
+        }
+    }
+
+    @Test
+    @DisplayName("Should take deleted sessions out and ignore a delete ahead of its add")
+    void shouldTakeDeletedSessionsOut() {
+        DurationSketch sketch = new DurationSketch();
+        sketch.add(60, 1);
+        sketch.add(600, -1);
+
+        assertEquals(1, sketch.count());
+        assertEquals(60.0f, sketch.quantile(1.0), 3.0f);
+
+        sketch.add(600, 1);
+        sketch.add(60, -1);
+
+        assertEquals(0, sketch.count());
+        assertTrue(Float.isNaN(sketch.quantile(0.5)));
+    }
+
+    @Test
+    @DisplayName("Should read back what it wrote")
+    void shouldRoundTrip() throws IOException {
+        DurationSketch sketch = new DurationSketch();
+        sketch.add(45, 7);
+        sketch.add(90, 2);
+        sketch.add(2_000, 1);
+        sketch.add(30, -1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.write(new DataOutputStream(bytes));
+
+        DurationSketch read = DurationSketch.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        read.add(30, 1);
+
+        assertEquals(10, read.count());
+        assertEquals(sketch.quantile(0.99), read.quantile(0.99));
+        assertEquals(2 + 4 * 5, bytes.size());
+    }
+}
@@ -0,0 +1,99 @@
+package com.epam.trainer_session_management.stats;
+
+import com.epam.trainer_session_management.replication.WorkloadCounters;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DurationSketchesTest {
+
+    private TrainerDictionary dictionary;
+    private DurationSketches sketches;
+    private int anna;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        sketches = new DurationSketches(dictionary);
+        anna = dictionary.register("anna");
+    }
+
+    @Test
+    @DisplayName("Should count sessions but not corrections, replicated deltas or replayed duplicates")
+    void shouldCountSessionsOnly() {
+        sketches.onWorkloadChange(change(1, LocalDate.of(2024, 3, 4), 60, "a"));
+        sketches.onWorkloadChange(change(2, LocalDate.of(2024, 3, 9), 90, "b"));
+        sketches.onWorkloadChange(change(3, LocalDate.of(2024, 3, 1), 500, null));
+        sketches.onWorkloadChange(change(4, LocalDate.of(2024, 3, 1), 900,
+                WorkloadCounters.originEventId("replica-b")));
+        sketches.onWorkloadChange(change(2, LocalDate.of(2024, 3, 9), 90, "b"));
+        sketches.onWorkloadChange(change(5, LocalDate.of(2024, 3, 9), -90, "c"));
+
+        DurationSketch march = sketches.sketchOf(anna, 2024, 3);
+
+        assertEquals(1, march.count());
+        assertEquals(60.0f, march.quantile(0.5), 3.0f);
+        assertNull(sketches.sketchOf(anna, 2024, 4));
+        assertNull(sketches.sketchOf(dictionary.register("ben"), 2024, 3));
+    }
+
+    @Test
+    @DisplayName("Should restore sketches and skip changes the snapshot already holds")
+    void shouldRoundTripSection() throws IOException {
+        sketches.onWorkloadChange(change(1, LocalDate.of(2024, 3, 4), 60, "a"));
+        sketches.onWorkloadChange(change(2, LocalDate.of(2024, 5, 9), 45, "b"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketches.writeSection(new DataOutputStream(bytes));
+
+        TrainerDictionary restoredDictionary = new TrainerDictionary();
+        restoredDictionary.register("zed");
+        DurationSketches restored = new DurationSketches(restoredDictionary);
+        restored.readSection(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        int restoredAnna = restoredDictionary.register("anna");
+        restored.onWorkloadChange(new WorkloadChange(2, restoredAnna, (int) LocalDate.of(2024, 5, 9).toEpochDay(),
+                45, 45, 0, "b"));
+
+        assertEquals(1, restored.sketchOf(restoredAnna, 2024, 3).count());
+        assertEquals(1, restored.sketchOf(restoredAnna, 2024, 5).count());
+        assertEquals(45.0f, restored.sketchOf(restoredAnna, 2024, 5).quantile(0.5), 2.0f);
+    }
+
+    @Test
+    @DisplayName("Should keep compacted months readable and decode them back for a late session")
+    void shouldCompactOldMonths() throws IOException {
+        sketches.onWorkloadChange(change(1, LocalDate.of(2022, 3, 4), 60, "a"));
+        sketches.onWorkloadChange(change(2, LocalDate.of(2024, 5, 9), 45, "b"));
+
+        assertEquals(1, sketches.compact(anna, 2024));
+        assertEquals(0, sketches.compact(anna, 2024));
+        assertEquals(1, sketches.sketchOf(anna, 2022, 3).count());
+        assertEquals(60.0f, sketches.sketchOf(anna, 2022, 3).quantile(0.5), 3.0f);
+
+        sketches.onWorkloadChange(change(3, LocalDate.of(2022, 3, 5), 90, "c"));
+        assertEquals(1, sketches.compact(anna, 2024));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketches.writeSection(new DataOutputStream(bytes));
+        DurationSketches restored = new DurationSketches(dictionary);
+        restored.readSection(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(2, sketches.sketchOf(anna, 2022, 3).count());
+        assertEquals(2, restored.sketchOf(anna, 2022, 3).count());
+        assertEquals(1, restored.sketchOf(anna, 2024, 5).count());
+    }
+
+    private WorkloadChange change(long sequence, LocalDate day, int deltaMinutes, String eventId) {
+        return new WorkloadChange(sequence, anna, (int) day.toEpochDay(), deltaMinutes, 0, 0, eventId);
+    }
+}
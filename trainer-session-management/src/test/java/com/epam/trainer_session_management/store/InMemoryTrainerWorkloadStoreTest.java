@@ -0,0 +1,128 @@
+package com.epam.trainer_session_management.store;
+
+import com.epam.trainer_session_management.store.impl.InMemoryTrainerWorkloadStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryTrainerWorkloadStoreTest {
+
+    private TrainerDictionary dictionary;
+    private InMemoryTrainerWorkloadStore store;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        store = new InMemoryTrainerWorkloadStore(dictionary);
+    }
+
+    @Test
+    @DisplayName("Should accumulate minutes per month")
+    void shouldAccumulateMinutesPerMonth() {
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 60, 0L);
+        int total = store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 90, 0L);
+
+        assertEquals(150, total);
+        assertEquals(150, store.getMinutes(dictionary.find("john.doe"), 2024, 3));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("Should grow its memory estimate with trainers and recorded years")
+    void shouldEstimateFootprint() {
+        assertEquals(0L, store.footprintBytes());
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 60, 0L);
+        long oneYear = store.footprintBytes();
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2025, 3, 60, 0L);
+        long twoYears = store.footprintBytes();
+        store.apply(dictionary.register("jane.roe"), "Jane", "Roe", true, 2024, 3, 60, 0L);
+
+        assertTrue(oneYear > 0);
+        assertTrue(twoYears > oneYear);
+        assertTrue(store.footprintBytes() > twoYears);
+    }
+
+    @Test
+    @DisplayName("Should keep month totals as plain sums, below zero included")
+    void shouldNotClampMonthTotals() {
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 60, 0L);
+
+        assertEquals(-60, store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, -120, 0L));
+        assertEquals(-15, store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 45, 0L));
+    }
+
+    @Test
+    @DisplayName("Should reach the same month total whatever order the deltas arrive in")
+    void shouldBeIndependentOfArrivalOrder() {
+        int[] deltas = {60, -90, 45};
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 0, 0L);
+        store.apply(dictionary.register("jane.smith"), "Jane", "Smith", true, 2024, 3, 0, 0L);
+        for (int i = 0; i < deltas.length; i++) {
+            store.apply(dictionary.find("john.doe"), "John", "Doe", true, 2024, 3, deltas[i], 0L);
+            store.apply(dictionary.find("jane.smith"), "Jane", "Smith", true, 2024, 3, deltas[deltas.length - 1 - i],
+                    0L);
+        }
+
+        assertEquals(15, store.getMinutes(dictionary.find("john.doe"), 2024, 3));
+        assertEquals(15, store.getMinutes(dictionary.find("jane.smith"), 2024, 3));
+    }
+
+    @Test
+    @DisplayName("Should keep years before and after the first recorded year")
+    void shouldGrowYearWindowInBothDirections() {
+        store.apply(dictionary.register("jane.smith"), "Jane", "Smith", true, 2024, 1, 30, 0L);
+        store.apply(dictionary.register("jane.smith"), "Jane", "Smith", true, 2030, 12, 40, 0L);
+        store.apply(dictionary.register("jane.smith"), "Jane", "Smith", true, 2015, 6, 50, 0L);
+
+        assertEquals(30, store.getMinutes(dictionary.find("jane.smith"), 2024, 1));
+        assertEquals(40, store.getMinutes(dictionary.find("jane.smith"), 2030, 12));
+        assertEquals(50, store.getMinutes(dictionary.find("jane.smith"), 2015, 6));
+    }
+
+    @Test
+    @DisplayName("Should report missing trainers, years and months")
+    void shouldReportNoData() {
+        store.apply(dictionary.register("bob.wilson"), "Bob", "Wilson", true, 2024, 4, 60, 0L);
+
+        assertTrue(store.containsTrainer(dictionary.find("bob.wilson")));
+        assertFalse(store.containsTrainer(dictionary.find("alice.brown")));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("alice.brown"), 2024, 4));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("bob.wilson"), 2024, 5));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("bob.wilson"), 2023, 4));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("bob.wilson"), 2024, 13));
+    }
+
+    @Test
+    @DisplayName("Should keep compacted years readable and thaw them on a late change")
+    void shouldCompactOldYears() {
+        int trainerId = dictionary.register("jane.smith");
+        for (int year = 2015; year <= 2025; year++) {
+            store.apply(trainerId, "Jane", "Smith", true, year, 6, year - 2000, year);
+        }
+        long hotFootprint = store.footprintBytes();
+
+        assertEquals(8, store.compact(trainerId, 2023));
+        assertEquals(0, store.compact(trainerId, 2023));
+        assertTrue(store.footprintBytes() < hotFootprint);
+        assertEquals(15, store.getMinutes(trainerId, 2015, 6));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(trainerId, 2015, 7));
+        assertEquals(25, store.getMinutes(trainerId, 2025, 6));
+        TrainerWorkload copy = store.get(trainerId);
+        assertArrayEquals(new int[]{2015, 2016, 2017, 2018, 2019, 2020, 2021, 2022, 2023, 2024, 2025},
+                copy.getYears());
+        assertEquals(18, copy.getMinutes()[3][5]);
+        assertEquals(2025L, copy.getSequence());
+
+        assertEquals(48, store.apply(trainerId, "Jane", "Smith", true, 2018, 6, 30, 26L));
+        assertEquals(48, store.getMinutes(trainerId, 2018, 6));
+        assertEquals(17, store.getMinutes(trainerId, 2017, 6));
+        assertEquals(11, store.get(trainerId).getYears().length);
+        assertEquals(1, store.compact(trainerId, 2023));
+        assertEquals(48, store.getMinutes(trainerId, 2018, 6));
+    }
+}
@@ -0,0 +1,170 @@
+package com.epam.trainer_session_management.store;
+
+import com.epam.trainer_session_management.config.WorkloadStoreProperties;
+import com.epam.trainer_session_management.store.impl.MappedTrainerWorkloadStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedTrainerWorkloadStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private WorkloadStoreProperties properties;
+    private TrainerDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary(directory.resolve("usernames.dict"));
+        properties = new WorkloadStoreProperties();
+        properties.setDirectory(directory.toString());
+        properties.setInitialTrainers(2);
+        properties.setInitialTrainerYears(2);
+    }
+
+    @Test
+    @DisplayName("Should accumulate and report missing data like the heap store")
+    void shouldAccumulate() {
+        MappedTrainerWorkloadStore store = new MappedTrainerWorkloadStore(properties, dictionary);
+
+        store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 60, 1L);
+        assertEquals(150, store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 3, 90, 2L));
+        assertEquals(-30, store.apply(dictionary.register("john.doe"), "John", "Doe", true, 2024, 4, -30, 3L));
+
+        assertEquals(150, store.getMinutes(dictionary.find("john.doe"), 2024, 3));
+        assertEquals(-30, store.getMinutes(dictionary.find("john.doe"), 2024, 4));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("john.doe"), 2024, 5));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("john.doe"), 2023, 3));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("jane.smith"), 2024, 3));
+        assertTrue(store.containsTrainer(dictionary.find("john.doe")));
+        assertFalse(store.containsTrainer(dictionary.find("jane.smith")));
+        assertEquals(3L, store.getVersion(dictionary.find("john.doe")));
+        assertEquals(3L, store.getSequence(dictionary.find("john.doe")));
+        assertNull(store.get(dictionary.find("jane.smith")));
+    }
+
+    @Test
+    @DisplayName("Should grow every table past its initial capacity")
+    void shouldGrowTables() {
+        MappedTrainerWorkloadStore store = new MappedTrainerWorkloadStore(properties, dictionary);
+
+        for (int trainer = 0; trainer < 500; trainer++) {
+            for (int year = 2015; year < 2025; year++) {
+                store.apply(dictionary.register("trainer." + trainer), "First" + trainer, null, trainer % 2 == 0,
+                        year, 1 + trainer % 12, trainer + year, trainer);
+            }
+        }
+
+        assertEquals(500, store.size());
+        assertEquals(499 + 2024, store.getMinutes(dictionary.find("trainer.499"), 2024, 1 + 499 % 12));
+        TrainerWorkload trainer = store.get(dictionary.find("trainer.42"));
+        assertEquals("First42", trainer.getTrainerFirstName());
+        assertNull(trainer.getTrainerLastName());
+        assertEquals(true, trainer.getIsActive());
+        assertEquals(10, trainer.getYears().length);
+        assertEquals(2015, trainer.getYears()[0]);
+        assertEquals(42 + 2015, trainer.getMinutes()[0][42 % 12]);
+
+        List<String> visited = new ArrayList<>();
+        store.forEach(copy -> visited.add(copy.getTrainerUsername()));
+        assertEquals(500, visited.size());
+    }
+
+    @Test
+    @DisplayName("Should serve a cleanly closed table after reopening and discard a dirty one")
+    void shouldReopenCleanTable() {
+        MappedTrainerWorkloadStore store = new MappedTrainerWorkloadStore(properties, dictionary);
+        store.apply(dictionary.register("jane.smith"), "Jane", "Smith", false, 2024, 6, 45, 7L);
+        store.close();
+        dictionary.close();
+
+        TrainerDictionary reloaded = new TrainerDictionary(directory.resolve("usernames.dict"));
+        MappedTrainerWorkloadStore reopened = new MappedTrainerWorkloadStore(properties, reloaded);
+        int trainerId = reloaded.find("jane.smith");
+        assertEquals(45, reopened.getMinutes(trainerId, 2024, 6));
+        assertEquals(7L, reopened.getSequence(trainerId));
+        assertEquals(false, reopened.get(trainerId).getIsActive());
+        assertEquals("jane.smith", reopened.get(trainerId).getTrainerUsername());
+
+        // not closed: a crash would leave the table dirty
+        MappedTrainerWorkloadStore afterCrash = new MappedTrainerWorkloadStore(properties, reloaded);
+        assertEquals(0, afterCrash.size());
+    }
+
+    @Test
+    @DisplayName("Should discard a clean table whose trainer IDs are missing from the dictionary")
+    void shouldDiscardTableAheadOfDictionary() {
+        MappedTrainerWorkloadStore store = new MappedTrainerWorkloadStore(properties, dictionary);
+        store.apply(dictionary.register("jane.smith"), "Jane", "Smith", true, 2024, 6, 45, 1L);
+        store.close();
+
+        MappedTrainerWorkloadStore reopened = new MappedTrainerWorkloadStore(properties, new TrainerDictionary());
+        assertEquals(0, reopened.size());
+    }
+
+    @Test
+    @DisplayName("Should replace a trainer's years on restore")
+    void shouldRestoreTrainer() {
+        MappedTrainerWorkloadStore store = new MappedTrainerWorkloadStore(properties, dictionary);
+        store.apply(dictionary.register("bob.wilson"), "Bob", "Wilson", true, 2023, 1, 30, 1L);
+
+        store.restore(new TrainerWorkload("bob.wilson", "Robert", "Wilson", true, 5L, 9L,
+                new int[]{2024}, new int[]{1 << 1}, new int[][]{{0, 75, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}}));
+
+        TrainerWorkload restored = store.get(dictionary.find("bob.wilson"));
+        assertArrayEquals(new int[]{2024}, restored.getYears());
+        assertEquals(75, store.getMinutes(dictionary.find("bob.wilson"), 2024, 2));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(dictionary.find("bob.wilson"), 2023, 1));
+        assertEquals("Robert", restored.getTrainerFirstName());
+        assertEquals(5L, restored.getVersion());
+        assertEquals(9L, restored.getSequence());
+    }
+
+    @Test
+    @DisplayName("Should move compacted years to the cold file, serve them after reopening and thaw them")
+    void shouldCompactOldYears() {
+        MappedTrainerWorkloadStore store = new MappedTrainerWorkloadStore(properties, dictionary);
+        int trainerId = dictionary.register("jane.smith");
+        for (int year = 2015; year <= 2025; year++) {
+            store.apply(trainerId, "Jane", "Smith", true, year, 6, year - 2000, year);
+        }
+
+        assertEquals(8, store.compact(trainerId, 2023));
+        assertEquals(0, store.compact(trainerId, 2023));
+        assertEquals(15, store.getMinutes(trainerId, 2015, 6));
+        assertEquals(TrainerWorkloadStore.NO_DATA, store.getMinutes(trainerId, 2015, 7));
+        assertArrayEquals(new int[]{2015, 2016, 2017, 2018, 2019, 2020, 2021, 2022, 2023, 2024, 2025},
+                store.get(trainerId).getYears());
+        store.close();
+        dictionary.close();
+
+        TrainerDictionary reloaded = new TrainerDictionary(directory.resolve("usernames.dict"));
+        MappedTrainerWorkloadStore reopened = new MappedTrainerWorkloadStore(properties, reloaded);
+        assertEquals(17, reopened.getMinutes(trainerId, 2017, 6));
+        assertEquals(48, reopened.apply(trainerId, "Jane", "Smith", true, 2018, 6, 30, 26L));
+        assertEquals(48, reopened.getMinutes(trainerId, 2018, 6));
+        assertEquals(16, reopened.getMinutes(trainerId, 2016, 6));
+        assertEquals(11, reopened.get(trainerId).getYears().length);
+
+        // growing the year table drops the slots emptied by compaction
+        for (int trainer = 0; trainer < 50; trainer++) {
+            reopened.apply(reloaded.register("trainer-" + trainer), "T", "T", true, 2024, 1, 10, 100L + trainer);
+        }
+        assertEquals(1, reopened.compact(trainerId, 2023));
+        assertEquals(48, reopened.getMinutes(trainerId, 2018, 6));
+        assertEquals(22, reopened.getMinutes(trainerId, 2022, 6));
+        assertEquals(11, reopened.get(trainerId).getYears().length);
+    }
+}
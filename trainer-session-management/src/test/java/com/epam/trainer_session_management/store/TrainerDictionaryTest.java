@@ -0,0 +1,77 @@
+package com.epam.trainer_session_management.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrainerDictionaryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should assign dense IDs in order of first sight")
+    void shouldAssignDenseIds() {
+        TrainerDictionary dictionary = new TrainerDictionary();
+
+        for (int i = 0; i < 3_000; i++) {
+            assertEquals(i, dictionary.register("trainer." + i));
+        }
+
+        assertEquals(42, dictionary.register("trainer.42"));
+        assertEquals(2_999, dictionary.find("trainer.2999"));
+        assertEquals(TrainerDictionary.NO_ID, dictionary.find("unknown"));
+        assertEquals("trainer.1024", dictionary.usernameOf(1_024));
+        assertNull(dictionary.usernameOf(3_000));
+        assertEquals(3_000, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Should keep IDs across reopening and drop a torn last record")
+    void shouldReloadFromFile() throws IOException {
+        Path file = directory.resolve("usernames.dict");
+        TrainerDictionary dictionary = new TrainerDictionary(file);
+        dictionary.register("john.doe");
+        dictionary.register("jane.smith");
+        dictionary.close();
+        // length prefix of a record whose bytes never made it to disk
+        Files.write(file, new byte[]{0, 8, 'b', 'o'}, StandardOpenOption.APPEND);
+
+        TrainerDictionary reloaded = new TrainerDictionary(file);
+
+        assertEquals(2, reloaded.size());
+        assertEquals(1, reloaded.find("jane.smith"));
+        assertEquals("john.doe", reloaded.usernameOf(0));
+        assertEquals(2, reloaded.register("bob.wilson"));
+        reloaded.close();
+        assertEquals(2, new TrainerDictionary(file).find("bob.wilson"));
+    }
+
+    @Test
+    @DisplayName("Should refuse blank usernames so no record after them is lost on reload")
+    void shouldRefuseBlankUsernames() {
+        Path file = directory.resolve("usernames.dict");
+        TrainerDictionary dictionary = new TrainerDictionary(file);
+        dictionary.register("john.doe");
+
+        assertThrows(IllegalArgumentException.class, () -> dictionary.register(""));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.register("  "));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.register(null));
+
+        dictionary.register("jane.smith");
+        dictionary.close();
+        TrainerDictionary reloaded = new TrainerDictionary(file);
+        assertEquals(2, reloaded.size());
+        assertEquals(1, reloaded.find("jane.smith"));
+        reloaded.close();
+    }
+}
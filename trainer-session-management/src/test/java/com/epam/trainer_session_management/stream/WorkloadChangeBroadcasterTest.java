@@ -0,0 +1,144 @@
+package com.epam.trainer_session_management.stream;
+
+import com.epam.trainer_session_management.config.WorkloadStreamProperties;
+import com.epam.trainer_session_management.dto.WorkloadChangeEvent;
+import com.epam.trainer_session_management.store.TrainerDictionary;
+import com.epam.trainer_session_management.store.WorkloadChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadChangeBroadcasterTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2024, 3, 10);
+
+    private TrainerDictionary dictionary;
+    private WorkloadChangeBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new TrainerDictionary();
+        WorkloadStreamProperties properties = new WorkloadStreamProperties();
+        properties.setBufferSize(4);
+        properties.setDeliveryThreads(1);
+        broadcaster = new WorkloadChangeBroadcaster(dictionary, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should deliver only the subscribed trainer's changes")
+    void shouldFilterByTrainer() throws InterruptedException {
+        RecordingSink all = new RecordingSink(3);
+        RecordingSink anna = new RecordingSink(2);
+        broadcaster.subscribe(WorkloadSubscription.ALL_TRAINERS, all);
+        broadcaster.subscribe(dictionary.register("anna"), anna);
+
+        broadcaster.onWorkloadChange(change(1, "anna", MARCH, 60, 60));
+        broadcaster.onWorkloadChange(change(2, "ben", MARCH, 30, 30));
+        broadcaster.onWorkloadChange(change(3, "anna", MARCH.plusMonths(1), 90, 90));
+
+        assertTrue(all.await());
+        assertTrue(anna.await());
+        assertEquals(List.of("anna", "ben", "anna"),
+                all.events.stream().map(WorkloadChangeEvent::getTrainerUsername).toList());
+        assertEquals(List.of("MARCH", "APRIL"), anna.events.stream().map(WorkloadChangeEvent::getMonth).toList());
+        assertEquals(1.5f, anna.events.get(1).getWorkingHours());
+    }
+
+    @Test
+    @DisplayName("Should coalesce a month that changes while the client is still reading")
+    void shouldCoalesceWhileClientIsBusy() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(2, release);
+        broadcaster.subscribe(WorkloadSubscription.ALL_TRAINERS, sink);
+
+        broadcaster.onWorkloadChange(change(1, "anna", MARCH, 60, 60));
+        assertTrue(sink.started.await(5, TimeUnit.SECONDS));
+        broadcaster.onWorkloadChange(change(2, "anna", MARCH, 30, 90));
+        broadcaster.onWorkloadChange(change(3, "anna", MARCH, -15, 75));
+        release.countDown();
+
+        assertTrue(sink.await());
+        WorkloadChangeEvent merged = sink.events.get(1);
+        assertEquals(3L, merged.getSequence());
+        assertEquals(1.25f, merged.getWorkingHours());
+        assertEquals(0.25f, merged.getDeltaHours());
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose buffer overflows without blocking the publisher")
+    void shouldDropSlowSubscriber() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(1, release);
+        broadcaster.subscribe(WorkloadSubscription.ALL_TRAINERS, sink);
+
+        broadcaster.onWorkloadChange(change(1, "anna", MARCH, 60, 60));
+        assertTrue(sink.started.await(5, TimeUnit.SECONDS));
+        for (int month = 1; month <= 5; month++) {
+            broadcaster.onWorkloadChange(change(1 + month, "anna", MARCH.plusMonths(month), 60, 60));
+        }
+
+        assertEquals(0, broadcaster.subscriberCount());
+        release.countDown();
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    private WorkloadChange change(long sequence, String trainerUsername, LocalDate date, int deltaMinutes,
+                                  int monthMinutes) {
+        return new WorkloadChange(sequence, dictionary.register(trainerUsername), (int) date.toEpochDay(),
+                deltaMinutes, monthMinutes);
+    }
+
+    private static final class RecordingSink implements WorkloadEventSink {
+        private final List<WorkloadChangeEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingSink(int expected) {
+            this(expected, new CountDownLatch(0));
+        }
+
+        private RecordingSink(int expected, CountDownLatch release) {
+            this.received = new CountDownLatch(expected);
+            this.release = release;
+        }
+
+        @Override
+        public void send(WorkloadChangeEvent event) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+            received.countDown();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private boolean await() throws InterruptedException {
+            return received.await(5, TimeUnit.SECONDS);
+        }
+    }
+}